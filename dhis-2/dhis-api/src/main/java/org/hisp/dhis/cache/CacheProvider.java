@@ -46,6 +46,8 @@ public interface CacheProvider {
 
   <V> Cache<V> createAnalyticsCache();
 
+  <V> Cache<V> createAnalyticsFragmentCache();
+
   <V> Cache<V> createOutliersCache();
 
   <V> Cache<V> createDefaultObjectCache();
@@ -111,4 +113,6 @@ public interface CacheProvider {
   <V> Cache<V> createQueryAliasCache();
 
   <V> Cache<V> createCorsWhitelistCache();
+
+  <V> Cache<V> createProgramRuleContextCache();
 }
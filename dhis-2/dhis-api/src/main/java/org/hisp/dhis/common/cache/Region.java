@@ -36,6 +36,7 @@ package org.hisp.dhis.common.cache;
 @SuppressWarnings("squid:S115") // allow non enum-ish names
 public enum Region {
   analyticsResponse,
+  analyticsFragment,
   defaultObjectCache,
   allConstantsCache,
   inUserOrgUnitHierarchy,
@@ -67,5 +68,6 @@ public enum Region {
   dataIntegritySummaryCache,
   dataIntegrityDetailsCache,
   queryAliasCache,
-  corsWhitelistCache
+  corsWhitelistCache,
+  programRuleContextCache
 }
@@ -290,12 +290,18 @@ public record DataEntryGroup(
    * @param force when true, any timeliness validation is skipped (only possible as superuser) to
    *     allow out-of-time (early/late) entry of data e.g. as part of a data synchronisation or
    *     repair
+   * @param bulk when true, the values are written using the bulk copy protocol and merged with a
+   *     single statement instead of using multi-row inserts
    */
-  public record Options(boolean dryRun, boolean atomic, boolean force) {
+  public record Options(boolean dryRun, boolean atomic, boolean force, boolean bulk) {
 
     public Options() {
       this(false, false, false);
     }
+
+    public Options(boolean dryRun, boolean atomic, boolean force) {
+      this(dryRun, atomic, force, false);
+    }
   }
 
   /** The identifier properties that can be specified for a {@link DataEntryGroup.Input}. */
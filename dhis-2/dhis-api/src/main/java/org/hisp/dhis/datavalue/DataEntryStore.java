@@ -173,6 +173,15 @@ public interface DataEntryStore {
 
   int upsertValues(List<DataEntryValue> values);
 
+  /**
+   * Same as {@link #upsertValues(List)} except that the values are copied into a temporary table
+   * using the bulk copy protocol and merged into the stored values with a single statement.
+   *
+   * @param values the values to insert or update
+   * @return number of inserted or updated values
+   */
+  int upsertValuesBulk(List<DataEntryValue> values);
+
   @UsageTestOnly
   int upsertValuesForJdbcTest(List<DataEntryValue> values);
 
@@ -93,6 +93,16 @@ public class ImportOptions implements JobParameters {
   @JsonProperty
   private boolean atomic;
 
+  @Maturity.Beta
+  @OpenApi.Since(44)
+  @OpenApi.Description(
+      """
+    Data values are streamed into a temporary table using the bulk copy protocol
+    and merged into the stored data values with a single statement.
+    Recommended for large imports.""")
+  @JsonProperty
+  private boolean bulk;
+
   @JsonProperty(namespace = DxfNamespaces.DXF_2_0)
   private boolean dryRun;
 
@@ -303,6 +313,6 @@ public class ImportOptions implements JobParameters {
 
   @JsonIgnore
   public DataEntryGroup.Options getDataEntryOptions() {
-    return new DataEntryGroup.Options(isDryRun(), isAtomic(), isForce());
+    return new DataEntryGroup.Options(isDryRun(), isAtomic(), isForce(), isBulk());
   }
 }
@@ -38,4 +38,10 @@ public enum FlushMode {
 
   /** Flush for every db write. */
   OBJECT,
+
+  /**
+   * Commit the objects of a type in batches, running the hooks once per batch and flushing after
+   * every batch. Intended for imports of many objects of the same type.
+   */
+  BATCH,
 }
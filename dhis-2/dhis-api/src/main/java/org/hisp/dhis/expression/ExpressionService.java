@@ -293,6 +293,28 @@ public interface ExpressionService {
    */
   Object getExpressionValue(ExpressionParams params);
 
+  /**
+   * Compiles an expression for repeated evaluation. The expression is parsed once, and data items
+   * are resolved once against the item map of the parameters, rather than each time the expression
+   * is evaluated.
+   *
+   * @param params the expression parameters, including the expression, parse type, data type and
+   *     the item map that will be used for all evaluations.
+   * @return the compiled expression.
+   */
+  CompiledExpression compileExpression(ExpressionParams params);
+
+  /**
+   * Generates the calculated value for a compiled expression. The parameters must have the same
+   * parse type, data type and item map as those the expression was compiled with; the expression
+   * set in the parameters is ignored.
+   *
+   * @param expression the compiled expression.
+   * @param params the expression parameters.
+   * @return the calculated value.
+   */
+  Object getExpressionValue(CompiledExpression expression, ExpressionParams params);
+
   // -------------------------------------------------------------------------
   // Gets a (possibly cached) constant map
   // -------------------------------------------------------------------------
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * In-memory index of the org unit hierarchy, answering hierarchy questions without string matching
+ * on org unit paths or database queries.
+ *
+ * <p>The index reflects the committed hierarchy. Methods taking org unit UIDs answer based on the
+ * last committed hierarchy known to the index, and treat unknown org units as not part of the
+ * hierarchy. Methods taking {@link OrganisationUnit} objects fall back to the path of the given
+ * object if it is not known to the index or has been moved since, so that they give the same
+ * result as {@link OrganisationUnit#isDescendant(Collection)}.
+ */
+public interface OrganisationUnitHierarchyIndex {
+  /**
+   * Indicates whether the org unit is a descendant of, or equal to, any of the given ancestors.
+   *
+   * @param organisationUnit the org unit.
+   * @param ancestors the ancestor org units.
+   * @return true if the org unit is in the hierarchy of any of the ancestors.
+   */
+  boolean isDescendant(
+      @Nonnull OrganisationUnit organisationUnit,
+      @CheckForNull Collection<OrganisationUnit> ancestors);
+
+  /**
+   * Indicates whether the org unit is a descendant of, or equal to, any of the given ancestors.
+   *
+   * @param organisationUnit the org unit.
+   * @param ancestorUids the ancestor org unit UIDs.
+   * @return true if the org unit is in the hierarchy of any of the ancestors.
+   */
+  boolean isDescendant(
+      @Nonnull OrganisationUnit organisationUnit, @CheckForNull Set<String> ancestorUids);
+
+  /**
+   * Indicates whether the org unit is a descendant of, or equal to, the given ancestor.
+   *
+   * @param uid the org unit UID.
+   * @param ancestorUid the ancestor org unit UID.
+   * @return true if both org units are known and the org unit is in the hierarchy of the ancestor.
+   */
+  boolean isDescendant(@Nonnull String uid, @Nonnull String ancestorUid);
+
+  /**
+   * Gets the descendants of the given org unit at the given level, including the org unit itself
+   * if it is at the level.
+   *
+   * @param ancestorUid the ancestor org unit UID.
+   * @param level the level, where 1 is the root level.
+   * @return the UIDs of the descendants, in hierarchy order.
+   */
+  @Nonnull
+  List<String> getDescendantsAtLevel(@Nonnull String ancestorUid, int level);
+
+  /**
+   * Gets the lowest common ancestor of two org units. An org unit is its own ancestor.
+   *
+   * @param uid the first org unit UID.
+   * @param otherUid the second org unit UID.
+   * @return the UID of the lowest common ancestor, or null if either org unit is unknown or they
+   *     do not share a root.
+   */
+  @CheckForNull
+  String getLowestCommonAncestor(@Nonnull String uid, @Nonnull String otherUid);
+
+  /** Discards the index, so that it is rebuilt on next use. */
+  void invalidate();
+}
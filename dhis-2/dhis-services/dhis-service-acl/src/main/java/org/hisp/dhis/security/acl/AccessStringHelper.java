@@ -60,8 +60,18 @@ public class AccessStringHelper {
     public int getPosition() {
       return position;
     }
+
+    /** Returns the bit of this permission in a mask as returned by {@link #getMask(String)}. */
+    public int getMask() {
+      return 1 << position;
+    }
   }
 
+  /** Mask of all permissions, see {@link #getMask(String)}. */
+  public static final int ALL_PERMISSIONS = 0b1111;
+
+  private static final Permission[] PERMISSIONS = Permission.values();
+
   private char[] access = DEFAULT.toCharArray();
 
   public static final String DEFAULT = "--------";
@@ -181,6 +191,32 @@ public class AccessStringHelper {
             && access.charAt(permission.getPosition()) == permission.getValue());
   }
 
+  /**
+   * Returns the permissions enabled by the given access string as a bit mask of {@link
+   * Permission#getMask()}. Like {@link #isEnabled(String, Permission)} a null access string enables
+   * all permissions and an invalid one none.
+   *
+   * @param access the access string
+   * @return the mask of enabled permissions
+   */
+  public static int getMask(String access) {
+    if (access == null) {
+      return ALL_PERMISSIONS;
+    }
+
+    if (!validateAccessString(access)) {
+      return 0;
+    }
+
+    int mask = 0;
+    for (Permission permission : PERMISSIONS) {
+      if (access.charAt(permission.getPosition()) == permission.getValue()) {
+        mask |= permission.getMask();
+      }
+    }
+    return mask;
+  }
+
   public static boolean isValid(String access) {
     return access == null || validateAccessString(access);
   }
@@ -192,12 +228,15 @@ public class AccessStringHelper {
       return false;
     }
 
-    byte[] bytes = access.getBytes();
+    char read = access.charAt(0);
+    char write = access.charAt(1);
+    char dataRead = access.charAt(2);
+    char dataWrite = access.charAt(3);
 
-    return (bytes[0] == '-' || bytes[0] == 'r')
-        && (bytes[1] == '-' || bytes[1] == 'w')
-        && (bytes[2] == '-' || bytes[2] == 'r')
-        && (bytes[3] == '-' || bytes[3] == 'w');
+    return (read == '-' || read == 'r')
+        && (write == '-' || write == 'w')
+        && (dataRead == '-' || dataRead == 'r')
+        && (dataWrite == '-' || dataWrite == 'w');
   }
 
   public static boolean hasDataSharing(String access) {
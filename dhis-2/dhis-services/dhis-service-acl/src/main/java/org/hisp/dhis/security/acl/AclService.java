@@ -29,6 +29,7 @@
  */
 package org.hisp.dhis.security.acl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.function.Function;
 import org.hisp.dhis.common.IdentifiableObject;
@@ -177,6 +178,51 @@ public interface AclService {
 
   boolean canDataWrite(User user, IdentifiableObject object);
 
+  /**
+   * Returns the objects the user can read like {@link #canRead(UserDetails, IdentifiableObject)}.
+   * The schema and the authorities of the user are resolved once per object type instead of once
+   * per object.
+   *
+   * @param userDetails to check against
+   * @param objects Objects to check
+   * @return the readable objects in the given order
+   */
+  <T extends IdentifiableObject> List<T> filterReadable(
+      UserDetails userDetails, Collection<T> objects);
+
+  /**
+   * Returns the objects the user can write to like {@link #canWrite(UserDetails,
+   * IdentifiableObject)}. See {@link #filterReadable(UserDetails, Collection)}.
+   *
+   * @param userDetails to check against
+   * @param objects Objects to check
+   * @return the writable objects in the given order
+   */
+  <T extends IdentifiableObject> List<T> filterWritable(
+      UserDetails userDetails, Collection<T> objects);
+
+  /**
+   * Returns the objects the user can read data of like {@link #canDataRead(UserDetails,
+   * IdentifiableObject)}. See {@link #filterReadable(UserDetails, Collection)}.
+   *
+   * @param userDetails to check against
+   * @param objects Objects to check
+   * @return the objects with readable data in the given order
+   */
+  <T extends IdentifiableObject> List<T> filterDataReadable(
+      UserDetails userDetails, Collection<T> objects);
+
+  /**
+   * Returns the objects the user can write data to like {@link #canDataWrite(UserDetails,
+   * IdentifiableObject)}. See {@link #filterReadable(UserDetails, Collection)}.
+   *
+   * @param userDetails to check against
+   * @param objects Objects to check
+   * @return the objects with writable data in the given order
+   */
+  <T extends IdentifiableObject> List<T> filterDataWritable(
+      UserDetails userDetails, Collection<T> objects);
+
   /**
    * Can user update this object
    *
@@ -33,9 +33,12 @@ import static org.springframework.util.CollectionUtils.containsAny;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import org.hisp.dhis.cache.Cache;
 import org.hisp.dhis.cache.CacheProvider;
@@ -133,14 +136,26 @@ public class DefaultAclService implements AclService {
   @Override
   public <T extends IdentifiableObject> boolean canRead(
       UserDetails userDetails, T object, Class<? extends T> objType) {
+    return getReadCheck(userDetails, objType).test(object);
+  }
 
+  /**
+   * Creates the check of {@link #canRead(UserDetails, IdentifiableObject, Class)} for objects of
+   * the given type.
+   */
+  private Predicate<IdentifiableObject> getReadCheck(
+      UserDetails userDetails, Class<? extends IdentifiableObject> objType) {
     if (readWriteCommonCheck(userDetails, objType)) {
-      return true;
+      return object -> true;
     }
 
     Schema schema = schemaService.getSchema(objType);
 
-    if (canAccess(userDetails, schema.getAuthorityByType(AuthorityType.READ))) {
+    if (!canAccess(userDetails, schema.getAuthorityByType(AuthorityType.READ))) {
+      return object -> false;
+    }
+
+    return object -> {
       if (object instanceof CategoryOptionCombo) {
         return checkOptionComboSharingPermission(userDetails, object, Permission.READ);
       }
@@ -148,9 +163,7 @@ public class DefaultAclService implements AclService {
       return !schema.isShareable()
           || object.getSharing().getPublicAccess() == null
           || checkMetadataSharingPermission(userDetails, object, Permission.READ);
-    } else {
-      return false;
-    }
+    };
   }
 
   @Override
@@ -162,26 +175,37 @@ public class DefaultAclService implements AclService {
 
   private <T extends IdentifiableObject> boolean canDataRead(
       UserDetails userDetails, T object, Class<? extends T> objType) {
+    return getDataReadCheck(userDetails, objType).test(object);
+  }
+
+  /**
+   * Creates the check of {@link #canDataRead(UserDetails, IdentifiableObject)} for objects of the
+   * given type.
+   */
+  private Predicate<IdentifiableObject> getDataReadCheck(
+      UserDetails userDetails, Class<? extends IdentifiableObject> objType) {
     if (readWriteCommonCheck(userDetails, objType)) {
-      return true;
+      return object -> true;
     }
 
     Schema schema = schemaService.getSchema(objType);
 
-    if (canAccess(userDetails, schema.getAuthorityByType(AuthorityType.DATA_READ))) {
+    if (!canAccess(userDetails, schema.getAuthorityByType(AuthorityType.DATA_READ))) {
+      return object -> false;
+    }
 
+    return object -> {
       if (object instanceof CategoryOptionCombo) {
         return checkOptionComboSharingPermission(userDetails, object, Permission.DATA_READ)
             || checkOptionComboSharingPermission(userDetails, object, Permission.DATA_WRITE);
-      } else {
-
-        return schema.isDataShareable()
-            && (checkSharingPermission(userDetails, object, Permission.DATA_READ)
-                || checkSharingPermission(userDetails, object, Permission.DATA_WRITE));
       }
-    }
 
-    return false;
+      return schema.isDataShareable()
+          && checkSharingPermission(
+              userDetails,
+              object,
+              Permission.DATA_READ.getMask() | Permission.DATA_WRITE.getMask());
+    };
   }
 
   @Override
@@ -212,8 +236,17 @@ public class DefaultAclService implements AclService {
 
   private <T extends IdentifiableObject> boolean canWrite(
       UserDetails userDetails, T object, Class<? extends T> objType) {
+    return getWriteCheck(userDetails, objType).test(object);
+  }
+
+  /**
+   * Creates the check of {@link #canWrite(UserDetails, IdentifiableObject)} for objects of the
+   * given type.
+   */
+  private Predicate<IdentifiableObject> getWriteCheck(
+      UserDetails userDetails, Class<? extends IdentifiableObject> objType) {
     if (readWriteCommonCheck(userDetails, objType)) {
-      return true;
+      return object -> true;
     }
 
     Schema schema = schemaService.getSchema(objType);
@@ -226,13 +259,15 @@ public class DefaultAclService implements AclService {
     }
 
     if (canAccess(userDetails, anyAuthorities)) {
-      if (object instanceof CategoryOptionCombo) {
-        return checkOptionComboSharingPermission(userDetails, object, Permission.WRITE);
-      }
-      return writeCommonCheck(schema, userDetails, object, objType);
+      return object -> {
+        if (object instanceof CategoryOptionCombo) {
+          return checkOptionComboSharingPermission(userDetails, object, Permission.WRITE);
+        }
+        return writeCommonCheck(schema, userDetails, object, objType);
+      };
     } else
-      return schema.isImplicitPrivateAuthority()
-          && checkSharingAccess(userDetails, object, objType);
+      return object ->
+          schema.isImplicitPrivateAuthority() && checkSharingAccess(userDetails, object, objType);
   }
 
   @Override
@@ -249,9 +284,18 @@ public class DefaultAclService implements AclService {
 
   private <T extends IdentifiableObject> boolean canDataWrite(
       UserDetails userDetails, T object, Class<? extends T> objType) {
+    return getDataWriteCheck(userDetails, objType).test(object);
+  }
+
+  /**
+   * Creates the check of {@link #canDataWrite(UserDetails, IdentifiableObject)} for objects of the
+   * given type.
+   */
+  private Predicate<IdentifiableObject> getDataWriteCheck(
+      UserDetails userDetails, Class<? extends IdentifiableObject> objType) {
 
     if (readWriteCommonCheck(userDetails, objType)) {
-      return true;
+      return object -> true;
     }
 
     Schema schema = schemaService.getSchema(objType);
@@ -260,16 +304,68 @@ public class DefaultAclService implements AclService {
     // modified
     List<String> anyAuthorities = schema.getAuthorityByType(AuthorityType.DATA_CREATE);
 
-    if (canAccess(userDetails, anyAuthorities)) {
+    if (!canAccess(userDetails, anyAuthorities)) {
+      return object -> false;
+    }
+
+    return object -> {
       if (object instanceof CategoryOptionCombo) {
         return checkOptionComboSharingPermission(userDetails, object, Permission.DATA_WRITE);
       }
 
       return schema.isDataShareable()
           && checkSharingPermission(userDetails, object, Permission.DATA_WRITE);
+    };
+  }
+
+  @Override
+  public <T extends IdentifiableObject> List<T> filterReadable(
+      UserDetails userDetails, Collection<T> objects) {
+    return filter(objects, objType -> getReadCheck(userDetails, objType));
+  }
+
+  @Override
+  public <T extends IdentifiableObject> List<T> filterWritable(
+      UserDetails userDetails, Collection<T> objects) {
+    return filter(objects, objType -> getWriteCheck(userDetails, objType));
+  }
+
+  @Override
+  public <T extends IdentifiableObject> List<T> filterDataReadable(
+      UserDetails userDetails, Collection<T> objects) {
+    return filter(objects, objType -> getDataReadCheck(userDetails, objType));
+  }
+
+  @Override
+  public <T extends IdentifiableObject> List<T> filterDataWritable(
+      UserDetails userDetails, Collection<T> objects) {
+    return filter(objects, objType -> getDataWriteCheck(userDetails, objType));
+  }
+
+  /**
+   * Filters the objects using checks created once per object type. Null objects are kept, like the
+   * single object checks allow null objects.
+   */
+  @SuppressWarnings("unchecked")
+  private <T extends IdentifiableObject> List<T> filter(
+      Collection<T> objects,
+      Function<Class<? extends IdentifiableObject>, Predicate<IdentifiableObject>> checkOf) {
+    Map<Class<? extends IdentifiableObject>, Predicate<IdentifiableObject>> checks =
+        new HashMap<>();
+    List<T> result = new ArrayList<>(objects.size());
+
+    for (T object : objects) {
+      if (object == null
+          || checks
+              .computeIfAbsent(
+                  (Class<? extends IdentifiableObject>) HibernateProxyUtils.getRealClass(object),
+                  checkOf)
+              .test(object)) {
+        result.add(object);
+      }
     }
 
-    return false;
+    return result;
   }
 
   @Override
@@ -713,19 +809,33 @@ public class DefaultAclService implements AclService {
    */
   private boolean checkSharingPermission(
       @Nonnull UserDetails userDetails, IdentifiableObject object, Permission permission) {
+    return checkSharingPermission(userDetails, object, permission.getMask());
+  }
+
+  /**
+   * If the given user allowed to access the given object using any of the permissions given. The
+   * sharing of the object is walked once no matter how many permissions are given.
+   *
+   * @param userDetails to check against
+   * @param object Object to check against
+   * @param permissions mask of {@link Permission#getMask()} to check against
+   * @return true if user can access object, false otherwise
+   */
+  private boolean checkSharingPermission(
+      @Nonnull UserDetails userDetails, IdentifiableObject object, int permissions) {
 
     Sharing sharing = object.getSharing();
-    if (AccessStringHelper.isEnabled(sharing.getPublicAccess(), permission)) {
+    if (isEnabled(sharing.getPublicAccess(), permissions)) {
       return true;
     }
 
-    if (sharing.getUserGroups() != null
-        && !CollectionUtils.isEmpty(userDetails.getUserGroupIds())) {
+    Set<String> userGroupIds = userDetails.getUserGroupIds();
+    if (sharing.getUserGroups() != null && !CollectionUtils.isEmpty(userGroupIds)) {
       for (UserGroupAccess userGroupAccess : sharing.getUserGroups().values()) {
         // Check if user is allowed to read this object through group
         // access
-        if (AccessStringHelper.isEnabled(userGroupAccess.getAccess(), permission)
-            && hasUserGroupAccess(userDetails.getUserGroupIds(), userGroupAccess.getId())) {
+        if (isEnabled(userGroupAccess.getAccess(), permissions)
+            && hasUserGroupAccess(userGroupIds, userGroupAccess.getId())) {
           return true;
         }
       }
@@ -736,7 +846,7 @@ public class DefaultAclService implements AclService {
         // Check if user is allowed to read to this object through user
         // access
 
-        if (AccessStringHelper.isEnabled(userAccess.getAccess(), permission)
+        if (isEnabled(userAccess.getAccess(), permissions)
             && userDetails.getUid().equals(userAccess.getId())) {
           return true;
         }
@@ -746,6 +856,10 @@ public class DefaultAclService implements AclService {
     return false;
   }
 
+  private static boolean isEnabled(String access, int permissions) {
+    return (AccessStringHelper.getMask(access) & permissions) != 0;
+  }
+
   private boolean checkOptionComboSharingPermission(
       UserDetails userDetails, IdentifiableObject object, Permission permission) {
     CategoryOptionCombo optionCombo = (CategoryOptionCombo) object;
@@ -754,15 +868,13 @@ public class DefaultAclService implements AclService {
       return true;
     }
 
-    List<Long> accessibleOptions = new ArrayList<>();
-
     for (CategoryOption option : optionCombo.getCategoryOptions()) {
-      if (checkSharingPermission(userDetails, option, permission)) {
-        accessibleOptions.add(option.getId());
+      if (!checkSharingPermission(userDetails, option, permission)) {
+        return false;
       }
     }
 
-    return accessibleOptions.size() == optionCombo.getCategoryOptions().size();
+    return true;
   }
 
   private boolean readWriteCommonCheck(UserDetails userDetails, Class<?> objType) {
@@ -784,12 +896,6 @@ public class DefaultAclService implements AclService {
   }
 
   private boolean hasUserGroupAccess(Set<String> userGroups, String userGroupUid) {
-    for (String groupUid : userGroups) {
-      if (groupUid.equals(userGroupUid)) {
-        return true;
-      }
-    }
-
-    return false;
+    return userGroupUid != null && userGroups.contains(userGroupUid);
   }
 }
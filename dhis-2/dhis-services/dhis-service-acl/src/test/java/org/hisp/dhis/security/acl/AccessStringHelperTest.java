@@ -29,9 +29,11 @@
  */
 package org.hisp.dhis.security.acl;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import org.hisp.dhis.security.acl.AccessStringHelper.Permission;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -74,4 +76,25 @@ class AccessStringHelperTest {
     assertTrue(AccessStringHelper.canRead(AccessStringHelper.READ_WRITE));
     assertTrue(AccessStringHelper.canWrite(AccessStringHelper.READ_WRITE));
   }
+
+  @Test
+  void testGetMask() {
+    assertEquals(0, AccessStringHelper.getMask(AccessStringHelper.DEFAULT));
+    assertEquals(Permission.READ.getMask(), AccessStringHelper.getMask("r-------"));
+    assertEquals(
+        Permission.WRITE.getMask() | Permission.DATA_READ.getMask(),
+        AccessStringHelper.getMask("-wr-----"));
+    assertEquals(AccessStringHelper.ALL_PERMISSIONS, AccessStringHelper.getMask("rwrw----"));
+  }
+
+  @Test
+  void testGetMaskOfNullEnablesAllPermissions() {
+    assertEquals(AccessStringHelper.ALL_PERMISSIONS, AccessStringHelper.getMask(null));
+  }
+
+  @Test
+  void testGetMaskOfInvalidAccessEnablesNoPermission() {
+    assertEquals(0, AccessStringHelper.getMask("rwrwrwrw"));
+    assertEquals(0, AccessStringHelper.getMask("rw"));
+  }
 }
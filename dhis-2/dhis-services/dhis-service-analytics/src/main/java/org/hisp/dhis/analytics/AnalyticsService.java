@@ -31,6 +31,7 @@ package org.hisp.dhis.analytics;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import org.hisp.dhis.common.AnalyticalObject;
 import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.dxf2.datavalueset.DataValueSet;
@@ -130,6 +131,18 @@ public interface AnalyticsService {
    */
   Grid getRawDataValues(DataQueryParams params);
 
+  /**
+   * Streams raw data values for the given query. The headers are passed to the given header
+   * consumer as a grid without rows first, after which each row is passed to the given row consumer
+   * as it is read from the database. Rows are not retained, and no meta data is produced.
+   *
+   * @param params the data query parameters.
+   * @param headerConsumer the consumer of the grid holding the headers.
+   * @param rowConsumer the consumer of rows.
+   */
+  void streamRawDataValues(
+      DataQueryParams params, Consumer<Grid> headerConsumer, Consumer<List<Object>> rowConsumer);
+
   @Transactional(readOnly = true)
   Grid getAggregatedDataValuesGrid(DataQueryParams params);
 
@@ -35,6 +35,7 @@ import java.util.List;
 import java.util.Set;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
+import org.hisp.dhis.analytics.table.model.TableStatistics;
 import org.hisp.dhis.db.model.Index;
 import org.hisp.dhis.db.model.Table;
 
@@ -101,6 +102,39 @@ public interface AnalyticsTableManager {
    */
   default void removeUpdatedData(List<AnalyticsTable> tables) {}
 
+  /**
+   * Indicates whether the "latest" update for the given parameters can be performed as an
+   * incremental update, applying recorded data changes directly to the existing table partitions.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @return true if an incremental update can be performed.
+   */
+  default boolean supportsIncrementalUpdate(AnalyticsTableUpdateParams params) {
+    return false;
+  }
+
+  /**
+   * Creates and populates one delta table for each existing table partition affected by recorded
+   * data changes. Delta tables are named like staging partitions and contain the current state of
+   * all changed data.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @return the list of delta table partitions, one per affected partition.
+   */
+  default List<AnalyticsTablePartition> createIncrementalTables(AnalyticsTableUpdateParams params) {
+    return List.of();
+  }
+
+  /**
+   * Replaces the changed data in the existing table partitions with the content of the given delta
+   * tables, drops the delta tables and removes the applied data changes.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param partitions the delta table partitions returned by {@link #createIncrementalTables}.
+   */
+  default void mergeIncrementalTables(
+      AnalyticsTableUpdateParams params, List<AnalyticsTablePartition> partitions) {}
+
   /**
    * Attempts to drop and then create analytics table.
    *
@@ -141,6 +175,26 @@ public interface AnalyticsTableManager {
    */
   int invokeAnalyticsTableSqlHooks();
 
+  /**
+   * Indicates whether analytics table SQL hooks exist for the table type. Hooks operate on the
+   * complete table and must be invoked after all partitions have been populated.
+   *
+   * @return true if analytics table SQL hooks exist for the table type.
+   */
+  default boolean hasAnalyticsTableSqlHooks() {
+    return true;
+  }
+
+  /**
+   * Returns the estimated number of rows and the size of the table with the given name, as read
+   * from database statistics. The row estimate is current after the table has been analyzed.
+   *
+   * @param name the table name.
+   * @return the {@link TableStatistics}, or {@link TableStatistics#EMPTY} if the table does not
+   *     exist.
+   */
+  TableStatistics getTableStatistics(String name);
+
   /**
    * Drops the given table.
    *
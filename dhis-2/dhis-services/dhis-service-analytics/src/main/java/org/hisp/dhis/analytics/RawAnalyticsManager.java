@@ -29,6 +29,8 @@
  */
 package org.hisp.dhis.analytics;
 
+import java.util.List;
+import java.util.function.Consumer;
 import org.hisp.dhis.common.Grid;
 
 /**
@@ -45,4 +47,13 @@ public interface RawAnalyticsManager {
    * @return a grid with data.
    */
   Grid getRawDataValues(DataQueryParams params, Grid grid);
+
+  /**
+   * Passes the rows of raw analytics data for the given query to the given consumer, one at a time,
+   * as they are read from the database. The rows are not retained.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param rowConsumer the consumer of rows.
+   */
+  void streamRawDataValues(DataQueryParams params, Consumer<List<Object>> rowConsumer);
 }
@@ -32,6 +32,10 @@ package org.hisp.dhis.analytics.cache;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.SerializationUtils;
@@ -44,12 +48,19 @@ import org.springframework.stereotype.Component;
 /**
  * This is a wrapper class responsible for keeping and isolating all cache definitions related to
  * the analytics.
+ *
+ * <p>Grids are kept in the cache in their serialized form. Every read deserializes a new, isolated
+ * Grid instance, so no defensive cloning is needed on cache hits, and the cached entries are much
+ * more compact than the equivalent object graphs.
  */
 @Slf4j
 @Component
 public class AnalyticsCache {
   private final AnalyticsCacheSettings analyticsCacheSettings;
-  private final Cache<Grid> queryCache;
+  private final Cache<byte[]> queryCache;
+  // Computations currently in progress, by cache key
+  private final ConcurrentMap<String, CompletableFuture<byte[]>> inFlight =
+      new ConcurrentHashMap<>();
   // Track nested call chain
   private static final ThreadLocal<Integer> nestingLevel = ThreadLocal.withInitial(() -> 0);
 
@@ -67,15 +78,15 @@ public class AnalyticsCache {
   }
 
   public Optional<Grid> get(String key) {
-    return getGridClone(queryCache.get(key));
+    return queryCache.get(key).map(AnalyticsCache::deserialize);
   }
 
   /**
    * Retrieves a Grid from the cache or computes it if not available, with special handling for
-   * nested calls.
+   * nested and concurrent calls.
    *
    * <p>This method first checks if the Grid for the given DataQueryParams is already in the cache.
-   * If found, it returns a clone of the cached Grid. If not found, it computes the Grid using the
+   * If found, it returns a copy of the cached Grid. If not found, it computes the Grid using the
    * provided function and caches the result, but only if this is a top-level call (not a nested
    * call within another getOrFetch operation).
    *
@@ -83,6 +94,11 @@ public class AnalyticsCache {
    * triggers another Grid computation with different parameters. Only the top-level call's result
    * is cached, while nested calls compute their results without caching them.
    *
+   * <p>Concurrent top-level calls for the same key are coalesced: the first caller computes the
+   * Grid, while the other callers wait for that computation and receive their own copy of its
+   * result. If the computation fails, all waiting callers fail with the same exception. Calls whose
+   * TTL is zero or negative are not cached, and therefore neither serialized nor coalesced.
+   *
    * <p>The TTL of the cached object is determined according to the configuration in {@link
    * org.hisp.dhis.analytics.cache.AnalyticsCacheSettings}, which supports both fixed and
    * progressive expiration strategies.
@@ -91,7 +107,7 @@ public class AnalyticsCache {
    *
    * @param params The DataQueryParams used as the cache key and computation input
    * @param function A function that computes a Grid based on the provided DataQueryParams
-   * @return A clone of the Grid, either from cache or newly computed
+   * @return A copy of the Grid, either from cache or newly computed
    */
   public Grid getOrFetch(DataQueryParams params, Function<DataQueryParams, Grid> function) {
     String key = params.getKey();
@@ -99,30 +115,67 @@ public class AnalyticsCache {
     // First check if it's already cached
     Optional<Grid> cachedGrid = get(key);
     if (cachedGrid.isPresent()) {
-      return getGridClone(cachedGrid.get());
+      return cachedGrid.get();
+    }
+
+    // Nested calls are neither cached nor coalesced
+    if (nestingLevel.get() > 0) {
+      return compute(params, function);
+    }
+
+    long ttlInSeconds = getTimeToLive(params);
+
+    // Nothing will be stored, so there is nothing to serialize or share
+    if (ttlInSeconds <= 0) {
+      return compute(params, function);
+    }
+
+    CompletableFuture<byte[]> computation = new CompletableFuture<>();
+    CompletableFuture<byte[]> running = inFlight.putIfAbsent(key, computation);
+
+    if (running != null) {
+      log.debug("Waiting for in-flight analytics computation with key: '{}'", key);
+      return deserialize(await(running));
+    }
+
+    try {
+      // A previous computation may have completed between the cache check and putIfAbsent
+      Optional<byte[]> cachedSerializedGrid = queryCache.get(key);
+      if (cachedSerializedGrid.isPresent()) {
+        computation.complete(cachedSerializedGrid.get());
+        return deserialize(cachedSerializedGrid.get());
+      }
+
+      Grid grid = compute(params, function);
+      byte[] serializedGrid = SerializationUtils.serialize(grid);
+      putSerialized(key, serializedGrid, ttlInSeconds);
+      computation.complete(serializedGrid);
+
+      // The cache and the waiting callers only see the serialized form
+      return grid;
+    } catch (RuntimeException | Error ex) {
+      computation.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(key, computation);
     }
+  }
 
+  /**
+   * Computes the Grid using the given function, keeping track of the nesting level of the current
+   * thread.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param function the function that computes the Grid.
+   * @return the computed Grid.
+   */
+  private Grid compute(DataQueryParams params, Function<DataQueryParams, Grid> function) {
     // Get current nesting level and increment
     int currentLevel = nestingLevel.get();
     nestingLevel.set(currentLevel + 1);
 
     try {
-      // Compute the grid
-      Grid grid = function.apply(params);
-
-      // Only add to cache if this is the top level call (level was 0)
-      if (currentLevel == 0) {
-        if (analyticsCacheSettings.isProgressiveCachingEnabled()) {
-          put(
-              params.getKey(),
-              grid,
-              analyticsCacheSettings.progressiveExpirationTimeOrDefault(params.getLatestEndDate()));
-        } else {
-          put(params.getKey(), grid, analyticsCacheSettings.fixedExpirationTimeOrDefault());
-        }
-      }
-
-      return getGridClone(grid);
+      return function.apply(params);
     } finally {
       // Restore previous nesting level
       nestingLevel.set(currentLevel);
@@ -134,6 +187,29 @@ public class AnalyticsCache {
     }
   }
 
+  /**
+   * Waits for the given in-flight computation and returns its result, rethrowing the original
+   * exception if the computation failed.
+   *
+   * @param computation the in-flight computation.
+   * @return the serialized Grid.
+   */
+  private byte[] await(CompletableFuture<byte[]> computation) {
+    try {
+      return computation.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+
+      if (ex.getCause() instanceof Error cause) {
+        throw cause;
+      }
+
+      throw ex;
+    }
+  }
+
   /**
    * This method will cache the given Grid associated with the given DataQueryParams.
    *
@@ -144,16 +220,7 @@ public class AnalyticsCache {
    * @param grid the associated Grid.
    */
   public void put(DataQueryParams params, Grid grid) {
-    if (analyticsCacheSettings.isProgressiveCachingEnabled()) {
-      // Uses the progressive TTL
-      put(
-          params.getKey(),
-          grid,
-          analyticsCacheSettings.progressiveExpirationTimeOrDefault(params.getLatestEndDate()));
-    } else {
-      // Respects the fixed (predefined) caching TTL
-      put(params.getKey(), grid, analyticsCacheSettings.fixedExpirationTimeOrDefault());
-    }
+    put(params.getKey(), grid, getTimeToLive(params));
   }
 
   /**
@@ -165,11 +232,34 @@ public class AnalyticsCache {
    * @param ttlInSeconds the time to live (expiration time) in seconds.
    */
   public void put(String key, Grid grid, long ttlInSeconds) {
+    if (ttlInSeconds > 0) {
+      putSerialized(key, SerializationUtils.serialize(grid), ttlInSeconds);
+    }
+  }
+
+  private void putSerialized(String key, byte[] serializedGrid, long ttlInSeconds) {
     if (ttlInSeconds <= 0) {
       // Do not cache if TTL is zero or negative
       return;
     }
-    queryCache.put(key, getGridClone(grid), ttlInSeconds);
+    queryCache.put(key, serializedGrid, ttlInSeconds);
+  }
+
+  /**
+   * Returns the TTL in seconds for the given {@link DataQueryParams}, accordingly to the cache
+   * settings available at {@link AnalyticsCacheSettings}.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @return the TTL in seconds.
+   */
+  private long getTimeToLive(DataQueryParams params) {
+    if (analyticsCacheSettings.isProgressiveCachingEnabled()) {
+      // Uses the progressive TTL
+      return analyticsCacheSettings.progressiveExpirationTimeOrDefault(params.getLatestEndDate());
+    }
+
+    // Respects the fixed (predefined) caching TTL
+    return analyticsCacheSettings.fixedExpirationTimeOrDefault();
   }
 
   /** Clears the current cache by removing all existing entries. */
@@ -183,15 +273,7 @@ public class AnalyticsCache {
     return analyticsCacheSettings.isCachingEnabled();
   }
 
-  private Grid getGridClone(Grid grid) {
-    if (grid != null) {
-      return SerializationUtils.clone(grid);
-    }
-
-    return null;
-  }
-
-  private Optional<Grid> getGridClone(Optional<Grid> grid) {
-    return grid.map(SerializationUtils::clone);
+  private static Grid deserialize(byte[] bytes) {
+    return SerializationUtils.deserialize(bytes);
   }
 }
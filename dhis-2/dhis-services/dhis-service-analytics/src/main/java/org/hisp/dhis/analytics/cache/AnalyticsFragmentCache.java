@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.cache;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.hisp.dhis.common.DimensionConstants.DIMENSION_SEP;
+import static org.hisp.dhis.common.DimensionConstants.PERIOD_DIM_ID;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.DataQueryParams;
+import org.hisp.dhis.analytics.QueryKey;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.period.PeriodDimension;
+import org.springframework.stereotype.Component;
+
+/**
+ * Second analytics cache tier, which sits below the {@link AnalyticsCache}. While the {@link
+ * AnalyticsCache} keeps complete Grids per request, this cache keeps the aggregated values of
+ * planned queries per period, so that a query can reuse the values of the periods which were
+ * already retrieved by a previous query for the same data items, org units and filters. Only the
+ * missing periods must then be retrieved from the analytics tables.
+ *
+ * <p>A fragment is the map of dimension keys to aggregated values for a single period of a planned
+ * query. The fragment key is composed of the query key, computed without period items, and the ISO
+ * period. Fragments are cached with the same TTL rules as the {@link AnalyticsCache}, using the end
+ * date of the period for progressive caching, and are cleared after analytics table updates.
+ */
+@Slf4j
+@Component
+public class AnalyticsFragmentCache {
+  private final AnalyticsCacheSettings analyticsCacheSettings;
+
+  private final Cache<Map<String, Object>> fragmentCache;
+
+  public AnalyticsFragmentCache(
+      CacheProvider cacheProvider, AnalyticsCacheSettings analyticsCacheSettings) {
+    checkNotNull(cacheProvider);
+    checkNotNull(analyticsCacheSettings);
+
+    this.analyticsCacheSettings = analyticsCacheSettings;
+    this.fragmentCache = cacheProvider.createAnalyticsFragmentCache();
+  }
+
+  /**
+   * Looks up the cached fragments of the given planned query. The returned lookup holds the cached
+   * values and the query to execute for the periods which are not cached, if any.
+   *
+   * @param query the planned {@link DataQueryParams}.
+   * @param tableType the {@link AnalyticsTableType}.
+   * @return a {@link FragmentLookup}.
+   */
+  public FragmentLookup lookup(DataQueryParams query, AnalyticsTableType tableType) {
+    if (!isCacheable(query)) {
+      return new FragmentLookup(null, -1, Map.of(), query, List.of());
+    }
+
+    String key = getQueryKey(query, tableType);
+    Map<String, Object> cachedValues = new HashMap<>();
+    List<PeriodDimension> missingPeriods = new ArrayList<>();
+
+    for (DimensionalItemObject item : query.getPeriods()) {
+      PeriodDimension period = (PeriodDimension) item;
+      Optional<Map<String, Object>> fragment =
+          fragmentCache.get(getFragmentKey(key, period.getIsoDate()));
+
+      if (fragment.isPresent()) {
+        cachedValues.putAll(fragment.get());
+      } else {
+        missingPeriods.add(period);
+      }
+    }
+
+    if (missingPeriods.isEmpty()) {
+      log.debug("All periods of analytics query found in fragment cache: '{}'", key);
+      return new FragmentLookup(key, -1, cachedValues, null, List.of());
+    }
+
+    DataQueryParams missingQuery =
+        missingPeriods.size() == query.getPeriods().size()
+            ? query
+            : DataQueryParams.newBuilder(query)
+                .withPeriods(query.getDimension(PERIOD_DIM_ID).getDimensionName(), missingPeriods)
+                .build();
+
+    log.debug(
+        "Found {} of {} periods of analytics query in fragment cache: '{}'",
+        query.getPeriods().size() - missingPeriods.size(),
+        query.getPeriods().size(),
+        key);
+
+    return new FragmentLookup(
+        key, query.getPeriodDimensionIndex(), cachedValues, missingQuery, missingPeriods);
+  }
+
+  /**
+   * Caches the values retrieved for the missing periods of the given lookup, one fragment per
+   * period. Periods without values are cached as empty fragments, so that they are not retrieved
+   * again.
+   *
+   * @param lookup the {@link FragmentLookup}.
+   * @param values the values retrieved by the missing query of the lookup.
+   */
+  public void put(FragmentLookup lookup, Map<String, Object> values) {
+    if (!lookup.isCacheable() || lookup.missingPeriods().isEmpty()) {
+      return;
+    }
+
+    Map<String, Map<String, Object>> fragments = new HashMap<>();
+    lookup.missingPeriods().forEach(pe -> fragments.put(pe.getIsoDate(), new HashMap<>()));
+
+    for (Map.Entry<String, Object> entry : values.entrySet()) {
+      String[] keyArray = entry.getKey().split(DIMENSION_SEP);
+      Map<String, Object> fragment =
+          keyArray.length > lookup.periodIndex()
+              ? fragments.get(keyArray[lookup.periodIndex()])
+              : null;
+
+      if (fragment == null) {
+        log.debug("Unexpected period in analytics value key, skipping fragments: '{}'", entry);
+        return;
+      }
+
+      fragment.put(entry.getKey(), entry.getValue());
+    }
+
+    for (PeriodDimension period : lookup.missingPeriods()) {
+      long ttl = getTimeToLive(period);
+
+      if (ttl > 0) {
+        fragmentCache.put(
+            getFragmentKey(lookup.key(), period.getIsoDate()),
+            fragments.get(period.getIsoDate()),
+            ttl);
+      }
+    }
+  }
+
+  /** Clears the current cache by removing all existing entries. */
+  public void invalidateAll() {
+    fragmentCache.invalidateAll();
+
+    log.info("Analytics fragment cache cleared");
+  }
+
+  /**
+   * Indicates whether the values of the given planned query can be cached per period. This
+   * requires periods as a dimension, and excludes disaggregation queries, where values of data
+   * periods are spread over aggregation periods, and sub-expression queries, which are not part of
+   * the query key.
+   *
+   * @param query the {@link DataQueryParams}.
+   * @return true if the query can be cached per period.
+   */
+  private boolean isCacheable(DataQueryParams query) {
+    return analyticsCacheSettings.isCachingEnabled()
+        && query.getPeriodDimensionIndex() != -1
+        && !query.analyzeOnly()
+        && !query.isDisaggregation()
+        && !query.hasSubexpressions()
+        && query.getPeriods().stream().allMatch(AnalyticsFragmentCache::isFixedPeriod);
+  }
+
+  private static boolean isFixedPeriod(DimensionalItemObject item) {
+    return item instanceof PeriodDimension period
+        && period.getRelativePeriod() == null
+        && period.getDateField() == null;
+  }
+
+  /**
+   * Returns the key of the given query without its period items, including the properties of
+   * planned queries which are not part of {@link DataQueryParams#getKey()}.
+   */
+  private String getQueryKey(DataQueryParams query, AnalyticsTableType tableType) {
+    DataQueryParams queryWithoutPeriods =
+        DataQueryParams.newBuilder(query)
+            .withPeriods(query.getDimension(PERIOD_DIM_ID).getDimensionName(), List.of())
+            .build();
+
+    return new QueryKey()
+        .add("query", queryWithoutPeriods.getKey())
+        .add("tableType", tableType)
+        .add("tableName", query.getTableName())
+        .add("periodIndex", query.getPeriodDimensionIndex())
+        .add("periodType", query.getPeriodType())
+        .add("dataType", query.getDataType())
+        .add("valueColumn", query.getValueColumn())
+        .build();
+  }
+
+  private String getFragmentKey(String queryKey, String isoPeriod) {
+    return queryKey + DIMENSION_SEP + isoPeriod;
+  }
+
+  private long getTimeToLive(PeriodDimension period) {
+    if (analyticsCacheSettings.isProgressiveCachingEnabled()) {
+      return analyticsCacheSettings.progressiveExpirationTimeOrDefault(period.getEndDate());
+    }
+
+    return analyticsCacheSettings.fixedExpirationTimeOrDefault();
+  }
+
+  /**
+   * The result of a fragment cache lookup.
+   *
+   * @param key the query key, null if the query is not cacheable.
+   * @param periodIndex the index of the period in the value keys.
+   * @param cachedValues the values found in the cache.
+   * @param missingQuery the query to execute for the periods which are not cached, null if all
+   *     periods are cached.
+   * @param missingPeriods the periods which are not cached.
+   */
+  public record FragmentLookup(
+      String key,
+      int periodIndex,
+      Map<String, Object> cachedValues,
+      DataQueryParams missingQuery,
+      List<PeriodDimension> missingPeriods) {
+    public boolean isCacheable() {
+      return key != null;
+    }
+
+    public boolean hasMissingQuery() {
+      return missingQuery != null;
+    }
+  }
+}
@@ -31,6 +31,7 @@ package org.hisp.dhis.analytics.config;
 
 import org.hisp.dhis.analytics.AnalyticsTableManager;
 import org.hisp.dhis.analytics.AnalyticsTableService;
+import org.hisp.dhis.analytics.table.AnalyticsTableMetrics;
 import org.hisp.dhis.analytics.table.DefaultAnalyticsTableService;
 import org.hisp.dhis.dataelement.DataElementService;
 import org.hisp.dhis.db.AnalyticsSqlBuilderProvider;
@@ -77,14 +78,16 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
-      @Qualifier("postgresSqlBuilder") SqlBuilder sqlBuilder) {
+      @Qualifier("postgresSqlBuilder") SqlBuilder sqlBuilder,
+      AnalyticsTableMetrics tableMetrics) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
         settingsProvider,
-        sqlBuilder);
+        sqlBuilder,
+        tableMetrics);
   }
 
   @Bean("org.hisp.dhis.analytics.TrackedEntityEventsAnalyticsTableService")
@@ -95,14 +98,16 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
-      @Qualifier("postgresSqlBuilder") SqlBuilder sqlBuilder) {
+      @Qualifier("postgresSqlBuilder") SqlBuilder sqlBuilder,
+      AnalyticsTableMetrics tableMetrics) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
         settingsProvider,
-        sqlBuilder);
+        sqlBuilder,
+        tableMetrics);
   }
 
   @Bean("org.hisp.dhis.analytics.TrackedEntityEnrollmentsAnalyticsTableService")
@@ -113,14 +118,16 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
-      @Qualifier("postgresSqlBuilder") SqlBuilder sqlBuilder) {
+      @Qualifier("postgresSqlBuilder") SqlBuilder sqlBuilder,
+      AnalyticsTableMetrics tableMetrics) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
         settingsProvider,
-        sqlBuilder);
+        sqlBuilder,
+        tableMetrics);
   }
 
   @Bean("org.hisp.dhis.analytics.AnalyticsTableService")
@@ -131,14 +138,16 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
-      SqlBuilder sqlBuilder) {
+      SqlBuilder sqlBuilder,
+      AnalyticsTableMetrics tableMetrics) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
         settingsProvider,
-        sqlBuilder);
+        sqlBuilder,
+        tableMetrics);
   }
 
   @Bean("org.hisp.dhis.analytics.CompletenessTableService")
@@ -149,14 +158,16 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
-      SqlBuilder sqlBuilder) {
+      SqlBuilder sqlBuilder,
+      AnalyticsTableMetrics tableMetrics) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
         settingsProvider,
-        sqlBuilder);
+        sqlBuilder,
+        tableMetrics);
   }
 
   @Bean("org.hisp.dhis.analytics.CompletenessTargetTableService")
@@ -167,14 +178,16 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
-      SqlBuilder sqlBuilder) {
+      SqlBuilder sqlBuilder,
+      AnalyticsTableMetrics tableMetrics) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
         settingsProvider,
-        sqlBuilder);
+        sqlBuilder,
+        tableMetrics);
   }
 
   @Bean("org.hisp.dhis.analytics.OrgUnitTargetTableService")
@@ -185,14 +198,16 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
-      SqlBuilder sqlBuilder) {
+      SqlBuilder sqlBuilder,
+      AnalyticsTableMetrics tableMetrics) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
         settingsProvider,
-        sqlBuilder);
+        sqlBuilder,
+        tableMetrics);
   }
 
   @Bean("org.hisp.dhis.analytics.OwnershipAnalyticsTableService")
@@ -203,14 +218,16 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
-      SqlBuilder sqlBuilder) {
+      SqlBuilder sqlBuilder,
+      AnalyticsTableMetrics tableMetrics) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
         settingsProvider,
-        sqlBuilder);
+        sqlBuilder,
+        tableMetrics);
   }
 
   @Bean("org.hisp.dhis.analytics.EventAnalyticsTableService")
@@ -221,14 +238,16 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
-      SqlBuilder sqlBuilder) {
+      SqlBuilder sqlBuilder,
+      AnalyticsTableMetrics tableMetrics) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
         settingsProvider,
-        sqlBuilder);
+        sqlBuilder,
+        tableMetrics);
   }
 
   @Bean("org.hisp.dhis.analytics.ValidationResultTableService")
@@ -239,14 +258,16 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
-      SqlBuilder sqlBuilder) {
+      SqlBuilder sqlBuilder,
+      AnalyticsTableMetrics tableMetrics) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
         settingsProvider,
-        sqlBuilder);
+        sqlBuilder,
+        tableMetrics);
   }
 
   @Bean("org.hisp.dhis.analytics.EnrollmentAnalyticsTableService")
@@ -257,13 +278,15 @@ public class ServiceConfig {
       DataElementService dataElementService,
       ResourceTableService resourceTableService,
       SystemSettingsProvider settingsProvider,
-      SqlBuilder sqlBuilder) {
+      SqlBuilder sqlBuilder,
+      AnalyticsTableMetrics tableMetrics) {
     return new DefaultAnalyticsTableService(
         tableManager,
         organisationUnitService,
         dataElementService,
         resourceTableService,
         settingsProvider,
-        sqlBuilder);
+        sqlBuilder,
+        tableMetrics);
   }
 }
@@ -47,6 +47,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.analytics.AnalyticsSecurityManager;
 import org.hisp.dhis.analytics.AnalyticsService;
@@ -136,6 +137,17 @@ public class DefaultAnalyticsService implements AnalyticsService {
     return dataAggregator.getRawDataGrid(params);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public void streamRawDataValues(
+      DataQueryParams params, Consumer<Grid> headerConsumer, Consumer<List<Object>> rowConsumer) {
+    params = checkSecurityConstraints(params);
+
+    queryValidator.validate(params);
+
+    dataAggregator.streamRawDataGrid(params, headerConsumer, rowConsumer);
+  }
+
   @Override
   @Transactional(readOnly = true)
   public Grid getAggregatedDataValuesGrid(DataQueryParams params) {
@@ -34,12 +34,14 @@ import static org.hisp.dhis.analytics.DataQueryParams.PERIOD_END_DATE_ID;
 import static org.hisp.dhis.analytics.DataQueryParams.PERIOD_END_DATE_NAME;
 import static org.hisp.dhis.analytics.DataQueryParams.PERIOD_START_DATE_ID;
 import static org.hisp.dhis.analytics.DataQueryParams.PERIOD_START_DATE_NAME;
+import static org.hisp.dhis.analytics.util.AnalyticsUtils.queryForCursor;
 import static org.hisp.dhis.common.DimensionConstants.ORGUNIT_DIM_ID;
 import static org.hisp.dhis.common.IdentifiableObjectUtils.getUids;
 import static org.hisp.dhis.util.DateUtils.toMediumDate;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -60,7 +62,6 @@ import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.util.ObjectUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
@@ -86,8 +87,53 @@ public class JdbcRawAnalyticsManager implements RawAnalyticsManager {
 
   @Override
   public Grid getRawDataValues(DataQueryParams params, Grid grid) {
+    streamRawDataValues(params, row -> grid.addRow().addValuesAsList(row));
+
+    return grid;
+  }
+
+  @Override
+  public void streamRawDataValues(DataQueryParams params, Consumer<List<Object>> rowConsumer) {
     Assert.isTrue(params.hasStartEndDate(), "Start and end dates must be specified");
 
+    List<DimensionalObject> dimensions = getDimensions(params);
+
+    String sql = getSelectStatement(params, dimensions);
+
+    log.debug("Analytics raw data query SQL: '{}'", sql);
+
+    queryForCursor(
+        jdbcTemplate,
+        sql,
+        rs -> {
+          while (rs.next()) {
+            List<Object> row = new ArrayList<>(dimensions.size() + 1);
+
+            for (DimensionalObject dim : dimensions) {
+              row.add(rs.getString(dim.getDimensionName()));
+            }
+
+            row.add(rs.getDouble("value"));
+
+            rowConsumer.accept(row);
+          }
+
+          return null;
+        });
+  }
+
+  // -------------------------------------------------------------------------
+  // Supportive methods
+  // -------------------------------------------------------------------------
+
+  /**
+   * Returns the dimensions of the raw data query, including org unit levels and period start and
+   * end dates.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @return a list of {@link DimensionalObject}.
+   */
+  private List<DimensionalObject> getDimensions(DataQueryParams params) {
     List<DimensionalObject> dimensions = new ArrayList<>();
     dimensions.addAll(params.getDimensions());
     dimensions.addAll(params.getOrgUnitLevelsAsDimensions());
@@ -104,29 +150,9 @@ public class JdbcRawAnalyticsManager implements RawAnalyticsManager {
               PERIOD_END_DATE_ID, DimensionType.STATIC, PERIOD_END_DATE_NAME, List.of()));
     }
 
-    String sql = getSelectStatement(params, dimensions);
-
-    log.debug("Analytics raw data query SQL: '{}'", sql);
-
-    SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql);
-
-    while (rowSet.next()) {
-      grid.addRow();
-
-      for (DimensionalObject dim : dimensions) {
-        grid.addValue(rowSet.getString(dim.getDimensionName()));
-      }
-
-      grid.addValue(rowSet.getDouble("value"));
-    }
-
-    return grid;
+    return dimensions;
   }
 
-  // -------------------------------------------------------------------------
-  // Supportive methods
-  // -------------------------------------------------------------------------
-
   /**
    * Returns a SQL select statement.
    *
@@ -37,11 +37,15 @@ import static org.hisp.dhis.analytics.ProcessingHint.SINGLE_PROGRAM_INDICATOR_RE
 import static org.hisp.dhis.analytics.SortOrder.ASC;
 import static org.hisp.dhis.common.DimensionConstants.DATA_X_DIM_ID;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import javax.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.common.DimensionalObject;
 import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.system.grid.ColumnarGrid;
 import org.hisp.dhis.system.grid.ListGrid;
 import org.springframework.stereotype.Component;
 
@@ -115,13 +119,14 @@ public class DataAggregator {
   }
 
   /**
-   * Returns headers, raw data and meta data as a grid.
+   * Returns headers, raw data and meta data as a grid. The grid is a {@link ColumnarGrid}, as raw
+   * data responses can be very large.
    *
    * @param params the {@link DataQueryParams}.
    * @return a grid.
    */
   public Grid getRawDataGrid(DataQueryParams params) {
-    Grid grid = new ListGrid();
+    Grid grid = new ColumnarGrid();
 
     params = dataHandler.prepareForRawDataQuery(params);
 
@@ -136,6 +141,50 @@ public class DataAggregator {
     return grid;
   }
 
+  /**
+   * Streams headers and raw data for the given query. The headers are passed to the given header
+   * consumer as a grid without rows, before the rows are passed to the given row consumer as they
+   * are read from the database. The identifier scheme of the query is applied to each row.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param headerConsumer the consumer of the grid holding the headers.
+   * @param rowConsumer the consumer of rows.
+   */
+  public void streamRawDataGrid(
+      DataQueryParams params, Consumer<Grid> headerConsumer, Consumer<List<Object>> rowConsumer) {
+    Grid grid = new ListGrid();
+
+    DataQueryParams query = dataHandler.prepareForRawDataQuery(params);
+
+    headerHandler.addHeaders(query, grid);
+
+    Map<String, String> idSchemeMap =
+        !query.isSkipMeta() && query.hasCustomIdSchemeSet()
+            ? metaDataHandler.getIdSchemeMap(query)
+            : Map.of();
+
+    grid.substituteMetaData(idSchemeMap);
+
+    headerConsumer.accept(grid);
+
+    List<Integer> metaColumns = idSchemeMap.isEmpty() ? List.of() : grid.getMetaColumnIndexes();
+
+    dataHandler.streamRawData(
+        query,
+        row -> {
+          for (int column : metaColumns) {
+            Object value = column < row.size() ? row.get(column) : null;
+            String metaValue = value != null ? idSchemeMap.get(value) : null;
+
+            if (metaValue != null) {
+              row.set(column, metaValue);
+            }
+          }
+
+          rowConsumer.accept(row);
+        });
+  }
+
   /**
    * Performs pre-handling of the given query and returns the immutable, handled query. If the query
    * has a single indicator as item for the data filter, the filter is set as a dimension and
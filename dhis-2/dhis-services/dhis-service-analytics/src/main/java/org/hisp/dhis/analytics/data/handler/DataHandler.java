@@ -116,6 +116,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
@@ -132,6 +133,8 @@ import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.QueryPlannerParams;
 import org.hisp.dhis.analytics.RawAnalyticsManager;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.cache.AnalyticsFragmentCache;
+import org.hisp.dhis.analytics.cache.AnalyticsFragmentCache.FragmentLookup;
 import org.hisp.dhis.analytics.event.EventQueryParams;
 import org.hisp.dhis.analytics.event.data.EventAggregateService;
 import org.hisp.dhis.analytics.resolver.ExpressionResolver;
@@ -196,6 +199,8 @@ public class DataHandler {
 
   private final ExecutionPlanStore executionPlanStore;
 
+  private final AnalyticsFragmentCache fragmentCache;
+
   /**
    * Adds performance metrics.
    *
@@ -566,6 +571,27 @@ public class DataHandler {
     }
   }
 
+  /**
+   * Passes the raw data rows for the given data query parameters to the given consumer, as they are
+   * read from the database.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param rowConsumer the consumer of rows.
+   */
+  @Transactional(readOnly = true)
+  public void streamRawData(DataQueryParams params, Consumer<List<Object>> rowConsumer) {
+    if (!params.isSkipData()) {
+      QueryPlannerParams plannerParams =
+          QueryPlannerParams.newBuilder().withTableType(DATA_VALUE).build();
+
+      params = queryPlanner.withTableNameAndPartitions(params, plannerParams);
+
+      final DataQueryParams immutableParams = DataQueryParams.newBuilder(params).build();
+      withExceptionHandling(
+          () -> rawAnalyticsManager.streamRawDataValues(immutableParams, rowConsumer));
+    }
+  }
+
   /**
    * Prepares the given data query parameters.
    *
@@ -1483,7 +1509,8 @@ public class DataHandler {
   }
 
   /**
-   * Executes the given list of queries in parallel.
+   * Executes the given list of queries in parallel. Values of periods found in the {@link
+   * AnalyticsFragmentCache} are reused, and only the missing periods are retrieved.
    *
    * @param tableType the {@link AnalyticsTableType}.
    * @param maxLimit the max limit of records to retrieve.
@@ -1495,18 +1522,28 @@ public class DataHandler {
       int maxLimit,
       Map<String, Object> map,
       List<DataQueryParams> queries) {
+    List<FragmentLookup> lookups = new ArrayList<>();
     List<Future<Map<String, Object>>> futures = new ArrayList<>();
 
     for (DataQueryParams query : queries) {
-      futures.add(analyticsManager.getAggregatedDataValues(query, tableType, maxLimit));
+      FragmentLookup lookup = fragmentCache.lookup(query, tableType);
+
+      map.putAll(lookup.cachedValues());
+
+      if (lookup.hasMissingQuery()) {
+        lookups.add(lookup);
+        futures.add(
+            analyticsManager.getAggregatedDataValues(lookup.missingQuery(), tableType, maxLimit));
+      }
     }
 
-    for (Future<Map<String, Object>> future : futures) {
+    for (int i = 0; i < futures.size(); i++) {
       try {
-        Map<String, Object> taskValues = future.get();
+        Map<String, Object> taskValues = futures.get(i).get();
 
         if (taskValues != null) {
           map.putAll(taskValues);
+          fragmentCache.put(lookups.get(i), taskValues);
         }
       } catch (Exception ex) {
         log.error(getStackTrace(ex));
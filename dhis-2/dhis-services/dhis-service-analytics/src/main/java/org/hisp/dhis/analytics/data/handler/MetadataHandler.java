@@ -180,11 +180,22 @@ public class MetadataHandler {
    */
   void applyIdScheme(DataQueryParams params, Grid grid) {
     if (!params.isSkipMeta() && params.hasCustomIdSchemeSet()) {
-      SchemeInfo schemeInfo = new SchemeInfo(schemeSettings(params), schemeData(params));
-      grid.substituteMetaData(schemeIdResponseMapper.getSchemeIdResponseMap(schemeInfo));
+      grid.substituteMetaData(getIdSchemeMap(params));
     }
   }
 
+  /**
+   * Returns the mapping of identifiers to the identifier scheme meta data property indicated in the
+   * query.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @return a map of UIDs and their respective scheme value.
+   */
+  Map<String, String> getIdSchemeMap(DataQueryParams params) {
+    SchemeInfo schemeInfo = new SchemeInfo(schemeSettings(params), schemeData(params));
+    return schemeIdResponseMapper.getSchemeIdResponseMap(schemeInfo);
+  }
+
   private Data schemeData(DataQueryParams params) {
     return Data.builder()
         .dataElements(params.getAllDataElements())
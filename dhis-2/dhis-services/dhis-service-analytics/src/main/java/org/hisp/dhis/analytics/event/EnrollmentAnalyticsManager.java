@@ -29,6 +29,7 @@
  */
 package org.hisp.dhis.analytics.event;
 
+import java.util.function.Consumer;
 import org.hisp.dhis.common.Grid;
 
 /**
@@ -55,6 +56,19 @@ public interface EnrollmentAnalyticsManager {
    */
   void getEnrollments(EventQueryParams params, Grid grid, int maxLimit);
 
+  /**
+   * Reads enrollments through a database cursor and adds them to the given grid in batches. Each
+   * batch is passed to the given consumer and removed from the grid before the next batch is read,
+   * so that the grid never holds more than one batch of rows.
+   *
+   * @param params the query to retrieve enrollments for.
+   * @param grid the grid holding the headers, to insert batches of data into.
+   * @param maxLimit the max number of records to retrieve.
+   * @param batchConsumer the consumer of the grid holding a batch of rows.
+   */
+  void streamEnrollments(
+      EventQueryParams params, Grid grid, int maxLimit, Consumer<Grid> batchConsumer);
+
   /**
    * Retrieves count of enrollments based on params.
    *
@@ -29,6 +29,7 @@
  */
 package org.hisp.dhis.analytics.event;
 
+import java.util.function.Consumer;
 import org.hisp.dhis.analytics.Rectangle;
 import org.hisp.dhis.common.Grid;
 
@@ -40,6 +41,18 @@ public interface EventAnalyticsManager {
 
   Grid getEvents(EventQueryParams params, Grid grid, int maxLimit);
 
+  /**
+   * Reads events through a database cursor and adds them to the given grid in batches. Each batch
+   * is passed to the given consumer and removed from the grid before the next batch is read, so
+   * that the grid never holds more than one batch of rows.
+   *
+   * @param params the query to retrieve events for.
+   * @param grid the grid holding the headers, to insert batches of data into.
+   * @param maxLimit the max number of records to retrieve.
+   * @param batchConsumer the consumer of the grid holding a batch of rows.
+   */
+  void streamEvents(EventQueryParams params, Grid grid, int maxLimit, Consumer<Grid> batchConsumer);
+
   Grid getEventClusters(EventQueryParams params, Grid grid, int maxLimit);
 
   long getEventCount(EventQueryParams params);
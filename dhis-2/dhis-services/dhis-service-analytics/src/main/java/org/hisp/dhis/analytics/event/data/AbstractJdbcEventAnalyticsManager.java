@@ -114,6 +114,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.StringJoiner;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
@@ -240,6 +241,9 @@ public abstract class AbstractJdbcEventAnalyticsManager {
 
   protected static final int LAST_VALUE_YEARS_OFFSET = -10;
 
+  /** The number of rows passed on at a time when rows are streamed. */
+  protected static final int STREAM_BATCH_SIZE = 1000;
+
   static final String COL_VALUE = "value";
 
   static final String OUTER_SQL_ALIAS = "t1";
@@ -1857,6 +1861,25 @@ public abstract class AbstractJdbcEventAnalyticsManager {
     return unlimitedPaging && (Objects.isNull(params.getPageSize()) || params.getPageSize() == 0);
   }
 
+  /**
+   * Passes the given grid to the given consumer if it holds any rows, and removes the rows from the
+   * grid afterwards so that the grid can take the next batch of rows.
+   *
+   * @param grid the {@link Grid} holding a batch of rows.
+   * @param batchConsumer the consumer of the grid.
+   */
+  protected static void flushBatch(Grid grid, Consumer<Grid> batchConsumer) {
+    if (grid.getHeight() == 0) {
+      return;
+    }
+
+    batchConsumer.accept(grid);
+
+    while (grid.getHeight() > 0) {
+      grid.removeCurrentWriteRow();
+    }
+  }
+
   /**
    * Returns a coalesce expression for coordinates fallback.
    *
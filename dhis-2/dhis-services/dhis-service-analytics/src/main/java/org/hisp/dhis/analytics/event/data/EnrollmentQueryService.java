@@ -38,6 +38,8 @@ import static org.hisp.dhis.analytics.tracker.HeaderHelper.addCommonHeaders;
 import static org.hisp.dhis.analytics.tracker.ResponseHelper.UNLIMITED_PAGING;
 import static org.hisp.dhis.analytics.tracker.ResponseHelper.addPaging;
 import static org.hisp.dhis.analytics.tracker.ResponseHelper.applyHeaders;
+import static org.hisp.dhis.analytics.tracker.ResponseHelper.consumeRows;
+import static org.hisp.dhis.analytics.tracker.ResponseHelper.getColumnIndexes;
 import static org.hisp.dhis.analytics.tracker.ResponseHelper.getDimensionsKeywords;
 import static org.hisp.dhis.analytics.tracker.ResponseHelper.setRowContextColumns;
 import static org.hisp.dhis.common.ValueType.DATETIME;
@@ -46,6 +48,7 @@ import static org.hisp.dhis.common.ValueType.TEXT;
 import static org.hisp.dhis.commons.util.TextUtils.EMPTY;
 
 import java.util.List;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.analytics.AnalyticsSecurityManager;
 import org.hisp.dhis.analytics.event.EnrollmentAnalyticsManager;
@@ -120,12 +123,7 @@ public class EnrollmentQueryService {
     }
 
     // Re-add period items for metadata generation (items + dimensions sections)
-    if (!periods.isEmpty()) {
-      params =
-          new EventQueryParams.Builder(params)
-              .withPeriods(periods.stream().flatMap(p -> p.getItems().stream()).toList(), EMPTY)
-              .build();
-    }
+    params = withPeriodItems(params, periods);
 
     // Metadata
 
@@ -141,6 +139,71 @@ public class EnrollmentQueryService {
     return grid;
   }
 
+  /**
+   * Streams the enrollments matching the given query. The headers are passed to the given header
+   * consumer before any row is read, and the enrollments are passed to the given row consumer
+   * while they are read from the database, so that the enrollments are never held in memory all
+   * at once. The row values are in the order of the headers. Metadata and paging information are
+   * not produced, and row context is not supported.
+   *
+   * @param params the {@link EventQueryParams} parameters.
+   * @param headerConsumer the consumer of the {@link Grid} holding the headers.
+   * @param rowConsumer the consumer of enrollment rows.
+   */
+  public void streamEnrollments(
+      EventQueryParams params, Consumer<Grid> headerConsumer, Consumer<List<Object>> rowConsumer) {
+    // Security
+
+    securityManager.decideAccessEventQuery(params);
+    params = securityManager.withUserConstraints(params);
+
+    // Validation
+
+    queryValidator.validate(params);
+
+    List<DimensionalObject> periods = getPeriodDimensions(params);
+
+    params =
+        new EventQueryParams.Builder(params)
+            .withStartEndDatesForPeriods()
+            .withRowContext(false)
+            .build();
+
+    EventQueryParams schemeParams = withPeriodItems(params, periods);
+
+    // Headers
+
+    Grid grid = createGridWithHeaders(params);
+    addCommonHeaders(grid, params, List.of());
+
+    Grid headers = createGridWithHeaders(params);
+    addCommonHeaders(headers, params, List.of());
+    schemeIdHandler.applyScheme(headers, schemeParams);
+
+    List<GridHeader> allHeaders = List.copyOf(headers.getHeaders());
+    applyHeaders(headers, params);
+    int[] columnIndexes = getColumnIndexes(allHeaders, headers);
+    headerConsumer.accept(headers);
+
+    // Data
+
+    if (params.isSkipData() || params.analyzeOnly()) {
+      return;
+    }
+
+    int maxLimit =
+        params.isAggregatedEnrollments() ? UNLIMITED_PAGING : queryValidator.getMaxLimit();
+
+    enrollmentAnalyticsManager.streamEnrollments(
+        queryPlanner.planEnrollmentQuery(params),
+        grid,
+        maxLimit,
+        batch -> {
+          schemeIdHandler.applyScheme(batch, schemeParams);
+          consumeRows(batch, columnIndexes, rowConsumer);
+        });
+  }
+
   /**
    * Creates a {@link Grid} object with default headers.
    *
@@ -252,6 +315,25 @@ public class EnrollmentQueryService {
     return count;
   }
 
+  /**
+   * Returns the given query with the items of the given period dimensions, which are consumed for
+   * date filtering, re-added for metadata generation and identifier scheme mapping.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param periods the original period dimensions.
+   * @return the {@link EventQueryParams}.
+   */
+  private static EventQueryParams withPeriodItems(
+      EventQueryParams params, List<DimensionalObject> periods) {
+    if (periods.isEmpty()) {
+      return params;
+    }
+
+    return new EventQueryParams.Builder(params)
+        .withPeriods(periods.stream().flatMap(p -> p.getItems().stream()).toList(), EMPTY)
+        .build();
+  }
+
   private static List<DimensionalObject> getPeriodDimensions(EventQueryParams params) {
     return params.getDimensions().stream()
         .filter(d -> d.getDimensionType() == DimensionType.PERIOD)
@@ -40,6 +40,8 @@ import static org.hisp.dhis.analytics.event.LabelMapper.getScheduledDateLabel;
 import static org.hisp.dhis.analytics.tracker.HeaderHelper.addCommonHeaders;
 import static org.hisp.dhis.analytics.tracker.ResponseHelper.addPaging;
 import static org.hisp.dhis.analytics.tracker.ResponseHelper.applyHeaders;
+import static org.hisp.dhis.analytics.tracker.ResponseHelper.consumeRows;
+import static org.hisp.dhis.analytics.tracker.ResponseHelper.getColumnIndexes;
 import static org.hisp.dhis.analytics.tracker.ResponseHelper.getDimensionsKeywords;
 import static org.hisp.dhis.analytics.tracker.ResponseHelper.setRowContextColumns;
 import static org.hisp.dhis.analytics.util.AnalyticsUtils.throwIllegalQueryEx;
@@ -50,6 +52,7 @@ import static org.hisp.dhis.commons.util.TextUtils.EMPTY;
 import static org.hisp.dhis.feedback.ErrorCode.E7218;
 
 import java.util.List;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.analytics.AnalyticsSecurityManager;
 import org.hisp.dhis.analytics.Rectangle;
@@ -125,12 +128,7 @@ public class EventQueryService {
     }
 
     // Re-add period items for metadata generation (items + dimensions sections)
-    if (!periods.isEmpty()) {
-      params =
-          new EventQueryParams.Builder(params)
-              .withPeriods(periods.stream().flatMap(p -> p.getItems().stream()).toList(), EMPTY)
-              .build();
-    }
+    params = withPeriodItems(params, periods);
 
     // Metadata
 
@@ -146,6 +144,72 @@ public class EventQueryService {
     return grid;
   }
 
+  /**
+   * Streams the events matching the given query. The headers are passed to the given header
+   * consumer before any row is read, and the events are passed to the given row consumer while
+   * they are read from the database, so that the events are never held in memory all at once. The
+   * row values are in the order of the headers. Metadata and paging information are not produced,
+   * and row context is not supported.
+   *
+   * @param params the event query parameters.
+   * @param headerConsumer the consumer of the {@link Grid} holding the headers.
+   * @param rowConsumer the consumer of event rows.
+   */
+  public void streamEvents(
+      EventQueryParams params, Consumer<Grid> headerConsumer, Consumer<List<Object>> rowConsumer) {
+    // Security
+
+    securityManager.decideAccessEventQuery(params);
+    params = securityManager.withUserConstraints(params);
+
+    // Validation
+
+    queryValidator.validate(params);
+
+    List<DimensionalObject> periods = getPeriodDimensions(params);
+
+    params =
+        new EventQueryParams.Builder(params)
+            .withStartEndDatesForPeriods()
+            .withRowContext(false)
+            .build();
+
+    EventQueryParams schemeParams = withPeriodItems(params, periods);
+
+    // Headers
+
+    Grid grid = createGridWithHeaders(params);
+    addCommonHeaders(grid, params, List.of());
+
+    Grid headers = createGridWithHeaders(params);
+    addCommonHeaders(headers, params, List.of());
+    schemeIdHandler.applyScheme(headers, schemeParams);
+
+    List<GridHeader> allHeaders = List.copyOf(headers.getHeaders());
+    applyHeaders(headers, params);
+    int[] columnIndexes = getColumnIndexes(allHeaders, headers);
+    headerConsumer.accept(headers);
+
+    // Data
+
+    if (params.isSkipData() || params.analyzeOnly()) {
+      return;
+    }
+
+    params = queryPlanner.planEventQuery(params);
+
+    if (params.getPartitions().hasAny() || params.isSkipPartitioning()) {
+      eventAnalyticsManager.streamEvents(
+          new EventQueryParams.Builder(params).build(),
+          grid,
+          queryValidator.getMaxLimit(),
+          batch -> {
+            schemeIdHandler.applyScheme(batch, schemeParams);
+            consumeRows(batch, columnIndexes, rowConsumer);
+          });
+    }
+  }
+
   /**
    * Returns a list of event clusters matching the given query.
    *
@@ -360,6 +424,25 @@ public class EventQueryService {
     return sqlBuilder.supportsGeospatialData();
   }
 
+  /**
+   * Returns the given query with the items of the given period dimensions, which are consumed for
+   * date filtering, re-added for metadata generation and identifier scheme mapping.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param periods the original period dimensions.
+   * @return the {@link EventQueryParams}.
+   */
+  private static EventQueryParams withPeriodItems(
+      EventQueryParams params, List<DimensionalObject> periods) {
+    if (periods.isEmpty()) {
+      return params;
+    }
+
+    return new EventQueryParams.Builder(params)
+        .withPeriods(periods.stream().flatMap(p -> p.getItems().stream()).toList(), EMPTY)
+        .build();
+  }
+
   private static List<DimensionalObject> getPeriodDimensions(EventQueryParams params) {
     return params.getDimensions().stream()
         .filter(d -> d.getDimensionType() == DimensionType.PERIOD)
@@ -44,6 +44,7 @@ import static org.hisp.dhis.analytics.event.data.EnrollmentQueryHelper.getPeriod
 import static org.hisp.dhis.analytics.event.data.OrgUnitTableJoiner.joinOrgUnitTables;
 import static org.hisp.dhis.analytics.event.data.OrganisationUnitResolver.STAGE_OU_CODE_COLUMN;
 import static org.hisp.dhis.analytics.event.data.OrganisationUnitResolver.STAGE_OU_NAME_COLUMN;
+import static org.hisp.dhis.analytics.util.AnalyticsUtils.queryForCursor;
 import static org.hisp.dhis.analytics.util.AnalyticsUtils.withExceptionHandling;
 import static org.hisp.dhis.analytics.util.EventQueryParamsUtils.getProgramIndicators;
 import static org.hisp.dhis.analytics.util.EventQueryParamsUtils.withoutProgramStageItems;
@@ -66,9 +67,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.CheckForNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.analytics.TimeField;
@@ -125,6 +128,7 @@ import org.locationtech.jts.util.Assert;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.InvalidResultSetAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.rowset.ResultSetWrappingSqlRowSet;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.jdbc.support.rowset.SqlRowSetMetaData;
 import org.springframework.stereotype.Service;
@@ -194,18 +198,7 @@ public class JdbcEnrollmentAnalyticsManager extends AbstractJdbcEventAnalyticsMa
 
   @Override
   public void getEnrollments(EventQueryParams params, Grid grid, int maxLimit) {
-    String sql;
-    if (params.isAggregatedEnrollments()) {
-      sql =
-          useExperimentalAnalyticsQueryEngine()
-              ? buildAggregatedEnrollmentQueryWithCte(grid.getHeaders(), params)
-              : getAggregatedEnrollmentsSql(grid.getHeaders(), params);
-    } else {
-      sql =
-          useExperimentalAnalyticsQueryEngine()
-              ? buildAnalyticsQuery(params, maxLimit)
-              : getAggregatedEnrollmentsSql(params, maxLimit);
-    }
+    String sql = getEnrollmentsSql(params, grid, maxLimit);
     if (params.analyzeOnly()) {
       withExceptionHandling(
           () -> executionPlanStore.addExecutionPlan(params.getExplainOrderId(), sql));
@@ -215,6 +208,28 @@ public class JdbcEnrollmentAnalyticsManager extends AbstractJdbcEventAnalyticsMa
     }
   }
 
+  @Override
+  public void streamEnrollments(
+      EventQueryParams params, Grid grid, int maxLimit, Consumer<Grid> batchConsumer) {
+    String sql = getEnrollmentsSql(params, grid, maxLimit);
+
+    withExceptionHandling(
+        () -> streamEnrollments(params, grid, sql, maxLimit == 0, batchConsumer),
+        params.isMultipleQueries());
+  }
+
+  private String getEnrollmentsSql(EventQueryParams params, Grid grid, int maxLimit) {
+    if (params.isAggregatedEnrollments()) {
+      return useExperimentalAnalyticsQueryEngine()
+          ? buildAggregatedEnrollmentQueryWithCte(grid.getHeaders(), params)
+          : getAggregatedEnrollmentsSql(grid.getHeaders(), params);
+    }
+
+    return useExperimentalAnalyticsQueryEngine()
+        ? buildAnalyticsQuery(params, maxLimit)
+        : getAggregatedEnrollmentsSql(params, maxLimit);
+  }
+
   /**
    * Adds enrollments to the given grid based on the given parameters and SQL statement.
    *
@@ -226,7 +241,52 @@ public class JdbcEnrollmentAnalyticsManager extends AbstractJdbcEventAnalyticsMa
       EventQueryParams params, Grid grid, String sql, boolean unlimitedPaging) {
     log.debug("Analytics enrollment query SQL: '{}'", sql);
 
-    SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql);
+    addEnrollments(params, grid, jdbcTemplate.queryForRowSet(sql), unlimitedPaging, null);
+  }
+
+  /**
+   * Reads enrollments through a database cursor based on the given parameters and SQL statement,
+   * and passes them to the given consumer in batches.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param grid the {@link Grid}.
+   * @param sql the SQL statement used to retrieve enrollments.
+   * @param batchConsumer the consumer of the grid holding a batch of enrollments.
+   */
+  private void streamEnrollments(
+      EventQueryParams params,
+      Grid grid,
+      String sql,
+      boolean unlimitedPaging,
+      Consumer<Grid> batchConsumer) {
+    log.debug("Analytics enrollment query SQL: '{}'", sql);
+
+    queryForCursor(
+        jdbcTemplate,
+        sql,
+        rs -> {
+          addEnrollments(
+              params, grid, new ResultSetWrappingSqlRowSet(rs), unlimitedPaging, batchConsumer);
+          return null;
+        });
+  }
+
+  /**
+   * Adds the enrollments of the given row set to the given grid. If a batch consumer is given, the
+   * grid is passed to it and emptied every {@link #STREAM_BATCH_SIZE} rows and after the last row.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param grid the {@link Grid}.
+   * @param rowSet the {@link SqlRowSet} holding the enrollments.
+   * @param batchConsumer the consumer of the grid holding a batch of enrollments, or null to keep
+   *     all enrollments in the grid.
+   */
+  private void addEnrollments(
+      EventQueryParams params,
+      Grid grid,
+      SqlRowSet rowSet,
+      boolean unlimitedPaging,
+      @CheckForNull Consumer<Grid> batchConsumer) {
     List<String> columnLabels = getColumnLabels(rowSet);
 
     int rowsRed = 0;
@@ -257,6 +317,14 @@ public class JdbcEnrollmentAnalyticsManager extends AbstractJdbcEventAnalyticsMa
           columnOffset += getRowSetOriginItems(columnLabels, grid.getHeaders().get(i).getName());
         }
       }
+
+      if (batchConsumer != null && grid.getHeight() >= STREAM_BATCH_SIZE) {
+        flushBatch(grid, batchConsumer);
+      }
+    }
+
+    if (batchConsumer != null) {
+      flushBatch(grid, batchConsumer);
     }
   }
 
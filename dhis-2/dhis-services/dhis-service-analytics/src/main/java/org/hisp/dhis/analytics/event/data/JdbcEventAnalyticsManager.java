@@ -45,6 +45,7 @@ import static org.hisp.dhis.analytics.event.data.OrgUnitTableJoiner.joinOrgUnitT
 import static org.hisp.dhis.analytics.event.data.OrganisationUnitResolver.STAGE_OU_CODE_COLUMN;
 import static org.hisp.dhis.analytics.event.data.OrganisationUnitResolver.STAGE_OU_NAME_COLUMN;
 import static org.hisp.dhis.analytics.table.ColumnPostfix.OU_GEOMETRY_COL_POSTFIX;
+import static org.hisp.dhis.analytics.util.AnalyticsUtils.queryForCursor;
 import static org.hisp.dhis.analytics.util.AnalyticsUtils.withExceptionHandling;
 import static org.hisp.dhis.common.DimensionConstants.ORGUNIT_DIM_ID;
 import static org.hisp.dhis.common.FallbackCoordinateFieldType.ENROLLMENT_GEOMETRY;
@@ -62,7 +63,9 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import javax.annotation.CheckForNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.math3.util.Precision;
@@ -115,6 +118,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.rowset.ResultSetWrappingSqlRowSet;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
@@ -170,10 +174,7 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
 
   @Override
   public Grid getEvents(EventQueryParams params, Grid grid, int maxLimit) {
-    String sql =
-        useExperimentalAnalyticsQueryEngine()
-            ? buildAnalyticsQuery(params, maxLimit)
-            : getAggregatedEnrollmentsSql(params, maxLimit);
+    String sql = getEventsSql(params, maxLimit);
     if (params.analyzeOnly()) {
       withExceptionHandling(
           () -> executionPlanStore.addExecutionPlan(params.getExplainOrderId(), sql));
@@ -185,6 +186,22 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
     return grid;
   }
 
+  @Override
+  public void streamEvents(
+      EventQueryParams params, Grid grid, int maxLimit, Consumer<Grid> batchConsumer) {
+    String sql = getEventsSql(params, maxLimit);
+
+    withExceptionHandling(
+        () -> streamEvents(params, grid, sql, maxLimit == 0, batchConsumer),
+        params.isMultipleQueries());
+  }
+
+  private String getEventsSql(EventQueryParams params, int maxLimit) {
+    return useExperimentalAnalyticsQueryEngine()
+        ? buildAnalyticsQuery(params, maxLimit)
+        : getAggregatedEnrollmentsSql(params, maxLimit);
+  }
+
   /**
    * Adds event to the given grid based on the given parameters and SQL statement.
    *
@@ -195,8 +212,52 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
   private void getEvents(EventQueryParams params, Grid grid, String sql, boolean unlimitedPaging) {
     log.debug("Analytics event query SQL: '{}'", sql);
 
-    SqlRowSet rowSet = queryForRows(sql);
+    addEvents(params, grid, queryForRows(sql), unlimitedPaging, null);
+  }
+
+  /**
+   * Reads events through a database cursor based on the given parameters and SQL statement, and
+   * passes them to the given consumer in batches.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param grid the {@link Grid}.
+   * @param sql the SQL statement used to retrieve events.
+   * @param batchConsumer the consumer of the grid holding a batch of events.
+   */
+  private void streamEvents(
+      EventQueryParams params,
+      Grid grid,
+      String sql,
+      boolean unlimitedPaging,
+      Consumer<Grid> batchConsumer) {
+    log.debug("Analytics event query SQL: '{}'", sql);
+
+    queryForCursor(
+        jdbcTemplate,
+        sql,
+        rs -> {
+          addEvents(
+              params, grid, new ResultSetWrappingSqlRowSet(rs), unlimitedPaging, batchConsumer);
+          return null;
+        });
+  }
 
+  /**
+   * Adds the events of the given row set to the given grid. If a batch consumer is given, the grid
+   * is passed to it and emptied every {@link #STREAM_BATCH_SIZE} rows and after the last row.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param grid the {@link Grid}.
+   * @param rowSet the {@link SqlRowSet} holding the events.
+   * @param batchConsumer the consumer of the grid holding a batch of events, or null to keep all
+   *     events in the grid.
+   */
+  private void addEvents(
+      EventQueryParams params,
+      Grid grid,
+      SqlRowSet rowSet,
+      boolean unlimitedPaging,
+      @CheckForNull Consumer<Grid> batchConsumer) {
     int rowsRed = 0;
 
     grid.setLastDataRow(true);
@@ -226,6 +287,14 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
           columnIndex++;
         }
       }
+
+      if (batchConsumer != null && grid.getHeight() >= STREAM_BATCH_SIZE) {
+        flushBatch(grid, batchConsumer);
+      }
+    }
+
+    if (batchConsumer != null) {
+      flushBatch(grid, batchConsumer);
     }
   }
 
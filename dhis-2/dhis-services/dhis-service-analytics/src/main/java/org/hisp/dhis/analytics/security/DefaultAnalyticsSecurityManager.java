@@ -61,6 +61,7 @@ import org.hisp.dhis.dataapproval.DataApprovalLevel;
 import org.hisp.dhis.dataapproval.DataApprovalLevelService;
 import org.hisp.dhis.feedback.ErrorCode;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.organisationunit.OrganisationUnitHierarchyIndex;
 import org.hisp.dhis.security.acl.AclService;
 import org.hisp.dhis.setting.SystemSettingsProvider;
 import org.hisp.dhis.user.CurrentUserUtil;
@@ -87,6 +88,8 @@ public class DefaultAnalyticsSecurityManager implements AnalyticsSecurityManager
 
   private final org.hisp.dhis.user.UserService userService;
 
+  private final OrganisationUnitHierarchyIndex hierarchyIndex;
+
   // -------------------------------------------------------------------------
   // AnalyticsSecurityManager implementation
   // -------------------------------------------------------------------------
@@ -135,7 +138,7 @@ public class DefaultAnalyticsSecurityManager implements AnalyticsSecurityManager
     Integer maxOrgUnitLevel = user.getDataViewMaxOrganisationUnitLevel();
 
     for (OrganisationUnit queryOrgUnit : queryOrgUnits) {
-      boolean descendant = queryOrgUnit.isDescendant(viewOrgUnits);
+      boolean descendant = hierarchyIndex.isDescendant(queryOrgUnit, viewOrgUnits);
 
       if (!descendant) {
         throwIllegalQueryEx(ErrorCode.E7120, user.getUsername(), queryOrgUnit.getUid());
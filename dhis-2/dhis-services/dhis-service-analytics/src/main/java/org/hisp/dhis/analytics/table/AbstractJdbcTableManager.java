@@ -60,6 +60,7 @@ import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTableColumn;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
 import org.hisp.dhis.analytics.table.model.Skip;
+import org.hisp.dhis.analytics.table.model.TableStatistics;
 import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.calendar.Calendar;
 import org.hisp.dhis.category.CategoryService;
@@ -286,6 +287,23 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
     return hooks.size();
   }
 
+  @Override
+  public boolean hasAnalyticsTableSqlHooks() {
+    return !tableHookService
+        .getByPhaseAndAnalyticsTableType(
+            AnalyticsTablePhase.ANALYTICS_TABLE_POPULATED, getAnalyticsTableType())
+        .isEmpty();
+  }
+
+  @Override
+  public TableStatistics getTableStatistics(String name) {
+    List<TableStatistics> statistics =
+        jdbcTemplate.query(
+            sqlBuilder.tableStatistics(name),
+            (rs, rowNum) -> new TableStatistics(rs.getLong("row_count"), rs.getLong("table_size")));
+    return statistics.isEmpty() ? TableStatistics.EMPTY : statistics.get(0);
+  }
+
   /**
    * Swaps a database table, meaning drops the main table and renames the staging table to become
    * the main table.
@@ -324,7 +342,7 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
    * @param name the table name.
    * @return true if a table with the given name exists.
    */
-  private boolean tableExists(String name) {
+  protected boolean tableExists(String name) {
     return !jdbcTemplate.queryForList(sqlBuilder.tableExists(name)).isEmpty();
   }
 
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.table;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_ANALYTICS_TABLE_ENABLED;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records metrics for analytics table updates. Metrics are published to the Micrometer registry,
+ * and exposed through the Prometheus endpoint, when enabled through {@code
+ * monitoring.analytics.table.enabled}.
+ *
+ * <p>The following metrics are recorded:
+ *
+ * <ul>
+ *   <li>{@code analytics.table.phase.duration}: the duration of a phase, tagged by table type and
+ *       phase.
+ *   <li>{@code analytics.table.rows}: the number of rows after the last update, tagged by table type
+ *       and partition year.
+ *   <li>{@code analytics.table.bytes}: the size in bytes after the last update, tagged by table type
+ *       and partition year.
+ * </ul>
+ *
+ * <p>Metrics are not tagged by table name, as the number of tables grows with programs and years.
+ * The sizes of tables with the same type and year, such as the event tables of different programs,
+ * are summed.
+ */
+@Component
+public class AnalyticsTableMetrics {
+  static final String METRIC_PHASE_DURATION = "analytics.table.phase.duration";
+
+  static final String METRIC_ROWS = "analytics.table.rows";
+
+  static final String METRIC_BYTES = "analytics.table.bytes";
+
+  private static final String TAG_TABLE_TYPE = "tableType";
+
+  private static final String TAG_PHASE = "phase";
+
+  private static final String TAG_YEAR = "year";
+
+  /** Year tag of tables which are not partitioned by year. */
+  static final String YEAR_ALL = "all";
+
+  /** Year tag of the partition holding the latest data. */
+  static final String YEAR_LATEST = "latest";
+
+  /** Phases of an analytics table update. */
+  public enum Phase {
+    POPULATE,
+    AGGREGATION_LEVELS,
+    INDEXES,
+    VACUUM,
+    ANALYZE,
+    SWAP;
+
+    String getTag() {
+      return name().toLowerCase();
+    }
+  }
+
+  /** The size of a partition after the last update. */
+  private record PartitionSize(AnalyticsTableType tableType, String year, long rows, long bytes) {}
+
+  /** A gauge for a metric, table type and partition year. */
+  private record GaugeKey(String metric, AnalyticsTableType tableType, String year) {}
+
+  private final MeterRegistry registry;
+
+  private final boolean enabled;
+
+  /** Sizes of partitions after the last update, keyed on main partition table name. */
+  private final Map<String, PartitionSize> partitionSizes = new ConcurrentHashMap<>();
+
+  /** Registered row and byte gauges. */
+  private final Map<GaugeKey, Gauge> gauges = new ConcurrentHashMap<>();
+
+  public AnalyticsTableMetrics(MeterRegistry registry, DhisConfigurationProvider config) {
+    this.registry = registry;
+    this.enabled = config.isEnabled(MONITORING_ANALYTICS_TABLE_ENABLED);
+  }
+
+  /**
+   * Indicates whether metrics are recorded.
+   *
+   * @return true if metrics are recorded.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Runs the given work and records its duration for the given phase. The duration is recorded
+   * also if the work fails.
+   *
+   * @param tableType the {@link AnalyticsTableType}.
+   * @param phase the {@link Phase}.
+   * @param work the work to run.
+   */
+  public void time(AnalyticsTableType tableType, Phase phase, Runnable work) {
+    if (!enabled) {
+      work.run();
+      return;
+    }
+
+    long start = System.nanoTime();
+
+    try {
+      work.run();
+    } finally {
+      Timer.builder(METRIC_PHASE_DURATION)
+          .description("Duration of analytics table update phases")
+          .tags(Tags.of(TAG_TABLE_TYPE, tableType.name(), TAG_PHASE, phase.getTag()))
+          .register(registry)
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Records the number of rows and the size in bytes of the given partition.
+   *
+   * @param tableType the {@link AnalyticsTableType}.
+   * @param partition the {@link AnalyticsTablePartition}.
+   * @param rows the number of rows.
+   * @param bytes the size in bytes.
+   */
+  public void recordSize(
+      AnalyticsTableType tableType, AnalyticsTablePartition partition, long rows, long bytes) {
+    if (!enabled) {
+      return;
+    }
+
+    String year = getYear(partition);
+
+    partitionSizes.put(partition.getMainName(), new PartitionSize(tableType, year, rows, bytes));
+
+    registerGauge(METRIC_ROWS, "Rows in analytics tables", tableType, year, PartitionSize::rows);
+    registerGauge(
+        METRIC_BYTES, "Size of analytics tables in bytes", tableType, year, PartitionSize::bytes);
+  }
+
+  /**
+   * Removes the recorded sizes of partitions of the given table type which are not among the given
+   * partitions, and removes the gauges of partition years which no longer have partitions. Invoked
+   * after a full table update, where partitions which were not updated have been dropped.
+   *
+   * @param tableType the {@link AnalyticsTableType}.
+   * @param partitions the partitions of the table type which exist after the update.
+   */
+  public void retainPartitions(
+      AnalyticsTableType tableType, Collection<AnalyticsTablePartition> partitions) {
+    if (!enabled) {
+      return;
+    }
+
+    Set<String> names =
+        partitions.stream().map(AnalyticsTablePartition::getMainName).collect(Collectors.toSet());
+
+    partitionSizes
+        .entrySet()
+        .removeIf(
+            entry ->
+                entry.getValue().tableType() == tableType && !names.contains(entry.getKey()));
+
+    gauges
+        .entrySet()
+        .removeIf(
+            entry -> {
+              GaugeKey key = entry.getKey();
+
+              if (key.tableType() != tableType || hasPartitions(tableType, key.year())) {
+                return false;
+              }
+
+              registry.remove(entry.getValue());
+              return true;
+            });
+  }
+
+  /**
+   * Registers the gauge for the given metric, table type and partition year, unless already
+   * registered. The gauge sums the given value over the recorded partitions of the table type and
+   * year.
+   */
+  private void registerGauge(
+      String metric,
+      String description,
+      AnalyticsTableType tableType,
+      String year,
+      ToLongFunction<PartitionSize> value) {
+    gauges.computeIfAbsent(
+        new GaugeKey(metric, tableType, year),
+        key ->
+            Gauge.builder(
+                    metric,
+                    partitionSizes,
+                    sizes ->
+                        sizes.values().stream()
+                            .filter(s -> s.tableType() == tableType && s.year().equals(year))
+                            .mapToLong(value)
+                            .sum())
+                .description(description)
+                .tags(Tags.of(TAG_TABLE_TYPE, tableType.name(), TAG_YEAR, year))
+                .register(registry));
+  }
+
+  private boolean hasPartitions(AnalyticsTableType tableType, String year) {
+    return partitionSizes.values().stream()
+        .anyMatch(s -> s.tableType() == tableType && s.year().equals(year));
+  }
+
+  private static String getYear(AnalyticsTablePartition partition) {
+    if (partition.getYear() == null) {
+      return YEAR_ALL;
+    }
+
+    return partition.isLatestPartition() ? YEAR_LATEST : String.valueOf(partition.getYear());
+  }
+}
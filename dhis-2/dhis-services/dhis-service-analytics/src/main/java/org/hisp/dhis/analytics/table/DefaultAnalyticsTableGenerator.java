@@ -49,6 +49,7 @@ import org.hisp.dhis.analytics.AnalyticsTableService;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
 import org.hisp.dhis.analytics.cache.AnalyticsCache;
+import org.hisp.dhis.analytics.cache.AnalyticsFragmentCache;
 import org.hisp.dhis.analytics.cache.OutliersCache;
 import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.resourcetable.ResourceTableService;
@@ -78,6 +79,8 @@ public class DefaultAnalyticsTableGenerator implements AnalyticsTableGenerator {
 
   private final AnalyticsCache analyticsCache;
 
+  private final AnalyticsFragmentCache analyticsFragmentCache;
+
   private final OutliersCache outliersCache;
 
   @Override
@@ -136,6 +139,7 @@ public class DefaultAnalyticsTableGenerator implements AnalyticsTableGenerator {
 
     progress.startingStage("Invalidate analytics caches", SKIP_STAGE);
     progress.runStage(analyticsCache::invalidateAll);
+    progress.runStage(analyticsFragmentCache::invalidateAll);
     progress.runStage(outliersCache::invalidateAll);
     clock.logTime("Analytics tables updated");
     progress.completedProcess("Analytics tables updated: {}", clock.time());
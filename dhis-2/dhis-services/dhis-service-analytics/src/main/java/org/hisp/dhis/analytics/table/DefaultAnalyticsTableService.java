@@ -29,23 +29,43 @@
  */
 package org.hisp.dhis.analytics.table;
 
+import static org.hisp.dhis.analytics.table.AnalyticsTableMetrics.Phase.AGGREGATION_LEVELS;
+import static org.hisp.dhis.analytics.table.AnalyticsTableMetrics.Phase.ANALYZE;
+import static org.hisp.dhis.analytics.table.AnalyticsTableMetrics.Phase.INDEXES;
+import static org.hisp.dhis.analytics.table.AnalyticsTableMetrics.Phase.POPULATE;
+import static org.hisp.dhis.analytics.table.AnalyticsTableMetrics.Phase.SWAP;
+import static org.hisp.dhis.analytics.table.AnalyticsTableMetrics.Phase.VACUUM;
 import static org.hisp.dhis.analytics.util.AnalyticsIndexHelper.getIndexes;
 import static org.hisp.dhis.commons.util.TextUtils.format;
+import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.PARENT;
 import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_ITEM_OUTLIER;
 import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_STAGE;
 import static org.hisp.dhis.util.DateUtils.toLongDate;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.analytics.AnalyticsTableManager;
 import org.hisp.dhis.analytics.AnalyticsTableService;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
+import org.hisp.dhis.analytics.table.AnalyticsTableMetrics.Phase;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
+import org.hisp.dhis.analytics.table.model.TableStatistics;
 import org.hisp.dhis.common.IdentifiableObjectUtils;
 import org.hisp.dhis.commons.util.SystemUtils;
 import org.hisp.dhis.dataelement.DataElementService;
@@ -55,6 +75,7 @@ import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.resourcetable.ResourceTableService;
 import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.scheduling.JobProgress.FailurePolicy;
 import org.hisp.dhis.setting.SystemSettings;
 import org.hisp.dhis.setting.SystemSettingsProvider;
 import org.hisp.dhis.system.util.Clock;
@@ -77,6 +98,8 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
 
   private final SqlBuilder sqlBuilder;
 
+  private final AnalyticsTableMetrics tableMetrics;
+
   @Override
   public AnalyticsTableType getAnalyticsTableType() {
     return tableManager.getAnalyticsTableType();
@@ -85,7 +108,6 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
   @Override
   public void create(AnalyticsTableUpdateParams params, JobProgress progress) {
     final int parallelJobs = getParallelJobs();
-    int tableUpdates = 0;
 
     log.info("Analytics table update parameters: {}", params);
 
@@ -106,6 +128,12 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
       return;
     }
 
+    if (params.isLatestUpdate() && tableManager.supportsIncrementalUpdate(params)) {
+      applyIncrementalUpdate(params, progress);
+      clock.logTime("Table update done: '{}'", tableType.getTableName());
+      return;
+    }
+
     List<AnalyticsTable> tables = tableManager.getAnalyticsTables(params);
 
     if (tables.isEmpty()) {
@@ -133,7 +161,96 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
     clock.logTime("Created analytics tables");
 
     List<AnalyticsTablePartition> partitions = getTablePartitions(tables);
+
+    if (tableManager.hasAnalyticsTableSqlHooks()) {
+      processPartitionsInStages(params, partitions, clock, progress);
+    } else {
+      processPartitionsInPipeline(params, partitions, clock, progress);
+    }
+
+    if (params.isLatestUpdate()) {
+      progress.startingStage(
+          format("Removing updated and deleted data: '{}'", tableType), SKIP_STAGE);
+      progress.runStage(() -> tableManager.removeUpdatedData(tables));
+      clock.logTime("Removed updated and deleted data");
+    }
+
+    swapTables(params, tables, progress);
+
+    if (!params.isPartialUpdate()) {
+      tableMetrics.retainPartitions(tableType, partitions);
+    }
+
+    clock.logTime("Table update done: '{}'", tableType.getTableName());
+  }
+
+  @Override
+  public void dropTables() {
+    Set<String> tables = tableManager.getExistingDatabaseTables();
+
+    tables.stream().forEach(tableManager::dropTable);
+
+    tableMetrics.retainPartitions(getAnalyticsTableType(), List.of());
+
+    log.info("Analytics tables dropped");
+  }
+
+  @Override
+  public void analyzeAnalyticsTables() {
+    Set<String> tables = tableManager.getExistingDatabaseTables();
+
+    tables.forEach(tableManager::analyzeTable);
+
+    log.info("Analytics tables analyzed");
+  }
+
+  // -------------------------------------------------------------------------
+  // Supportive methods
+  // -------------------------------------------------------------------------
+
+  /**
+   * Applies recorded data changes to the existing analytics table partitions. The changed data is
+   * populated into delta tables, to which aggregation levels are applied, and the delta tables are
+   * then merged into the existing partitions.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param progress the {@link JobProgress}.
+   */
+  private void applyIncrementalUpdate(AnalyticsTableUpdateParams params, JobProgress progress) {
+    AnalyticsTableType tableType = getAnalyticsTableType();
+
+    progress.startingStage(format("Populating delta tables: '{}'", tableType));
+    List<AnalyticsTablePartition> partitions =
+        progress.runStage(List.of(), () -> tableManager.createIncrementalTables(params));
+
+    if (partitions.isEmpty()) {
+      return;
+    }
+
+    applyAggregationLevels(tableType, partitions, progress);
+
+    progress.startingStage(format("Merging {} delta tables: '{}'", partitions.size(), tableType));
+    progress.runStage(() -> tableManager.mergeIncrementalTables(params, partitions));
+  }
+
+  /**
+   * Populates the given partitions and applies aggregation levels, indexes, vacuum and analyze,
+   * where each step is completed for all partitions before the next step starts. Required when
+   * analytics table SQL hooks exist, as hooks operate on the complete populated tables.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param partitions the list of {@link AnalyticsTablePartition}.
+   * @param clock the {@link Clock}.
+   * @param progress the {@link JobProgress}.
+   */
+  private void processPartitionsInStages(
+      AnalyticsTableUpdateParams params,
+      List<AnalyticsTablePartition> partitions,
+      Clock clock,
+      JobProgress progress) {
+    AnalyticsTableType tableType = getAnalyticsTableType();
     int partitionSize = partitions.size();
+    int tableUpdates = 0;
 
     progress.startingStage(
         format("Populating {} analytics tables: '{}'", partitionSize, tableType), partitionSize);
@@ -168,40 +285,261 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
       analyzeTables(partitions, progress);
       clock.logTime("Analyzed tables");
     }
+  }
 
-    if (params.isLatestUpdate()) {
-      progress.startingStage(
-          format("Removing updated and deleted data: '{}'", tableType), SKIP_STAGE);
-      progress.runStage(() -> tableManager.removeUpdatedData(tables));
-      clock.logTime("Removed updated and deleted data");
+  /**
+   * Processes the given partitions as a pipeline, where each partition moves on to aggregation
+   * levels, indexes, vacuum and analyze as soon as its own population is done, instead of waiting
+   * for all partitions to be populated. The indexes of a partition are created in parallel with
+   * each other and with the work of other partitions.
+   *
+   * <p>Partitions are started in descending order of the row count of the existing partition from
+   * the previous table update, so that the largest partitions do not delay the update by being
+   * started last. The number of partition tasks running at the same time is limited by the number
+   * of parallel jobs.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param partitions the list of {@link AnalyticsTablePartition}.
+   * @param clock the {@link Clock}.
+   * @param progress the {@link JobProgress}.
+   */
+  void processPartitionsInPipeline(
+      AnalyticsTableUpdateParams params,
+      List<AnalyticsTablePartition> partitions,
+      Clock clock,
+      JobProgress progress) {
+    AnalyticsTableType tableType = getAnalyticsTableType();
+    Map<Integer, List<String>> aggregationLevels = getAggregationLevelDataElements();
+    boolean vacuum = !aggregationLevels.isEmpty() && sqlBuilder.supportsVacuum();
+    List<AnalyticsTablePartition> orderedPartitions = getPartitionsByRowCount(partitions);
+    Map<AnalyticsTablePartition, List<Index>> partitionIndexes = new HashMap<>();
+
+    for (AnalyticsTablePartition partition : orderedPartitions) {
+      partitionIndexes.put(
+          partition,
+          sqlBuilder.requiresIndexesForAnalytics() ? getIndexes(List.of(partition)) : List.of());
     }
 
-    swapTables(params, tables, progress);
+    int indexSize = partitionIndexes.values().stream().mapToInt(List::size).sum();
+    int parallelism = Math.max(1, getParallelJobs());
+    log.info("Partition pipeline task number: {}", parallelism);
 
-    clock.logTime("Table update done: '{}'", tableType.getTableName());
+    progress.startingStage(
+        format(
+            "Processing {} analytics tables with {} indexes: '{}'",
+            orderedPartitions.size(),
+            indexSize,
+            tableType),
+        orderedPartitions.size() * 2 + indexSize);
+
+    AtomicInteger success = new AtomicInteger();
+    AtomicInteger failed = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+
+    try {
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+      for (AnalyticsTablePartition partition : orderedPartitions) {
+        Runnable populate =
+            toWorkItem(
+                progress,
+                format("Populating {}", partition.getName()),
+                PARENT,
+                success,
+                failed,
+                () -> populatePartition(params, partition, aggregationLevels));
+        Runnable analyze =
+            toSummarizedWorkItem(
+                progress,
+                format("Analyzing {}", partition.getName()),
+                PARENT,
+                success,
+                failed,
+                () -> analyzePartition(partition, vacuum));
+
+        List<Runnable> createIndexes =
+            partitionIndexes.get(partition).stream()
+                .map(
+                    index ->
+                        toWorkItem(
+                            progress,
+                            format("Creating index {}", index.getName()),
+                            SKIP_ITEM_OUTLIER,
+                            success,
+                            failed,
+                            () -> time(INDEXES, () -> tableManager.createIndex(index))))
+                .toList();
+
+        CompletableFuture<Void> future =
+            CompletableFuture.runAsync(populate, executor)
+                .thenCompose(v -> runAllAsync(createIndexes, executor))
+                .thenRunAsync(analyze, executor);
+
+        futures.add(future.exceptionally(ex -> null));
+      }
+
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    } finally {
+      executor.shutdown();
+    }
+
+    boolean skipped =
+        progress.autoSkipStage(
+            (s, f) -> format("pipeline aborted after {} successful and {} failed items", s, f),
+            success.get(),
+            failed.get());
+
+    if (!skipped) {
+      progress.completedStage(null);
+    }
+
+    clock.logTime("Processed analytics tables");
   }
 
-  @Override
-  public void dropTables() {
-    Set<String> tables = tableManager.getExistingDatabaseTables();
+  /**
+   * Populates the given partition and applies aggregation levels to it.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param partition the {@link AnalyticsTablePartition}.
+   * @param aggregationLevels the mapping of aggregation level to data element identifiers.
+   */
+  private void populatePartition(
+      AnalyticsTableUpdateParams params,
+      AnalyticsTablePartition partition,
+      Map<Integer, List<String>> aggregationLevels) {
+    time(POPULATE, () -> tableManager.populateTable(params, partition));
+
+    aggregationLevels.forEach(
+        (level, dataElements) ->
+            time(
+                AGGREGATION_LEVELS,
+                () -> tableManager.applyAggregationLevels(partition, dataElements, level)));
+  }
 
-    tables.stream().forEach(tableManager::dropTable);
+  /**
+   * Vacuums and analyzes the given partition, as supported by the database, and records the size of
+   * the partition.
+   *
+   * @param partition the {@link AnalyticsTablePartition}.
+   * @param vacuum whether to vacuum the partition.
+   * @return a summary of the partition size.
+   */
+  private String analyzePartition(AnalyticsTablePartition partition, boolean vacuum) {
+    if (vacuum) {
+      time(VACUUM, () -> tableManager.vacuumTable(partition));
+    }
 
-    log.info("Analytics tables dropped");
+    if (sqlBuilder.supportsAnalyze()) {
+      time(ANALYZE, () -> tableManager.analyzeTable(partition));
+    }
+
+    return recordPartitionSize(partition);
   }
 
-  @Override
-  public void analyzeAnalyticsTables() {
-    Set<String> tables = tableManager.getExistingDatabaseTables();
+  /**
+   * Records the estimated row count and size of the given partition as metrics, if enabled. Both
+   * values are read from database statistics with a single query.
+   *
+   * @param partition the {@link AnalyticsTablePartition}.
+   * @return a summary of the partition size.
+   */
+  private String recordPartitionSize(AnalyticsTablePartition partition) {
+    TableStatistics statistics = tableManager.getTableStatistics(partition.getName());
+    long rows = statistics.rowCount();
+    long bytes = statistics.size();
 
-    tables.forEach(tableManager::analyzeTable);
+    tableMetrics.recordSize(getAnalyticsTableType(), partition, rows, bytes);
+    return format("{} rows, {} bytes", rows, bytes);
+  }
 
-    log.info("Analytics tables analyzed");
+  /**
+   * Runs the given work and records its duration for the given phase.
+   *
+   * @param phase the {@link Phase}.
+   * @param work the work to run.
+   */
+  private void time(Phase phase, Runnable work) {
+    tableMetrics.time(getAnalyticsTableType(), phase, work);
   }
 
-  // -------------------------------------------------------------------------
-  // Supportive methods
-  // -------------------------------------------------------------------------
+  /**
+   * Returns a runnable which runs the given work as a work item of the current stage. The runnable
+   * throws an exception if the work fails or the stage is skipped, so that dependent work of the
+   * pipeline is not run.
+   *
+   * @param progress the {@link JobProgress}.
+   * @param description the work item description.
+   * @param onFailure the {@link FailurePolicy} of the work item.
+   * @param success the count of successful work items.
+   * @param failed the count of failed work items.
+   * @param work the work to run.
+   * @return a {@link Runnable}.
+   */
+  private static Runnable toWorkItem(
+      JobProgress progress,
+      String description,
+      FailurePolicy onFailure,
+      AtomicInteger success,
+      AtomicInteger failed,
+      Runnable work) {
+    return toSummarizedWorkItem(
+        progress,
+        description,
+        onFailure,
+        success,
+        failed,
+        () -> {
+          work.run();
+          return null;
+        });
+  }
+
+  /**
+   * Returns a runnable which runs the given work as a work item of the current stage, where the
+   * work item is completed with the summary returned by the work.
+   *
+   * @see #toWorkItem(JobProgress, String, FailurePolicy, AtomicInteger, AtomicInteger, Runnable)
+   */
+  private static Runnable toSummarizedWorkItem(
+      JobProgress progress,
+      String description,
+      FailurePolicy onFailure,
+      AtomicInteger success,
+      AtomicInteger failed,
+      Supplier<String> work) {
+    return () -> {
+      if (progress.isSkipCurrentStage()) {
+        throw new CancellationException("Stage skipped: " + description);
+      }
+
+      progress.startingWorkItem(description, onFailure);
+
+      try {
+        String summary = work.get();
+        progress.completedWorkItem(summary);
+        success.incrementAndGet();
+      } catch (RuntimeException ex) {
+        progress.failedWorkItem(ex);
+        failed.incrementAndGet();
+        throw ex;
+      }
+    };
+  }
+
+  /**
+   * Runs the given tasks asynchronously. The returned future completes when all tasks are done,
+   * also if some of the tasks fail.
+   *
+   * @param tasks the list of {@link Runnable}.
+   * @param executor the {@link Executor}.
+   * @return a {@link CompletableFuture}.
+   */
+  private static CompletableFuture<Void> runAllAsync(List<Runnable> tasks, Executor executor) {
+    return CompletableFuture.allOf(
+        tasks.stream()
+            .map(task -> CompletableFuture.runAsync(task, executor).exceptionally(ex -> null))
+            .toArray(CompletableFuture[]::new));
+  }
 
   /**
    * Drops the given analytics tables.
@@ -242,7 +580,7 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
         parallelism,
         partitions,
         AnalyticsTablePartition::getName,
-        partition -> tableManager.populateTable(params, partition));
+        partition -> time(POPULATE, () -> tableManager.populateTable(params, partition)));
   }
 
   /**
@@ -255,31 +593,52 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
    */
   private int applyAggregationLevels(
       AnalyticsTableType tableType, List<? extends Table> tables, JobProgress progress) {
-    int maxLevels = organisationUnitService.getNumberOfOrganisationalLevels();
-
     int aggLevels = 0;
 
-    for (int i = 0; i < maxLevels; i++) {
-      int level = maxLevels - i;
+    for (Map.Entry<Integer, List<String>> entry : getAggregationLevelDataElements().entrySet()) {
+      int level = entry.getKey();
+      List<String> dataElements = entry.getValue();
 
+      progress.startingStage(
+          format("Applying aggregation level {}: '{}'", level, tableType), tables.size());
+      progress.runStageInParallel(
+          getParallelJobs(),
+          tables,
+          Table::getName,
+          partition ->
+              time(
+                  AGGREGATION_LEVELS,
+                  () -> tableManager.applyAggregationLevels(partition, dataElements, level)));
+
+      aggLevels += dataElements.size();
+    }
+
+    return aggLevels;
+  }
+
+  /**
+   * Returns a mapping of aggregation level to the identifiers of the data elements with that
+   * aggregation level, from the highest to the lowest level. Levels without data elements are
+   * not included.
+   *
+   * @return a mapping of aggregation level to data element identifiers.
+   */
+  private Map<Integer, List<String>> getAggregationLevelDataElements() {
+    int maxLevels = organisationUnitService.getNumberOfOrganisationalLevels();
+
+    Map<Integer, List<String>> aggregationLevels = new LinkedHashMap<>();
+
+    for (int level = maxLevels; level > 0; level--) {
       List<String> dataElements =
           IdentifiableObjectUtils.getUids(
               dataElementService.getDataElementsByAggregationLevel(level));
 
       if (!dataElements.isEmpty()) {
-        progress.startingStage(
-            format("Applying aggregation level {}: '{}'", level, tableType), tables.size());
-        progress.runStageInParallel(
-            getParallelJobs(),
-            tables,
-            Table::getName,
-            partition -> tableManager.applyAggregationLevels(partition, dataElements, level));
-
-        aggLevels += dataElements.size();
+        aggregationLevels.put(level, dataElements);
       }
     }
 
-    return aggLevels;
+    return aggregationLevels;
   }
 
   /**
@@ -290,7 +649,10 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
    */
   private void createIndexes(List<Index> indexes, JobProgress progress) {
     progress.runStageInParallel(
-        getParallelJobs(), indexes, index -> index.getName(), tableManager::createIndex);
+        getParallelJobs(),
+        indexes,
+        index -> index.getName(),
+        index -> time(INDEXES, () -> tableManager.createIndex(index)));
   }
 
   /**
@@ -301,18 +663,30 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
    */
   private void vacuumTables(List<? extends Table> tables, JobProgress progress) {
     progress.runStageInParallel(
-        getParallelJobs(), tables, Table::getName, tableManager::vacuumTable);
+        getParallelJobs(),
+        tables,
+        Table::getName,
+        table -> time(VACUUM, () -> tableManager.vacuumTable(table)));
   }
 
   /**
-   * Analyzes the given tables.
+   * Analyzes the given partitions. Records the size of each partition if metrics are enabled.
    *
-   * @param tables the list of {@link Table}.
+   * @param partitions the list of {@link AnalyticsTablePartition}.
    * @param progress the {@link JobProgress}.
    */
-  private void analyzeTables(List<? extends Table> tables, JobProgress progress) {
+  private void analyzeTables(List<AnalyticsTablePartition> partitions, JobProgress progress) {
     progress.runStageInParallel(
-        getParallelJobs(), tables, Table::getName, tableManager::analyzeTable);
+        getParallelJobs(),
+        partitions,
+        Table::getName,
+        partition -> {
+          time(ANALYZE, () -> tableManager.analyzeTable(partition));
+
+          if (tableMetrics.isEnabled()) {
+            recordPartitionSize(partition);
+          }
+        });
   }
 
   /**
@@ -329,7 +703,9 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
     progress.startingStage(
         format("Swapping analytics tables: '{}'", getAnalyticsTableType()), tables.size());
     progress.runStage(
-        tables, AnalyticsTable::getName, table -> tableManager.swapTable(params, table));
+        tables,
+        AnalyticsTable::getName,
+        table -> time(SWAP, () -> tableManager.swapTable(params, table)));
 
     resourceTableService.createAllSqlViews(progress);
   }
@@ -356,6 +732,32 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
     return partitions;
   }
 
+  /**
+   * Returns the given partitions sorted in descending order by the estimated row count of the
+   * existing main partition table from the previous table update. The row counts are read from
+   * database statistics, and partitions without a main table are placed last in their original
+   * order.
+   *
+   * @param partitions the list of {@link AnalyticsTablePartition}.
+   * @return a sorted list of {@link AnalyticsTablePartition}.
+   */
+  List<AnalyticsTablePartition> getPartitionsByRowCount(List<AnalyticsTablePartition> partitions) {
+    Map<String, Long> rowCounts = new HashMap<>();
+
+    for (AnalyticsTablePartition partition : partitions) {
+      rowCounts.put(
+          partition.getName(),
+          tableManager.getTableStatistics(partition.getMainName()).rowCount());
+    }
+
+    return partitions.stream()
+        .sorted(
+            Comparator.comparingLong(
+                    (AnalyticsTablePartition partition) -> rowCounts.get(partition.getName()))
+                .reversed())
+        .toList();
+  }
+
   /**
    * Returns the number of parallel jobs to use for processing analytics tables. The order of
    * determination is:
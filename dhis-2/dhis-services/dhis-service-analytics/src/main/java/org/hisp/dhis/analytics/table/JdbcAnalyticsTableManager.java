@@ -29,6 +29,7 @@
  */
 package org.hisp.dhis.analytics.table;
 
+import static org.hisp.dhis.analytics.AnalyticsStringUtils.qualifyVariables;
 import static org.hisp.dhis.analytics.AnalyticsStringUtils.replaceQualify;
 import static org.hisp.dhis.analytics.table.ColumnRegex.NUMERIC_REGEXP;
 import static org.hisp.dhis.analytics.table.model.AnalyticsValueType.FACT;
@@ -239,6 +240,10 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
 
   @Override
   public void preCreateTables(AnalyticsTableUpdateParams params) {
+    if (isClaimChangesOnFullUpdate(params)) {
+      claimChanges();
+    }
+
     if (isApprovalEnabled(null)) {
       resourceTableService.generateDataApprovalResourceTables();
 
@@ -273,6 +278,197 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
     invokeTimeAndLog(sql, "Remove updated data values");
   }
 
+  /**
+   * Incremental updates require recorded data value changes, which are only available when the
+   * analytics tables live in the same database as the data values, and require all partitions
+   * affected by changes to exist. New partitions are created by a full update.
+   */
+  @Override
+  public boolean supportsIncrementalUpdate(AnalyticsTableUpdateParams params) {
+    if (!analyticsTableSettings.isIncrementalUpdate()
+        || analyticsTableSettings.isAnalyticsDatabase()) {
+      return false;
+    }
+
+    List<Integer> missingYears = getMissingPartitionYears(getChangedDataYears(true));
+
+    if (!missingYears.isEmpty()) {
+      log.info("Incremental update not possible, missing partitions for years: {}", missingYears);
+      return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Claims the recorded data value changes before reading any data, so that changes committed
+   * later are left for the next update. Claimed changes stay claimed until they have been merged,
+   * which means that changes claimed by a failed update are applied again by the next update.
+   */
+  @Override
+  public List<AnalyticsTablePartition> createIncrementalTables(AnalyticsTableUpdateParams params) {
+    claimChanges();
+
+    List<Integer> years = getChangedDataYears(false);
+
+    if (years.isEmpty()) {
+      return List.of();
+    }
+
+    List<Integer> missingYears = getMissingPartitionYears(years);
+
+    if (!missingYears.isEmpty()) {
+      throw new IllegalStateException(
+          "Incremental update not possible, missing partitions for years: " + missingYears);
+    }
+
+    AnalyticsTable table = getRegularAnalyticsTable(params, years, getColumns(params), SORT_KEY);
+    String changeClause =
+        qualifyVariables(
+            sqlBuilder,
+            """
+            (dv.dataelementid, dv.periodid, dv.sourceid, dv.categoryoptioncomboid, dv.attributeoptioncomboid) in ( \
+            select c.dataelementid, c.periodid, c.sourceid, c.categoryoptioncomboid, c.attributeoptioncomboid \
+            from ${datavaluechangeclaim} c)""");
+
+    for (AnalyticsTablePartition partition : table.getTablePartitions()) {
+      String sql =
+          replace(
+              """
+              drop table if exists ${tableName}; \
+              create unlogged table ${tableName} (like ${mainTableName});""",
+              Map.of(
+                  "tableName", quote(partition.getName()),
+                  "mainTableName", quote(partition.getMainName())));
+
+      invokeTimeAndLog(sql, "Creating delta table: '{}'", partition.getName());
+
+      populateTable(params, partition, changeClause);
+    }
+
+    return table.getTablePartitions();
+  }
+
+  @Override
+  public void mergeIncrementalTables(
+      AnalyticsTableUpdateParams params, List<AnalyticsTablePartition> partitions) {
+    for (AnalyticsTablePartition partition : partitions) {
+      String sql =
+          replaceQualify(
+              sqlBuilder,
+              """
+              delete from ${mainTableName} ax \
+              where ax.id in ( \
+              select concat(des.dataelementuid,'-',ps.iso,'-',ous.organisationunituid,'-',dcs.categoryoptioncombouid,'-',acs.categoryoptioncombouid) as id \
+              from ${datavaluechangeclaim} c \
+              inner join analytics_rs_dataelementstructure des on c.dataelementid=des.dataelementid \
+              inner join analytics_rs_periodstructure ps on c.periodid=ps.periodid \
+              inner join analytics_rs_orgunitstructure ous on c.sourceid=ous.organisationunitid \
+              inner join analytics_rs_categorystructure dcs on c.categoryoptioncomboid=dcs.categoryoptioncomboid \
+              inner join analytics_rs_categorystructure acs on c.attributeoptioncomboid=acs.categoryoptioncomboid \
+              where ps.year = ${year}); \
+              insert into ${mainTableName} select * from ${tableName}; \
+              drop table ${tableName};""",
+              Map.of(
+                  "tableName", quote(partition.getName()),
+                  "mainTableName", quote(partition.getMainName()),
+                  "year", String.valueOf(partition.getYear())));
+
+      invokeTimeAndLog(sql, "Merging delta table: '{}'", partition.getName());
+    }
+
+    removeClaimedChanges();
+  }
+
+  /**
+   * Swaps the table, and removes the recorded data value changes which were claimed before the
+   * full update read the data values, and are therefore included in the analytics tables.
+   */
+  @Override
+  public void swapTable(AnalyticsTableUpdateParams params, AnalyticsTable table) {
+    super.swapTable(params, table);
+
+    if (isClaimChangesOnFullUpdate(params)) {
+      removeClaimedChanges();
+    }
+  }
+
+  /**
+   * Indicates whether the given update is a full update which should claim and remove the recorded
+   * data value changes.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @return true if recorded data value changes should be claimed.
+   */
+  private boolean isClaimChangesOnFullUpdate(AnalyticsTableUpdateParams params) {
+    return !params.isPartialUpdate() && analyticsTableSettings.isIncrementalUpdate();
+  }
+
+  /**
+   * Moves all recorded data value changes to the claim table. Deleting the changes and inserting
+   * them into the claim table happens in a single statement, so every change is either claimed
+   * with all changes committed before it, or left for the next update. This does not depend on
+   * timestamps, which are taken at transaction start and can be affected by clock differences.
+   */
+  private void claimChanges() {
+    String sql =
+        qualifyVariables(
+            sqlBuilder,
+            """
+            with claimed as ( \
+            delete from ${datavaluechange} \
+            returning dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid) \
+            insert into ${datavaluechangeclaim} \
+            (dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid) \
+            select dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid \
+            from claimed;""");
+
+    invokeTimeAndLog(sql, "Claiming data value changes");
+  }
+
+  /** Removes the claimed data value changes, which have been applied to the analytics tables. */
+  private void removeClaimedChanges() {
+    String sql = qualifyVariables(sqlBuilder, "delete from ${datavaluechangeclaim};");
+
+    invokeTimeAndLog(sql, "Removing applied data value changes");
+  }
+
+  /**
+   * Returns the distinct years of claimed data value changes.
+   *
+   * @param includeUnclaimed whether to include data value changes which are not claimed yet.
+   * @return a list of data years.
+   */
+  private List<Integer> getChangedDataYears(boolean includeUnclaimed) {
+    String changes =
+        includeUnclaimed
+            ? """
+              (select periodid from ${datavaluechangeclaim} \
+              union all \
+              select periodid from ${datavaluechange})"""
+            : "${datavaluechangeclaim}";
+
+    String sql =
+        qualifyVariables(
+            sqlBuilder,
+            "select distinct(ps.year) from "
+                + changes
+                + " c inner join analytics_rs_periodstructure ps on c.periodid=ps.periodid");
+
+    return jdbcTemplate.queryForList(sql, Integer.class);
+  }
+
+  /**
+   * Returns the given years for which no analytics table partition exists.
+   *
+   * @param years the data years.
+   * @return a list of data years without partition.
+   */
+  private List<Integer> getMissingPartitionYears(List<Integer> years) {
+    String tableName = getAnalyticsTableType().getTableName();
+    return years.stream().filter(year -> !tableExists(tableName + "_" + year)).toList();
+  }
+
   @Override
   protected List<String> getPartitionChecks(Integer year, Date endDate) {
     Objects.requireNonNull(year);
@@ -282,6 +478,18 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
 
   @Override
   public void populateTable(AnalyticsTableUpdateParams params, AnalyticsTablePartition partition) {
+    populateTable(params, partition, null);
+  }
+
+  /**
+   * Populates the given analytics table partition.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param partition the {@link AnalyticsTablePartition}.
+   * @param changeClause optional clause to constrain the data values to populate, can be null.
+   */
+  private void populateTable(
+      AnalyticsTableUpdateParams params, AnalyticsTablePartition partition, String changeClause) {
     SystemSettings settings = settingsProvider.getCurrentSettings();
     boolean skipDataTypeValidation = settings.getSkipDataTypeValidationInAnalyticsTableExport();
     boolean includeZeroValues = settings.getIncludeZeroValuesInAnalytics();
@@ -309,22 +517,39 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
         "cast(dv.value as " + doubleDataType + ")",
         "null",
         ValueType.NUMERIC_TYPES,
-        intClause);
+        and(intClause, changeClause));
     populateTable(
         params,
         partition,
         "1",
         "null",
         Set.of(ValueType.BOOLEAN, ValueType.TRUE_ONLY),
-        "dv.value = 'true'");
-    populateTable(params, partition, "0", "null", Set.of(ValueType.BOOLEAN), "dv.value = 'false'");
+        and("dv.value = 'true'", changeClause));
+    populateTable(
+        params,
+        partition,
+        "0",
+        "null",
+        Set.of(ValueType.BOOLEAN),
+        and("dv.value = 'false'", changeClause));
     populateTable(
         params,
         partition,
         "null",
         "dv.value",
         Sets.union(ValueType.TEXT_TYPES, ValueType.DATE_TYPES),
-        null);
+        changeClause);
+  }
+
+  /**
+   * Combines the given where clause with the given optional clause.
+   *
+   * @param whereClause the where clause.
+   * @param clause the optional clause, can be null.
+   * @return the combined where clause.
+   */
+  private static String and(String whereClause, String clause) {
+    return clause == null ? whereClause : whereClause + " and " + clause;
   }
 
   /**
@@ -32,6 +32,7 @@ package org.hisp.dhis.analytics.table.setting;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.hisp.dhis.db.model.Logged.LOGGED;
 import static org.hisp.dhis.db.model.Logged.UNLOGGED;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_INCREMENTAL;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_SKIP_COLUMN;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_SKIP_INDEX;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_UNLOGGED;
@@ -107,6 +108,16 @@ public class AnalyticsTableSettings {
     return config.isAnalyticsDatabaseConfigured();
   }
 
+  /**
+   * Indicates whether changes to aggregate data values are recorded and applied incrementally to
+   * the existing analytics table partitions during "latest" analytics table updates.
+   *
+   * @return true if incremental analytics table updates are enabled.
+   */
+  public boolean isIncrementalUpdate() {
+    return config.isEnabled(ANALYTICS_TABLE_INCREMENTAL);
+  }
+
   /**
    * Returns a set of dimension identifiers for which to skip building indexes for columns on
    * analytics tables.
@@ -33,12 +33,14 @@ import static lombok.AccessLevel.PRIVATE;
 import static org.apache.commons.lang3.StringUtils.joinWith;
 import static org.hisp.dhis.analytics.AnalyticsMetaDataKey.PAGER;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.Consumer;
 import lombok.NoArgsConstructor;
 import org.hisp.dhis.analytics.common.ColumnHeader;
 import org.hisp.dhis.analytics.event.EventQueryParams;
@@ -73,6 +75,57 @@ public class ResponseHelper {
     }
   }
 
+  /**
+   * Returns the positions of the headers of the given grid in the given list of headers, in the
+   * order of the headers of the grid. The list holds the headers of the grid before {@link
+   * #applyHeaders} was called, so the positions are the indexes of the retained columns in rows
+   * which are read with all headers.
+   *
+   * @param headers the headers before {@link #applyHeaders} was called.
+   * @param grid the {@link Grid} holding the retained headers.
+   * @return the column indexes.
+   */
+  public static int[] getColumnIndexes(List<GridHeader> headers, Grid grid) {
+    int[] columnIndexes = new int[grid.getHeaders().size()];
+
+    for (int i = 0; i < columnIndexes.length; i++) {
+      columnIndexes[i] = indexOfIdentity(headers, grid.getHeaders().get(i));
+    }
+
+    return columnIndexes;
+  }
+
+  /**
+   * Passes the rows of the given grid to the given consumer, holding the values of the columns at
+   * the given indexes.
+   *
+   * @param grid the {@link Grid} holding the rows.
+   * @param columnIndexes the indexes of the columns to pass on.
+   * @param rowConsumer the consumer of rows.
+   */
+  public static void consumeRows(
+      Grid grid, int[] columnIndexes, Consumer<List<Object>> rowConsumer) {
+    for (List<Object> row : grid.getRows()) {
+      List<Object> values = new ArrayList<>(columnIndexes.length);
+
+      for (int columnIndex : columnIndexes) {
+        values.add(row.get(columnIndex));
+      }
+
+      rowConsumer.accept(values);
+    }
+  }
+
+  private static int indexOfIdentity(List<GridHeader> headers, GridHeader header) {
+    for (int i = 0; i < headers.size(); i++) {
+      if (headers.get(i) == header) {
+        return i;
+      }
+    }
+
+    throw new IllegalStateException("Header not found: " + header.getName());
+  }
+
   private static String normalizeHeaderForGrid(String header, Grid grid) {
     for (GridHeader gridHeader : grid.getHeaders()) {
       if (gridHeader.getName().equalsIgnoreCase(header)) {
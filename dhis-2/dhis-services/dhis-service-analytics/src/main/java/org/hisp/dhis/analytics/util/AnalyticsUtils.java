@@ -51,6 +51,8 @@ import static org.springframework.util.Assert.isTrue;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.text.ParseException;
 import java.util.ArrayList;
@@ -129,6 +131,9 @@ import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.BadSqlGrammarException;
 import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.util.Assert;
 
 /**
@@ -1249,6 +1254,46 @@ public final class AnalyticsUtils {
     return Optional.empty();
   }
 
+  /**
+   * Executes the given SQL query and passes the result to the given extractor through a
+   * forward-only cursor. Rows are fetched from the database in batches of the fetch size of the
+   * given {@link JdbcTemplate}, instead of all rows being read into memory before the extractor
+   * sees the first row.
+   *
+   * @param jdbcTemplate the {@link JdbcTemplate}.
+   * @param sql the SQL query.
+   * @param extractor the {@link ResultSetExtractor} reading the rows.
+   * @return the result of the extractor.
+   */
+  public static <T> T queryForCursor(
+      JdbcTemplate jdbcTemplate, String sql, ResultSetExtractor<T> extractor) {
+    return jdbcTemplate.execute(
+        (ConnectionCallback<T>)
+            connection -> {
+              // Cursor based fetching requires auto-commit to be disabled
+              boolean autoCommit = connection.getAutoCommit();
+
+              if (autoCommit) {
+                connection.setAutoCommit(false);
+              }
+
+              try (PreparedStatement statement =
+                  connection.prepareStatement(
+                      sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(jdbcTemplate.getFetchSize());
+
+                try (ResultSet rs = statement.executeQuery()) {
+                  return extractor.extractData(rs);
+                }
+              } finally {
+                if (autoCommit) {
+                  connection.rollback();
+                  connection.setAutoCommit(true);
+                }
+              }
+            });
+  }
+
   private static void handleDataAccessException(DataAccessException ex, boolean isMultipleQueries) {
     if (ex.getCause() instanceof SQLException sqlexception) {
       if (relationDoesNotExist(sqlexception)) {
@@ -31,6 +31,8 @@ package org.hisp.dhis.analytics.cache;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.mock;
@@ -41,8 +43,14 @@ import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import org.apache.commons.lang3.SerializationUtils;
 import org.hisp.dhis.analytics.AnalyticsCacheTtlMode;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.cache.Cache;
@@ -52,6 +60,7 @@ import org.hisp.dhis.cache.LocalCache;
 import org.hisp.dhis.cache.SimpleCacheBuilder;
 import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.common.GridHeader;
+import org.hisp.dhis.common.cache.CacheStrategy;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.setting.SystemSettings;
 import org.hisp.dhis.setting.SystemSettingsProvider;
@@ -81,10 +90,10 @@ class AnalyticsCacheTest {
   void setUp() {
 
     AnalyticsCacheSettings settings = new AnalyticsCacheSettings(settingsService);
-    CacheBuilder<Grid> cacheBuilder = new SimpleCacheBuilder<>();
+    CacheBuilder<byte[]> cacheBuilder = new SimpleCacheBuilder<>();
     cacheBuilder.expireAfterWrite(1L, TimeUnit.MINUTES);
-    Cache<Grid> cache = new LocalCache<>(cacheBuilder);
-    Mockito.<Cache<Grid>>when(cacheProvider.createAnalyticsCache()).thenReturn(cache);
+    Cache<byte[]> cache = new LocalCache<>(cacheBuilder);
+    Mockito.<Cache<byte[]>>when(cacheProvider.createAnalyticsCache()).thenReturn(cache);
     analyticsCache = new AnalyticsCache(cacheProvider, settings);
   }
 
@@ -93,13 +102,13 @@ class AnalyticsCacheTest {
     // arrange
     AnalyticsCacheSettings settings = new AnalyticsCacheSettings(settingsService);
 
-    CacheBuilder<Grid> cacheBuilder = new SimpleCacheBuilder<>();
+    CacheBuilder<byte[]> cacheBuilder = new SimpleCacheBuilder<>();
 
     cacheBuilder.expireAfterWrite(1L, TimeUnit.MINUTES);
 
-    Cache<Grid> cache = new LocalCache<>(cacheBuilder);
+    Cache<byte[]> cache = new LocalCache<>(cacheBuilder);
 
-    Mockito.<Cache<Grid>>when(cacheProvider.createAnalyticsCache()).thenReturn(cache);
+    Mockito.<Cache<byte[]>>when(cacheProvider.createAnalyticsCache()).thenReturn(cache);
 
     AnalyticsCache analyticsCache = new AnalyticsCache(cacheProvider, settings);
 
@@ -451,4 +460,130 @@ class AnalyticsCacheTest {
         analyticsCache.get(thread2NestedKey).isPresent(),
         "Thread 2 nested grid should NOT be cached");
   }
+
+  @Test
+  void concurrentRequestsForSameKeyAreComputedOnce() throws Exception {
+    when(settingsService.getCurrentSettings()).thenReturn(systemSettings);
+    when(systemSettings.getAnalyticsCacheTtlMode()).thenReturn(AnalyticsCacheTtlMode.FIXED);
+
+    DataQueryParams params = mock(DataQueryParams.class);
+    when(params.getKey()).thenReturn("sharedKey");
+
+    AtomicInteger computations = new AtomicInteger();
+    CountDownLatch computationStarted = new CountDownLatch(1);
+    CountDownLatch releaseComputation = new CountDownLatch(1);
+
+    Function<DataQueryParams, Grid> function =
+        p -> {
+          computations.incrementAndGet();
+          computationStarted.countDown();
+          try {
+            releaseComputation.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          Grid grid = new ListGrid();
+          grid.addHeader(new GridHeader("SharedHeader"));
+          return grid;
+        };
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    try {
+      Future<Grid> leader = executor.submit(() -> analyticsCache.getOrFetch(params, function));
+      assertTrue(computationStarted.await(10, TimeUnit.SECONDS));
+
+      List<Future<Grid>> followers =
+          List.of(
+              executor.submit(() -> analyticsCache.getOrFetch(params, function)),
+              executor.submit(() -> analyticsCache.getOrFetch(params, function)),
+              executor.submit(() -> analyticsCache.getOrFetch(params, function)));
+
+      releaseComputation.countDown();
+
+      Grid leaderGrid = leader.get(10, TimeUnit.SECONDS);
+      assertEquals("SharedHeader", leaderGrid.getHeaders().get(0).getName());
+
+      for (Future<Grid> follower : followers) {
+        Grid grid = follower.get(10, TimeUnit.SECONDS);
+        assertEquals("SharedHeader", grid.getHeaders().get(0).getName());
+        assertNotSame(leaderGrid, grid);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(1, computations.get());
+    assertTrue(analyticsCache.get("sharedKey").isPresent());
+  }
+
+  @Test
+  void cachedGridsAreIsolatedCopies() {
+    Grid grid = new ListGrid();
+    grid.addHeader(new GridHeader("Header1")).addRow().addValue("Value11");
+
+    analyticsCache.put("isolatedKey", grid, 60);
+
+    Grid first = analyticsCache.get("isolatedKey").orElseThrow();
+    first.addHeader(new GridHeader("Header2")).addRow().addValue("Value21");
+
+    Grid second = analyticsCache.get("isolatedKey").orElseThrow();
+
+    assertNotSame(first, second);
+    assertEquals(1, second.getHeaderWidth());
+    assertEquals(1, second.getRows().size());
+  }
+
+  @Test
+  void callerWinningAfterCompletedComputationUsesCachedResult() {
+    when(settingsService.getCurrentSettings()).thenReturn(systemSettings);
+    when(systemSettings.getAnalyticsCacheTtlMode()).thenReturn(AnalyticsCacheTtlMode.FIXED);
+
+    Grid cachedGrid = new ListGrid();
+    cachedGrid.addHeader(new GridHeader("CachedHeader"));
+
+    // The first lookup misses, the leader then stores its result before the second lookup
+    @SuppressWarnings("unchecked")
+    Cache<byte[]> cache = mock(Cache.class);
+    when(cache.get("racedKey"))
+        .thenReturn(Optional.empty())
+        .thenReturn(Optional.of(SerializationUtils.serialize(cachedGrid)));
+    Mockito.<Cache<byte[]>>when(cacheProvider.createAnalyticsCache()).thenReturn(cache);
+    AnalyticsCache racedCache =
+        new AnalyticsCache(cacheProvider, new AnalyticsCacheSettings(settingsService));
+
+    DataQueryParams params = mock(DataQueryParams.class);
+    when(params.getKey()).thenReturn("racedKey");
+
+    AtomicInteger computations = new AtomicInteger();
+
+    Grid grid =
+        racedCache.getOrFetch(
+            params,
+            p -> {
+              computations.incrementAndGet();
+              return new ListGrid();
+            });
+
+    assertEquals(0, computations.get());
+    assertEquals("CachedHeader", grid.getHeaders().get(0).getName());
+  }
+
+  @Test
+  void gridsWithoutTtlAreNotCached() {
+    when(settingsService.getCurrentSettings()).thenReturn(systemSettings);
+    when(systemSettings.getAnalyticsCacheTtlMode()).thenReturn(AnalyticsCacheTtlMode.FIXED);
+    when(systemSettings.getCacheStrategy()).thenReturn(CacheStrategy.NO_CACHE);
+
+    DataQueryParams params = mock(DataQueryParams.class);
+    when(params.getKey()).thenReturn("uncachedKey");
+
+    Grid computed = new ListGrid();
+    computed.addHeader(new GridHeader("Header1"));
+
+    Grid grid = analyticsCache.getOrFetch(params, p -> computed);
+
+    assertSame(computed, grid);
+    assertFalse(analyticsCache.get("uncachedKey").isPresent());
+  }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.cache;
+
+import static org.hisp.dhis.analytics.AnalyticsTableType.DATA_VALUE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.hisp.dhis.analytics.DataQueryParams;
+import org.hisp.dhis.analytics.cache.AnalyticsFragmentCache.FragmentLookup;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheBuilder;
+import org.hisp.dhis.cache.DefaultCacheProvider;
+import org.hisp.dhis.cache.LocalCache;
+import org.hisp.dhis.cache.SimpleCacheBuilder;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.period.PeriodDimension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsFragmentCacheTest {
+
+  @Mock private DefaultCacheProvider cacheProvider;
+
+  @Mock private AnalyticsCacheSettings analyticsCacheSettings;
+
+  private AnalyticsFragmentCache fragmentCache;
+
+  private final DataElement deA = new DataElement("A");
+
+  private final OrganisationUnit ouA = new OrganisationUnit("A");
+
+  @BeforeEach
+  void setUp() {
+    deA.setUid("deabcdefghA");
+    ouA.setUid("ouabcdefghA");
+
+    CacheBuilder<Map<String, Object>> cacheBuilder = new SimpleCacheBuilder<>();
+    cacheBuilder.expireAfterWrite(1L, TimeUnit.MINUTES);
+    Cache<Map<String, Object>> cache = new LocalCache<>(cacheBuilder);
+    Mockito.<Cache<Map<String, Object>>>when(cacheProvider.createAnalyticsFragmentCache())
+        .thenReturn(cache);
+    fragmentCache = new AnalyticsFragmentCache(cacheProvider, analyticsCacheSettings);
+  }
+
+  @Test
+  void testReuseCachedPeriods() {
+    when(analyticsCacheSettings.isCachingEnabled()).thenReturn(true);
+    when(analyticsCacheSettings.fixedExpirationTimeOrDefault()).thenReturn(60L);
+
+    DataQueryParams queryA = getQuery("202001", "202002");
+
+    FragmentLookup lookupA = fragmentCache.lookup(queryA, DATA_VALUE);
+
+    assertTrue(lookupA.isCacheable());
+    assertTrue(lookupA.cachedValues().isEmpty());
+    assertSame(queryA, lookupA.missingQuery());
+    assertEquals(1, lookupA.periodIndex());
+
+    fragmentCache.put(
+        lookupA,
+        Map.of(
+            "deabcdefghA-202001-ouabcdefghA", 1d,
+            "deabcdefghA-202002-ouabcdefghA", 2d));
+
+    DataQueryParams queryB = getQuery("202001", "202002", "202003");
+
+    FragmentLookup lookupB = fragmentCache.lookup(queryB, DATA_VALUE);
+
+    assertEquals(
+        Map.of(
+            "deabcdefghA-202001-ouabcdefghA", 1d,
+            "deabcdefghA-202002-ouabcdefghA", 2d),
+        lookupB.cachedValues());
+    assertTrue(lookupB.hasMissingQuery());
+    assertEquals(List.of("202003"), lookupB.missingQuery().getPeriodsIds());
+    assertEquals(1, lookupB.missingQuery().getPeriodDimensionIndex());
+
+    fragmentCache.put(lookupB, Map.of());
+
+    FragmentLookup lookupC = fragmentCache.lookup(getQuery("202002", "202003"), DATA_VALUE);
+
+    assertEquals(Map.of("deabcdefghA-202002-ouabcdefghA", 2d), lookupC.cachedValues());
+    assertFalse(lookupC.hasMissingQuery());
+    assertNull(lookupC.missingQuery());
+  }
+
+  @Test
+  void testCachingDisabled() {
+    when(analyticsCacheSettings.isCachingEnabled()).thenReturn(false);
+
+    DataQueryParams query = getQuery("202001", "202002");
+
+    FragmentLookup lookup = fragmentCache.lookup(query, DATA_VALUE);
+
+    assertFalse(lookup.isCacheable());
+    assertTrue(lookup.cachedValues().isEmpty());
+    assertSame(query, lookup.missingQuery());
+  }
+
+  private DataQueryParams getQuery(String... isoPeriods) {
+    return DataQueryParams.newBuilder()
+        .withDataElements(List.of(deA))
+        .withPeriods(List.of(isoPeriods).stream().map(PeriodDimension::of).toList(), "monthly")
+        .withOrganisationUnits(List.of(ouA))
+        .build();
+  }
+}
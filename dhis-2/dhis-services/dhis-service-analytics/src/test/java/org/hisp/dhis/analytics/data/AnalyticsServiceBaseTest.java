@@ -46,6 +46,7 @@ import org.hisp.dhis.analytics.RawAnalyticsManager;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
 import org.hisp.dhis.analytics.cache.AnalyticsCache;
 import org.hisp.dhis.analytics.cache.AnalyticsCacheSettings;
+import org.hisp.dhis.analytics.cache.AnalyticsFragmentCache;
 import org.hisp.dhis.analytics.data.handler.DataAggregator;
 import org.hisp.dhis.analytics.data.handler.DataHandler;
 import org.hisp.dhis.analytics.data.handler.HeaderHandler;
@@ -53,6 +54,7 @@ import org.hisp.dhis.analytics.data.handler.MetadataHandler;
 import org.hisp.dhis.analytics.data.handler.SchemeIdResponseMapper;
 import org.hisp.dhis.analytics.event.data.EventAggregateService;
 import org.hisp.dhis.analytics.resolver.ExpressionResolvers;
+import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.expression.ExpressionService;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
@@ -99,6 +101,8 @@ abstract class AnalyticsServiceBaseTest {
 
   @Mock private AnalyticsCacheSettings analyticsCacheSettings;
 
+  @Mock private CacheProvider cacheProvider;
+
   @Mock private ExpressionResolvers resolvers;
 
   @Mock private NestedIndicatorCyclicDependencyInspector nestedIndicatorCyclicDependencyInspector;
@@ -124,7 +128,8 @@ abstract class AnalyticsServiceBaseTest {
             settingsProvider,
             analyticsManager,
             organisationUnitService,
-            executionPlanStore);
+            executionPlanStore,
+            new AnalyticsFragmentCache(cacheProvider, analyticsCacheSettings));
 
     target = new DataAggregator(headerHandler, metadataHandler, dataHandler);
     target.feedHandlers();
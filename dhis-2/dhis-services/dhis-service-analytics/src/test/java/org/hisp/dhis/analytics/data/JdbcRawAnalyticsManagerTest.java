@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.data;
+
+import static org.hisp.dhis.common.DimensionConstants.DATA_X_DIM_ID;
+import static org.hisp.dhis.common.DimensionConstants.PERIOD_DIM_ID;
+import static org.hisp.dhis.common.DimensionalObjectUtils.getList;
+import static org.hisp.dhis.test.TestBase.createDataElement;
+import static org.hisp.dhis.test.TestBase.getDate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import org.hisp.dhis.analytics.DataQueryParams;
+import org.hisp.dhis.common.BaseDimensionalObject;
+import org.hisp.dhis.common.DimensionType;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.db.sql.PostgreSqlBuilder;
+import org.hisp.dhis.db.sql.SqlBuilder;
+import org.hisp.dhis.period.PeriodDimension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcRawAnalyticsManagerTest {
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @Mock private Connection connection;
+
+  @Mock private PreparedStatement statement;
+
+  @Mock private ResultSet resultSet;
+
+  @Spy private SqlBuilder sqlBuilder = new PostgreSqlBuilder();
+
+  @InjectMocks private JdbcRawAnalyticsManager subject;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() throws Exception {
+    when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+        .thenAnswer(
+            invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+    when(jdbcTemplate.getFetchSize()).thenReturn(1000);
+    when(connection.getAutoCommit()).thenReturn(true);
+    when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+    when(statement.executeQuery()).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true, true, false);
+    when(resultSet.getString("dx")).thenReturn("deA", "deB");
+    when(resultSet.getString("pe")).thenReturn("202401", "202402");
+    when(resultSet.getDouble("value")).thenReturn(3.0, 5.0);
+  }
+
+  @Test
+  void testStreamRawDataValues() throws Exception {
+    List<List<Object>> rows = new ArrayList<>();
+
+    subject.streamRawDataValues(createParams(), rows::add);
+
+    assertEquals(List.of(List.of("deA", "202401", 3.0), List.of("deB", "202402", 5.0)), rows);
+
+    verify(statement).setFetchSize(1000);
+    verifyCursorClosed();
+  }
+
+  @Test
+  void testStreamRawDataValuesClosesCursorOnConsumerFailure() throws Exception {
+    List<List<Object>> rows = new ArrayList<>();
+
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            subject.streamRawDataValues(
+                createParams(),
+                row -> {
+                  rows.add(row);
+                  throw new IllegalStateException("Client disconnected");
+                }));
+
+    assertEquals(1, rows.size());
+
+    verifyCursorClosed();
+  }
+
+  // -------------------------------------------------------------------------
+  // Supportive methods
+  // -------------------------------------------------------------------------
+
+  private void verifyCursorClosed() throws Exception {
+    InOrder inOrder = inOrder(connection, resultSet, statement);
+    inOrder.verify(connection).setAutoCommit(false);
+    inOrder.verify(resultSet).close();
+    inOrder.verify(statement).close();
+    inOrder.verify(connection).rollback();
+    inOrder.verify(connection).setAutoCommit(true);
+  }
+
+  private DataQueryParams createParams() {
+    DataElement deA = createDataElement('A');
+    PeriodDimension peA = PeriodDimension.of("202401");
+
+    return DataQueryParams.newBuilder()
+        .withTableName("analytics")
+        .withStartDate(getDate(2024, 1, 1))
+        .withEndDate(getDate(2024, 12, 31))
+        .addDimension(new BaseDimensionalObject(DATA_X_DIM_ID, DimensionType.DATA_X, getList(deA)))
+        .addDimension(new BaseDimensionalObject(PERIOD_DIM_ID, DimensionType.PERIOD, getList(peA)))
+        .build();
+  }
+}
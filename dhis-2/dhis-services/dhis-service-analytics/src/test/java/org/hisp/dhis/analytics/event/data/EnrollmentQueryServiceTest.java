@@ -33,6 +33,7 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import org.hisp.dhis.analytics.AnalyticsSecurityManager;
@@ -75,6 +76,35 @@ class EnrollmentQueryServiceTest {
         List.of("created", "completed"), grid.getHeaders().stream().map(h -> h.getName()).toList());
   }
 
+  @Test
+  void shouldStreamCreatedAndCompletedHeaders() {
+    Program program = TestBase.createProgram('A');
+    EventQueryParams params =
+        new EventQueryParams.Builder()
+            .withProgram(program)
+            .withHeaders(new LinkedHashSet<>(List.of("created", "completed")))
+            .withSkipData(true)
+            .withSkipMeta(true)
+            .build();
+
+    EnrollmentQueryService service =
+        new EnrollmentQueryService(
+            null,
+            null,
+            securityManager(params),
+            eventQueryValidator(),
+            new MetadataItemsHandler(null, null, null),
+            new SchemeIdHandler(null),
+            sqlBuilder());
+
+    List<String> headers = new ArrayList<>();
+
+    service.streamEnrollments(
+        params, grid -> grid.getHeaders().forEach(h -> headers.add(h.getName())), row -> {});
+
+    assertEquals(List.of("created", "completed"), headers);
+  }
+
   private static AnalyticsSecurityManager securityManager(EventQueryParams params) {
     return proxy(
         AnalyticsSecurityManager.class,
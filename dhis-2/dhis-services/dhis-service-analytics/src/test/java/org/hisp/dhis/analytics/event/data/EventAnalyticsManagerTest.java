@@ -57,11 +57,17 @@ import static org.hisp.dhis.test.TestBase.getDate;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -122,6 +128,7 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 /**
@@ -232,6 +239,32 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
     assertThat(events.hasLastDataRow(), is(true));
   }
 
+  @Test
+  void verifyStreamEventsPassesRowsInBatches() throws Exception {
+    Connection connection = mock(Connection.class);
+    PreparedStatement statement = mock(PreparedStatement.class);
+    ResultSet resultSet = mock(ResultSet.class);
+    int[] rows = {1500};
+
+    when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+        .thenAnswer(
+            invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+    when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+    when(statement.executeQuery()).thenReturn(resultSet);
+    when(resultSet.getMetaData()).thenReturn(mock(ResultSetMetaData.class));
+    when(resultSet.next()).thenAnswer(invocation -> rows[0]-- > 0);
+
+    List<Integer> batchSizes = new ArrayList<>();
+    Grid grid = createGrid();
+
+    subject.streamEvents(
+        createRequestParams(), grid, 0, batch -> batchSizes.add(batch.getHeight()));
+
+    assertEquals(List.of(1000, 500), batchSizes);
+    assertEquals(0, grid.getHeight());
+  }
+
   @Test
   void verifyGetEventAggregateIsNotPaginatedAndIsLastPageTrue() {
     mockGivenRowsRowSet(500);
@@ -34,13 +34,22 @@ import static org.hisp.dhis.test.TestBase.createOrganisationUnit;
 import static org.hisp.dhis.test.TestBase.createPeriodDimensions;
 import static org.hisp.dhis.test.TestBase.createProgram;
 import static org.hisp.dhis.test.TestBase.injectSecurityContextNoSettings;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.hisp.dhis.analytics.AnalyticsSecurityManager;
 import org.hisp.dhis.analytics.common.scheme.SchemeInfo;
 import org.hisp.dhis.analytics.common.scheme.SchemeInfo.Data;
@@ -53,6 +62,7 @@ import org.hisp.dhis.analytics.event.EventQueryValidator;
 import org.hisp.dhis.analytics.table.model.Partitions;
 import org.hisp.dhis.analytics.tracker.MetadataItemsHandler;
 import org.hisp.dhis.analytics.tracker.SchemeIdHandler;
+import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.common.IdScheme;
 import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
@@ -133,6 +143,61 @@ class EventQueryServiceTest {
     verify(schemeIdResponseMapper, never()).getSchemeIdResponseMap(mockSchemeInfo);
   }
 
+  @Test
+  void testStreamEventsPassesRowsInHeaderOrder() {
+    OrganisationUnit mockOrgUnit = createOrganisationUnit('A');
+    Program mockProgram = createProgram('A', null, mockOrgUnit);
+    EventQueryParams mockParams =
+        new EventQueryParams.Builder(mockEventQueryParams(mockOrgUnit, mockProgram, null))
+            .withHeaders(new LinkedHashSet<>(List.of("oucode", "psi")))
+            .withPartitions(new Partitions(Set.of(2000)))
+            .build();
+
+    when(securityManager.withUserConstraints(mockParams)).thenReturn(mockParams);
+    when(queryPlanner.planEventQuery(any(EventQueryParams.class))).thenReturn(mockParams);
+    doAnswer(
+            invocation -> {
+              Grid grid = invocation.getArgument(1);
+              Consumer<Grid> batchConsumer = invocation.getArgument(3);
+              grid.addRow();
+              grid.getHeaders().forEach(header -> grid.addValue(header.getName()));
+              batchConsumer.accept(grid);
+              return null;
+            })
+        .when(eventAnalyticsManager)
+        .streamEvents(any(EventQueryParams.class), any(Grid.class), anyInt(), any());
+
+    List<String> headers = new ArrayList<>();
+    List<List<Object>> rows = new ArrayList<>();
+
+    eventQueryService.streamEvents(
+        mockParams,
+        grid -> grid.getHeaders().forEach(header -> headers.add(header.getName())),
+        rows::add);
+
+    assertEquals(List.of("oucode", "psi"), headers);
+    assertEquals(List.of(List.of("oucode", "psi")), rows);
+  }
+
+  @Test
+  void testStreamEventsSkipsDataWhenSkipDataIsSet() {
+    OrganisationUnit mockOrgUnit = createOrganisationUnit('A');
+    Program mockProgram = createProgram('A', null, mockOrgUnit);
+    EventQueryParams mockParams =
+        new EventQueryParams.Builder(mockEventQueryParams(mockOrgUnit, mockProgram, null))
+            .withSkipData(true)
+            .build();
+
+    when(securityManager.withUserConstraints(mockParams)).thenReturn(mockParams);
+
+    List<Grid> headerGrids = new ArrayList<>();
+
+    eventQueryService.streamEvents(mockParams, headerGrids::add, row -> {});
+
+    assertEquals(1, headerGrids.size());
+    verifyNoInteractions(eventAnalyticsManager);
+  }
+
   private EventQueryParams mockEventQueryParams(
       OrganisationUnit mockOrgUnit, Program mockProgram, IdScheme scheme) {
     return new EventQueryParams.Builder()
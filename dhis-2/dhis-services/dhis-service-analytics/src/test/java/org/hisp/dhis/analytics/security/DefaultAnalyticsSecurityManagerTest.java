@@ -30,7 +30,9 @@
 package org.hisp.dhis.analytics.security;
 
 import static org.hisp.dhis.common.DimensionConstants.ORGUNIT_DIM_ID;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.lenient;
@@ -40,9 +42,11 @@ import java.util.List;
 import java.util.Set;
 import org.hisp.dhis.analytics.event.EventQueryParams;
 import org.hisp.dhis.common.DimensionService;
+import org.hisp.dhis.common.IllegalQueryException;
 import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.dataapproval.DataApprovalLevelService;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.organisationunit.OrganisationUnitHierarchyIndex;
 import org.hisp.dhis.security.acl.AclService;
 import org.hisp.dhis.setting.SystemSettingsProvider;
 import org.hisp.dhis.test.TestBase;
@@ -66,6 +70,7 @@ class DefaultAnalyticsSecurityManagerTest extends TestBase {
   @Mock private DimensionService dimensionService;
   @Mock private AclService aclService;
   @Mock private UserService userService;
+  @Mock private OrganisationUnitHierarchyIndex hierarchyIndex;
   @Mock private User currentUser;
 
   @InjectMocks private DefaultAnalyticsSecurityManager securityManager;
@@ -78,9 +83,9 @@ class DefaultAnalyticsSecurityManagerTest extends TestBase {
     ouA = createOrganisationUnit('A');
     ouB = createOrganisationUnit('B');
 
-    when(userService.getUserByUsername(nullable(String.class))).thenReturn(currentUser);
-    when(currentUser.isSuper()).thenReturn(true);
-    when(currentUser.getDimensionConstraints()).thenReturn(Set.of());
+    lenient().when(userService.getUserByUsername(nullable(String.class))).thenReturn(currentUser);
+    lenient().when(currentUser.isSuper()).thenReturn(true);
+    lenient().when(currentUser.getDimensionConstraints()).thenReturn(Set.of());
     lenient().when(currentUser.hasDataViewOrganisationUnit()).thenReturn(true);
     lenient().when(currentUser.getDataViewOrganisationUnits()).thenReturn(Set.of(ouB));
     lenient().when(currentUser.getUsername()).thenReturn("tester");
@@ -132,4 +137,30 @@ class DefaultAnalyticsSecurityManagerTest extends TestBase {
     assertEquals(1, constrainedOus.size());
     assertEquals(ouB.getUid(), constrainedOus.get(0).getUid());
   }
+
+  @Test
+  void shouldAllowQueryOrgUnitsInDataViewHierarchy() {
+    injectUserWithDataViewOrgUnit(ouB);
+    when(hierarchyIndex.isDescendant(ouA, Set.of(ouB.getUid()))).thenReturn(true);
+
+    assertDoesNotThrow(() -> securityManager.decideAccess(List.of(ouA), Set.of()));
+  }
+
+  @Test
+  void shouldDenyQueryOrgUnitsOutsideDataViewHierarchy() {
+    injectUserWithDataViewOrgUnit(ouB);
+    when(hierarchyIndex.isDescendant(ouA, Set.of(ouB.getUid()))).thenReturn(false);
+
+    assertThrows(
+        IllegalQueryException.class,
+        () -> securityManager.decideAccess(List.of(ouA), Set.of()));
+  }
+
+  private static void injectUserWithDataViewOrgUnit(OrganisationUnit organisationUnit) {
+    CurrentUserUtil.injectUserInSecurityContext(
+        UserDetails.empty()
+            .username("tester")
+            .userDataOrgUnitIds(Set.of(organisationUnit.getUid()))
+            .build());
+  }
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.table;
+
+import static org.hisp.dhis.analytics.table.AnalyticsTableMetrics.METRIC_BYTES;
+import static org.hisp.dhis.analytics.table.AnalyticsTableMetrics.METRIC_PHASE_DURATION;
+import static org.hisp.dhis.analytics.table.AnalyticsTableMetrics.METRIC_ROWS;
+import static org.hisp.dhis.analytics.table.AnalyticsTableMetrics.Phase.POPULATE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_ANALYTICS_TABLE_ENABLED;
+import static org.hisp.dhis.test.TestBase.createProgram;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.table.model.AnalyticsTable;
+import org.hisp.dhis.analytics.table.model.AnalyticsTableColumn;
+import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
+import org.hisp.dhis.db.model.DataType;
+import org.hisp.dhis.db.model.Logged;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.program.Program;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsTableMetricsTest {
+  private static final List<AnalyticsTableColumn> COLUMNS =
+      List.of(
+          AnalyticsTableColumn.builder()
+              .name("dx")
+              .dataType(DataType.TEXT)
+              .selectExpression("dx")
+              .build());
+
+  @Mock private DhisConfigurationProvider config;
+
+  private MeterRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void testTime() {
+    when(config.isEnabled(MONITORING_ANALYTICS_TABLE_ENABLED)).thenReturn(true);
+    AnalyticsTableMetrics metrics = new AnalyticsTableMetrics(registry, config);
+    AtomicBoolean invoked = new AtomicBoolean();
+
+    metrics.time(AnalyticsTableType.DATA_VALUE, POPULATE, () -> invoked.set(true));
+    metrics.time(AnalyticsTableType.DATA_VALUE, POPULATE, () -> invoked.set(true));
+
+    Timer timer =
+        registry
+            .find(METRIC_PHASE_DURATION)
+            .tags("tableType", "DATA_VALUE", "phase", "populate")
+            .timer();
+
+    assertTrue(invoked.get());
+    assertEquals(2, timer.count());
+    assertEquals(1, registry.find(METRIC_PHASE_DURATION).timers().size());
+  }
+
+  @Test
+  void testTimeRecordsFailedWork() {
+    when(config.isEnabled(MONITORING_ANALYTICS_TABLE_ENABLED)).thenReturn(true);
+    AnalyticsTableMetrics metrics = new AnalyticsTableMetrics(registry, config);
+
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            metrics.time(
+                AnalyticsTableType.DATA_VALUE,
+                POPULATE,
+                () -> {
+                  throw new IllegalStateException();
+                }));
+
+    assertEquals(1, registry.find(METRIC_PHASE_DURATION).timer().count());
+  }
+
+  @Test
+  void testRecordSize() {
+    when(config.isEnabled(MONITORING_ANALYTICS_TABLE_ENABLED)).thenReturn(true);
+    AnalyticsTableMetrics metrics = new AnalyticsTableMetrics(registry, config);
+    AnalyticsTablePartition partition = createPartitions(AnalyticsTableType.EVENT, 2024).get(0);
+
+    metrics.recordSize(AnalyticsTableType.EVENT, partition, 1200, 65536);
+    metrics.recordSize(AnalyticsTableType.EVENT, partition, 1500, 81920);
+
+    assertEquals(1500, registry.find(METRIC_ROWS).tag("year", "2024").gauge().value());
+    assertEquals(81920, registry.find(METRIC_BYTES).tag("year", "2024").gauge().value());
+  }
+
+  @Test
+  void testRecordSizeSumsTablesOfSameYear() {
+    when(config.isEnabled(MONITORING_ANALYTICS_TABLE_ENABLED)).thenReturn(true);
+    AnalyticsTableMetrics metrics = new AnalyticsTableMetrics(registry, config);
+    AnalyticsTablePartition partitionA = createProgramPartition('A', 2024);
+    AnalyticsTablePartition partitionB = createProgramPartition('B', 2024);
+    AnalyticsTablePartition partitionC = createProgramPartition('A', 2023);
+
+    metrics.recordSize(AnalyticsTableType.EVENT, partitionA, 1000, 4096);
+    metrics.recordSize(AnalyticsTableType.EVENT, partitionB, 500, 2048);
+    metrics.recordSize(AnalyticsTableType.EVENT, partitionC, 200, 1024);
+
+    assertEquals(2, registry.find(METRIC_ROWS).gauges().size());
+    assertEquals(1500, registry.find(METRIC_ROWS).tag("year", "2024").gauge().value());
+    assertEquals(6144, registry.find(METRIC_BYTES).tag("year", "2024").gauge().value());
+    assertEquals(200, registry.find(METRIC_ROWS).tag("year", "2023").gauge().value());
+  }
+
+  @Test
+  void testRetainPartitions() {
+    when(config.isEnabled(MONITORING_ANALYTICS_TABLE_ENABLED)).thenReturn(true);
+    AnalyticsTableMetrics metrics = new AnalyticsTableMetrics(registry, config);
+    List<AnalyticsTablePartition> partitions =
+        createPartitions(AnalyticsTableType.DATA_VALUE, 2022, 2023, 2024);
+
+    partitions.forEach(
+        partition -> metrics.recordSize(AnalyticsTableType.DATA_VALUE, partition, 100, 1024));
+
+    metrics.retainPartitions(AnalyticsTableType.DATA_VALUE, partitions.subList(1, 3));
+
+    assertNull(registry.find(METRIC_ROWS).tag("year", "2022").gauge());
+    assertNull(registry.find(METRIC_BYTES).tag("year", "2022").gauge());
+    assertNotNull(registry.find(METRIC_ROWS).tag("year", "2023").gauge());
+    assertNotNull(registry.find(METRIC_ROWS).tag("year", "2024").gauge());
+
+    metrics.retainPartitions(AnalyticsTableType.DATA_VALUE, List.of());
+
+    assertNull(registry.find(METRIC_ROWS).gauge());
+    assertNull(registry.find(METRIC_BYTES).gauge());
+  }
+
+  @Test
+  void testRetainPartitionsOfOtherTableType() {
+    when(config.isEnabled(MONITORING_ANALYTICS_TABLE_ENABLED)).thenReturn(true);
+    AnalyticsTableMetrics metrics = new AnalyticsTableMetrics(registry, config);
+    AnalyticsTablePartition partition = createPartitions(AnalyticsTableType.EVENT, 2024).get(0);
+
+    metrics.recordSize(AnalyticsTableType.EVENT, partition, 100, 1024);
+    metrics.retainPartitions(AnalyticsTableType.DATA_VALUE, List.of());
+
+    assertEquals(100, registry.find(METRIC_ROWS).tag("tableType", "EVENT").gauge().value());
+  }
+
+  @Test
+  void testDisabled() {
+    when(config.isEnabled(MONITORING_ANALYTICS_TABLE_ENABLED)).thenReturn(false);
+    AnalyticsTableMetrics metrics = new AnalyticsTableMetrics(registry, config);
+    AtomicBoolean invoked = new AtomicBoolean();
+    AnalyticsTablePartition partition =
+        createPartitions(AnalyticsTableType.DATA_VALUE, 2024).get(0);
+
+    metrics.time(AnalyticsTableType.DATA_VALUE, POPULATE, () -> invoked.set(true));
+    metrics.recordSize(AnalyticsTableType.DATA_VALUE, partition, 1200, 65536);
+
+    assertTrue(invoked.get());
+    assertNull(registry.find(METRIC_PHASE_DURATION).timer());
+    assertNull(registry.find(METRIC_ROWS).gauge());
+  }
+
+  private List<AnalyticsTablePartition> createPartitions(
+      AnalyticsTableType tableType, int... years) {
+    AnalyticsTable table = new AnalyticsTable(tableType, COLUMNS, List.of("dx"), Logged.UNLOGGED);
+    return addPartitions(table, years);
+  }
+
+  private AnalyticsTablePartition createProgramPartition(char uniqueCharacter, int year) {
+    Program program = createProgram(uniqueCharacter);
+    AnalyticsTable table =
+        new AnalyticsTable(AnalyticsTableType.EVENT, COLUMNS, Logged.UNLOGGED, program);
+    return addPartitions(table, year).get(0);
+  }
+
+  private List<AnalyticsTablePartition> addPartitions(AnalyticsTable table, int... years) {
+    for (int year : years) {
+      table.addTablePartition(
+          List.of(),
+          year,
+          new DateTime(year, 1, 1, 0, 0).toDate(),
+          new DateTime(year, 12, 31, 0, 0).toDate());
+    }
+
+    return table.getTablePartitions();
+  }
+}
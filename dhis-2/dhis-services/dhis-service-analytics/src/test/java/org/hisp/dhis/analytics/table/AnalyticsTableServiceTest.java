@@ -32,22 +32,43 @@ package org.hisp.dhis.analytics.table;
 import static org.hisp.dhis.db.model.DataType.DOUBLE;
 import static org.hisp.dhis.db.model.DataType.TEXT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hisp.dhis.analytics.AnalyticsTableManager;
 import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTableColumn;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
+import org.hisp.dhis.analytics.table.model.TableStatistics;
 import org.hisp.dhis.db.model.Logged;
 import org.hisp.dhis.db.sql.SqlBuilder;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.organisationunit.OrganisationUnitService;
+import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.setting.SystemSettings;
 import org.hisp.dhis.setting.SystemSettingsProvider;
+import org.hisp.dhis.system.util.Clock;
 import org.joda.time.DateTime;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 /**
@@ -61,6 +82,16 @@ class AnalyticsTableServiceTest {
 
   @Mock private SqlBuilder sqlBuilder;
 
+  @Mock private AnalyticsTableManager tableManager;
+
+  @Mock private OrganisationUnitService organisationUnitService;
+
+  @Mock private JobProgress progress;
+
+  @Spy
+  private AnalyticsTableMetrics tableMetrics =
+      new AnalyticsTableMetrics(new SimpleMeterRegistry(), mock(DhisConfigurationProvider.class));
+
   @InjectMocks private DefaultAnalyticsTableService tableService;
 
   @Test
@@ -113,4 +144,113 @@ class AnalyticsTableServiceTest {
 
     assertEquals(8, tableService.getParallelJobs());
   }
+
+  @Test
+  void testProcessPartitionsInPipelineStartsLargestPartitionsFirst() {
+    mockParallelJobs(1);
+    List<AnalyticsTablePartition> partitions = createPartitions(2021, 2022, 2023, 2024);
+    mockEstimatedRowCounts(Map.of("analytics_2021", 100L, "analytics_2022", 5000L));
+    List<Integer> populated = new CopyOnWriteArrayList<>();
+    doAnswer(
+            invocation -> {
+              populated.add(invocation.<AnalyticsTablePartition>getArgument(1).getYear());
+              return null;
+            })
+        .when(tableManager)
+        .populateTable(any(), any());
+
+    tableService.processPartitionsInPipeline(
+        AnalyticsTableUpdateParams.newBuilder().build(), partitions, new Clock(), progress);
+
+    assertEquals(List.of(2022, 2021, 2023, 2024), populated);
+  }
+
+  @Test
+  void testProcessPartitionsInPipelineSkipsWorkOfFailedPartition() {
+    mockParallelJobs(2);
+    when(sqlBuilder.supportsAnalyze()).thenReturn(true);
+    List<AnalyticsTablePartition> partitions = createPartitions(2021, 2022, 2023);
+    AnalyticsTablePartition failing = partitions.get(1);
+    mockEstimatedRowCounts(Map.of());
+    RuntimeException failure = new IllegalStateException("Population failed");
+    doAnswer(
+            invocation -> {
+              if (failing.equals(invocation.getArgument(1))) {
+                throw failure;
+              }
+              return null;
+            })
+        .when(tableManager)
+        .populateTable(any(), any());
+
+    tableService.processPartitionsInPipeline(
+        AnalyticsTableUpdateParams.newBuilder().build(), partitions, new Clock(), progress);
+
+    verify(progress).failedWorkItem(failure);
+    verify(tableManager, never()).analyzeTable(failing);
+    verify(tableManager).analyzeTable(partitions.get(0));
+    verify(tableManager).analyzeTable(partitions.get(2));
+  }
+
+  @Test
+  void testProcessPartitionsInPipelineLimitsConcurrency() {
+    mockParallelJobs(2);
+    List<AnalyticsTablePartition> partitions = createPartitions(2019, 2020, 2021, 2022, 2023, 2024);
+    mockEstimatedRowCounts(Map.of());
+    CountDownLatch running = new CountDownLatch(2);
+    AtomicInteger active = new AtomicInteger();
+    AtomicInteger maxActive = new AtomicInteger();
+    doAnswer(
+            invocation -> {
+              maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+              running.countDown();
+              // Holds the first two partitions until both are running at the same time
+              assertTrue(running.await(10, TimeUnit.SECONDS));
+              active.decrementAndGet();
+              return null;
+            })
+        .when(tableManager)
+        .populateTable(any(), any());
+
+    tableService.processPartitionsInPipeline(
+        AnalyticsTableUpdateParams.newBuilder().build(), partitions, new Clock(), progress);
+
+    assertEquals(2, maxActive.get());
+    verify(progress, never()).failedWorkItem(any(Exception.class));
+  }
+
+  // -------------------------------------------------------------------------
+  // Supportive methods
+  // -------------------------------------------------------------------------
+
+  private void mockParallelJobs(int parallelJobs) {
+    when(settingsProvider.getCurrentSettings()).thenReturn(settings);
+    when(settings.getParallelJobsInAnalyticsTableExport()).thenReturn(parallelJobs);
+  }
+
+  private void mockEstimatedRowCounts(Map<String, Long> rowCounts) {
+    when(tableManager.getTableStatistics(anyString()))
+        .thenAnswer(
+            invocation ->
+                new TableStatistics(rowCounts.getOrDefault(invocation.getArgument(0), 0L), 0L));
+  }
+
+  private List<AnalyticsTablePartition> createPartitions(int... years) {
+    List<AnalyticsTableColumn> columns =
+        List.of(
+            AnalyticsTableColumn.builder().name("dx").dataType(TEXT).selectExpression("dx").build());
+
+    AnalyticsTable table =
+        new AnalyticsTable(AnalyticsTableType.DATA_VALUE, columns, List.of("dx"), Logged.UNLOGGED);
+
+    for (int year : years) {
+      table.addTablePartition(
+          List.of(),
+          year,
+          new DateTime(year, 1, 1, 0, 0).toDate(),
+          new DateTime(year, 12, 31, 0, 0).toDate());
+    }
+
+    return table.getTablePartitions();
+  }
 }
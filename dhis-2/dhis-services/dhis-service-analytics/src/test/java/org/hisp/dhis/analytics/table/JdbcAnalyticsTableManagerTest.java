@@ -348,6 +348,44 @@ class JdbcAnalyticsTableManagerTest {
     verify(sqlBuilder).swapParentTable(swappedPartition, "analytics_temp", "analytics");
   }
 
+  @Test
+  void testSupportsIncrementalUpdateWhenDisabled() {
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder().build().withLatestPartition();
+
+    when(analyticsTableSettings.isIncrementalUpdate()).thenReturn(false);
+
+    assertFalse(subject.supportsIncrementalUpdate(params));
+  }
+
+  @Test
+  void testSupportsIncrementalUpdateWithMissingPartition() {
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder().build().withLatestPartition();
+
+    when(analyticsTableSettings.isIncrementalUpdate()).thenReturn(true);
+    when(jdbcTemplate.queryForList(Mockito.anyString(), ArgumentMatchers.<Class<Integer>>any()))
+        .thenReturn(List.of(2024));
+    when(jdbcTemplate.queryForList(Mockito.anyString())).thenReturn(List.of());
+
+    assertFalse(subject.supportsIncrementalUpdate(params));
+  }
+
+  @Test
+  void testSupportsIncrementalUpdateWithExistingPartition() {
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder().build().withLatestPartition();
+
+    when(analyticsTableSettings.isIncrementalUpdate()).thenReturn(true);
+    when(jdbcTemplate.queryForList(Mockito.anyString(), ArgumentMatchers.<Class<Integer>>any()))
+        .thenReturn(List.of(2024));
+    when(jdbcTemplate.queryForList(Mockito.anyString()))
+        .thenReturn(List.of(Map.of("table_name", "analytics_2024")));
+
+    assertTrue(subject.supportsIncrementalUpdate(params));
+    verify(sqlBuilder).tableExists("analytics_2024");
+  }
+
   @Test
   void testGetApprovalSelectExpression() {
     String expected = "coalesce(des.datasetapprovallevel, aon.approvallevel, da.minlevel, 999)";
@@ -33,8 +33,10 @@ import static org.hisp.dhis.analytics.tracker.ResponseHelper.getItemUid;
 import static org.hisp.dhis.test.TestBase.createDataElement;
 import static org.hisp.dhis.test.TestBase.createProgram;
 import static org.hisp.dhis.test.TestBase.createProgramStage;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -229,6 +231,48 @@ class ResponseHelperTest {
     }
   }
 
+  @Nested
+  @DisplayName("streamed rows tests")
+  class StreamedRowsTests {
+
+    @Test
+    @DisplayName("should map retained headers to column indexes")
+    void shouldMapRetainedHeadersToColumnIndexes() {
+      Grid grid = new ListGrid();
+      grid.addHeader(new GridHeader("programstatus", "Program status", ValueType.TEXT, false, true))
+          .addHeader(
+              new GridHeader("ouname", "Organisation unit name", ValueType.TEXT, false, true))
+          .addHeader(
+              new GridHeader("oucode", "Organisation unit code", ValueType.TEXT, false, true));
+
+      List<GridHeader> headers = List.copyOf(grid.getHeaders());
+
+      EventQueryParams params =
+          new EventQueryParams.Builder()
+              .withHeaders(new LinkedHashSet<>(List.of("oucode", "programstatus")))
+              .build();
+
+      ResponseHelper.applyHeaders(grid, params);
+
+      assertArrayEquals(new int[] {2, 0}, ResponseHelper.getColumnIndexes(headers, grid));
+    }
+
+    @Test
+    @DisplayName("should pass rows with values of the given columns")
+    void shouldPassRowsWithValuesOfGivenColumns() {
+      Grid grid = new ListGrid();
+      grid.addHeader(new GridHeader("a")).addHeader(new GridHeader("b"));
+      grid.addRow().addValue("a1").addValue("b1");
+      grid.addRow().addValue("a2").addValue("b2");
+
+      List<List<Object>> rows = new ArrayList<>();
+
+      ResponseHelper.consumeRows(grid, new int[] {1, 0}, rows::add);
+
+      assertEquals(List.of(List.of("b1", "a1"), List.of("b2", "a2")), rows);
+    }
+  }
+
   @Nested
   @DisplayName("getItemUid with includeProgramStage parameter tests")
   class GetItemUidWithIncludeProgramStageTests {
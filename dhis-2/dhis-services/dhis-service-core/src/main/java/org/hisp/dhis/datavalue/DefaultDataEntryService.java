@@ -506,7 +506,13 @@ public class DefaultDataEntryService implements DataEntryService, DataDumpServic
       progress.startingStage("%s group %s".formatted(verb, valid.describe()));
       succeeded =
           progress.runStage(
-              0, () -> options.dryRun() ? drySucceeded : store.upsertValues(validValues));
+              0,
+              () -> {
+                if (options.dryRun()) return drySucceeded;
+                return options.bulk()
+                    ? store.upsertValuesBulk(validValues)
+                    : store.upsertValues(validValues);
+              });
     }
     DataEntrySummary summary = new DataEntrySummary(entered, attempted, succeeded, deleted, errors);
     audit.auditUpsert(group, summary, getCurrentUsername());
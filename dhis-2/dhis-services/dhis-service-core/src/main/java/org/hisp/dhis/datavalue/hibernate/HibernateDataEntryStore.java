@@ -34,6 +34,7 @@ import static java.util.function.Predicate.not;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toMap;
 import static org.hisp.dhis.commons.util.TextUtils.replace;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_INCREMENTAL;
 import static org.hisp.dhis.query.JpaQueryUtils.generateSQlQueryForSharingCheck;
 import static org.hisp.dhis.security.acl.AclService.LIKE_READ_DATA;
 import static org.hisp.dhis.security.acl.AclService.LIKE_WRITE_DATA;
@@ -41,7 +42,14 @@ import static org.hisp.dhis.user.CurrentUserUtil.getCurrentUserDetails;
 import static org.hisp.dhis.user.CurrentUserUtil.getCurrentUsername;
 
 import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
@@ -70,12 +78,16 @@ import org.hisp.dhis.datavalue.DataEntryStore;
 import org.hisp.dhis.datavalue.DataEntryValue;
 import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.datavalue.DataValueKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.hibernate.HibernateGenericStore;
 import org.hisp.dhis.period.Period;
 import org.hisp.dhis.period.PeriodStore;
 import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.user.UserDetails;
 import org.intellij.lang.annotations.Language;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
@@ -92,18 +104,73 @@ public class HibernateDataEntryStore extends HibernateGenericStore<DataValue>
 
   private final PeriodStore periodStore;
 
+  private final DhisConfigurationProvider config;
+
   /**
    * Maximum number of {@code VALUES} pairs that get added to a single {@code INSERT} SQL statement.
    */
   private static final int MAX_ROWS_PER_INSERT = 500;
 
+  /** Number of rows encoded into the buffer before it is sent to the {@code COPY} stream. */
+  private static final int ROWS_PER_COPY_BUFFER = 10_000;
+
+  /** The signature, flags and header extension length of the binary {@code COPY} format. */
+  private static final byte[] COPY_BINARY_HEADER = {
+    'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0, 0, 0, 0, 0, 0, 0, 0, 0
+  };
+
+  @Language("sql")
+  private static final String UPSERT_ON_CONFLICT_SQL =
+      """
+      ON CONFLICT (dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid)
+      DO UPDATE SET
+        value = EXCLUDED.value,
+        comment = CASE
+          WHEN datavalue.deleted = false AND EXCLUDED.deleted = true THEN datavalue.comment
+          ELSE EXCLUDED.comment
+        END,
+        deleted = EXCLUDED.deleted,
+        followup = EXCLUDED.followup,
+        lastupdated = now(),
+        storedby = current_setting('dhis2.user')
+        """;
+
+  /**
+   * Wraps a data value modifying statement so that the keys of all modified rows are recorded in
+   * the {@code datavaluechange} table used for incremental analytics table updates. The number of
+   * updated rows reported by the wrapped statement stays the same.
+   */
+  @Language("sql")
+  private static final String CHANGE_CAPTURE_SQL =
+      """
+      WITH changed AS (
+      ${sql}
+      RETURNING dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid
+      )
+      INSERT INTO datavaluechange
+        (dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid)
+      SELECT dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid
+      FROM changed""";
+
   public HibernateDataEntryStore(
       EntityManager entityManager,
       PeriodStore periodStore,
       JdbcTemplate jdbcTemplate,
-      ApplicationEventPublisher publisher) {
+      ApplicationEventPublisher publisher,
+      DhisConfigurationProvider config) {
     super(entityManager, jdbcTemplate, publisher, DataValue.class, false);
     this.periodStore = periodStore;
+    this.config = config;
+  }
+
+  /**
+   * @param sql a single {@code INSERT} or {@code UPDATE} statement on the {@code datavalue} table
+   * @return the statement with change capture when incremental analytics table updates are
+   *     enabled, otherwise the unchanged statement
+   */
+  private String withChangeCapture(String sql) {
+    if (!config.isEnabled(ANALYTICS_TABLE_INCREMENTAL)) return sql;
+    return CHANGE_CAPTURE_SQL.replace("${sql}", sql.strip());
   }
 
   @Nonnull
@@ -763,7 +830,7 @@ public class HibernateDataEntryStore extends HibernateGenericStore<DataValue>
         AND dv.attributeoptioncomboid = dx.aoc_id
         AND dv.sourceid IN (SELECT organisationunitid FROM ou_scope)
         AND dv.periodid IN (SELECT periodid FROM pe_scope)""";
-    return createScopeQuery(deletion, sql1).executeUpdate();
+    return createScopeQuery(deletion, withChangeCapture(sql1)).executeUpdate();
   }
 
   private NativeQuery<?> createScopeQuery(DataEntryGroup.Scope scope, String sql1) {
@@ -861,33 +928,20 @@ public class HibernateDataEntryStore extends HibernateGenericStore<DataValue>
       INSERT INTO datavalue
       (dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid, value, comment, followup, deleted)
       VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-      ON CONFLICT (dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid)
-      DO UPDATE SET
-        value = EXCLUDED.value,
-        comment = CASE
-          WHEN datavalue.deleted = false AND EXCLUDED.deleted = true THEN datavalue.comment
-          ELSE EXCLUDED.comment
-        END,
-        deleted = EXCLUDED.deleted,
-        followup = EXCLUDED.followup,
-        lastupdated = now(),
-        storedby = current_setting('dhis2.user')
-        """;
+      """
+            + UPSERT_ON_CONFLICT_SQL;
 
     String user = getCurrentUsername();
     AtomicInteger imported = new AtomicInteger();
     session.doWork(
         conn -> {
-          try (PreparedStatement stmt =
-              conn.prepareStatement("SELECT set_config('dhis2.user', ?, true)")) {
-            stmt.setString(1, user);
-            stmt.execute();
-          }
+          setCurrentUser(conn, user);
           int from = 0;
           while (from < size) {
             int n = min(MAX_ROWS_PER_INSERT, size - from);
             int to = from + n;
-            try (PreparedStatement stmt = conn.prepareStatement(upsertNValuesSql(sql1, n))) {
+            try (PreparedStatement stmt =
+                conn.prepareStatement(withChangeCapture(upsertNValuesSql(sql1, n)))) {
               int p = 0;
               for (DataEntryRow value : internalValues.subList(from, to)) {
                 stmt.setLong(p + 1, value.de());
@@ -912,6 +966,151 @@ public class HibernateDataEntryStore extends HibernateGenericStore<DataValue>
     return imported.get();
   }
 
+  @Override
+  public int upsertValuesBulk(List<DataEntryValue> values) {
+    if (values == null || values.isEmpty()) return 0;
+
+    List<DataEntryRow> internalValues = upsertValuesResolveIds(values);
+    if (internalValues.isEmpty()) return 0;
+
+    @Language("sql")
+    String createSql =
+        """
+      CREATE TEMPORARY TABLE IF NOT EXISTS datavalue_import (
+        seq integer NOT NULL,
+        dataelementid bigint NOT NULL,
+        periodid bigint NOT NULL,
+        sourceid bigint NOT NULL,
+        categoryoptioncomboid bigint NOT NULL,
+        attributeoptioncomboid bigint NOT NULL,
+        value varchar(50000),
+        comment varchar(50000),
+        followup boolean,
+        deleted boolean NOT NULL
+      ) ON COMMIT DELETE ROWS;
+      TRUNCATE datavalue_import""";
+
+    @Language("sql")
+    String copySql =
+        """
+      COPY datavalue_import
+      (seq, dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid, value, comment, followup, deleted)
+      FROM STDIN (FORMAT binary)""";
+
+    // when the same key occurs multiple times the last one wins
+    // as a single statement cannot update the same row twice
+    @Language("sql")
+    String mergeSql =
+        """
+      INSERT INTO datavalue
+      (dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid, value, comment, followup, deleted)
+      SELECT DISTINCT ON (dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid)
+        dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid, value, comment, followup, deleted
+      FROM datavalue_import
+      ORDER BY dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid, seq DESC
+      """
+            + UPSERT_ON_CONFLICT_SQL;
+
+    String user = getCurrentUsername();
+    AtomicInteger imported = new AtomicInteger();
+    Session session = entityManager.unwrap(Session.class);
+    session.doWork(
+        conn -> {
+          setCurrentUser(conn, user);
+          try (Statement stmt = conn.createStatement()) {
+            stmt.execute(createSql);
+          }
+          CopyManager copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+          CopyIn copy = copyManager.copyIn(copySql);
+          try {
+            copyRows(copy, internalValues);
+            copy.endCopy();
+          } catch (IOException ex) {
+            throw new SQLException("Failed to copy data values", ex);
+          } finally {
+            if (copy.isActive()) copy.cancelCopy();
+          }
+          try (Statement stmt = conn.createStatement()) {
+            imported.set(stmt.executeUpdate(withChangeCapture(mergeSql)));
+          }
+        });
+
+    session.clear();
+
+    return imported.get();
+  }
+
+  /**
+   * Writes the rows to the {@code COPY} stream using the binary format.
+   *
+   * @see <a href="https://www.postgresql.org/docs/current/sql-copy.html">COPY File Formats</a>
+   */
+  private static void copyRows(CopyIn copy, List<DataEntryRow> rows)
+      throws IOException, SQLException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 20);
+    DataOutputStream out = new DataOutputStream(buffer);
+    out.write(COPY_BINARY_HEADER);
+    int seq = 0;
+    for (DataEntryRow row : rows) {
+      out.writeShort(10); // number of fields
+      out.writeInt(4);
+      out.writeInt(seq++);
+      writeCopyLong(out, row.de());
+      writeCopyLong(out, row.pe());
+      writeCopyLong(out, row.ou());
+      writeCopyLong(out, row.coc());
+      writeCopyLong(out, row.aoc());
+      writeCopyText(out, row.value());
+      writeCopyText(out, row.comment());
+      writeCopyBoolean(out, row.followup());
+      writeCopyBoolean(out, row.deleted());
+      if (seq % ROWS_PER_COPY_BUFFER == 0) {
+        copy.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+        buffer.reset();
+      }
+    }
+    out.writeShort(-1); // trailer
+    copy.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+  }
+
+  private static void writeCopyLong(DataOutputStream out, long value) throws IOException {
+    out.writeInt(8);
+    out.writeLong(value);
+  }
+
+  private static void writeCopyText(DataOutputStream out, @CheckForNull String value)
+      throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static void writeCopyBoolean(DataOutputStream out, @CheckForNull Boolean value)
+      throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    out.writeInt(1);
+    out.writeByte(value ? 1 : 0);
+  }
+
+  /**
+   * Sets the user that is stored as {@code storedby} by the upsert statements for the current
+   * transaction.
+   */
+  private static void setCurrentUser(Connection conn, String user) throws SQLException {
+    try (PreparedStatement stmt =
+        conn.prepareStatement("SELECT set_config('dhis2.user', ?, true)")) {
+      stmt.setString(1, user);
+      stmt.execute();
+    }
+  }
+
   @Nonnull
   private List<DataEntryRow> upsertValuesResolveIds(List<DataEntryValue> values) {
     Map<String, Long> des = getDataElementIdMap(values.stream().map(DataEntryValue::dataElement));
@@ -181,9 +181,7 @@ public class DefaultDimensionService implements DimensionService {
   public <T extends IdentifiableObject> List<T> filterReadableObjects(
       UserDetails userDetails, List<T> objects) {
 
-    List<T> list = new ArrayList<>(objects);
-    list.removeIf(object -> !aclService.canRead(userDetails, object));
-    return list;
+    return aclService.filterReadable(userDetails, objects);
   }
 
   @Override
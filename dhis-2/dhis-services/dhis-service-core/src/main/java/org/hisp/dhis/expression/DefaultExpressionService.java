@@ -42,6 +42,7 @@ import static org.hisp.dhis.expression.ParseType.PREDICTOR_EXPRESSION;
 import static org.hisp.dhis.expression.ParseType.PREDICTOR_SKIP_TEST;
 import static org.hisp.dhis.expression.ParseType.SIMPLE_TEST;
 import static org.hisp.dhis.expression.ParseType.VALIDATION_RULE_EXPRESSION;
+import static org.hisp.dhis.parser.expression.ExpressionItem.ITEM_COMPILE;
 import static org.hisp.dhis.parser.expression.ExpressionItem.ITEM_EVALUATE;
 import static org.hisp.dhis.parser.expression.ExpressionItem.ITEM_GET_DESCRIPTIONS;
 import static org.hisp.dhis.parser.expression.ExpressionItem.ITEM_GET_EXPRESSION_INFO;
@@ -104,6 +105,7 @@ import org.hisp.dhis.indicator.Indicator;
 import org.hisp.dhis.indicator.IndicatorValue;
 import org.hisp.dhis.organisationunit.OrganisationUnitGroup;
 import org.hisp.dhis.parser.expression.CommonExpressionVisitor;
+import org.hisp.dhis.parser.expression.CompiledParseTree;
 import org.hisp.dhis.parser.expression.ExpressionItem;
 import org.hisp.dhis.parser.expression.ExpressionItemMethod;
 import org.hisp.dhis.parser.expression.ExpressionState;
@@ -589,8 +591,50 @@ public class DefaultExpressionService implements ExpressionService {
 
     Object value = visit(params.getExpression(), params.getDataType(), visitor, true);
 
-    ExpressionState state = visitor.getState();
+    return getExpressionValue(params, visitor.getState(), value);
+  }
+
+  @Override
+  public CompiledExpression compileExpression(ExpressionParams params) {
+    CompiledParseTree tree = new CompiledParseTree(params.getExpression());
+
+    if (!isEmpty(params.getExpression())) {
+      CommonExpressionVisitor visitor =
+          newVisitor(
+              ITEM_COMPILE, params.toBuilder().expressionInfo(new ExpressionInfo()).build());
+
+      visitor.setCompiledTree(tree);
+
+      visit(params.getExpression(), params.getDataType(), visitor, true);
+    }
+
+    tree.setCompiled();
+
+    return tree;
+  }
+
+  @Override
+  public Object getExpressionValue(CompiledExpression expression, ExpressionParams params) {
+    CompiledParseTree tree = (CompiledParseTree) expression;
+
+    if (tree.getRoot() == null) {
+      return getExpressionValue(params.toBuilder().expression(tree.getExpression()).build());
+    }
+
+    CommonExpressionVisitor visitor = newVisitor(ITEM_EVALUATE, params);
+
+    visitor.setCompiledTree(tree);
 
+    Object value = visit(tree, params.getDataType(), visitor);
+
+    return getExpressionValue(params, visitor.getState(), value);
+  }
+
+  /**
+   * Applies the missing value strategy and null replacement to the value of an evaluated
+   * expression.
+   */
+  private Object getExpressionValue(ExpressionParams params, ExpressionState state, Object value) {
     int itemsFound = state.getItemsFound();
     int itemValuesFound = state.getItemValuesFound();
 
@@ -719,18 +763,7 @@ public class DefaultExpressionService implements ExpressionService {
   private Object visit(
       String expression, DataType dataType, CommonExpressionVisitor visitor, boolean logWarnings) {
     try {
-      Object result = Parser.visit(expression, visitor);
-
-      switch (dataType) {
-        case NUMERIC:
-          return castDouble(result);
-
-        case BOOLEAN:
-          return castBoolean(result);
-
-        case TEXT:
-          return castString(result);
-      }
+      return castResult(Parser.visit(expression, visitor), dataType);
     } catch (ParserException ex) {
       String message = ex.getMessage() + " parsing expression '" + expression + "'";
 
@@ -744,6 +777,32 @@ public class DefaultExpressionService implements ExpressionService {
     return DOUBLE_VALUE_IF_NULL;
   }
 
+  /** Visits a compiled expression and returns the expected expression type. */
+  private Object visit(CompiledParseTree tree, DataType dataType, CommonExpressionVisitor visitor) {
+    try {
+      return castResult(visitor.visit(tree.getRoot()), dataType);
+    } catch (ParserException ex) {
+      log.warn(ex.getMessage() + " parsing expression '" + tree.getExpression() + "'");
+    }
+
+    return DOUBLE_VALUE_IF_NULL;
+  }
+
+  private static Object castResult(Object result, DataType dataType) {
+    switch (dataType) {
+      case NUMERIC:
+        return castDouble(result);
+
+      case BOOLEAN:
+        return castBoolean(result);
+
+      case TEXT:
+        return castString(result);
+    }
+
+    return DOUBLE_VALUE_IF_NULL;
+  }
+
   /**
    * Regenerates an expression from the parse tree, with values substituted for constants and
    * orgUnitCounts.
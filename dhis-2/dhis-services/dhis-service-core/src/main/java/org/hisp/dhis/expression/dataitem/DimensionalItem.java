@@ -40,6 +40,7 @@ import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.ValueType;
 import org.hisp.dhis.common.ValueTypedDimensionalItemObject;
 import org.hisp.dhis.parser.expression.CommonExpressionVisitor;
+import org.hisp.dhis.parser.expression.CompiledItem;
 import org.hisp.dhis.parser.expression.ExpressionItem;
 import org.hisp.dhis.parser.expression.antlr.ExpressionParser.ExprContext;
 import org.hisp.dhis.system.util.ValidationUtils;
@@ -84,6 +85,21 @@ public abstract class DimensionalItem implements ExpressionItem {
     return visitor.getState().handleNulls(value, getItemValueType(item, visitor));
   }
 
+  @Override
+  public final CompiledItem compile(ExprContext ctx, CommonExpressionVisitor visitor) {
+    DimensionalItemId itemId = getDimensionalItemId(ctx, visitor);
+
+    DimensionalItemObject item = visitor.getParams().getItemMap().get(itemId);
+
+    ValueType valueType = getItemValueType(item, visitor);
+
+    return v -> {
+      Object value = (item != null) ? v.getParams().getValueMap().get(item) : null;
+
+      return v.getState().handleNulls(value, valueType);
+    };
+  }
+
   /**
    * Constructs the DimensionalItemId object for this item.
    *
@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import static org.apache.commons.collections4.CollectionUtils.isEmpty;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.organisationunit.OrganisationUnitHierarchy.Row;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link OrganisationUnitHierarchyIndex} backed by an {@link OrganisationUnitHierarchy} snapshot.
+ *
+ * <p>The snapshot is loaded in a separate read-only transaction, so that it only contains committed
+ * org units. Committed org units are added to the snapshot in memory, while committed moves and
+ * deletes of org units cause the snapshot to be rebuilt on next use. Updates which do not change
+ * the parent, path or level of an org unit leave the snapshot as is. In a cluster the snapshot is
+ * also rebuilt after {@link #MAX_AGE_MILLIS} to pick up changes made by other instances. The
+ * snapshot is rebuilt without holding a lock and swapped in atomically, readers keep using the
+ * previous snapshot while it is rebuilt.
+ */
+@Slf4j
+@Component
+public class DefaultOrganisationUnitHierarchyIndex
+    implements OrganisationUnitHierarchyIndex,
+        PostCommitInsertEventListener,
+        PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+  private static final long MAX_AGE_MILLIS = 10 * 60 * 1000L;
+
+  private static final String HIERARCHY_SQL =
+      """
+      select o.uid, p.uid as parentuid, o.path \
+      from organisationunit o \
+      left join organisationunit p on o.parentid = p.organisationunitid""";
+
+  /** The properties of an org unit which place it in the hierarchy. */
+  private static final Set<String> HIERARCHY_PROPERTIES =
+      Set.of("parent", "path", "hierarchyLevel");
+
+  @PersistenceUnit private EntityManagerFactory emf;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final boolean clusterEnabled;
+
+  private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+  /** Incremented on every invalidation, a snapshot is current if it was loaded at this version. */
+  private final AtomicLong version = new AtomicLong();
+
+  private final AtomicBoolean loading = new AtomicBoolean();
+
+  private record Snapshot(OrganisationUnitHierarchy hierarchy, long version, long loaded) {}
+
+  public DefaultOrganisationUnitHierarchyIndex(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      DhisConfigurationProvider config) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.transactionTemplate.setReadOnly(true);
+    this.clusterEnabled = config.isClusterEnabled();
+  }
+
+  @PostConstruct
+  protected void init() {
+    SessionFactoryImpl sessionFactory = emf.unwrap(SessionFactoryImpl.class);
+
+    EventListenerRegistry registry =
+        sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+
+    registry.getEventListenerGroup(EventType.POST_COMMIT_INSERT).appendListener(this);
+    registry.getEventListenerGroup(EventType.POST_COMMIT_UPDATE).appendListener(this);
+    registry.getEventListenerGroup(EventType.POST_COMMIT_DELETE).appendListener(this);
+  }
+
+  @Override
+  public boolean isDescendant(
+      @Nonnull OrganisationUnit organisationUnit,
+      @CheckForNull Collection<OrganisationUnit> ancestors) {
+    if (isEmpty(ancestors)) {
+      return false;
+    }
+
+    OrganisationUnitHierarchy hierarchy = getHierarchy();
+    int node = hierarchy.getNode(organisationUnit.getUid());
+
+    if (node < 0 || !hierarchy.hasPath(node, organisationUnit.getStoredPath())) {
+      return organisationUnit.isDescendant(ancestors);
+    }
+
+    // the path of the org unit is committed, so all of its ancestors are known to the hierarchy
+
+    return ancestors.stream()
+        .filter(Objects::nonNull)
+        .mapToInt(ancestor -> hierarchy.getNode(ancestor.getUid()))
+        .anyMatch(ancestor -> ancestor >= 0 && hierarchy.isDescendant(node, ancestor));
+  }
+
+  @Override
+  public boolean isDescendant(
+      @Nonnull OrganisationUnit organisationUnit, @CheckForNull Set<String> ancestorUids) {
+    if (isEmpty(ancestorUids)) {
+      return false;
+    }
+
+    OrganisationUnitHierarchy hierarchy = getHierarchy();
+    int node = hierarchy.getNode(organisationUnit.getUid());
+
+    if (node < 0 || !hierarchy.hasPath(node, organisationUnit.getStoredPath())) {
+      return organisationUnit.isDescendant(ancestorUids);
+    }
+
+    return ancestorUids.stream()
+        .mapToInt(hierarchy::getNode)
+        .anyMatch(ancestor -> ancestor >= 0 && hierarchy.isDescendant(node, ancestor));
+  }
+
+  @Override
+  public boolean isDescendant(@Nonnull String uid, @Nonnull String ancestorUid) {
+    return getHierarchy().isDescendant(uid, ancestorUid);
+  }
+
+  @Nonnull
+  @Override
+  public List<String> getDescendantsAtLevel(@Nonnull String ancestorUid, int level) {
+    return getHierarchy().getDescendantsAtLevel(ancestorUid, level);
+  }
+
+  @CheckForNull
+  @Override
+  public String getLowestCommonAncestor(@Nonnull String uid, @Nonnull String otherUid) {
+    return getHierarchy().getLowestCommonAncestor(uid, otherUid);
+  }
+
+  @Override
+  public void invalidate() {
+    version.incrementAndGet();
+  }
+
+  private OrganisationUnitHierarchy getHierarchy() {
+    Snapshot current = snapshot.get();
+
+    if (current != null && isCurrent(current)) {
+      return current.hierarchy();
+    }
+
+    // a single thread rebuilds while others keep using the outdated snapshot, which is safe as
+    // org units moved or created since are detected by their path and answered from the path
+
+    boolean rebuild = loading.compareAndSet(false, true);
+
+    if (!rebuild && current != null) {
+      return current.hierarchy();
+    }
+
+    try {
+      // read before loading, so that commits during the load trigger another rebuild
+      long loadVersion = version.get();
+      Snapshot loaded = new Snapshot(load(), loadVersion, System.currentTimeMillis());
+      snapshot.accumulateAndGet(
+          loaded, (prev, next) -> prev == null || next.version() >= prev.version() ? next : prev);
+      return loaded.hierarchy();
+    } finally {
+      if (rebuild) {
+        loading.set(false);
+      }
+    }
+  }
+
+  private boolean isCurrent(Snapshot snapshot) {
+    return snapshot.version() == version.get()
+        && (!clusterEnabled || System.currentTimeMillis() - snapshot.loaded() < MAX_AGE_MILLIS);
+  }
+
+  private OrganisationUnitHierarchy load() {
+    long start = System.currentTimeMillis();
+
+    List<Row> rows =
+        transactionTemplate.execute(
+            status ->
+                jdbcTemplate.query(
+                    HIERARCHY_SQL,
+                    (rs, rowNum) ->
+                        new Row(
+                            rs.getString("uid"), rs.getString("parentuid"), rs.getString("path"))));
+
+    OrganisationUnitHierarchy hierarchy =
+        OrganisationUnitHierarchy.of(rows == null ? List.of() : rows);
+
+    log.debug(
+        "Loaded org unit hierarchy of {} org units in {} ms",
+        hierarchy.size(),
+        System.currentTimeMillis() - start);
+
+    return hierarchy;
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof OrganisationUnit organisationUnit) {
+      add(organisationUnit, getPath(event.getPersister(), event.getState()));
+    }
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (event.getEntity() instanceof OrganisationUnit
+        && isHierarchyChanged(event.getPersister(), event.getDirtyProperties())) {
+      invalidate();
+    }
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof OrganisationUnit) {
+      invalidate();
+    }
+  }
+
+  /**
+   * Adds a committed org unit to the current snapshot. If a snapshot is being loaded it may or may
+   * not contain the org unit, so the snapshot is invalidated instead.
+   */
+  private void add(OrganisationUnit organisationUnit, @CheckForNull String path) {
+    String[] uids = path == null || path.length() < 2 ? null : path.substring(1).split("/");
+
+    if (loading.get() || uids == null || !uids[uids.length - 1].equals(organisationUnit.getUid())) {
+      invalidate();
+      return;
+    }
+
+    Row row =
+        new Row(organisationUnit.getUid(), uids.length > 1 ? uids[uids.length - 2] : null, path);
+
+    snapshot.updateAndGet(
+        current ->
+            current == null || !isCurrent(current)
+                ? current
+                : new Snapshot(current.hierarchy().with(row), current.version(), current.loaded()));
+  }
+
+  @CheckForNull
+  private static String getPath(EntityPersister persister, Object[] state) {
+    String[] propertyNames = persister.getPropertyNames();
+
+    for (int i = 0; i < propertyNames.length && state != null; i++) {
+      if ("path".equals(propertyNames[i])) {
+        return state[i] instanceof String path ? path : null;
+      }
+    }
+
+    return null;
+  }
+
+  private static boolean isHierarchyChanged(EntityPersister persister, int[] dirtyProperties) {
+    if (dirtyProperties == null) {
+      return true;
+    }
+
+    String[] propertyNames = persister.getPropertyNames();
+
+    return Arrays.stream(dirtyProperties)
+        .anyMatch(property -> HIERARCHY_PROPERTIES.contains(propertyNames[property]));
+  }
+
+  @Override
+  public boolean requiresPostCommitHanding(EntityPersister persister) {
+    return true;
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return PostCommitUpdateEventListener.super.requiresPostCommitHandling(persister);
+  }
+
+  @Override
+  public void onPostInsertCommitFailed(PostInsertEvent event) {
+    log.debug("onPostInsertCommitFailed: " + event);
+  }
+
+  @Override
+  public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    log.debug("onPostUpdateCommitFailed: " + event);
+  }
+
+  @Override
+  public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    log.debug("onPostDeleteCommitFailed: " + event);
+  }
+}
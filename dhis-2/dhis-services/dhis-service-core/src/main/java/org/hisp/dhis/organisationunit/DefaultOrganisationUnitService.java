@@ -76,6 +76,7 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
   private final OrganisationUnitStore organisationUnitStore;
   private final OrganisationUnitLevelStore organisationUnitLevelStore;
   private final ConfigurationService configurationService;
+  private final OrganisationUnitHierarchyIndex hierarchyIndex;
 
   private final Cache<Boolean> inUserOrgUnitHierarchyCache;
 
@@ -84,17 +85,20 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
       IdentifiableObjectManager idObjectManager,
       OrganisationUnitLevelStore organisationUnitLevelStore,
       ConfigurationService configurationService,
-      CacheProvider cacheProvider) {
+      CacheProvider cacheProvider,
+      OrganisationUnitHierarchyIndex hierarchyIndex) {
 
     checkNotNull(organisationUnitStore);
     checkNotNull(idObjectManager);
     checkNotNull(organisationUnitLevelStore);
     checkNotNull(configurationService);
     checkNotNull(cacheProvider);
+    checkNotNull(hierarchyIndex);
 
     this.organisationUnitStore = organisationUnitStore;
     this.organisationUnitLevelStore = organisationUnitLevelStore;
     this.configurationService = configurationService;
+    this.hierarchyIndex = hierarchyIndex;
 
     this.inUserOrgUnitHierarchyCache = cacheProvider.createInUserOrgUnitHierarchyCache();
   }
@@ -378,7 +382,7 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
       return false;
     }
 
-    return unit.isDescendant(user.getOrganisationUnits());
+    return hierarchyIndex.isDescendant(unit, user.getOrganisationUnits());
   }
 
   @Override
@@ -388,7 +392,8 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
       return false;
     }
 
-    return organisationUnit.isDescendant(user.getDataViewOrganisationUnitsWithFallback());
+    return hierarchyIndex.isDescendant(
+        organisationUnit, user.getDataViewOrganisationUnitsWithFallback());
   }
 
   @Override
@@ -398,7 +403,8 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
       return false;
     }
 
-    return organisationUnit.isDescendant(user.getTeiSearchOrganisationUnitsWithFallback());
+    return hierarchyIndex.isDescendant(
+        organisationUnit, user.getTeiSearchOrganisationUnitsWithFallback());
   }
 
   @Override
@@ -406,7 +412,8 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
   public boolean isInUserHierarchy(String uid, Set<OrganisationUnit> organisationUnits) {
     OrganisationUnit organisationUnit = organisationUnitStore.getByUid(uid);
 
-    return organisationUnit != null && organisationUnit.isDescendant(organisationUnits);
+    return organisationUnit != null
+        && hierarchyIndex.isDescendant(organisationUnit, organisationUnits);
   }
 
   // -------------------------------------------------------------------------
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.CheckForNull;
+
+/**
+ * Immutable snapshot of the org unit hierarchy using interval encoding. Org units are numbered in
+ * pre-order, so that the descendants of an org unit are exactly the org units numbered from the org
+ * unit itself to the last org unit of its subtree. This turns descendant checks into two integer
+ * comparisons.
+ *
+ * <p>Apart from the UID lookup, the UIDs and the stored paths, all data is held in primitive int
+ * arrays indexed by node, where a node is the position of an org unit in the list the hierarchy was
+ * built from. Org units which are not reachable from a root, such as org units in a cyclic
+ * reference, are left out.
+ */
+final class OrganisationUnitHierarchy {
+  static final OrganisationUnitHierarchy EMPTY = of(List.of());
+
+  /**
+   * An org unit as loaded from the database.
+   *
+   * @param uid the org unit UID.
+   * @param parentUid the UID of the parent, or null for roots.
+   * @param path the stored path.
+   */
+  record Row(String uid, @CheckForNull String parentUid, @CheckForNull String path) {}
+
+  private final Map<String, Integer> nodes;
+
+  private final String[] uids;
+
+  private final int[] parent;
+
+  /** The pre-order number of each node, or -1 if the node is not reachable from a root. */
+  private final int[] pre;
+
+  /** The pre-order number of the last node in the subtree of each node. */
+  private final int[] end;
+
+  private final int[] level;
+
+  /** The stored path of each node, to detect org units moved since the snapshot was built. */
+  private final String[] paths;
+
+  /** The node of each pre-order number. */
+  private final int[] nodeAtPre;
+
+  /** The pre-order numbers of the nodes at each level, in ascending order. */
+  private final int[][] levels;
+
+  private OrganisationUnitHierarchy(List<Row> rows) {
+    int n = rows.size();
+    nodes = new HashMap<>(n * 2);
+    uids = new String[n];
+    parent = new int[n];
+    pre = new int[n];
+    end = new int[n];
+    level = new int[n];
+    paths = new String[n];
+    nodeAtPre = new int[n];
+
+    for (int i = 0; i < n; i++) {
+      Row row = rows.get(i);
+      uids[i] = row.uid();
+      paths[i] = row.path();
+      nodes.put(row.uid(), i);
+    }
+
+    // children in compressed sparse row layout
+
+    int[] offset = new int[n + 1];
+    for (int i = 0; i < n; i++) {
+      Integer p = rows.get(i).parentUid() == null ? null : nodes.get(rows.get(i).parentUid());
+      parent[i] = p == null ? -1 : p;
+      if (p != null) {
+        offset[p + 1]++;
+      }
+    }
+    for (int i = 0; i < n; i++) {
+      offset[i + 1] += offset[i];
+    }
+    int[] children = new int[offset[n]];
+    int[] next = Arrays.copyOf(offset, n);
+    for (int i = 0; i < n; i++) {
+      if (parent[i] >= 0) {
+        children[next[parent[i]]++] = i;
+      }
+    }
+
+    // iterative depth first traversal from the roots
+
+    Arrays.fill(pre, -1);
+    System.arraycopy(offset, 0, next, 0, n);
+    int[] stack = new int[n];
+    int count = 0;
+    int maxLevel = 0;
+    for (int root = 0; root < n; root++) {
+      if (parent[root] >= 0) {
+        continue;
+      }
+      int size = 0;
+      stack[size++] = root;
+      pre[root] = count;
+      nodeAtPre[count++] = root;
+      level[root] = 1;
+      while (size > 0) {
+        int node = stack[size - 1];
+        if (next[node] < offset[node + 1]) {
+          int child = children[next[node]++];
+          pre[child] = count;
+          nodeAtPre[count++] = child;
+          level[child] = level[node] + 1;
+          maxLevel = Math.max(maxLevel, level[child]);
+          stack[size++] = child;
+        } else {
+          end[node] = count - 1;
+          size--;
+        }
+      }
+      maxLevel = Math.max(maxLevel, 1);
+    }
+
+    int[] levelSizes = new int[maxLevel + 1];
+    for (int p = 0; p < count; p++) {
+      levelSizes[level[nodeAtPre[p]]]++;
+    }
+    levels = new int[maxLevel + 1][];
+    for (int l = 0; l <= maxLevel; l++) {
+      levels[l] = new int[levelSizes[l]];
+      levelSizes[l] = 0;
+    }
+    for (int p = 0; p < count; p++) {
+      int l = level[nodeAtPre[p]];
+      levels[l][levelSizes[l]++] = p;
+    }
+  }
+
+  /**
+   * Builds the hierarchy of the given org units.
+   *
+   * @param rows the org units.
+   * @return the {@link OrganisationUnitHierarchy}.
+   */
+  static OrganisationUnitHierarchy of(List<Row> rows) {
+    return new OrganisationUnitHierarchy(rows);
+  }
+
+  /**
+   * Builds the hierarchy of the org units of this hierarchy and the given org unit, without
+   * loading the other org units again.
+   *
+   * @param row the added org unit.
+   * @return the {@link OrganisationUnitHierarchy}.
+   */
+  OrganisationUnitHierarchy with(Row row) {
+    List<Row> rows = new ArrayList<>(uids.length + 1);
+    for (int i = 0; i < uids.length; i++) {
+      if (!uids[i].equals(row.uid())) {
+        rows.add(new Row(uids[i], parent[i] < 0 ? null : uids[parent[i]], paths[i]));
+      }
+    }
+    rows.add(row);
+    return new OrganisationUnitHierarchy(rows);
+  }
+
+  /**
+   * Gets the node of the given org unit.
+   *
+   * @param uid the org unit UID.
+   * @return the node, or -1 if the org unit is not part of the hierarchy.
+   */
+  int getNode(@CheckForNull String uid) {
+    Integer node = uid == null ? null : nodes.get(uid);
+    return node == null || pre[node] < 0 ? -1 : node;
+  }
+
+  /**
+   * Indicates whether the stored path of the given node equals the given path, which means that
+   * the org unit has not been moved since this hierarchy was built.
+   */
+  boolean hasPath(int node, @CheckForNull String path) {
+    return Objects.equals(paths[node], path);
+  }
+
+  int getLevel(int node) {
+    return level[node];
+  }
+
+  /** Indicates whether the node is a descendant of, or equal to, the ancestor node. */
+  boolean isDescendant(int node, int ancestor) {
+    return pre[ancestor] <= pre[node] && pre[node] <= end[ancestor];
+  }
+
+  boolean isDescendant(String uid, String ancestorUid) {
+    int node = getNode(uid);
+    int ancestor = getNode(ancestorUid);
+    return node >= 0 && ancestor >= 0 && isDescendant(node, ancestor);
+  }
+
+  List<String> getDescendantsAtLevel(String ancestorUid, int targetLevel) {
+    int ancestor = getNode(ancestorUid);
+    if (ancestor < 0 || targetLevel < level[ancestor] || targetLevel >= levels.length) {
+      return List.of();
+    }
+    int[] atLevel = levels[targetLevel];
+    int from = insertionPoint(atLevel, pre[ancestor]);
+    int to = insertionPoint(atLevel, end[ancestor] + 1);
+    List<String> descendants = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      descendants.add(uids[nodeAtPre[atLevel[i]]]);
+    }
+    return descendants;
+  }
+
+  @CheckForNull
+  String getLowestCommonAncestor(String uid, String otherUid) {
+    int node = getNode(uid);
+    int other = getNode(otherUid);
+    if (node < 0 || other < 0) {
+      return null;
+    }
+    while (node >= 0 && !isDescendant(other, node)) {
+      node = parent[node];
+    }
+    return node < 0 ? null : uids[node];
+  }
+
+  int size() {
+    return nodes.size();
+  }
+
+  private static int insertionPoint(int[] sorted, int key) {
+    int index = Arrays.binarySearch(sorted, key);
+    return index >= 0 ? index : -index - 1;
+  }
+}
@@ -30,7 +30,6 @@
 package org.hisp.dhis.preheat;
 
 import static java.util.stream.Collectors.toList;
-import static org.hisp.dhis.schema.DefaultSchemaService.safeInvoke;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -71,7 +70,7 @@ import org.hisp.dhis.query.QueryService;
 import org.hisp.dhis.schema.MetadataMergeParams;
 import org.hisp.dhis.schema.MetadataMergeService;
 import org.hisp.dhis.schema.Property;
-import org.hisp.dhis.schema.PropertyType;
+import org.hisp.dhis.schema.PropertyAccessors;
 import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.schema.SchemaService;
 import org.hisp.dhis.system.util.ReflectionUtils;
@@ -468,15 +467,7 @@ public class DefaultPreheatService implements PreheatService {
     for (Class<?> klass : targets.keySet()) {
       Schema schema = schemaService.getSchema(klass);
 
-      List<Property> referenceProperties =
-          schema.getProperties().stream()
-              .filter(
-                  p ->
-                      p.isPersisted()
-                          && p.isOwner()
-                          && (PropertyType.REFERENCE == p.getPropertyType()
-                              || PropertyType.REFERENCE == p.getItemPropertyType()))
-              .collect(toList());
+      List<Property> referenceProperties = schema.getOwnedReferenceProperties();
 
       for (Object object : targets.get(klass)) {
         if (schema.isIdentifiableObject()) {
@@ -515,14 +506,14 @@ public class DefaultPreheatService implements PreheatService {
                 if (!uidMap.containsKey(itemKlass)) uidMap.put(itemKlass, new HashSet<>());
                 if (!codeMap.containsKey(itemKlass)) codeMap.put(itemKlass, new HashSet<>());
 
-                Object reference = safeInvoke(object, p.getGetterMethod());
+                Object reference = PropertyAccessors.get(object, p);
 
                 if (reference != null) {
                   IdentifiableObject identifiableObject = (IdentifiableObject) reference;
                   addIdentifiers(map, identifiableObject);
                 }
               } else {
-                Collection<IdentifiableObject> reference = safeInvoke(object, p.getGetterMethod());
+                Collection<IdentifiableObject> reference = PropertyAccessors.get(object, p);
 
                 if (reference != null) {
                   reference.forEach(identifiableObject -> addIdentifiers(map, identifiableObject));
@@ -680,15 +671,7 @@ public class DefaultPreheatService implements PreheatService {
         continue;
       }
 
-      List<Property> properties =
-          schema.getProperties().stream()
-              .filter(
-                  p ->
-                      p.isPersisted()
-                          && p.isOwner()
-                          && (PropertyType.REFERENCE == p.getPropertyType()
-                              || PropertyType.REFERENCE == p.getItemPropertyType()))
-              .collect(toList());
+      List<Property> properties = schema.getOwnedReferenceProperties();
 
       List<IdentifiableObject> identifiableObjects =
           (List<IdentifiableObject>) targets.get(objectClass);
@@ -701,7 +684,7 @@ public class DefaultPreheatService implements PreheatService {
         properties.forEach(
             p -> {
               if (!p.isCollection()) {
-                IdentifiableObject reference = safeInvoke(object, p.getGetterMethod());
+                IdentifiableObject reference = PropertyAccessors.get(object, p);
 
                 if (reference != null) {
                   try {
@@ -716,7 +699,7 @@ public class DefaultPreheatService implements PreheatService {
               } else {
                 Collection<IdentifiableObject> refObjects =
                     ReflectionUtils.newCollectionInstance(p.getKlass());
-                Collection<IdentifiableObject> references = safeInvoke(object, p.getGetterMethod());
+                Collection<IdentifiableObject> references = PropertyAccessors.get(object, p);
 
                 if (references != null && Hibernate.isInitialized(references)) {
                   for (IdentifiableObject reference : references) {
@@ -766,7 +749,7 @@ public class DefaultPreheatService implements PreheatService {
 
           objects.forEach(
               o -> {
-                Collection<Object> propertyValue = safeInvoke(o, property.getGetterMethod());
+                Collection<Object> propertyValue = PropertyAccessors.get(o, property);
                 if (!org.apache.commons.collections4.CollectionUtils.isEmpty(propertyValue)) {
                   list.addAll(propertyValue);
                 }
@@ -781,7 +764,7 @@ public class DefaultPreheatService implements PreheatService {
 
           objects.forEach(
               o -> {
-                Object item = safeInvoke(o, property.getGetterMethod());
+                Object item = PropertyAccessors.get(o, property);
                 if (item != null) {
                   list.add(item);
                 }
@@ -823,15 +806,7 @@ public class DefaultPreheatService implements PreheatService {
 
     Schema schema = schemaService.getSchema(HibernateProxyUtils.getRealClass(object));
 
-    List<Property> properties =
-        schema.getProperties().stream()
-            .filter(
-                p ->
-                    p.isPersisted()
-                        && p.isOwner()
-                        && (PropertyType.REFERENCE == p.getPropertyType()
-                            || PropertyType.REFERENCE == p.getItemPropertyType()))
-            .collect(toList());
+    List<Property> properties = schema.getOwnedReferenceProperties();
 
     for (Property property : properties) {
       if (skipConnect(property.getKlass()) || skipConnect(property.getItemKlass())) {
@@ -839,27 +814,27 @@ public class DefaultPreheatService implements PreheatService {
       }
 
       if (!property.isCollection()) {
-        IdentifiableObject refObject = safeInvoke(object, property.getGetterMethod());
+        IdentifiableObject refObject = PropertyAccessors.get(object, property);
         IdentifiableObject ref = getPersistedObject(preheat, identifier, refObject);
 
         ref = connectDefaults(preheat, property, object, refObject, ref);
 
         if (ref != null && ref.getId() == 0) {
-          ReflectionUtils.invokeMethod(object, property.getSetterMethod(), (Object) null);
+          PropertyAccessors.set(object, property, null);
         } else {
-          ReflectionUtils.invokeMethod(object, property.getSetterMethod(), ref);
+          PropertyAccessors.set(object, property, ref);
         }
       } else {
         Collection<IdentifiableObject> objects =
             ReflectionUtils.newCollectionInstance(property.getKlass());
-        Collection<IdentifiableObject> refObjects = safeInvoke(object, property.getGetterMethod());
+        Collection<IdentifiableObject> refObjects = PropertyAccessors.get(object, property);
 
         for (IdentifiableObject refObject : refObjects) {
           IdentifiableObject ref = getPersistedObject(preheat, identifier, refObject);
           if (ref != null && ref.getId() != 0) objects.add(ref);
         }
 
-        ReflectionUtils.invokeMethod(object, property.getSetterMethod(), objects);
+        PropertyAccessors.set(object, property, objects);
       }
     }
   }
@@ -942,7 +917,7 @@ public class DefaultPreheatService implements PreheatService {
       uniqueProperties.forEach(
           property -> {
             if (!map.containsKey(property.getName())) map.put(property.getName(), new HashMap<>());
-            Object value = safeInvoke(object, property.getGetterMethod());
+            Object value = PropertyAccessors.get(object, property);
             if (value != null)
               map.get(property.getName()).put(value, identifier.getIdentifier(object));
           });
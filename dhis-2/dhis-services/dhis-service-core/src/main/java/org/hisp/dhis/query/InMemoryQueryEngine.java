@@ -34,11 +34,12 @@ import static org.hisp.dhis.query.Filters.ilike;
 import static org.hisp.dhis.query.Filters.in;
 import static org.hisp.dhis.schema.DefaultSchemaService.safeInvoke;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import lombok.AllArgsConstructor;
@@ -69,13 +70,25 @@ public class InMemoryQueryEngine implements QueryEngine {
   public <T extends IdentifiableObject> List<T> query(Query<T> query) {
     validateQuery(query);
     List<T> list = runQuery(query);
-    list = runSorter(query, list);
+    list = runSorter(query, list, getSortLimit(query, list.size()));
 
     return query.isSkipPaging()
         ? list
         : PagerUtils.pageCollection(list, query.getFirstResult(), query.getMaxResults());
   }
 
+  /**
+   * Returns the number of objects that need to be sorted to return the requested page, or -1 if
+   * all objects need to be sorted.
+   */
+  private static int getSortLimit(Query<?> query, int size) {
+    if (query.isSkipPaging() || query.getMaxResults() <= 0 || query.getFirstResult() < 0) {
+      return -1;
+    }
+    long limit = (long) query.getFirstResult() + query.getMaxResults();
+    return limit < size ? (int) limit : -1;
+  }
+
   @Override
   public <T extends IdentifiableObject> long count(Query<T> query) {
     validateQuery(query);
@@ -98,13 +111,38 @@ public class InMemoryQueryEngine implements QueryEngine {
   }
 
   private <T extends IdentifiableObject> List<T> runQuery(Query<T> query) {
-    List<Matcher> matchers = query.getFilters().stream().map(f -> matcherOf(query, f)).toList();
+    // test the matchers that are cheap to evaluate first, so that the expensive ones only run for
+    // objects that still can match
+    List<Matcher> matchers =
+        query.getFilters().stream()
+            .map(f -> matcherOf(query, f))
+            .sorted(Comparator.comparingInt(Matcher::cost))
+            .toList();
     return query.getObjects().stream().filter(object -> matches(query, object, matchers)).toList();
   }
 
   private record OrderBy(Order order, Property property) {}
 
-  private <T extends IdentifiableObject> List<T> runSorter(Query<T> query, List<T> objects) {
+  /**
+   * An object with the values of the properties it is ordered by, so that getters are invoked once
+   * per object instead of once per comparison.
+   *
+   * @param index the position of the object in the unsorted list, ties keep that order
+   */
+  private record SortKey<T>(T object, Object[] values, int index) {}
+
+  /**
+   * Sorts the objects by the orders of the query.
+   *
+   * @param limit the number of objects to return, the smallest objects are then selected using a
+   *     bounded heap instead of sorting all objects. -1 to sort all objects.
+   */
+  private <T extends IdentifiableObject> List<T> runSorter(
+      Query<T> query, List<T> objects, int limit) {
+    if (query.getOrders().isEmpty()) {
+      return new ArrayList<>(objects);
+    }
+
     Schema schema = schemaService.getSchema(query.getObjectType());
     List<OrderBy> orders = new ArrayList<>();
     for (Order order : query.getOrders()) {
@@ -112,25 +150,43 @@ public class InMemoryQueryEngine implements QueryEngine {
       if (p == null) throw new IllegalArgumentException("No such property: " + order.getProperty());
       orders.add(new OrderBy(order, p));
     }
-    List<T> sorted = new ArrayList<>(objects);
-    sorted.sort(
-        (o1, o2) -> {
-          for (OrderBy orderBy : orders) {
-            int result = compare(o1, o2, orderBy);
+
+    Comparator<SortKey<T>> comparator =
+        (k1, k2) -> {
+          for (int i = 0; i < orders.size(); i++) {
+            int result = compare(k1.values[i], k2.values[i], orders.get(i));
             if (result != 0) return result;
           }
 
-          return 0;
-        });
+          return Integer.compare(k1.index, k2.index);
+        };
+
+    List<SortKey<T>> keys = new ArrayList<>(limit < 0 ? objects.size() : limit + 1);
+    PriorityQueue<SortKey<T>> heap =
+        limit < 0 ? null : new PriorityQueue<>(limit + 1, comparator.reversed());
+    for (int i = 0; i < objects.size(); i++) {
+      T object = objects.get(i);
+      Object[] values = new Object[orders.size()];
+      for (int j = 0; j < values.length; j++) {
+        values[j] = safeInvoke(object, orders.get(j).property.getGetterMethod());
+      }
+      SortKey<T> key = new SortKey<>(object, values, i);
+      if (heap == null) {
+        keys.add(key);
+      } else {
+        heap.add(key);
+        if (heap.size() > limit) heap.poll();
+      }
+    }
+    if (heap != null) keys.addAll(heap);
+    keys.sort(comparator);
 
+    List<T> sorted = new ArrayList<>(keys.size());
+    for (SortKey<T> key : keys) sorted.add(key.object);
     return sorted;
   }
 
-  private static int compare(Object lside, Object rside, OrderBy orderBy) {
-    Method getter = orderBy.property.getGetterMethod();
-    Object left = safeInvoke(lside, getter);
-    Object right = safeInvoke(rside, getter);
-
+  private static int compare(Object left, Object right, OrderBy orderBy) {
     if (left == right) return 0;
 
     boolean ascending = orderBy.order.isAscending();
@@ -180,7 +236,13 @@ public class InMemoryQueryEngine implements QueryEngine {
    * @param filter the filter that is applied
    * @param match a function to test if an object matches the filter
    */
-  private record Matcher(Filter filter, Predicate<Object> match) {}
+  private record Matcher(Filter filter, Predicate<Object> match) {
+    /** Relative cost of testing an object: virtual filters, nested paths, flat properties. */
+    int cost() {
+      if (filter.isVirtual()) return 2;
+      return !filter.isAttribute() && filter.getPath().contains(".") ? 1 : 0;
+    }
+  }
 
   private <T extends IdentifiableObject> boolean matches(
       Query<T> query, T object, Matcher matcher) {
@@ -34,7 +34,11 @@ import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.hisp.dhis.query.Type;
 import org.hisp.dhis.query.planner.PropertyPath;
 import org.hisp.dhis.schema.Property;
@@ -43,6 +47,12 @@ import org.hisp.dhis.schema.Property;
  * @author Morten Olav Hansen <mortenoh@gmail.com>
  */
 public class InOperator<T extends Comparable<T>> extends Operator<T> {
+  /**
+   * The arguments converted to the type of the tested values by value class, so that a value is
+   * tested with a hash lookup instead of comparing it against every argument.
+   */
+  private final Map<Class<?>, Set<Object>> lookups = new HashMap<>();
+
   public InOperator(Collection<T> arg) {
     super("in", List.of(Collection.class), arg);
   }
@@ -79,12 +89,51 @@ public class InOperator<T extends Comparable<T>> extends Operator<T> {
         }
       }
     } else {
-      return compareCollection(value, items);
+      return getLookup(value).contains(value instanceof Enum<?> ? value.toString() : value);
     }
 
     return false;
   }
 
+  private Set<Object> getLookup(Object value) {
+    return lookups.computeIfAbsent(
+        value.getClass(),
+        k -> {
+          Type type = new Type(value);
+          Set<Object> lookup = new HashSet<>();
+          for (Object item : getValue(Collection.class)) {
+            Object key = toKey(type, item);
+            if (key != null) {
+              lookup.add(key);
+            }
+          }
+          return lookup;
+        });
+  }
+
+  /** Converts the argument like {@link #compare(Type, Object, Object)} does. */
+  private Object toKey(Type type, Object item) {
+    if (type.isString()) {
+      return getValue(String.class, item);
+    }
+    if (type.isBoolean()) {
+      return getValue(Boolean.class, item);
+    }
+    if (type.isInteger()) {
+      return getValue(Integer.class, item);
+    }
+    if (type.isFloat()) {
+      return getValue(Float.class, item);
+    }
+    if (type.isDate()) {
+      return getValue(Date.class, item);
+    }
+    if (type.isEnum()) {
+      return String.valueOf(item);
+    }
+    return null;
+  }
+
   private boolean compareCollection(Object value, Collection<?> items) {
     Type type = new Type(value);
 
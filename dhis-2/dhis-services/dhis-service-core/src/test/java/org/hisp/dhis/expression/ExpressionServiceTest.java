@@ -952,6 +952,87 @@ class ExpressionServiceTest extends TestBase {
     assertEquals(54d, exprValue(expressionR, itemMap, valueMap, orgUnitCountMap, null), DELTA);
   }
 
+  @Test
+  void testGetCompiledExpressionValue() {
+    Map<DimensionalItemId, DimensionalItemObject> itemMap =
+        ImmutableMap.<DimensionalItemId, DimensionalItemObject>builder()
+            .put(getId(opA), opA)
+            .put(getId(opB), opB)
+            .put(getId(opE), opE)
+            .put(getId(opF), opF)
+            .put(getId(reportingRate), reportingRate)
+            .build();
+
+    Map<String, Integer> orgUnitCountMap = new HashMap<>();
+    orgUnitCountMap.put(groupA.getUid(), groupA.getMembers().size());
+
+    mockConstantService();
+
+    ExpressionParams baseParams =
+        ExpressionParams.builder()
+            .parseType(INDICATOR_EXPRESSION)
+            .itemMap(itemMap)
+            .orgUnitCountMap(orgUnitCountMap)
+            .missingValueStrategy(NEVER_SKIP)
+            .build();
+
+    CompiledExpression compiledA =
+        target.compileExpression(baseParams.toBuilder().expression(expressionA).build());
+    CompiledExpression compiledD =
+        target.compileExpression(baseParams.toBuilder().expression(expressionD).build());
+    CompiledExpression compiledE =
+        target.compileExpression(baseParams.toBuilder().expression(expressionE).build());
+    CompiledExpression compiledH =
+        target.compileExpression(baseParams.toBuilder().expression(expressionH).build());
+    CompiledExpression compiledR =
+        target.compileExpression(baseParams.toBuilder().expression(expressionR).build());
+
+    Map<DimensionalItemObject, Object> valueMap1 =
+        Map.of(opA, 12d, opB, 34d, reportingRate, 20d);
+    Map<DimensionalItemObject, Object> valueMap2 = Map.of(opA, 1d, opB, 2d, reportingRate, 3d);
+
+    ExpressionParams params1 = baseParams.toBuilder().valueMap(valueMap1).days(5).build();
+    ExpressionParams params2 = baseParams.toBuilder().valueMap(valueMap2).days(7).build();
+
+    assertEquals(46d, castDouble(target.getExpressionValue(compiledA, params1)), DELTA);
+    assertEquals(17d, castDouble(target.getExpressionValue(compiledD, params1)), DELTA);
+    assertEquals(24d, castDouble(target.getExpressionValue(compiledE, params1)), DELTA);
+    assertEquals(36d, castDouble(target.getExpressionValue(compiledH, params1)), DELTA);
+    assertEquals(54d, castDouble(target.getExpressionValue(compiledR, params1)), DELTA);
+
+    assertEquals(3d, castDouble(target.getExpressionValue(compiledA, params2)), DELTA);
+    assertEquals(8d, castDouble(target.getExpressionValue(compiledD, params2)), DELTA);
+    assertEquals(2d, castDouble(target.getExpressionValue(compiledE, params2)), DELTA);
+    assertEquals(3d, castDouble(target.getExpressionValue(compiledH, params2)), DELTA);
+    assertEquals(5d, castDouble(target.getExpressionValue(compiledR, params2)), DELTA);
+  }
+
+  @Test
+  void testGetCompiledExpressionValueMissingValueStrategy() {
+    Map<DimensionalItemId, DimensionalItemObject> itemMap =
+        Map.of(getId(opA), opA, getId(opB), opB);
+
+    ExpressionParams baseParams =
+        ExpressionParams.builder()
+            .parseType(VALIDATION_RULE_EXPRESSION)
+            .itemMap(itemMap)
+            .missingValueStrategy(MissingValueStrategy.SKIP_IF_ANY_VALUE_MISSING)
+            .build();
+
+    CompiledExpression compiled =
+        target.compileExpression(baseParams.toBuilder().expression(expressionA).build());
+
+    assertEquals(
+        46d,
+        castDouble(
+            target.getExpressionValue(
+                compiled, baseParams.toBuilder().valueMap(Map.of(opA, 12d, opB, 34d)).build())),
+        DELTA);
+    assertNull(
+        target.getExpressionValue(
+            compiled, baseParams.toBuilder().valueMap(Map.of(opA, 12d)).build()));
+  }
+
   @Test
   void testGetIndicatorDimensionalItemMap2() {
     Set<DimensionalItemId> itemIds = Sets.newHashSet(getId(opA));
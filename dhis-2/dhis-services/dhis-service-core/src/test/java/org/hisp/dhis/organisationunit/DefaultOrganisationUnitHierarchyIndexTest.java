@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.organisationunit.OrganisationUnitHierarchy.Row;
+import org.hisp.dhis.program.Program;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Unit tests for {@link DefaultOrganisationUnitHierarchyIndex}.
+ *
+ * <pre>
+ *         A
+ *       /   \
+ *      B     C
+ *      |
+ *      D
+ * </pre>
+ */
+@ExtendWith(MockitoExtension.class)
+class DefaultOrganisationUnitHierarchyIndexTest {
+  private static final List<Row> ROWS =
+      List.of(
+          new Row("A", null, "/A"),
+          new Row("B", "A", "/A/B"),
+          new Row("C", "A", "/A/C"),
+          new Row("D", "B", "/A/B/D"));
+
+  /** The hierarchy after D has been moved from B to C. */
+  private static final List<Row> MOVED_ROWS =
+      List.of(
+          new Row("A", null, "/A"),
+          new Row("B", "A", "/A/B"),
+          new Row("C", "A", "/A/C"),
+          new Row("D", "C", "/A/C/D"));
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @Mock private DhisConfigurationProvider config;
+
+  private DefaultOrganisationUnitHierarchyIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new DefaultOrganisationUnitHierarchyIndex(jdbcTemplate, transactionManager, config);
+  }
+
+  @Test
+  void shouldAnswerFromLoadedHierarchy() {
+    whenLoaded().thenReturn(ROWS);
+
+    assertTrue(index.isDescendant(orgUnit("D", "/A/B/D"), List.of(orgUnit("B", "/A/B"))));
+    assertTrue(index.isDescendant(orgUnit("D", "/A/B/D"), List.of(orgUnit("D", "/A/B/D"))));
+    assertFalse(index.isDescendant(orgUnit("D", "/A/B/D"), List.of(orgUnit("C", "/A/C"))));
+    assertFalse(index.isDescendant(orgUnit("B", "/A/B"), List.of(orgUnit("D", "/A/B/D"))));
+
+    verifyLoaded(1);
+  }
+
+  @Test
+  void shouldFallBackToPathOfUnknownOrgUnit() {
+    whenLoaded().thenReturn(ROWS);
+
+    assertTrue(index.isDescendant(orgUnit("E", "/A/C/E"), List.of(orgUnit("C", "/A/C"))));
+    assertFalse(index.isDescendant(orgUnit("E", "/A/C/E"), List.of(orgUnit("B", "/A/B"))));
+  }
+
+  @Test
+  void shouldFallBackToPathOfMovedOrgUnit() {
+    whenLoaded().thenReturn(ROWS);
+
+    assertTrue(index.isDescendant(orgUnit("D", "/A/C/D"), List.of(orgUnit("C", "/A/C"))));
+    assertFalse(index.isDescendant(orgUnit("D", "/A/C/D"), List.of(orgUnit("B", "/A/B"))));
+  }
+
+  @Test
+  void shouldNotBeDescendantOfUnknownOrNoAncestors() {
+    whenLoaded().thenReturn(ROWS);
+
+    assertFalse(index.isDescendant(orgUnit("D", "/A/B/D"), List.of(orgUnit("X", "/X"))));
+    assertFalse(index.isDescendant(orgUnit("D", "/A/B/D"), List.of()));
+    assertFalse(index.isDescendant(orgUnit("D", "/A/B/D"), (Collection<OrganisationUnit>) null));
+  }
+
+  @Test
+  void shouldAnswerUidAncestorsFromLoadedHierarchy() {
+    whenLoaded().thenReturn(ROWS);
+
+    assertTrue(index.isDescendant(orgUnit("D", "/A/B/D"), Set.of("X", "B")));
+    assertFalse(index.isDescendant(orgUnit("D", "/A/B/D"), Set.of("C")));
+    assertTrue(index.isDescendant(orgUnit("E", "/A/C/E"), Set.of("C")));
+    assertTrue(index.isDescendant(orgUnit("D", "/A/C/D"), Set.of("C")));
+    assertFalse(index.isDescendant(orgUnit("D", "/A/B/D"), Set.of()));
+    assertFalse(index.isDescendant(orgUnit("D", "/A/B/D"), (Set<String>) null));
+  }
+
+  @Test
+  void shouldAnswerLookupsByUid() {
+    whenLoaded().thenReturn(ROWS);
+
+    assertTrue(index.isDescendant("D", "A"));
+    assertFalse(index.isDescendant("D", "C"));
+    assertEquals(List.of("B", "C"), index.getDescendantsAtLevel("A", 2));
+    assertEquals(List.of("D"), index.getDescendantsAtLevel("B", 3));
+    assertEquals("A", index.getLowestCommonAncestor("D", "C"));
+    assertNull(index.getLowestCommonAncestor("D", "X"));
+    verifyLoaded(1);
+  }
+
+  @Test
+  void shouldReloadAfterInvalidate() {
+    whenLoaded().thenReturn(ROWS, MOVED_ROWS);
+
+    assertTrue(index.isDescendant(orgUnit("D", "/A/B/D"), List.of(orgUnit("B", "/A/B"))));
+
+    index.invalidate();
+
+    assertTrue(index.isDescendant(orgUnit("D", "/A/C/D"), List.of(orgUnit("C", "/A/C"))));
+    assertTrue(index.isDescendant(orgUnit("D", "/A/C/D"), List.of(orgUnit("A", "/A"))));
+    verifyLoaded(2);
+  }
+
+  @Test
+  void shouldReloadAfterOrgUnitCommit() {
+    whenLoaded().thenReturn(ROWS, MOVED_ROWS);
+    index.isDescendant(orgUnit("D", "/A/B/D"), List.of(orgUnit("B", "/A/B")));
+
+    index.onPostUpdate(postUpdate(new Program()));
+    index.isDescendant(orgUnit("D", "/A/B/D"), List.of(orgUnit("B", "/A/B")));
+    verifyLoaded(1);
+
+    index.onPostUpdate(postUpdate(orgUnit("D", "/A/C/D"), "parent", "path"));
+    index.isDescendant(orgUnit("D", "/A/C/D"), List.of(orgUnit("C", "/A/C")));
+    verifyLoaded(2);
+  }
+
+  @Test
+  void shouldNotReloadAfterOrgUnitCommitOutsideHierarchy() {
+    whenLoaded().thenReturn(ROWS);
+    index.isDescendant("D", "B");
+
+    index.onPostUpdate(postUpdate(orgUnit("D", "/A/B/D"), "name", "shortName"));
+
+    assertTrue(index.isDescendant("D", "B"));
+    verifyLoaded(1);
+  }
+
+  @Test
+  void shouldReloadAfterOrgUnitDelete() {
+    whenLoaded().thenReturn(ROWS, ROWS);
+    index.isDescendant("D", "B");
+
+    PostDeleteEvent event = mock(PostDeleteEvent.class);
+    when(event.getEntity()).thenReturn(orgUnit("D", "/A/B/D"));
+    index.onPostDelete(event);
+
+    index.isDescendant("D", "B");
+    verifyLoaded(2);
+  }
+
+  @Test
+  void shouldAddInsertedOrgUnitWithoutReload() {
+    whenLoaded().thenReturn(ROWS);
+    index.isDescendant("D", "B");
+
+    index.onPostInsert(postInsert(orgUnit("E", "/A/C/E")));
+
+    assertTrue(index.isDescendant("E", "C"));
+    assertFalse(index.isDescendant("E", "B"));
+    assertEquals(List.of("D", "E"), index.getDescendantsAtLevel("A", 3));
+    assertEquals("A", index.getLowestCommonAncestor("E", "D"));
+    verifyLoaded(1);
+  }
+
+  @Test
+  void shouldReloadAfterInsertWithoutPath() {
+    whenLoaded().thenReturn(ROWS, ROWS);
+    index.isDescendant("D", "B");
+
+    index.onPostInsert(postInsert(orgUnit("E", null)));
+
+    index.isDescendant("D", "B");
+    verifyLoaded(2);
+  }
+
+  @Test
+  void shouldReloadAgainWhenInvalidatedDuringLoad() {
+    whenLoaded()
+        .thenReturn(ROWS)
+        .thenAnswer(
+            invocation -> {
+              index.invalidate();
+              return MOVED_ROWS;
+            })
+        .thenReturn(MOVED_ROWS);
+    index.isDescendant(orgUnit("D", "/A/B/D"), List.of(orgUnit("B", "/A/B")));
+    index.invalidate();
+
+    index.isDescendant(orgUnit("D", "/A/C/D"), List.of(orgUnit("C", "/A/C")));
+    index.isDescendant(orgUnit("D", "/A/C/D"), List.of(orgUnit("C", "/A/C")));
+    index.isDescendant(orgUnit("D", "/A/C/D"), List.of(orgUnit("C", "/A/C")));
+
+    verifyLoaded(3);
+  }
+
+  @Test
+  void shouldUsePreviousHierarchyWhileReloading() throws InterruptedException {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    whenLoaded()
+        .thenReturn(ROWS)
+        .thenAnswer(
+            invocation -> {
+              loading.countDown();
+              assertTrue(release.await(10, TimeUnit.SECONDS));
+              return MOVED_ROWS;
+            });
+    index.isDescendant(orgUnit("D", "/A/B/D"), List.of(orgUnit("B", "/A/B")));
+    index.invalidate();
+
+    Thread reloading =
+        new Thread(
+            () -> index.isDescendant(orgUnit("D", "/A/C/D"), List.of(orgUnit("C", "/A/C"))));
+    reloading.start();
+    assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+    assertTimeoutPreemptively(
+        Duration.ofSeconds(5),
+        () ->
+            assertTrue(
+                index.isDescendant(orgUnit("D", "/A/B/D"), List.of(orgUnit("B", "/A/B")))));
+
+    release.countDown();
+    reloading.join(10_000);
+    assertFalse(reloading.isAlive());
+
+    assertTrue(index.isDescendant(orgUnit("D", "/A/C/D"), List.of(orgUnit("C", "/A/C"))));
+    verifyLoaded(2);
+  }
+
+  private OngoingStubbing<List<Row>> whenLoaded() {
+    return when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<Row>>any()));
+  }
+
+  private void verifyLoaded(int count) {
+    verify(jdbcTemplate, times(count))
+        .query(anyString(), ArgumentMatchers.<RowMapper<Row>>any());
+  }
+
+  private static PostUpdateEvent postUpdate(Object entity, String... dirtyProperties) {
+    PostUpdateEvent event = mock(PostUpdateEvent.class);
+    when(event.getEntity()).thenReturn(entity);
+    if (dirtyProperties.length > 0) {
+      EntityPersister persister = persister();
+      int[] dirty = new int[dirtyProperties.length];
+      for (int i = 0; i < dirtyProperties.length; i++) {
+        dirty[i] = List.of(persister.getPropertyNames()).indexOf(dirtyProperties[i]);
+      }
+      when(event.getPersister()).thenReturn(persister);
+      when(event.getDirtyProperties()).thenReturn(dirty);
+    }
+    return event;
+  }
+
+  private static PostInsertEvent postInsert(OrganisationUnit organisationUnit) {
+    EntityPersister persister = persister();
+    PostInsertEvent event = mock(PostInsertEvent.class);
+    when(event.getEntity()).thenReturn(organisationUnit);
+    when(event.getPersister()).thenReturn(persister);
+    when(event.getState())
+        .thenReturn(new Object[] {null, null, null, organisationUnit.getStoredPath(), null});
+    return event;
+  }
+
+  private static EntityPersister persister() {
+    EntityPersister persister = mock(EntityPersister.class);
+    when(persister.getPropertyNames())
+        .thenReturn(new String[] {"name", "shortName", "parent", "path", "hierarchyLevel"});
+    return persister;
+  }
+
+  private static OrganisationUnit orgUnit(String uid, String path) {
+    OrganisationUnit organisationUnit = new OrganisationUnit();
+    organisationUnit.setUid(uid);
+    organisationUnit.setPath(path);
+    return organisationUnit;
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.hisp.dhis.organisationunit.OrganisationUnitHierarchy.Row;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link OrganisationUnitHierarchy}.
+ *
+ * <pre>
+ *         A
+ *       /   \
+ *      B     C
+ *     / \     \
+ *    D   E     F
+ * </pre>
+ */
+class OrganisationUnitHierarchyTest {
+  private final OrganisationUnitHierarchy hierarchy =
+      OrganisationUnitHierarchy.of(
+          List.of(
+              new Row("F", "C", "/A/C/F"),
+              new Row("E", "B", "/A/B/E"),
+              new Row("D", "B", "/A/B/D"),
+              new Row("C", "A", "/A/C"),
+              new Row("B", "A", "/A/B"),
+              new Row("A", null, "/A"),
+              new Row("X", null, "/X")));
+
+  @Test
+  void shouldBeDescendantOfAncestorsAndItself() {
+    assertTrue(hierarchy.isDescendant("D", "A"));
+    assertTrue(hierarchy.isDescendant("D", "B"));
+    assertTrue(hierarchy.isDescendant("D", "D"));
+    assertTrue(hierarchy.isDescendant("F", "C"));
+  }
+
+  @Test
+  void shouldNotBeDescendantOfOtherBranches() {
+    assertFalse(hierarchy.isDescendant("D", "C"));
+    assertFalse(hierarchy.isDescendant("B", "D"));
+    assertFalse(hierarchy.isDescendant("A", "B"));
+    assertFalse(hierarchy.isDescendant("X", "A"));
+    assertFalse(hierarchy.isDescendant("D", "unknown"));
+    assertFalse(hierarchy.isDescendant("unknown", "A"));
+  }
+
+  @Test
+  void shouldGetDescendantsAtLevel() {
+    assertEquals(List.of("F", "E", "D"), hierarchy.getDescendantsAtLevel("A", 3));
+    assertEquals(List.of("E", "D"), hierarchy.getDescendantsAtLevel("B", 3));
+    assertEquals(List.of("C"), hierarchy.getDescendantsAtLevel("C", 2));
+    assertEquals(List.of(), hierarchy.getDescendantsAtLevel("B", 1));
+    assertEquals(List.of(), hierarchy.getDescendantsAtLevel("A", 4));
+    assertEquals(List.of(), hierarchy.getDescendantsAtLevel("unknown", 2));
+  }
+
+  @Test
+  void shouldGetLowestCommonAncestor() {
+    assertEquals("B", hierarchy.getLowestCommonAncestor("D", "E"));
+    assertEquals("A", hierarchy.getLowestCommonAncestor("D", "F"));
+    assertEquals("B", hierarchy.getLowestCommonAncestor("B", "E"));
+    assertEquals("C", hierarchy.getLowestCommonAncestor("C", "C"));
+    assertNull(hierarchy.getLowestCommonAncestor("D", "X"));
+    assertNull(hierarchy.getLowestCommonAncestor("D", "unknown"));
+  }
+
+  @Test
+  void shouldMatchStoredPath() {
+    int node = hierarchy.getNode("D");
+
+    assertEquals(3, hierarchy.getLevel(node));
+    assertTrue(hierarchy.hasPath(node, "/A/B/D"));
+    assertFalse(hierarchy.hasPath(node, "/A/C/D"));
+    assertFalse(hierarchy.hasPath(node, null));
+  }
+
+  @Test
+  void shouldLeaveOutOrgUnitsInCycles() {
+    OrganisationUnitHierarchy cyclic =
+        OrganisationUnitHierarchy.of(
+            List.of(
+                new Row("A", null, "/A"), new Row("B", "C", "/C/B"), new Row("C", "B", "/B/C")));
+
+    assertEquals(-1, cyclic.getNode("B"));
+    assertFalse(cyclic.isDescendant("B", "C"));
+    assertTrue(cyclic.isDescendant("A", "A"));
+  }
+
+  @Test
+  void shouldAddOrgUnitToHierarchy() {
+    OrganisationUnitHierarchy added = hierarchy.with(new Row("G", "C", "/A/C/G"));
+
+    assertTrue(added.isDescendant("G", "C"));
+    assertTrue(added.isDescendant("G", "A"));
+    assertFalse(added.isDescendant("G", "B"));
+    assertTrue(added.isDescendant("D", "B"));
+    assertEquals(List.of("F", "G"), added.getDescendantsAtLevel("C", 3));
+    assertEquals("A", added.getLowestCommonAncestor("G", "D"));
+    assertEquals(-1, hierarchy.getNode("G"));
+  }
+}
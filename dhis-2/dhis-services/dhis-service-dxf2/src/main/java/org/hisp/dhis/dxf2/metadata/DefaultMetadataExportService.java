@@ -38,6 +38,7 @@ import static org.hisp.dhis.dxf2.Constants.SYSTEM_VERSION;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
@@ -45,10 +46,12 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
 import org.hisp.dhis.attribute.Attribute;
 import org.hisp.dhis.attribute.AttributeService;
 import org.hisp.dhis.category.Category;
@@ -73,6 +76,8 @@ import org.hisp.dhis.document.Document;
 import org.hisp.dhis.eventchart.EventChart;
 import org.hisp.dhis.eventreport.EventReport;
 import org.hisp.dhis.eventvisualization.EventVisualization;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.fieldfilter.Defaults;
 import org.hisp.dhis.fieldfiltering.FieldFilterParams;
 import org.hisp.dhis.fieldfiltering.FieldFilterService;
@@ -85,6 +90,7 @@ import org.hisp.dhis.option.Option;
 import org.hisp.dhis.option.OptionGroup;
 import org.hisp.dhis.option.OptionSet;
 import org.hisp.dhis.program.Program;
+import org.hisp.dhis.preheat.Preheat;
 import org.hisp.dhis.program.ProgramIndicator;
 import org.hisp.dhis.program.ProgramSection;
 import org.hisp.dhis.program.ProgramStage;
@@ -97,7 +103,9 @@ import org.hisp.dhis.programrule.ProgramRuleAction;
 import org.hisp.dhis.programrule.ProgramRuleService;
 import org.hisp.dhis.programrule.ProgramRuleVariable;
 import org.hisp.dhis.programrule.ProgramRuleVariableService;
+import org.hisp.dhis.query.Filters;
 import org.hisp.dhis.query.GetObjectListParams;
+import org.hisp.dhis.query.Order;
 import org.hisp.dhis.query.Query;
 import org.hisp.dhis.query.QueryService;
 import org.hisp.dhis.report.Report;
@@ -142,8 +150,11 @@ public class DefaultMetadataExportService implements MetadataExportService {
 
   private final UserService userService;
 
+  private final DhisConfigurationProvider config;
+
+  private final EntityManager entityManager;
+
   @Override
-  @SuppressWarnings("unchecked")
   @Transactional(readOnly = true)
   public Map<Class<? extends IdentifiableObject>, List<? extends IdentifiableObject>> getMetadata(
       MetadataExportParams params) {
@@ -151,49 +162,16 @@ public class DefaultMetadataExportService implements MetadataExportService {
     Map<Class<? extends IdentifiableObject>, List<? extends IdentifiableObject>> metadata =
         new HashMap<>();
 
-    String username =
-        params.getCurrentUserDetails() != null
-            ? params.getCurrentUserDetails().getUsername()
-            : "system-process";
+    String username = getUsername(params);
 
     if (params.getCurrentUserDetails() == null) {
       params.setCurrentUserDetails(CurrentUserUtil.getCurrentUserDetails());
     }
 
-    if (params.getClasses().isEmpty()) {
-      schemaService.getMetadataSchemas().stream()
-          .filter(schema -> schema.isIdentifiableObject() && schema.isPersisted())
-          .filter(s -> !s.isSecondaryMetadata())
-          .filter(DEPRECATED_ANALYTICS_SCHEMAS)
-          .forEach(
-              schema ->
-                  params.getClasses().add((Class<? extends IdentifiableObject>) schema.getKlass()));
-    }
-
     log.info("(" + username + ") Export:Start");
 
-    for (Class<? extends IdentifiableObject> klass : params.getClasses()) {
-      Query<?> query;
-
-      if (params.getQuery(klass) != null) {
-        query = params.getQuery(klass);
-      } else {
-        GetObjectListParams queryParams =
-            new GetObjectListParams()
-                .setPaging(false)
-                .setOrders(params.getDefaultOrder())
-                .setFilters(params.getDefaultFilter());
-        query = queryService.getQueryFromUrl(klass, queryParams);
-      }
-
-      if (query.getCurrentUserDetails() == null && params.getCurrentUserDetails() != null) {
-        query.setCurrentUserDetails(params.getCurrentUserDetails());
-      }
-
-      query.setDefaultOrder();
-      query.setDefaults(params.getDefaults());
-
-      List<? extends IdentifiableObject> objects = queryService.query(query);
+    for (Class<? extends IdentifiableObject> klass : getExportClasses(params)) {
+      List<? extends IdentifiableObject> objects = queryService.query(getQuery(klass, params));
 
       if (!objects.isEmpty()) {
         log.info(
@@ -213,6 +191,52 @@ public class DefaultMetadataExportService implements MetadataExportService {
     return metadata;
   }
 
+  private static String getUsername(MetadataExportParams params) {
+    return params.getCurrentUserDetails() != null
+        ? params.getCurrentUserDetails().getUsername()
+        : "system-process";
+  }
+
+  @SuppressWarnings("unchecked")
+  private Set<Class<? extends IdentifiableObject>> getExportClasses(MetadataExportParams params) {
+    if (params.getClasses().isEmpty()) {
+      schemaService.getMetadataSchemas().stream()
+          .filter(schema -> schema.isIdentifiableObject() && schema.isPersisted())
+          .filter(s -> !s.isSecondaryMetadata())
+          .filter(DEPRECATED_ANALYTICS_SCHEMAS)
+          .forEach(
+              schema ->
+                  params.getClasses().add((Class<? extends IdentifiableObject>) schema.getKlass()));
+    }
+
+    return params.getClasses();
+  }
+
+  private Query<?> getQuery(
+      Class<? extends IdentifiableObject> klass, MetadataExportParams params) {
+    Query<?> query;
+
+    if (params.getQuery(klass) != null) {
+      query = params.getQuery(klass);
+    } else {
+      GetObjectListParams queryParams =
+          new GetObjectListParams()
+              .setPaging(false)
+              .setOrders(params.getDefaultOrder())
+              .setFilters(params.getDefaultFilter());
+      query = queryService.getQueryFromUrl(klass, queryParams);
+    }
+
+    if (query.getCurrentUserDetails() == null && params.getCurrentUserDetails() != null) {
+      query.setCurrentUserDetails(params.getCurrentUserDetails());
+    }
+
+    query.setDefaultOrder();
+    query.setDefaults(params.getDefaults());
+
+    return query;
+  }
+
   /**
    * This predicate is used to filter out deprecated Analytics schemas, {@link EventChart} & {@link
    * EventReport}.As they are no longer used ({@link EventVisualization} has replaced them), they
@@ -270,8 +294,14 @@ public class DefaultMetadataExportService implements MetadataExportService {
       return;
     }
 
-    Map<Class<? extends IdentifiableObject>, List<? extends IdentifiableObject>> metadata =
-        getMetadata(params);
+    Timer timer = new SystemTimer().start();
+    String username = getUsername(params);
+
+    if (params.getCurrentUserDetails() == null) {
+      params.setCurrentUserDetails(CurrentUserUtil.getCurrentUserDetails());
+    }
+
+    log.info("(" + username + ") Export:Start");
 
     try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
       generator.writeStartObject();
@@ -283,29 +313,121 @@ public class DefaultMetadataExportService implements MetadataExportService {
       generator.writeStringField(SYSTEM_DATE, DateUtils.toIso8601(systemInfo.serverDate()));
       generator.writeEndObject();
 
-      for (Class<? extends IdentifiableObject> klass : metadata.keySet()) {
-        List<Object> objects = new ArrayList<>(metadata.get(klass));
+      for (Class<? extends IdentifiableObject> klass : getExportClasses(params)) {
+        long count = writeObjects(getQuery(klass, params), params, generator);
+
+        if (count > 0) {
+          log.info(
+              "("
+                  + username
+                  + ") Exported "
+                  + count
+                  + " objects of type "
+                  + klass.getSimpleName());
+        }
+      }
 
-        if (objects.isEmpty()) {
-          continue;
+      generator.writeEndObject();
+    }
+
+    log.info("(" + username + ") Export:Done took " + timer.toString());
+  }
+
+  /**
+   * Writes the objects matched by the given query to the generator one page at a time, clearing the
+   * session after each page so that only a single page of objects is held in memory. Queries with
+   * filters, orders or paging of their own are run as a single page, as they may be evaluated in
+   * memory.
+   *
+   * <p>Pages are read by keyset ordered by id, each page starting after the last id of the previous
+   * page. The default objects are removed here rather than by the query service, so that the size
+   * and last id of a page are those of the loaded page.
+   *
+   * @return the number of objects written.
+   */
+  private <T extends IdentifiableObject> long writeObjects(
+      Query<T> query, MetadataExportParams params, JsonGenerator generator) throws IOException {
+    Class<T> klass = query.getObjectType();
+    boolean paged =
+        query.isEmpty()
+            && query.getFirstResult() == 0
+            && query.getMaxResults() == Integer.MAX_VALUE
+            && schemaService.getSchema(klass).hasPersistedProperty("id");
+    boolean removeDefaults =
+        paged && Defaults.EXCLUDE == query.getDefaults() && Preheat.isDefaultClass(klass);
+    int pageSize = paged ? getPageSize() : Integer.MAX_VALUE;
+    long count = 0;
+    String lastId = null;
+    int loaded;
+
+    do {
+      Query<T> page = query;
+
+      if (paged) {
+        page = Query.copyOf(query);
+        page.setDefaultOrders(false);
+        page.addOrder(Order.asc("id"));
+        page.setMaxResults(pageSize);
+        page.setDefaults(Defaults.INCLUDE);
+
+        if (lastId != null) {
+          page.add(Filters.gt("id", lastId));
+        }
+      }
+
+      List<T> objects = queryService.query(page);
+      loaded = objects.size();
+
+      if (paged && !objects.isEmpty()) {
+        lastId = objects.get(objects.size() - 1).getUid();
+      }
+
+      if (removeDefaults) {
+        objects = objects.stream().filter(object -> !"default".equals(object.getName())).toList();
+      }
+
+      if (!objects.isEmpty()) {
+        if (count == 0) {
+          String plural = schemaService.getSchema(klass).getPlural();
+          generator.writeArrayFieldStart(plural);
         }
 
         FieldFilterParams<?> fieldFilterParams =
             FieldFilterParams.builder()
-                .objects(objects)
+                .objects(new ArrayList<>(objects))
                 .filters(params.getFields(klass))
                 .skipSharing(params.getSkipSharing())
                 .user(CurrentUserUtil.getCurrentUserDetails())
                 .build();
 
-        String plural = schemaService.getSchema(klass).getPlural();
-        generator.writeArrayFieldStart(plural);
         fieldFilterService.toObjectNodesStream(
             fieldFilterParams, params.getDefaults().isExclude(), generator);
-        generator.writeEndArray();
+        count += objects.size();
       }
 
-      generator.writeEndObject();
+      clearSession();
+    } while (paged && loaded == pageSize);
+
+    if (count > 0) {
+      generator.writeEndArray();
+    }
+
+    return count;
+  }
+
+  private int getPageSize() {
+    return Math.max(1, config.getIntProperty(ConfigurationKey.METADATA_EXPORT_PAGE_SIZE));
+  }
+
+  /**
+   * Clears the session so that objects which have already been written can be garbage collected.
+   * The session is left untouched when the surrounding transaction has pending changes.
+   */
+  private void clearSession() {
+    Session session = entityManager.unwrap(Session.class);
+
+    if (!session.isDirty()) {
+      session.clear();
     }
   }
 
@@ -328,6 +450,10 @@ public class DefaultMetadataExportService implements MetadataExportService {
       generator.writeEndObject();
 
       for (Class<? extends IdentifiableObject> klass : metadata.keySet()) {
+        if (metadata.get(klass).isEmpty()) {
+          continue;
+        }
+
         FieldFilterParams<?> fieldFilterParams =
             FieldFilterParams.builder()
                 .objects(new ArrayList<>(metadata.get(klass)))
@@ -335,18 +461,10 @@ public class DefaultMetadataExportService implements MetadataExportService {
                 .skipSharing(params.getSkipSharing())
                 .build();
 
-        List<ObjectNode> objectNodes = fieldFilterService.toObjectNodes(fieldFilterParams);
-
-        if (!objectNodes.isEmpty()) {
-          String plural = schemaService.getSchema(klass).getPlural();
-          generator.writeArrayFieldStart(plural);
-
-          for (ObjectNode objectNode : objectNodes) {
-            generator.writeObject(objectNode);
-          }
-
-          generator.writeEndArray();
-        }
+        String plural = schemaService.getSchema(klass).getPlural();
+        generator.writeArrayFieldStart(plural);
+        fieldFilterService.toObjectNodesStream(fieldFilterParams, false, generator);
+        generator.writeEndArray();
       }
     }
   }
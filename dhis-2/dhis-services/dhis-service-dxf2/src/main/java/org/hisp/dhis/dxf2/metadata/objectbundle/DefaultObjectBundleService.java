@@ -35,6 +35,7 @@ import static org.hisp.dhis.eventhook.EventUtils.metadataCreate;
 import static org.hisp.dhis.eventhook.EventUtils.metadataDelete;
 import static org.hisp.dhis.eventhook.EventUtils.metadataUpdate;
 
+import com.google.common.collect.Lists;
 import jakarta.persistence.EntityManager;
 import java.util.HashMap;
 import java.util.List;
@@ -53,6 +54,8 @@ import org.hisp.dhis.dbms.DbmsManager;
 import org.hisp.dhis.dxf2.metadata.FlushMode;
 import org.hisp.dhis.dxf2.metadata.objectbundle.feedback.ObjectBundleCommitReport;
 import org.hisp.dhis.eventhook.EventHookPublisher;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.feedback.ErrorCode;
 import org.hisp.dhis.feedback.ErrorMessage;
 import org.hisp.dhis.feedback.ErrorReport;
@@ -67,6 +70,8 @@ import org.hisp.dhis.preheat.PreheatService;
 import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.schema.MetadataMergeParams;
 import org.hisp.dhis.schema.MetadataMergeService;
+import org.hisp.dhis.schema.Property;
+import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.schema.SchemaService;
 import org.hisp.dhis.system.deletion.DeletionManager;
 import org.hisp.dhis.user.CurrentUserUtil;
@@ -91,6 +96,7 @@ public class DefaultObjectBundleService implements ObjectBundleService {
   private final EventHookPublisher eventHookPublisher;
   private final DeletionManager deletionManager;
   private final PeriodStore periodStore;
+  private final DhisConfigurationProvider config;
 
   @Override
   @Transactional(readOnly = true)
@@ -204,13 +210,13 @@ public class DefaultObjectBundleService implements ObjectBundleService {
 
     if (bundle.getImportMode().isCreateAndUpdate()) {
       TypeReport report = new TypeReport(klass);
-      report.merge(handleCreates(session, klass, nonPersistedObjects, bundle, progress));
-      report.merge(handleUpdates(session, klass, persistedObjects, bundle, progress));
+      report.merge(createObjects(session, klass, nonPersistedObjects, bundle, progress));
+      report.merge(updateObjects(session, klass, persistedObjects, bundle, progress));
       typeReports.put(klass, report);
     } else if (bundle.getImportMode().isCreate()) {
-      typeReports.put(klass, handleCreates(session, klass, nonPersistedObjects, bundle, progress));
+      typeReports.put(klass, createObjects(session, klass, nonPersistedObjects, bundle, progress));
     } else if (bundle.getImportMode().isUpdate()) {
-      typeReports.put(klass, handleUpdates(session, klass, persistedObjects, bundle, progress));
+      typeReports.put(klass, updateObjects(session, klass, persistedObjects, bundle, progress));
     } else if (bundle.getImportMode().isDelete()) {
       typeReports.put(klass, handleDeletes(session, klass, persistedObjects, bundle, progress));
     }
@@ -226,6 +232,20 @@ public class DefaultObjectBundleService implements ObjectBundleService {
   // Utility Methods
   // -----------------------------------------------------------------------------------
 
+  private <T extends IdentifiableObject> TypeReport createObjects(
+      Session session, Class<T> klass, List<T> objects, ObjectBundle bundle, JobProgress progress) {
+    return FlushMode.BATCH == bundle.getFlushMode()
+        ? handleCreatesInBatches(session, klass, objects, bundle, progress)
+        : handleCreates(session, klass, objects, bundle, progress);
+  }
+
+  private <T extends IdentifiableObject> TypeReport updateObjects(
+      Session session, Class<T> klass, List<T> objects, ObjectBundle bundle, JobProgress progress) {
+    return FlushMode.BATCH == bundle.getFlushMode()
+        ? handleUpdatesInBatches(session, klass, objects, bundle, progress)
+        : handleUpdates(session, klass, objects, bundle, progress);
+  }
+
   private <T extends IdentifiableObject> TypeReport handleCreates(
       Session session, Class<T> klass, List<T> objects, ObjectBundle bundle, JobProgress progress) {
     TypeReport typeReport = new TypeReport(klass);
@@ -255,31 +275,7 @@ public class DefaultObjectBundleService implements ObjectBundleService {
     progress.runStage(
         objects,
         IdentifiableObject::getName,
-        object -> {
-          ObjectReport objectReport = new ObjectReport(object, bundle);
-          objectReport.setDisplayName(IdentifiableObjectUtils.getDisplayName(object));
-          typeReport.addObjectReport(objectReport);
-
-          preheatService.connectReferences(
-              object, bundle.getPreheat(), bundle.getPreheatIdentifier());
-
-          session.save(object);
-
-          bundle.getPreheat().replace(bundle.getPreheatIdentifier(), object);
-
-          if (log.isDebugEnabled()) {
-            String msg =
-                "(%s) Created object '%s'"
-                    .formatted(
-                        bundle.getUsername(),
-                        bundle.getPreheatIdentifier().getIdentifiersWithName(object));
-            log.debug(msg);
-          }
-
-          if (FlushMode.OBJECT == bundle.getFlushMode()) {
-            session.flush();
-          }
-        });
+        object -> createObject(session, object, bundle, typeReport));
 
     session.flush();
 
@@ -326,36 +322,7 @@ public class DefaultObjectBundleService implements ObjectBundleService {
         IdentifiableObject::getName,
         object -> {
           T persistedObject = bundle.getPreheat().get(bundle.getPreheatIdentifier(), object);
-
-          ObjectReport objectReport = new ObjectReport(object, bundle);
-          objectReport.setDisplayName(IdentifiableObjectUtils.getDisplayName(object));
-          typeReport.addObjectReport(objectReport);
-
-          preheatService.connectReferences(
-              object, bundle.getPreheat(), bundle.getPreheatIdentifier());
-
-          metadataMergeService.merge(
-              new MetadataMergeParams<>(object, persistedObject)
-                  .setMergeMode(MergeMode.REPLACE)
-                  .setSkipSharing(bundle.isSkipSharing())
-                  .setSkipTranslation(bundle.isSkipTranslation()));
-
-          session.update(persistedObject);
-
-          bundle.getPreheat().replace(bundle.getPreheatIdentifier(), persistedObject);
-
-          if (log.isDebugEnabled()) {
-            String msg =
-                "(%s) Updated object '%s'"
-                    .formatted(
-                        bundle.getUsername(),
-                        bundle.getPreheatIdentifier().getIdentifiersWithName(persistedObject));
-            log.debug(msg);
-          }
-
-          if (FlushMode.OBJECT == bundle.getFlushMode()) {
-            session.flush();
-          }
+          updateObject(session, object, persistedObject, bundle, typeReport);
         });
 
     session.flush();
@@ -374,6 +341,198 @@ public class DefaultObjectBundleService implements ObjectBundleService {
     return typeReport;
   }
 
+  /**
+   * Creates the objects in batches of {@link ConfigurationKey#METADATA_IMPORT_BATCH_SIZE}. The
+   * hooks run once per batch, which lets hooks opting in handle all objects of a batch at once.
+   * Each batch is flushed once; when the type is {@link #isEvictable evictable} the batch is
+   * flushed again after its post hooks and evicted, so later flushes do not dirty check it.
+   */
+  private <T extends IdentifiableObject> TypeReport handleCreatesInBatches(
+      Session session, Class<T> klass, List<T> objects, ObjectBundle bundle, JobProgress progress) {
+    TypeReport typeReport = new TypeReport(klass);
+
+    handleDeprecationIfEventReport(klass, objects);
+
+    if (objects.isEmpty()) {
+      return typeReport;
+    }
+
+    List<ObjectBundleHook<T>> hooks = objectBundleHooks.getTypeImportHooks(klass);
+    List<List<T>> batches = Lists.partition(objects, getBatchSize());
+    boolean evict = isEvictable(bundle, klass);
+
+    String message =
+        "Creating %d %s object(s) in %d batch(es) as %s"
+            .formatted(objects.size(), klass.getSimpleName(), batches.size(), bundle.getUsername());
+    progress.startingStage(message, batches.size());
+    progress.runStage(
+        batches,
+        batch -> "%d object(s)".formatted(batch.size()),
+        batch -> {
+          hooks.forEach(hook -> hook.preCreateBatch(batch, bundle));
+
+          batch.forEach(object -> createObject(session, object, bundle, typeReport));
+
+          session.flush();
+
+          hooks.forEach(hook -> hook.postCreateBatch(batch, bundle));
+          batch.forEach(object -> eventHookPublisher.publishEvent(metadataCreate(object)));
+
+          if (evict) {
+            session.flush();
+            batch.forEach(session::evict);
+          }
+        });
+
+    return typeReport;
+  }
+
+  /**
+   * Updates the objects in batches of {@link ConfigurationKey#METADATA_IMPORT_BATCH_SIZE}. The
+   * hooks run once per batch, which lets hooks opting in handle all objects of a batch at once.
+   * Batches are flushed and evicted as in {@link #handleCreatesInBatches}.
+   */
+  private <T extends IdentifiableObject> TypeReport handleUpdatesInBatches(
+      Session session, Class<T> klass, List<T> objects, ObjectBundle bundle, JobProgress progress) {
+    TypeReport typeReport = new TypeReport(klass);
+
+    if (objects.isEmpty()) {
+      return typeReport;
+    }
+
+    List<ObjectBundleHook<T>> hooks = objectBundleHooks.getTypeImportHooks(klass);
+    List<List<T>> batches = Lists.partition(objects, getBatchSize());
+    boolean evict = isEvictable(bundle, klass);
+
+    String message =
+        "Updating %d %s object(s) in %d batch(es) as %s"
+            .formatted(objects.size(), klass.getSimpleName(), batches.size(), bundle.getUsername());
+    progress.startingStage(message, batches.size());
+    progress.runStage(
+        batches,
+        batch -> "%d object(s)".formatted(batch.size()),
+        batch -> {
+          List<T> persistedBatch =
+              batch.stream()
+                  .map(object -> bundle.getPreheat().get(bundle.getPreheatIdentifier(), object))
+                  .toList();
+
+          hooks.forEach(hook -> hook.preUpdateBatch(batch, persistedBatch, bundle));
+
+          for (int i = 0; i < batch.size(); i++) {
+            updateObject(session, batch.get(i), persistedBatch.get(i), bundle, typeReport);
+          }
+
+          session.flush();
+
+          hooks.forEach(hook -> hook.postUpdateBatch(persistedBatch, bundle));
+          batch.forEach(object -> eventHookPublisher.publishEvent(metadataUpdate(object)));
+
+          if (evict) {
+            session.flush();
+            persistedBatch.forEach(session::evict);
+          }
+        });
+
+    return typeReport;
+  }
+
+  private <T extends IdentifiableObject> void createObject(
+      Session session, T object, ObjectBundle bundle, TypeReport typeReport) {
+    ObjectReport objectReport = new ObjectReport(object, bundle);
+    objectReport.setDisplayName(IdentifiableObjectUtils.getDisplayName(object));
+    typeReport.addObjectReport(objectReport);
+
+    preheatService.connectReferences(object, bundle.getPreheat(), bundle.getPreheatIdentifier());
+
+    session.save(object);
+
+    bundle.getPreheat().replace(bundle.getPreheatIdentifier(), object);
+
+    if (log.isDebugEnabled()) {
+      String msg =
+          "(%s) Created object '%s'"
+              .formatted(
+                  bundle.getUsername(),
+                  bundle.getPreheatIdentifier().getIdentifiersWithName(object));
+      log.debug(msg);
+    }
+
+    if (FlushMode.OBJECT == bundle.getFlushMode()) {
+      session.flush();
+    }
+  }
+
+  private <T extends IdentifiableObject> void updateObject(
+      Session session, T object, T persistedObject, ObjectBundle bundle, TypeReport typeReport) {
+    ObjectReport objectReport = new ObjectReport(object, bundle);
+    objectReport.setDisplayName(IdentifiableObjectUtils.getDisplayName(object));
+    typeReport.addObjectReport(objectReport);
+
+    preheatService.connectReferences(object, bundle.getPreheat(), bundle.getPreheatIdentifier());
+
+    metadataMergeService.merge(
+        new MetadataMergeParams<>(object, persistedObject)
+            .setMergeMode(MergeMode.REPLACE)
+            .setSkipSharing(bundle.isSkipSharing())
+            .setSkipTranslation(bundle.isSkipTranslation()));
+
+    session.update(persistedObject);
+
+    bundle.getPreheat().replace(bundle.getPreheatIdentifier(), persistedObject);
+
+    if (log.isDebugEnabled()) {
+      String msg =
+          "(%s) Updated object '%s'"
+              .formatted(
+                  bundle.getUsername(),
+                  bundle.getPreheatIdentifier().getIdentifiersWithName(persistedObject));
+      log.debug(msg);
+    }
+
+    if (FlushMode.OBJECT == bundle.getFlushMode()) {
+      session.flush();
+    }
+  }
+
+  /**
+   * Objects of a type can be evicted from the session once their batch is flushed if nothing else
+   * in the commit touches them again. That is the case when no commit hook runs for the type, no
+   * type in the bundle references it and no mapping cascades to it, as a cascade would re-attach
+   * the evicted objects on the next flush.
+   */
+  @SuppressWarnings("unchecked")
+  private boolean isEvictable(ObjectBundle bundle, Class<? extends IdentifiableObject> klass) {
+    if (!objectBundleHooks.getCommitHooks(List.of(klass)).isEmpty()) {
+      return false;
+    }
+
+    for (Schema schema : schemaService.getMetadataSchemas()) {
+      boolean inBundle = bundle.hasObjects((Class<? extends IdentifiableObject>) schema.getKlass());
+
+      for (Property property : schema.getPersistedProperties().values()) {
+        if (isReferenceTo(property, klass) && (inBundle || hasCascade(property))) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean isReferenceTo(Property property, Class<?> klass) {
+    Class<?> type = property.isCollection() ? property.getItemKlass() : property.getKlass();
+    return type != null && type.isAssignableFrom(klass);
+  }
+
+  private static boolean hasCascade(Property property) {
+    return property.getCascade() != null && !"none".equals(property.getCascade());
+  }
+
+  private int getBatchSize() {
+    return Math.max(1, config.getIntProperty(ConfigurationKey.METADATA_IMPORT_BATCH_SIZE));
+  }
+
   private <T extends IdentifiableObject> TypeReport handleDeletes(
       Session session, Class<T> klass, List<T> objects, ObjectBundle bundle, JobProgress progress) {
     TypeReport typeReport = new TypeReport(klass);
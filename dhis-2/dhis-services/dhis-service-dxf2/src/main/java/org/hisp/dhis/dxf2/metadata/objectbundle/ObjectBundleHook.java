@@ -36,6 +36,7 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
+import org.hisp.dhis.dxf2.metadata.FlushMode;
 import org.hisp.dhis.feedback.ErrorReport;
 
 /**
@@ -190,6 +191,58 @@ public interface ObjectBundleHook<T> {
    */
   void postUpdate(T persistedObject, ObjectBundle bundle);
 
+  /**
+   * Run before a batch of objects is created when the bundle uses {@link FlushMode#BATCH}.
+   *
+   * <p>By default runs {@link #preCreate(Object, ObjectBundle)} for each object. Hooks which can
+   * handle a batch at once more efficiently should override this.
+   *
+   * @param objects the objects to be created, not null.
+   * @param bundle the current commit phase bundle, not null.
+   */
+  default void preCreateBatch(List<T> objects, ObjectBundle bundle) {
+    objects.forEach(object -> preCreate(object, bundle));
+  }
+
+  /**
+   * Run after a batch of objects has been created when the bundle uses {@link FlushMode#BATCH}.
+   *
+   * <p>By default runs {@link #postCreate(Object, ObjectBundle)} for each object.
+   *
+   * @param persistedObjects the created objects, not null.
+   * @param bundle the current commit phase bundle, not null.
+   */
+  default void postCreateBatch(List<T> persistedObjects, ObjectBundle bundle) {
+    persistedObjects.forEach(object -> postCreate(object, bundle));
+  }
+
+  /**
+   * Run before a batch of objects is updated when the bundle uses {@link FlushMode#BATCH}.
+   *
+   * <p>By default runs {@link #preUpdate(Object, Object, ObjectBundle)} for each object.
+   *
+   * @param objects the objects to be updated, not null.
+   * @param persistedObjects the persisted objects, in the same order as the objects, not null.
+   * @param bundle the current commit phase bundle, not null.
+   */
+  default void preUpdateBatch(List<T> objects, List<T> persistedObjects, ObjectBundle bundle) {
+    for (int i = 0; i < objects.size(); i++) {
+      preUpdate(objects.get(i), persistedObjects.get(i), bundle);
+    }
+  }
+
+  /**
+   * Run after a batch of objects has been updated when the bundle uses {@link FlushMode#BATCH}.
+   *
+   * <p>By default runs {@link #postUpdate(Object, ObjectBundle)} for each object.
+   *
+   * @param persistedObjects the updated objects, not null.
+   * @param bundle the current commit phase bundle, not null.
+   */
+  default void postUpdateBatch(List<T> persistedObjects, ObjectBundle bundle) {
+    persistedObjects.forEach(object -> postUpdate(object, bundle));
+  }
+
   /**
    * Run before object has been deleted.
    *
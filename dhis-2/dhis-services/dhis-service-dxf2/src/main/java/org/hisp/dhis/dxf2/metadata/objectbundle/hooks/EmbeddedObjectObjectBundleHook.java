@@ -29,8 +29,6 @@
  */
 package org.hisp.dhis.dxf2.metadata.objectbundle.hooks;
 
-import static org.hisp.dhis.schema.DefaultSchemaService.safeInvoke;
-
 import java.util.Collection;
 import java.util.function.Consumer;
 import lombok.AllArgsConstructor;
@@ -42,6 +40,7 @@ import org.hisp.dhis.feedback.ErrorReport;
 import org.hisp.dhis.hibernate.HibernateProxyUtils;
 import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.schema.Property;
+import org.hisp.dhis.schema.PropertyAccessors;
 import org.hisp.dhis.schema.PropertyType;
 import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.schema.validation.SchemaValidator;
@@ -68,7 +67,7 @@ public class EmbeddedObjectObjectBundleHook extends AbstractObjectBundleHook<Ide
         .forEach(
             propertyName -> {
               Property property = schema.getEmbeddedObjectProperties().get(propertyName);
-              Object propertyObject = safeInvoke(object, property.getGetterMethod());
+              Object propertyObject = PropertyAccessors.get(object, property);
 
               if (property.getPropertyType().equals(PropertyType.COMPLEX)) {
                 schemaValidator
@@ -132,10 +131,10 @@ public class EmbeddedObjectObjectBundleHook extends AbstractObjectBundleHook<Ide
         if (ReflectionUtils.isSharingProperty(property) && bundle.isSkipSharing()) {
           continue;
         }
-        Collection<?> collection = safeInvoke(object, property.getGetterMethod());
+        Collection<?> collection = PropertyAccessors.get(object, property);
         if (collection != null) collection.clear();
       } else {
-        ReflectionUtils.invokeMethod(object, property.getSetterMethod(), (Object) null);
+        PropertyAccessors.set(object, property, null);
       }
     }
   }
@@ -143,7 +142,7 @@ public class EmbeddedObjectObjectBundleHook extends AbstractObjectBundleHook<Ide
   private void handleEmbeddedObjects(
       IdentifiableObject object, ObjectBundle bundle, Collection<Property> properties) {
     for (Property property : properties) {
-      Object propertyObject = safeInvoke(object, property.getGetterMethod());
+      Object propertyObject = PropertyAccessors.get(object, property);
 
       if (property.isCollection()) {
         Collection<?> objects = (Collection<?>) propertyObject;
@@ -172,12 +171,11 @@ public class EmbeddedObjectObjectBundleHook extends AbstractObjectBundleHook<Ide
 
     for (Property embeddedProperty : embeddedSchema.getPropertyMap().values()) {
       if (PeriodType.class.isAssignableFrom(embeddedProperty.getKlass())) {
-        PeriodType periodType =
-            ReflectionUtils.invokeMethod(object, embeddedProperty.getGetterMethod());
+        PeriodType periodType = PropertyAccessors.get(object, embeddedProperty);
 
         if (periodType != null) {
           periodType = bundle.getPreheat().getPeriodTypeMap().get(periodType.getName());
-          ReflectionUtils.invokeMethod(object, embeddedProperty.getSetterMethod(), periodType);
+          PropertyAccessors.set(object, embeddedProperty, periodType);
         }
       }
     }
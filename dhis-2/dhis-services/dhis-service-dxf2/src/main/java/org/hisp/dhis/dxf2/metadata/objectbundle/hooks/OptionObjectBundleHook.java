@@ -29,6 +29,12 @@
  */
 package org.hisp.dhis.dxf2.metadata.objectbundle.hooks;
 
+import static java.util.stream.Collectors.toSet;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 import lombok.AllArgsConstructor;
 import org.apache.commons.lang3.ObjectUtils;
@@ -85,6 +91,40 @@ public class OptionObjectBundleHook extends AbstractObjectBundleHook<Option> {
     }
   }
 
+  /**
+   * Adds the options of the batch to their option sets like {@link #preCreate(Option,
+   * ObjectBundle)}, but collects the option UIDs of every option set only once instead of
+   * searching the options of the set for every option.
+   */
+  @Override
+  public void preCreateBatch(List<Option> options, ObjectBundle bundle) {
+    Map<String, Set<String>> optionUidsByOptionSet = new HashMap<>();
+
+    for (Option option : options) {
+      if (option.getOptionSet() == null) {
+        continue;
+      }
+
+      OptionSet optionSet =
+          bundle
+              .getPreheat()
+              .get(bundle.getPreheatIdentifier(), OptionSet.class, option.getOptionSet().getUid());
+
+      if (optionSet == null) {
+        continue;
+      }
+
+      Set<String> optionUids =
+          optionUidsByOptionSet.computeIfAbsent(
+              optionSet.getUid(),
+              uid -> optionSet.getOptions().stream().map(Option::getUid).collect(toSet()));
+
+      if (optionUids.add(option.getUid())) {
+        optionSet.addOption(option);
+      }
+    }
+  }
+
   private static boolean containsOption(OptionSet set, String uid) {
     return set.getOptions().stream().anyMatch(option -> option.getUid().equals(uid));
   }
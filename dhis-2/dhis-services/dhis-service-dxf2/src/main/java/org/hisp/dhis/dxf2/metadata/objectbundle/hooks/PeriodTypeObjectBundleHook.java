@@ -29,8 +29,6 @@
  */
 package org.hisp.dhis.dxf2.metadata.objectbundle.hooks;
 
-import static org.hisp.dhis.schema.DefaultSchemaService.safeInvoke;
-
 import lombok.AllArgsConstructor;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.dxf2.metadata.objectbundle.ObjectBundle;
@@ -38,8 +36,8 @@ import org.hisp.dhis.hibernate.HibernateProxyUtils;
 import org.hisp.dhis.period.PeriodService;
 import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.schema.Property;
+import org.hisp.dhis.schema.PropertyAccessors;
 import org.hisp.dhis.schema.Schema;
-import org.hisp.dhis.system.util.ReflectionUtils;
 import org.springframework.stereotype.Component;
 
 /**
@@ -56,12 +54,12 @@ public class PeriodTypeObjectBundleHook extends AbstractObjectBundleHook<Identif
 
     for (Property property : schema.getPropertyMap().values()) {
       if (PeriodType.class.isAssignableFrom(property.getKlass())) {
-        PeriodType periodType = safeInvoke(object, property.getGetterMethod());
+        PeriodType periodType = PropertyAccessors.get(object, property);
 
         if (periodType != null) {
           periodType = bundle.getPreheat().getPeriodTypeMap().get(periodType.getName());
           periodType = periodService.reloadPeriodType(periodType);
-          ReflectionUtils.invokeMethod(object, property.getSetterMethod(), periodType);
+          PropertyAccessors.set(object, property, periodType);
         }
       }
     }
@@ -74,11 +72,11 @@ public class PeriodTypeObjectBundleHook extends AbstractObjectBundleHook<Identif
 
     for (Property property : schema.getPropertyMap().values()) {
       if (PeriodType.class.isAssignableFrom(property.getKlass())) {
-        PeriodType periodType = safeInvoke(object, property.getGetterMethod());
+        PeriodType periodType = PropertyAccessors.get(object, property);
 
         if (periodType != null) {
           periodType = bundle.getPreheat().getPeriodTypeMap().get(periodType.getName());
-          ReflectionUtils.invokeMethod(object, property.getSetterMethod(), periodType);
+          PropertyAccessors.set(object, property, periodType);
         }
       }
     }
@@ -29,7 +29,9 @@
  */
 package org.hisp.dhis.dxf2.metadata.objectbundle.hooks;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
 import org.hisp.dhis.common.IdentifiableObject;
@@ -66,13 +68,7 @@ public class VersionedObjectObjectBundleHook extends AbstractObjectBundleHook<Id
 
   @Override
   public void postCreate(IdentifiableObject persistedObject, ObjectBundle bundle) {
-    VersionedObject versionedObject = null;
-
-    if (persistedObject instanceof Section) {
-      versionedObject = ((Section) persistedObject).getDataSet();
-    } else if (persistedObject instanceof Option) {
-      versionedObject = ((Option) persistedObject).getOptionSet();
-    }
+    VersionedObject versionedObject = getVersionedObject(persistedObject);
 
     if (versionedObject != null) {
       versionedObject.increaseVersion();
@@ -80,6 +76,36 @@ public class VersionedObjectObjectBundleHook extends AbstractObjectBundleHook<Id
     }
   }
 
+  /**
+   * Increases the version of every data set and option set once per created section or option, as
+   * {@link #postCreate} does, but saves each of them only once per batch.
+   */
+  @Override
+  public void postCreateBatch(List<IdentifiableObject> persistedObjects, ObjectBundle bundle) {
+    Set<VersionedObject> versionedObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    for (IdentifiableObject persistedObject : persistedObjects) {
+      VersionedObject versionedObject = getVersionedObject(persistedObject);
+
+      if (versionedObject != null) {
+        versionedObject.increaseVersion();
+        versionedObjects.add(versionedObject);
+      }
+    }
+
+    versionedObjects.forEach(versionedObject -> getSession().save(versionedObject));
+  }
+
+  private VersionedObject getVersionedObject(IdentifiableObject persistedObject) {
+    if (persistedObject instanceof Section section) {
+      return section.getDataSet();
+    } else if (persistedObject instanceof Option option) {
+      return option.getOptionSet();
+    }
+
+    return null;
+  }
+
   @Override
   public <T extends IdentifiableObject> void postTypeImport(
       Class<T> klass, List<T> objects, ObjectBundle bundle) {
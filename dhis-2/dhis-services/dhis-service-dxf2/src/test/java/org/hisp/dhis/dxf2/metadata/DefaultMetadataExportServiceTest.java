@@ -34,16 +34,32 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import org.hibernate.Session;
 import org.hisp.dhis.category.CategoryCombo;
+import org.hisp.dhis.category.CategoryOption;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.SetMap;
 import org.hisp.dhis.dashboard.Dashboard;
@@ -52,6 +68,11 @@ import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.eventchart.EventChart;
 import org.hisp.dhis.eventreport.EventReport;
 import org.hisp.dhis.eventvisualization.EventVisualization;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.fieldfilter.Defaults;
+import org.hisp.dhis.fieldfiltering.FieldFilterParams;
+import org.hisp.dhis.fieldfiltering.FieldFilterService;
 import org.hisp.dhis.mapping.MapView;
 import org.hisp.dhis.option.Option;
 import org.hisp.dhis.option.OptionGroup;
@@ -64,8 +85,12 @@ import org.hisp.dhis.programrule.ProgramRuleVariableService;
 import org.hisp.dhis.query.Query;
 import org.hisp.dhis.query.QueryService;
 import org.hisp.dhis.scheduling.JobConfiguration;
+import org.hisp.dhis.schema.Property;
 import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.system.SystemInfo.SystemInfoForMetadataExport;
+import org.hisp.dhis.system.SystemService;
+import org.hisp.dhis.user.CurrentUserUtil;
 import org.hisp.dhis.user.SystemUser;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -74,10 +99,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 
 /**
  * Unit tests for {@link DefaultMetadataExportService}.
@@ -94,6 +122,18 @@ class DefaultMetadataExportServiceTest {
 
   @Mock private QueryService queryService;
 
+  @Mock private FieldFilterService fieldFilterService;
+
+  @Mock private SystemService systemService;
+
+  @Mock private DhisConfigurationProvider config;
+
+  @Mock private EntityManager entityManager;
+
+  @Mock private Session session;
+
+  @Spy private ObjectMapper objectMapper = new ObjectMapper();
+
   @InjectMocks private DefaultMetadataExportService service;
 
   @Test
@@ -229,6 +269,130 @@ class DefaultMetadataExportServiceTest {
         3, params.getClasses().size(), "EventChart and EventReport classes should not be present");
   }
 
+  @Test
+  void testMetadataExportAsNodeStreamIsWrittenInPages() throws IOException {
+    List<DataElement> dataElements =
+        IntStream.range(0, 5)
+            .mapToObj(
+                i -> {
+                  DataElement dataElement = new DataElement("dataElement" + i);
+                  dataElement.setUid("dataElemen" + i);
+                  return dataElement;
+                })
+            .toList();
+    MetadataExportParams params = new MetadataExportParams();
+    params.addClass(DataElement.class);
+    params.setCurrentUserDetails(new SystemUser());
+
+    when(systemService.getSystemInfoForMetadataExport())
+        .thenReturn(new SystemInfoForMetadataExport("id", "rev", "version", new Date()));
+    when(queryService.getQueryFromUrl(eq(DataElement.class), any()))
+        .thenReturn(Query.of(DataElement.class));
+    when(queryService.query(any())).thenAnswer(queryObjects(dataElements));
+    when(config.getIntProperty(ConfigurationKey.METADATA_EXPORT_PAGE_SIZE)).thenReturn(2);
+    when(schemaService.getSchema(DataElement.class))
+        .thenReturn(schemaWithId(DataElement.class, "dataElement", "dataElements"));
+    when(entityManager.unwrap(Session.class)).thenReturn(session);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CurrentUserUtil.injectUserInSecurityContext(new SystemUser());
+    try {
+      service.getMetadataAsObjectNodeStream(params, out);
+    } finally {
+      CurrentUserUtil.clearSecurityContext();
+    }
+
+    verify(queryService, times(3)).query(any());
+    verify(fieldFilterService, times(3)).toObjectNodesStream(any(), anyBoolean(), any());
+    verify(session, times(3)).clear();
+
+    JsonNode rootNode = objectMapper.readTree(out.toByteArray());
+    assertNotNull(rootNode.get("system"));
+    assertNotNull(rootNode.get("dataElements"));
+  }
+
+  @Test
+  void testMetadataExportAsNodeStreamKeepsPagingAfterDefaultObject() throws IOException {
+    List<CategoryOption> categoryOptions =
+        IntStream.range(0, 5)
+            .mapToObj(
+                i -> {
+                  CategoryOption categoryOption =
+                      new CategoryOption(i == 2 ? "default" : "categoryOption" + i);
+                  categoryOption.setUid("categoryOp" + i);
+                  return categoryOption;
+                })
+            .toList();
+    MetadataExportParams params = new MetadataExportParams();
+    params.addClass(CategoryOption.class);
+    params.setDefaults(Defaults.EXCLUDE);
+    params.setCurrentUserDetails(new SystemUser());
+
+    when(systemService.getSystemInfoForMetadataExport())
+        .thenReturn(new SystemInfoForMetadataExport("id", "rev", "version", new Date()));
+    when(queryService.getQueryFromUrl(eq(CategoryOption.class), any()))
+        .thenReturn(Query.of(CategoryOption.class));
+    when(queryService.query(any())).thenAnswer(queryObjects(categoryOptions));
+    when(config.getIntProperty(ConfigurationKey.METADATA_EXPORT_PAGE_SIZE)).thenReturn(2);
+    when(schemaService.getSchema(CategoryOption.class))
+        .thenReturn(schemaWithId(CategoryOption.class, "categoryOption", "categoryOptions"));
+    when(entityManager.unwrap(Session.class)).thenReturn(session);
+
+    CurrentUserUtil.injectUserInSecurityContext(new SystemUser());
+    try {
+      service.getMetadataAsObjectNodeStream(params, new ByteArrayOutputStream());
+    } finally {
+      CurrentUserUtil.clearSecurityContext();
+    }
+
+    // the default object is the first object of the second page
+    ArgumentCaptor<FieldFilterParams<?>> captor = ArgumentCaptor.forClass(FieldFilterParams.class);
+    verify(queryService, times(3)).query(any());
+    verify(fieldFilterService, times(3)).toObjectNodesStream(captor.capture(), anyBoolean(), any());
+    assertEquals(
+        List.of(
+            categoryOptions.get(0),
+            categoryOptions.get(1),
+            categoryOptions.get(3),
+            categoryOptions.get(4)),
+        captor.getAllValues().stream().flatMap(p -> p.getObjects().stream()).toList());
+  }
+
+  private static Schema schemaWithId(Class<?> klass, String singular, String plural) {
+    Schema schema = new Schema(klass, singular, plural);
+    Property id = new Property(String.class);
+    id.setName("id");
+    id.setPersisted(true);
+    schema.addProperty(id);
+    return schema;
+  }
+
+  /**
+   * Answers queries for the given objects like the query service does: filtered by the id filters
+   * of the query, ordered by id, limited to the page size and without the default objects unless
+   * they are included.
+   */
+  private static <T extends IdentifiableObject> Answer<List<T>> queryObjects(List<T> objects) {
+    return invocation -> {
+      Query<?> query = invocation.getArgument(0);
+      List<T> page =
+          objects.stream()
+              .filter(
+                  object ->
+                      query.getFilters().stream()
+                          .allMatch(filter -> filter.getOperator().test(object.getUid())))
+              .sorted(Comparator.comparing(IdentifiableObject::getUid))
+              .limit(query.getMaxResults())
+              .collect(Collectors.toCollection(ArrayList::new));
+
+      if (Defaults.EXCLUDE == query.getDefaults()) {
+        page.removeIf(object -> "default".equals(object.getName()));
+      }
+
+      return page;
+    };
+  }
+
   @ParameterizedTest
   @MethodSource(value = "schemaSources")
   @DisplayName("Deprecated Analytic schema predicate returns the correct result")
@@ -92,6 +92,32 @@ class OptionObjectBundleHookTest {
     Assertions.assertSame(option, optionSet.getOptions().get(0));
   }
 
+  @Test
+  void preCreateBatch() {
+    OptionSet optionSet = new OptionSet();
+    optionSet.setUid("jadhjSHdhs");
+
+    Option optionA = createOption("OptionUidA", optionSet);
+    optionSet.addOption(optionA);
+    Option optionB = createOption("OptionUidB", optionSet);
+    Option optionC = createOption("OptionUidC", optionSet);
+
+    preheat.put(PreheatIdentifier.UID, optionSet);
+
+    ObjectBundleParams objectBundleParams = new ObjectBundleParams();
+    objectBundleParams.setPreheatIdentifier(PreheatIdentifier.UID);
+
+    final Map<Class<? extends IdentifiableObject>, List<IdentifiableObject>> objectMap =
+        new HashMap<>();
+    objectMap.put(OptionSet.class, singletonList(optionSet));
+    objectMap.put(Option.class, List.of(optionA, optionB, optionC));
+
+    ObjectBundle bundle = new ObjectBundle(objectBundleParams, preheat, objectMap);
+    hook.preCreateBatch(List.of(optionA, optionB, optionC), bundle);
+
+    Assertions.assertEquals(List.of(optionA, optionB, optionC), optionSet.getOptions());
+  }
+
   @Test
   void validate() {
     OptionSet optionSet = new OptionSet();
@@ -119,4 +145,11 @@ class OptionObjectBundleHookTest {
     Assertions.assertEquals(1, errors.size());
     Assertions.assertEquals(ErrorCode.E4028, errors.get(0).getErrorCode());
   }
+
+  private static Option createOption(String uid, OptionSet optionSet) {
+    Option option = new Option();
+    option.setUid(uid);
+    option.setOptionSet(optionSet);
+    return option;
+  }
 }
@@ -44,16 +44,35 @@ import lombok.Data;
 public class EventHookContext {
   @Builder.Default Map<String, List<Handler>> targets = new HashMap<>();
 
+  /** The outbox identifiers of the targets, in the same order as the handlers in targets. */
+  @Builder.Default Map<String, List<String>> targetIds = new HashMap<>();
+
   @Builder.Default List<EventHook> eventHooks = new ArrayList<>();
 
   public boolean hasTarget(String uid) {
-    return targets.containsKey(uid) || targets.get(uid).isEmpty();
+    return targets.containsKey(uid) && !targets.get(uid).isEmpty();
   }
 
   public List<Handler> getTarget(String uid) {
     return targets.get(uid);
   }
 
+  public List<String> getTargetIds(String uid) {
+    return targetIds.getOrDefault(uid, List.of());
+  }
+
+  /**
+   * Gets the handler of an event hook target by its outbox identifier.
+   *
+   * @param uid the event hook UID.
+   * @param targetId the target identifier.
+   * @return the {@link Handler}, or null if the event hook has no such target.
+   */
+  public Handler getTarget(String uid, String targetId) {
+    int index = getTargetIds(uid).indexOf(targetId);
+    return index < 0 ? null : targets.get(uid).get(index);
+  }
+
   public void closeTargets() {
     targets.values().forEach(handlers -> handlers.forEach(Handler::close));
   }
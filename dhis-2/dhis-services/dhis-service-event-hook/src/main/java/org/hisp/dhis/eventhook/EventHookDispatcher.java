@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.eventhook;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.EVENT_HOOKS_OUTBOX_BATCH_SIZE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.EVENT_HOOKS_OUTBOX_ENABLED;
+import static org.hisp.dhis.external.conf.ConfigurationKey.EVENT_HOOKS_OUTBOX_MAX_ATTEMPTS;
+import static org.hisp.dhis.external.conf.ConfigurationKey.EVENT_HOOKS_OUTBOX_THREADS;
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_EVENT_HOOKS_ENABLED;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.eventhook.outbox.EventHookOutboxStore;
+import org.hisp.dhis.eventhook.outbox.OutboxEvent;
+import org.hisp.dhis.eventhook.outbox.OutboxTarget;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.feedback.NotFoundException;
+import org.hisp.dhis.user.AuthenticationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers the events of the event hook outbox, when enabled through {@code
+ * event_hooks.outbox.enabled}.
+ *
+ * <p>Each target of an event hook is delivered to in batches of at most {@code
+ * event_hooks.outbox.batch_size} events, in the order the events were added. At most {@code
+ * event_hooks.outbox.threads} targets are delivered to concurrently, and a target is never
+ * delivered to by more than one thread of an instance. Claimed events are leased, so that several
+ * instances can share the outbox. The lease is renewed while a batch is delivered. If it was lost
+ * anyway, because a delivery took longer than the lease, delivery of the batch stops, as the
+ * remaining events have been claimed by another instance. An event is delivered at least once.
+ *
+ * <p>When a delivery fails, the event and all later events of the target are retried with
+ * exponential backoff. After {@code event_hooks.outbox.max_attempts} failed attempts the event is
+ * discarded.
+ *
+ * <p>When {@code monitoring.eventhooks.enabled} is on, the following metrics are recorded:
+ *
+ * <ul>
+ *   <li>{@code eventhook.outbox.delivered}: events delivered, tagged by event hook.
+ *   <li>{@code eventhook.outbox.failed}: failed delivery attempts, tagged by event hook.
+ *   <li>{@code eventhook.outbox.discarded}: events discarded, tagged by event hook.
+ *   <li>{@code eventhook.outbox.lag}: age in seconds of the oldest event in the outbox.
+ * </ul>
+ */
+@Slf4j
+@Component
+public class EventHookDispatcher {
+  static final String METRIC_DELIVERED = "eventhook.outbox.delivered";
+
+  static final String METRIC_FAILED = "eventhook.outbox.failed";
+
+  static final String METRIC_DISCARDED = "eventhook.outbox.discarded";
+
+  static final String METRIC_LAG = "eventhook.outbox.lag";
+
+  private static final String TAG_EVENT_HOOK = "eventHook";
+
+  private static final Duration LEASE = Duration.ofMinutes(5);
+
+  private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+  private final EventHookListener eventHookListener;
+
+  private final EventHookOutboxStore outboxStore;
+
+  private final AuthenticationService authenticationService;
+
+  private final MeterRegistry meterRegistry;
+
+  private final boolean enabled;
+
+  private final boolean metricsEnabled;
+
+  private final int batchSize;
+
+  private final int maxAttempts;
+
+  private final ThreadPoolTaskExecutor executor;
+
+  /** Targets currently being delivered to by this instance. */
+  private final Set<OutboxTarget> inFlight = ConcurrentHashMap.newKeySet();
+
+  private final AtomicLong lag = new AtomicLong();
+
+  private final Clock clock;
+
+  @Autowired
+  public EventHookDispatcher(
+      EventHookListener eventHookListener,
+      EventHookOutboxStore outboxStore,
+      AuthenticationService authenticationService,
+      MeterRegistry meterRegistry,
+      DhisConfigurationProvider config) {
+    this(
+        eventHookListener,
+        outboxStore,
+        authenticationService,
+        meterRegistry,
+        config,
+        Clock.systemUTC());
+  }
+
+  EventHookDispatcher(
+      EventHookListener eventHookListener,
+      EventHookOutboxStore outboxStore,
+      AuthenticationService authenticationService,
+      MeterRegistry meterRegistry,
+      DhisConfigurationProvider config,
+      Clock clock) {
+    this.clock = clock;
+    this.eventHookListener = eventHookListener;
+    this.outboxStore = outboxStore;
+    this.authenticationService = authenticationService;
+    this.meterRegistry = meterRegistry;
+    this.enabled = config.isEnabled(EVENT_HOOKS_OUTBOX_ENABLED);
+    this.metricsEnabled = config.isEnabled(MONITORING_EVENT_HOOKS_ENABLED);
+    this.batchSize = config.getIntProperty(EVENT_HOOKS_OUTBOX_BATCH_SIZE);
+    this.maxAttempts = config.getIntProperty(EVENT_HOOKS_OUTBOX_MAX_ATTEMPTS);
+    this.executor =
+        enabled ? createExecutor(config.getIntProperty(EVENT_HOOKS_OUTBOX_THREADS)) : null;
+
+    if (enabled && metricsEnabled) {
+      Gauge.builder(METRIC_LAG, lag, AtomicLong::get)
+          .description("Age in seconds of the oldest event in the event hook outbox")
+          .register(meterRegistry);
+    }
+  }
+
+  private static ThreadPoolTaskExecutor createExecutor(int threads) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setThreadNamePrefix("EventHookOutbox-");
+    executor.initialize();
+    return executor;
+  }
+
+  @Scheduled(fixedDelay = 1_000)
+  public void dispatch() {
+    if (!enabled) {
+      return;
+    }
+
+    try {
+      if (metricsEnabled) {
+        lag.set(outboxStore.getLagSeconds());
+      }
+
+      for (OutboxTarget target : outboxStore.getDueTargets()) {
+        if (inFlight.add(target)) {
+          executor.execute(
+              () -> {
+                try {
+                  deliver(target);
+                } finally {
+                  inFlight.remove(target);
+                }
+              });
+        }
+      }
+    } catch (RuntimeException ex) {
+      log.error("Event hook outbox dispatch failed", ex);
+    }
+  }
+
+  /** Delivers the due events of a target, until the target has no more due events. */
+  void deliver(OutboxTarget target) {
+    EventHookContext context = eventHookListener.getEventHookContext();
+    EventHook eventHook = getEventHook(context, target.eventHook());
+    Handler handler = context.getTarget(target.eventHook(), target.targetId());
+
+    if (eventHook == null || handler == null) {
+      log.warn(
+          "Discarding outbox events of EventHook '{}' target {}, the event hook or target is"
+              + " disabled or no longer exists",
+          target.eventHook(),
+          target.targetId());
+      outboxStore.remove(target);
+      return;
+    }
+
+    try {
+      authenticationService.obtainAuthentication(eventHook.getUser().getUid());
+
+      List<OutboxEvent> events;
+      boolean delivered;
+      do {
+        String leaseId = CodeGenerator.generateUid();
+        events = outboxStore.claim(target, batchSize, LEASE, leaseId);
+        delivered = deliver(target, eventHook, handler, events, leaseId);
+      } while (delivered && events.size() == batchSize);
+    } catch (NotFoundException ex) {
+      log.warn("Skipping EventHook '{}': {}", eventHook.getUid(), ex.getMessage());
+    } finally {
+      authenticationService.clearAuthentication();
+    }
+  }
+
+  /**
+   * Delivers a batch of events in order and removes delivered and discarded events from the
+   * outbox. Stops at the first event which fails and is retried, or when the lease of the batch was
+   * lost.
+   *
+   * @return true if all events were delivered.
+   */
+  private boolean deliver(
+      OutboxTarget target,
+      EventHook eventHook,
+      Handler handler,
+      List<OutboxEvent> events,
+      String leaseId) {
+    List<Long> done = new ArrayList<>();
+    Instant renewAt = clock.instant().plus(LEASE.dividedBy(2));
+
+    try {
+      for (OutboxEvent event : events) {
+        if (clock.instant().isAfter(renewAt)) {
+          // delivered and discarded events are only removed after the batch, so all are held
+          if (outboxStore.renew(leaseId, LEASE) < events.size()) {
+            log.warn(
+                "Lease of outbox events of EventHook '{}' expired, events not yet delivered are"
+                    + " left to the instance which claimed them",
+                eventHook.getUid());
+            return false;
+          }
+          renewAt = clock.instant().plus(LEASE.dividedBy(2));
+        }
+
+        try {
+          handler.run(eventHook, null, event.payload());
+          done.add(event.id());
+          count(METRIC_DELIVERED, "Delivered event hook outbox events", eventHook);
+        } catch (RuntimeException ex) {
+          count(METRIC_FAILED, "Failed event hook outbox delivery attempts", eventHook);
+
+          if (event.attempts() + 1 >= maxAttempts) {
+            log.error(
+                "Discarding outbox event of EventHook '{}' after {} failed attempts: {}",
+                eventHook.getUid(),
+                event.attempts() + 1,
+                ex.getMessage());
+            count(METRIC_DISCARDED, "Discarded event hook outbox events", eventHook);
+            done.add(event.id());
+            continue;
+          }
+
+          Duration backoff = getBackoff(event.attempts());
+          log.warn(
+              "Delivery of outbox event of EventHook '{}' failed, retrying in {}: {}",
+              eventHook.getUid(),
+              backoff,
+              ex.getMessage());
+          outboxStore.postpone(target, event, backoff, ex.getMessage());
+          return false;
+        }
+      }
+      return true;
+    } finally {
+      outboxStore.remove(done);
+    }
+  }
+
+  /**
+   * Gets the delay before the next attempt of an event, doubling with each failed attempt starting
+   * at one second and capped at an hour.
+   *
+   * @param attempts the number of failed attempts before the current one.
+   * @return the delay.
+   */
+  static Duration getBackoff(int attempts) {
+    Duration backoff = Duration.ofSeconds(1L << Math.min(attempts, 20));
+    return backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+  }
+
+  private void count(String metric, String description, EventHook eventHook) {
+    if (metricsEnabled) {
+      Counter.builder(metric)
+          .description(description)
+          .tag(TAG_EVENT_HOOK, eventHook.getUid())
+          .register(meterRegistry)
+          .increment();
+    }
+  }
+
+  private static EventHook getEventHook(EventHookContext context, String uid) {
+    return context.getEventHooks().stream()
+        .filter(eh -> uid.equals(eh.getUid()) && !eh.isDisabled())
+        .findFirst()
+        .orElse(null);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+}
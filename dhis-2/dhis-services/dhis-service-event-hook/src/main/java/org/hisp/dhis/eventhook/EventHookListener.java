@@ -40,14 +40,19 @@ import java.util.Map;
 import javax.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.eventhook.handlers.ConsoleHandler;
 import org.hisp.dhis.eventhook.handlers.JmsHandler;
 import org.hisp.dhis.eventhook.handlers.KafkaHandler;
 import org.hisp.dhis.eventhook.handlers.WebhookHandler;
+import org.hisp.dhis.eventhook.outbox.EventHookOutboxStore;
+import org.hisp.dhis.eventhook.outbox.OutboxTarget;
 import org.hisp.dhis.eventhook.targets.ConsoleTarget;
 import org.hisp.dhis.eventhook.targets.JmsTarget;
 import org.hisp.dhis.eventhook.targets.KafkaTarget;
 import org.hisp.dhis.eventhook.targets.WebhookTarget;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.feedback.NotFoundException;
 import org.hisp.dhis.fieldfiltering.FieldFilterService;
 import org.hisp.dhis.user.AuthenticationService;
@@ -55,6 +60,8 @@ import org.hisp.dhis.user.User;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
@@ -62,6 +69,7 @@ import org.springframework.transaction.event.TransactionalEventListener;
 /**
  * @author Morten Olav Hansen
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class EventHookListener {
@@ -77,17 +85,56 @@ public class EventHookListener {
 
   private final AuthenticationService authenticationService;
 
+  private final EventHookOutboxStore outboxStore;
+
+  private final DhisConfigurationProvider config;
+
   @Async("eventHookTaskExecutor")
   @TransactionalEventListener(
       classes = Event.class,
       phase = TransactionPhase.AFTER_COMMIT,
       fallbackExecution = true)
-  public void onEvent(final Event event) throws JsonProcessingException, NotFoundException {
+  public void onEvent(final Event event) {
+    if (isOutboxEnabled()) {
+      return;
+    }
+
+    forEachEventHook(event, this::emit);
+  }
+
+  /**
+   * Adds the event to the outbox in the transaction which published it, when delivery through the
+   * outbox is enabled. The outbox is delivered by {@link EventHookDispatcher}.
+   */
+  @TransactionalEventListener(
+      classes = Event.class,
+      phase = TransactionPhase.BEFORE_COMMIT,
+      fallbackExecution = true)
+  public void onEventBeforeCommit(final Event event) {
+    if (!isOutboxEnabled()) {
+      return;
+    }
+
+    // the event hook users are authenticated in turn, the publishing transaction continues after
+    SecurityContext securityContext = SecurityContextHolder.getContext();
+
+    try {
+      forEachEventHook(event, this::addToOutbox);
+    } finally {
+      SecurityContextHolder.setContext(securityContext);
+    }
+  }
 
+  private void forEachEventHook(Event event, EventConsumer consumer) {
     for (EventHook eventHook : eventHookContext.getEventHooks()) {
       final Event filteredEvent;
       User eventHookUser = eventHook.getUser();
-      authenticationService.obtainAuthentication(eventHookUser.getUid());
+      try {
+        authenticationService.obtainAuthentication(eventHookUser.getUid());
+      } catch (NotFoundException ex) {
+        log.warn("Skipping EventHook '{}': {}", eventHook.getUid(), ex.getMessage());
+        continue;
+      }
 
       if (event.getPath().startsWith(eventHook.getSource().getPath())) {
         if (!eventHookContext.hasTarget(eventHook.getUid())) {
@@ -107,7 +154,14 @@ public class EventHookListener {
           filteredEvent = event.withObject(objectNode);
         }
 
-        emit(filteredEvent, eventHook);
+        try {
+          consumer.accept(filteredEvent, eventHook);
+        } catch (JsonProcessingException ex) {
+          log.error(
+              "Could not serialize event for EventHook '{}': {}",
+              eventHook.getUid(),
+              ex.getMessage());
+        }
       }
     }
   }
@@ -118,11 +172,29 @@ public class EventHookListener {
       List<Handler> handlers = eventHookContext.getTarget(eventHook.getUid());
 
       for (Handler handler : handlers) {
-        handler.run(eventHook, event, payload);
+        try {
+          handler.run(eventHook, event, payload);
+        } catch (RuntimeException ex) {
+          log.error("EventHook '{}' delivery failed: {}", eventHook.getUid(), ex.getMessage());
+        }
       }
     }
   }
 
+  private void addToOutbox(Event event, EventHook eventHook) throws JsonProcessingException {
+    String payload = objectMapper.writeValueAsString(event);
+    outboxStore.add(eventHook.getUid(), eventHookContext.getTargetIds(eventHook.getUid()), payload);
+  }
+
+  private boolean isOutboxEnabled() {
+    return config.isEnabled(ConfigurationKey.EVENT_HOOKS_OUTBOX_ENABLED);
+  }
+
+  @FunctionalInterface
+  private interface EventConsumer {
+    void accept(Event event, EventHook eventHook) throws JsonProcessingException;
+  }
+
   @PostConstruct
   @EventListener(ReloadEventHookListeners.class)
   public void reload() {
@@ -130,6 +202,7 @@ public class EventHookListener {
 
     List<EventHook> eventHooks = eventHookService.getAll();
     Map<String, List<Handler>> targets = new HashMap<>();
+    Map<String, List<String>> targetIds = new HashMap<>();
 
     for (EventHook eh : eventHooks) {
       if (eh.isDisabled()) {
@@ -137,22 +210,36 @@ public class EventHookListener {
       }
 
       targets.put(eh.getUid(), new ArrayList<>());
+      targetIds.put(eh.getUid(), new ArrayList<>());
 
       for (Target target : eh.getTargets()) {
-        if (WebhookTarget.TYPE.equals(target.getType())) {
-          targets
-              .get(eh.getUid())
-              .add(new WebhookHandler(applicationContext, (WebhookTarget) target));
-        } else if (ConsoleTarget.TYPE.equals(target.getType())) {
-          targets.get(eh.getUid()).add(new ConsoleHandler((ConsoleTarget) target));
-        } else if (JmsTarget.TYPE.equals(target.getType())) {
-          targets.get(eh.getUid()).add(new JmsHandler((JmsTarget) target));
-        } else if (KafkaTarget.TYPE.equals(target.getType())) {
-          targets.get(eh.getUid()).add(new KafkaHandler((KafkaTarget) target));
+        Handler handler = createHandler(target);
+
+        if (handler != null) {
+          targets.get(eh.getUid()).add(handler);
+          targetIds.get(eh.getUid()).add(OutboxTarget.getTargetId(objectMapper, target));
         }
       }
     }
 
-    eventHookContext = EventHookContext.builder().eventHooks(eventHooks).targets(targets).build();
+    eventHookContext =
+        EventHookContext.builder()
+            .eventHooks(eventHooks)
+            .targets(targets)
+            .targetIds(targetIds)
+            .build();
+  }
+
+  private Handler createHandler(Target target) {
+    if (WebhookTarget.TYPE.equals(target.getType())) {
+      return new WebhookHandler(applicationContext, (WebhookTarget) target);
+    } else if (ConsoleTarget.TYPE.equals(target.getType())) {
+      return new ConsoleHandler((ConsoleTarget) target);
+    } else if (JmsTarget.TYPE.equals(target.getType())) {
+      return new JmsHandler((JmsTarget) target);
+    } else if (KafkaTarget.TYPE.equals(target.getType())) {
+      return new KafkaHandler((KafkaTarget) target);
+    }
+    return null;
   }
 }
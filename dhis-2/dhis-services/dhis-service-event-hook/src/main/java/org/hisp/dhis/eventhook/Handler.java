@@ -34,6 +34,15 @@ package org.hisp.dhis.eventhook;
  */
 @FunctionalInterface
 public interface Handler extends AutoCloseable {
+  /**
+   * Delivers an event to the target of the handler.
+   *
+   * @param eventHook the event hook.
+   * @param event the event, or null when delivering from the outbox where only the payload is
+   *     stored.
+   * @param payload the serialized event.
+   * @throws RuntimeException if the event could not be delivered.
+   */
   void run(EventHook eventHook, Event event, String payload);
 
   @Override
@@ -94,13 +94,12 @@ public class JmsHandler implements Handler {
   @Override
   public void run(EventHook eventHook, Event event, String payload) {
     if (jmsTemplate == null) {
-      log.error(
+      throw new IllegalStateException(
           "Jms is not properly configured. Please check Event Hook '"
               + eventHook.getName()
               + "' with ID '"
               + eventHook.getUid()
               + "'");
-      return;
     }
 
     if (target.isUseQueue()) {
@@ -118,6 +117,7 @@ public class JmsHandler implements Handler {
           "Could not send message to JMS target: "
               + target.getBrokerUrl()
               + ", check and validate that your broker is up and running on the correct address");
+      throw ex;
     }
   }
 
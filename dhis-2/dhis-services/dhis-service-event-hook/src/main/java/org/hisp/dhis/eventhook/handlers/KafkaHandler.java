@@ -30,7 +30,7 @@
 package org.hisp.dhis.eventhook.handlers;
 
 import java.util.Map;
-import lombok.extern.slf4j.Slf4j;
+import java.util.concurrent.ExecutionException;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.serialization.StringSerializer;
@@ -42,7 +42,6 @@ import org.hisp.dhis.eventhook.targets.KafkaTarget;
 /**
  * @author Morten Olav Hansen
  */
-@Slf4j
 public class KafkaHandler implements Handler {
   private final KafkaTarget target;
 
@@ -88,16 +87,23 @@ public class KafkaHandler implements Handler {
   @Override
   public void run(EventHook eventHook, Event event, String payload) {
     if (producer == null) {
-      log.error(
+      throw new IllegalStateException(
           "Kafka is not properly configured. Please check Event Hook '"
               + eventHook.getName()
               + "' with ID '"
               + eventHook.getUid()
               + "'");
-      return;
     }
 
-    producer.send(new ProducerRecord<>(target.getTopic(), null, payload));
+    try {
+      producer.send(new ProducerRecord<>(target.getTopic(), null, payload)).get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while sending message to Kafka", ex);
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException(
+          "Could not send message to Kafka topic: " + target.getTopic(), ex.getCause());
+    }
   }
 
   @Override
@@ -50,7 +50,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
@@ -96,17 +95,13 @@ public class WebhookHandler implements Handler {
             .queryParams(queryParams)
             .toUriString();
 
-    try {
-      ResponseEntity<String> response =
-          restTemplate.postForEntity(webhookUri, httpEntity, String.class);
+    ResponseEntity<String> response =
+        restTemplate.postForEntity(webhookUri, httpEntity, String.class);
 
-      log.info(
-          "EventHook '{}' response status '{}'",
-          eventHook.getUid(),
-          HttpUtils.resolve(response.getStatusCode()).name());
-    } catch (RestClientException ex) {
-      log.error(ex.getMessage());
-    }
+    log.info(
+        "EventHook '{}' response status '{}'",
+        eventHook.getUid(),
+        HttpUtils.resolve(response.getStatusCode()).name());
   }
 
   private void configure(RestTemplate template) {
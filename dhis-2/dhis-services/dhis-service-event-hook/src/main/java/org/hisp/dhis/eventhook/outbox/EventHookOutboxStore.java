@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.eventhook.outbox;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Store for the {@code eventhookoutbox} table, which holds the events of event hooks waiting to be
+ * delivered. An event is stored once for each target of its event hook, so that targets are
+ * delivered to and retried independently.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventHookOutboxStore {
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Adds an event to the outbox for all targets of the given event hook. Uses the current
+   * transaction, so that the event is only stored if the change it describes is committed.
+   *
+   * @param eventHook the event hook UID.
+   * @param targetIds the identifiers of the targets of the event hook, see {@link
+   *     OutboxTarget#getTargetId}.
+   * @param payload the serialized event.
+   */
+  public void add(String eventHook, List<String> targetIds, String payload) {
+    jdbcTemplate.batchUpdate(
+        "insert into eventhookoutbox (eventhookuid, targetid, payload) values (?, ?, ?)",
+        targetIds,
+        targetIds.size(),
+        (ps, targetId) -> {
+          ps.setString(1, eventHook);
+          ps.setString(2, targetId);
+          ps.setString(3, payload);
+        });
+  }
+
+  /**
+   * Gets the targets with events which are due for delivery.
+   *
+   * @return the {@link OutboxTarget} list.
+   */
+  public List<OutboxTarget> getDueTargets() {
+    return jdbcTemplate.query(
+        """
+        select distinct eventhookuid, targetid from eventhookoutbox
+        where nextattempt <= now()""",
+        (rs, rowNum) -> new OutboxTarget(rs.getString(1), rs.getString(2)));
+  }
+
+  /**
+   * Claims the oldest due events of a target. Claimed events are not due again until the given
+   * lease has expired, so that an event is only delivered by one instance at a time. Events locked
+   * by other instances are skipped. The claimed events are marked with the given lease identifier,
+   * so that the lease can be renewed with {@link #renew(String, Duration)}.
+   *
+   * @param target the {@link OutboxTarget}.
+   * @param limit the maximum number of events to claim.
+   * @param lease the lease of the claim.
+   * @param leaseId the identifier of the claim.
+   * @return the claimed {@link OutboxEvent} list ordered by creation.
+   */
+  public List<OutboxEvent> claim(OutboxTarget target, int limit, Duration lease, String leaseId) {
+    List<OutboxEvent> events =
+        jdbcTemplate.query(
+            """
+            update eventhookoutbox
+            set nextattempt = now() + make_interval(secs => ?), leaseid = ?
+            where eventhookoutboxid in (
+              select eventhookoutboxid from eventhookoutbox
+              where eventhookuid = ? and targetid = ? and nextattempt <= now()
+              order by eventhookoutboxid
+              limit ?
+              for update skip locked)
+            returning eventhookoutboxid, payload, attempts, created""",
+            (rs, rowNum) ->
+                new OutboxEvent(
+                    rs.getLong(1), rs.getString(2), rs.getInt(3), rs.getTimestamp(4).toInstant()),
+            lease.toSeconds(),
+            leaseId,
+            target.eventHook(),
+            target.targetId(),
+            limit);
+
+    return events.stream().sorted(Comparator.comparingLong(OutboxEvent::id)).toList();
+  }
+
+  /**
+   * Extends the lease of the events still held by a claim. Events which were claimed again after
+   * the lease expired are no longer held by the claim and are not extended.
+   *
+   * @param leaseId the identifier of the claim.
+   * @param lease the new lease, starting now.
+   * @return the number of events still held by the claim.
+   */
+  public int renew(String leaseId, Duration lease) {
+    return jdbcTemplate.update(
+        """
+        update eventhookoutbox set nextattempt = now() + make_interval(secs => ?)
+        where leaseid = ?""",
+        lease.toSeconds(),
+        leaseId);
+  }
+
+  /**
+   * Removes delivered or discarded events.
+   *
+   * @param ids the identifiers of the events.
+   */
+  public void remove(List<Long> ids) {
+    jdbcTemplate.batchUpdate(
+        "delete from eventhookoutbox where eventhookoutboxid = ?",
+        ids,
+        ids.size(),
+        (ps, id) -> ps.setLong(1, id));
+  }
+
+  /**
+   * Removes all events of a target.
+   *
+   * @param target the {@link OutboxTarget}.
+   */
+  public void remove(OutboxTarget target) {
+    jdbcTemplate.update(
+        "delete from eventhookoutbox where eventhookuid = ? and targetid = ?",
+        target.eventHook(),
+        target.targetId());
+  }
+
+  /**
+   * Records a failed delivery of an event. The event and all later events of the same target are
+   * postponed by the given delay, so that events of a target are delivered in order.
+   *
+   * @param target the {@link OutboxTarget}.
+   * @param event the event which failed.
+   * @param delay the delay until the next attempt.
+   * @param error the error of the failed attempt.
+   */
+  public void postpone(OutboxTarget target, OutboxEvent event, Duration delay, String error) {
+    jdbcTemplate.update(
+        """
+        update eventhookoutbox set attempts = attempts + 1, lasterror = ?, leaseid = null
+        where eventhookoutboxid = ?""",
+        error,
+        event.id());
+    jdbcTemplate.update(
+        """
+        update eventhookoutbox set nextattempt = now() + make_interval(secs => ?), leaseid = null
+        where eventhookuid = ? and targetid = ? and eventhookoutboxid >= ?""",
+        delay.toSeconds(),
+        target.eventHook(),
+        target.targetId(),
+        event.id());
+  }
+
+  /**
+   * Gets the age in seconds of the oldest event in the outbox.
+   *
+   * @return the age in seconds, or 0 if the outbox is empty.
+   */
+  public long getLagSeconds() {
+    List<Long> lag =
+        jdbcTemplate.queryForList(
+            """
+            select extract(epoch from now() - created)::bigint from eventhookoutbox
+            order by eventhookoutboxid
+            limit 1""",
+            Long.class);
+    return lag.isEmpty() ? 0 : lag.get(0);
+  }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.eventhook;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.EVENT_HOOKS_OUTBOX_BATCH_SIZE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.EVENT_HOOKS_OUTBOX_MAX_ATTEMPTS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.commons.jackson.config.JacksonObjectMapperConfig;
+import org.hisp.dhis.eventhook.outbox.EventHookOutboxStore;
+import org.hisp.dhis.eventhook.outbox.OutboxEvent;
+import org.hisp.dhis.eventhook.outbox.OutboxTarget;
+import org.hisp.dhis.eventhook.targets.WebhookTarget;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.user.AuthenticationService;
+import org.hisp.dhis.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EventHookDispatcherTest {
+  private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+  private final EventHookListener eventHookListener = mock(EventHookListener.class);
+
+  private final EventHookOutboxStore outboxStore = mock(EventHookOutboxStore.class);
+
+  private final Clock clock = mock(Clock.class);
+
+  private final ObjectMapper objectMapper = JacksonObjectMapperConfig.staticJsonMapper();
+
+  private final List<String> delivered = new ArrayList<>();
+
+  private EventHook eventHook;
+
+  private OutboxTarget target;
+
+  private EventHookDispatcher dispatcher;
+
+  @BeforeEach
+  void setUp() {
+    User user = new User();
+    user.setUid(CodeGenerator.generateUid());
+    eventHook = new EventHook();
+    eventHook.setUid(CodeGenerator.generateUid());
+    eventHook.setUser(user);
+    target = new OutboxTarget(eventHook.getUid(), "targetB");
+
+    Handler otherHandler = (eh, event, payload) -> delivered.add("other " + payload);
+    Handler handler =
+        (eh, event, payload) -> {
+          if (payload.startsWith("fail")) {
+            throw new IllegalStateException("Target unavailable");
+          }
+          delivered.add(payload);
+        };
+    when(eventHookListener.getEventHookContext())
+        .thenReturn(
+            EventHookContext.builder()
+                .eventHooks(List.of(eventHook))
+                .targets(Map.of(eventHook.getUid(), List.of(otherHandler, handler)))
+                .targetIds(Map.of(eventHook.getUid(), List.of("targetA", "targetB")))
+                .build());
+
+    DhisConfigurationProvider config = mock(DhisConfigurationProvider.class);
+    when(config.getIntProperty(EVENT_HOOKS_OUTBOX_BATCH_SIZE)).thenReturn(10);
+    when(config.getIntProperty(EVENT_HOOKS_OUTBOX_MAX_ATTEMPTS)).thenReturn(3);
+
+    when(clock.instant()).thenReturn(NOW);
+
+    dispatcher =
+        new EventHookDispatcher(
+            eventHookListener, outboxStore, mock(AuthenticationService.class), null, config, clock);
+  }
+
+  @Test
+  void shouldRemoveDeliveredEvents() {
+    when(outboxStore.claim(eq(target), eq(10), any(), anyString()))
+        .thenReturn(List.of(event(1, "a", 0), event(2, "b", 0)));
+
+    dispatcher.deliver(target);
+
+    assertEquals(List.of("a", "b"), delivered);
+    verify(outboxStore).remove(List.of(1L, 2L));
+    verify(outboxStore, never()).postpone(any(), any(), any(), anyString());
+  }
+
+  @Test
+  void shouldPostponeFailedEventAndStopDeliveringTarget() {
+    OutboxEvent failed = event(2, "fail", 1);
+    when(outboxStore.claim(eq(target), eq(10), any(), anyString()))
+        .thenReturn(List.of(event(1, "a", 0), failed, event(3, "c", 0)));
+
+    dispatcher.deliver(target);
+
+    assertEquals(List.of("a"), delivered);
+    verify(outboxStore).remove(List.of(1L));
+    verify(outboxStore).postpone(target, failed, Duration.ofSeconds(2), "Target unavailable");
+  }
+
+  @Test
+  void shouldDiscardEventAfterMaxAttempts() {
+    when(outboxStore.claim(eq(target), eq(10), any(), anyString()))
+        .thenReturn(List.of(event(1, "fail", 2), event(2, "b", 0)));
+
+    dispatcher.deliver(target);
+
+    assertEquals(List.of("b"), delivered);
+    verify(outboxStore).remove(List.of(1L, 2L));
+    verify(outboxStore, never()).postpone(any(), any(), any(), anyString());
+  }
+
+  @Test
+  void shouldRenewLeaseOfLongRunningBatch() {
+    when(outboxStore.claim(eq(target), eq(10), any(), anyString()))
+        .thenReturn(List.of(event(1, "a", 0), event(2, "b", 0)));
+    when(outboxStore.renew(anyString(), any())).thenReturn(2);
+    when(clock.instant()).thenReturn(NOW, NOW, NOW.plus(Duration.ofMinutes(3)));
+
+    dispatcher.deliver(target);
+
+    assertEquals(List.of("a", "b"), delivered);
+    verify(outboxStore).renew(anyString(), eq(Duration.ofMinutes(5)));
+    verify(outboxStore).remove(List.of(1L, 2L));
+  }
+
+  @Test
+  void shouldStopDeliveringBatchWhenLeaseWasLost() {
+    when(outboxStore.claim(eq(target), eq(10), any(), anyString()))
+        .thenReturn(List.of(event(1, "a", 0), event(2, "b", 0)));
+    when(outboxStore.renew(anyString(), any())).thenReturn(1);
+    when(clock.instant()).thenReturn(NOW, NOW, NOW.plus(Duration.ofMinutes(6)));
+
+    dispatcher.deliver(target);
+
+    assertEquals(List.of("a"), delivered);
+    verify(outboxStore).remove(List.of(1L));
+    verify(outboxStore, never()).postpone(any(), any(), any(), anyString());
+  }
+
+  @Test
+  void shouldRemoveEventsOfUnknownTarget() {
+    OutboxTarget unknown = new OutboxTarget(eventHook.getUid(), "removedTarget");
+
+    dispatcher.deliver(unknown);
+
+    verify(outboxStore).remove(unknown);
+    verify(outboxStore, never()).claim(any(), anyInt(), any(), anyString());
+  }
+
+  @Test
+  void shouldIdentifyTargetsByDefinition() {
+    WebhookTarget webhookA = webhook("https://a.example.org");
+    WebhookTarget webhookB = webhook("https://b.example.org");
+
+    assertEquals(
+        OutboxTarget.getTargetId(objectMapper, webhookA),
+        OutboxTarget.getTargetId(objectMapper, webhook("https://a.example.org")));
+    assertNotEquals(
+        OutboxTarget.getTargetId(objectMapper, webhookA),
+        OutboxTarget.getTargetId(objectMapper, webhookB));
+  }
+
+  @Test
+  void shouldDoubleBackoffUpToAnHour() {
+    assertEquals(Duration.ofSeconds(1), EventHookDispatcher.getBackoff(0));
+    assertEquals(Duration.ofSeconds(8), EventHookDispatcher.getBackoff(3));
+    assertEquals(Duration.ofHours(1), EventHookDispatcher.getBackoff(12));
+    assertEquals(Duration.ofHours(1), EventHookDispatcher.getBackoff(100));
+  }
+
+  private static WebhookTarget webhook(String url) {
+    return new WebhookTarget().setClientId("dhis2-webhook").setUrl(url);
+  }
+
+  private static OutboxEvent event(long id, String payload, int attempts) {
+    return new OutboxEvent(id, payload, attempts, Instant.now());
+  }
+}
@@ -30,7 +30,13 @@
 package org.hisp.dhis.eventhook;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -44,7 +50,10 @@ import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.common.IdScheme;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.commons.jackson.config.JacksonObjectMapperConfig;
+import org.hisp.dhis.eventhook.outbox.EventHookOutboxStore;
 import org.hisp.dhis.eventhook.targets.ConsoleTarget;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.feedback.NotFoundException;
 import org.hisp.dhis.fieldfiltering.FieldFilterService;
 import org.hisp.dhis.security.acl.Access;
@@ -54,6 +63,10 @@ import org.hisp.dhis.user.User;
 import org.hisp.dhis.user.UserDetails;
 import org.hisp.dhis.user.sharing.Sharing;
 import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
 
 class EventHookListenerTest {
 
@@ -219,7 +232,13 @@ class EventHookListenerTest {
     user.setUid(CodeGenerator.generateUid());
     EventHookListener eventHookListener =
         new EventHookListener(
-            null, objectMapper, fieldFilterService, null, mockAuthenticationService);
+            null,
+            objectMapper,
+            fieldFilterService,
+            null,
+            mockAuthenticationService,
+            null,
+            mock(DhisConfigurationProvider.class));
 
     EventHook eventHook = createMockEventHook(user);
     eventHookListener.getEventHookContext().setEventHooks(List.of(eventHook));
@@ -247,4 +266,46 @@ class EventHookListenerTest {
 
     return eventHook;
   }
+
+  @Test
+  void testOnEventBeforeCommitAddsToOutboxAndRestoresSecurityContext() throws NotFoundException {
+    User user = new User();
+    user.setUid(CodeGenerator.generateUid());
+    AuthenticationService authenticationService = mock(AuthenticationService.class);
+    doAnswer(
+            invocation -> {
+              SecurityContextHolder.setContext(
+                  new SecurityContextImpl(new TestingAuthenticationToken("eventHookUser", null)));
+              return null;
+            })
+        .when(authenticationService)
+        .obtainAuthentication(anyString());
+    EventHookOutboxStore outboxStore = mock(EventHookOutboxStore.class);
+    DhisConfigurationProvider config = mock(DhisConfigurationProvider.class);
+    when(config.isEnabled(ConfigurationKey.EVENT_HOOKS_OUTBOX_ENABLED)).thenReturn(true);
+    EventHookListener eventHookListener =
+        new EventHookListener(
+            null, objectMapper, fieldFilterService, null, authenticationService, outboxStore, config);
+
+    EventHook eventHook = createMockEventHook(user);
+    eventHookListener.getEventHookContext().setEventHooks(List.of(eventHook));
+    eventHookListener
+        .getEventHookContext()
+        .setTargets(Map.of(eventHook.getUid(), List.of((eh, event, payload) -> {})));
+    eventHookListener
+        .getEventHookContext()
+        .setTargetIds(Map.of(eventHook.getUid(), List.of("targetA")));
+    SecurityContext securityContext =
+        new SecurityContextImpl(new TestingAuthenticationToken("publisher", null));
+    SecurityContextHolder.setContext(securityContext);
+
+    try {
+      eventHookListener.onEventBeforeCommit(EventUtils.metadataCreate(mockIdentifiableObject));
+
+      assertSame(securityContext, SecurityContextHolder.getContext());
+      verify(outboxStore).add(eq(eventHook.getUid()), eq(List.of("targetA")), anyString());
+    } finally {
+      SecurityContextHolder.clearContext();
+    }
+  }
 }
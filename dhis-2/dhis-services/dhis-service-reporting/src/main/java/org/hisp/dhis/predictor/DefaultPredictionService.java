@@ -71,6 +71,7 @@ import org.hisp.dhis.dataelement.DataElementOperand;
 import org.hisp.dhis.datavalue.DataDumpService;
 import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.datavalue.DataValueService;
+import org.hisp.dhis.expression.CompiledExpression;
 import org.hisp.dhis.expression.Expression;
 import org.hisp.dhis.expression.ExpressionInfo;
 import org.hisp.dhis.expression.ExpressionParams;
@@ -265,6 +266,22 @@ public class DefaultPredictionService implements PredictionService {
         generator.getMissingValueStrategy() != NEVER_SKIP
             && !baseExParams.getItemMap().values().isEmpty();
 
+    CompiledExpression compiledGenerator =
+        expressionService.compileExpression(
+            baseExParams.toBuilder()
+                .expression(generator.getExpression())
+                .parseType(PREDICTOR_EXPRESSION)
+                .dataType(expressionDataType)
+                .build());
+    CompiledExpression compiledSkipTest =
+        skipTest == null || StringUtils.isEmpty(skipTest.getExpression())
+            ? null
+            : expressionService.compileExpression(
+                baseExParams.toBuilder()
+                    .expression(skipTest.getExpression())
+                    .parseType(PREDICTOR_SKIP_TEST)
+                    .build());
+
     User currentUser = userService.getUserByUsername(CurrentUserUtil.getCurrentUsername());
     Set<OrganisationUnit> currentUserOrgUnits =
         (currentUser != null) ? currentUser.getOrganisationUnits() : emptySet();
@@ -314,6 +331,7 @@ public class DefaultPredictionService implements PredictionService {
                   baseExParams,
                   c.getPeriodValueMap(),
                   skipTest,
+                  compiledSkipTest,
                   data.getOrgUnit()));
 
           if (!isEvaluationRequired(
@@ -328,6 +346,7 @@ public class DefaultPredictionService implements PredictionService {
 
           Object value =
               expressionService.getExpressionValue(
+                  compiledGenerator,
                   baseExParams.toBuilder()
                       .expression(predictor.getGenerator().getExpression())
                       .parseType(PREDICTOR_EXPRESSION)
@@ -460,10 +479,11 @@ public class DefaultPredictionService implements PredictionService {
       ExpressionParams baseExParams,
       MapMap<Period, DimensionalItemObject, Object> aocData,
       Expression skipTest,
+      CompiledExpression compiledSkipTest,
       OrganisationUnit orgUnit) {
     Set<Period> skippedPeriods = new HashSet<>();
 
-    if (skipTest == null || StringUtils.isEmpty(skipTest.getExpression())) {
+    if (compiledSkipTest == null) {
       return skippedPeriods;
     }
 
@@ -473,6 +493,7 @@ public class DefaultPredictionService implements PredictionService {
           // Note: getExpressionValue could return null if no data is found
           Boolean.TRUE
               == expressionService.getExpressionValue(
+                  compiledSkipTest,
                   baseExParams.toBuilder()
                       .expression(skipTest.getExpression())
                       .parseType(PREDICTOR_SKIP_TEST)
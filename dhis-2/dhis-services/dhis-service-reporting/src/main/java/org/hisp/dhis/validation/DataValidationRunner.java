@@ -34,7 +34,6 @@ import static org.hisp.dhis.common.DimensionConstants.ATTRIBUTEOPTIONCOMBO_DIM_I
 import static org.hisp.dhis.common.DimensionConstants.DATA_X_DIM_ID;
 import static org.hisp.dhis.common.DimensionConstants.ORGUNIT_DIM_ID;
 import static org.hisp.dhis.expression.MissingValueStrategy.NEVER_SKIP;
-import static org.hisp.dhis.expression.ParseType.SIMPLE_TEST;
 import static org.hisp.dhis.expression.ParseType.VALIDATION_RULE_EXPRESSION;
 import static org.hisp.dhis.system.util.MathUtils.addDoubleObjects;
 import static org.hisp.dhis.system.util.MathUtils.roundSignificant;
@@ -75,6 +74,7 @@ import org.hisp.dhis.dataelement.DataElementOperand;
 import org.hisp.dhis.datavalue.DataValueService;
 import org.hisp.dhis.datavalue.DeflatedDataValue;
 import org.hisp.dhis.datavalue.DeflatedDataValueParams;
+import org.hisp.dhis.expression.CompiledExpression;
 import org.hisp.dhis.expression.Expression;
 import org.hisp.dhis.expression.ExpressionParams;
 import org.hisp.dhis.expression.ExpressionService;
@@ -159,6 +159,28 @@ public class DataValidationRunner {
 
   @Getter
   @RequiredArgsConstructor
+  /**
+   * Determines if left and right side values violate a comparison operator. The values are
+   * compared as primitives like the expression parser does, so -0.0 equals 0.0 and no comparison
+   * involving NaN holds.
+   *
+   * @param operator the rule operator.
+   * @param leftSide the left side value.
+   * @param rightSide the right side value.
+   * @return true if violation, otherwise false.
+   */
+  static boolean isViolation(Operator operator, double leftSide, double rightSide) {
+    return switch (operator) {
+      case equal_to -> !(leftSide == rightSide);
+      case not_equal_to -> leftSide == rightSide;
+      case greater_than -> !(leftSide > rightSide);
+      case greater_than_or_equal_to -> !(leftSide >= rightSide);
+      case less_than -> !(leftSide < rightSide);
+      case less_than_or_equal_to -> !(leftSide <= rightSide);
+      default -> false;
+    };
+  }
+
   private final class DataValidationRun {
     private final ValidationRunContext context;
 
@@ -187,9 +209,17 @@ public class DataValidationRunner {
           getValueMap(orgUnit, ruleX.getRightSlidingWindow());
 
       Map<String, Double> leftSideValues =
-          getExpressionValueMap(orgUnit, ruleX.getRule().getLeftSide(), leftValueMap);
+          getExpressionValueMap(
+              orgUnit,
+              ruleX.getRule().getLeftSide(),
+              ruleX.getLeftSideExpression(),
+              leftValueMap);
       Map<String, Double> rightSideValues =
-          getExpressionValueMap(orgUnit, ruleX.getRule().getRightSide(), rightValueMap);
+          getExpressionValueMap(
+              orgUnit,
+              ruleX.getRule().getRightSide(),
+              ruleX.getRightSideExpression(),
+              rightValueMap);
 
       Set<String> attributeOptionCombos =
           Sets.union(leftSideValues.keySet(), rightSideValues.keySet());
@@ -311,10 +341,7 @@ public class DataValidationRunner {
         }
       }
 
-      String test = leftSide + operator.getMathematicalOperator() + rightSide;
-      return !(Boolean)
-          expressionService.getExpressionValue(
-              ExpressionParams.builder().expression(test).parseType(SIMPLE_TEST).build());
+      return DataValidationRunner.isViolation(operator, leftSide, rightSide);
     }
 
     /**
@@ -357,7 +384,7 @@ public class DataValidationRunner {
       if (!results.isEmpty()) {
         // the results are collected for this thread first and now
         // copied to the concurrent "global" results list
-        context.getValidationResults().addAll(results);
+        context.addValidationResults(results);
       }
     }
 
@@ -418,12 +445,14 @@ public class DataValidationRunner {
      * Evaluates an expression, returning a map of values by attribute option combo.
      *
      * @param expression expression to evaluate.
+     * @param compiledExpression the compiled expression, if any.
      * @param valueMap Map of value maps, by attribute option combo.
      * @return map of values.
      */
     private Map<String, Double> getExpressionValueMap(
         OrganisationUnit orgUnit,
         Expression expression,
+        CompiledExpression compiledExpression,
         MapMap<String, DimensionalItemObject, Object> valueMap) {
       Map<String, Double> expressionValueMap = new HashMap<>();
 
@@ -440,17 +469,21 @@ public class DataValidationRunner {
           values.putAll(nonAocValues);
         }
 
+        ExpressionParams params =
+            context.getBaseExParams().toBuilder()
+                .expression(expression.getExpression())
+                .parseType(VALIDATION_RULE_EXPRESSION)
+                .valueMap(values)
+                .days(period.getDaysInPeriod())
+                .missingValueStrategy(expression.getMissingValueStrategy())
+                .orgUnit(orgUnit)
+                .build();
+
         Double value =
             castDouble(
-                expressionService.getExpressionValue(
-                    context.getBaseExParams().toBuilder()
-                        .expression(expression.getExpression())
-                        .parseType(VALIDATION_RULE_EXPRESSION)
-                        .valueMap(values)
-                        .days(period.getDaysInPeriod())
-                        .missingValueStrategy(expression.getMissingValueStrategy())
-                        .orgUnit(orgUnit)
-                        .build()));
+                compiledExpression != null
+                    ? expressionService.getExpressionValue(compiledExpression, params)
+                    : expressionService.getExpressionValue(params));
 
         if (MathUtils.isValidDouble(value)) {
           expressionValueMap.put(entry.getKey(), value);
@@ -59,6 +59,7 @@ import org.hisp.dhis.dataset.DataSet;
 import org.hisp.dhis.datavalue.DataExportService;
 import org.hisp.dhis.datavalue.DataExportValue;
 import org.hisp.dhis.datavalue.DataValueKey;
+import org.hisp.dhis.expression.CompiledExpression;
 import org.hisp.dhis.expression.Expression;
 import org.hisp.dhis.expression.ExpressionInfo;
 import org.hisp.dhis.expression.ExpressionParams;
@@ -264,6 +265,8 @@ public class DefaultValidationService implements ValidationService {
     ExpressionParams baseExParams =
         getExpressionInfo(periodTypeXMap, parameters.getValidationRules());
 
+    compileExpressions(periodTypeXMap.values(), baseExParams);
+
     ValidationRunContext.Builder builder =
         ValidationRunContext.newBuilder()
             .withOrgUnits(getOrganisationUnits(parameters))
@@ -389,6 +392,30 @@ public class DefaultValidationService implements ValidationService {
     return baseExParams;
   }
 
+  /**
+   * Compiles the left and right side expressions of each rule, so they are parsed and have their
+   * items resolved only once for all the organisation units, periods and attribute option combos
+   * they are evaluated for.
+   */
+  private void compileExpressions(
+      Collection<PeriodTypeExtended> periodTypeXs, ExpressionParams baseExParams) {
+    for (PeriodTypeExtended periodTypeX : periodTypeXs) {
+      for (ValidationRuleExtended ruleX : periodTypeX.getRuleXs()) {
+        ruleX.setLeftSideExpression(compileExpression(baseExParams, ruleX.getRule().getLeftSide()));
+        ruleX.setRightSideExpression(
+            compileExpression(baseExParams, ruleX.getRule().getRightSide()));
+      }
+    }
+  }
+
+  private CompiledExpression compileExpression(ExpressionParams baseExParams, Expression expr) {
+    return expressionService.compileExpression(
+        baseExParams.toBuilder()
+            .expression(expr.getExpression())
+            .parseType(VALIDATION_RULE_EXPRESSION)
+            .build());
+  }
+
   private Set<DimensionalItemId> addToExpressionInfo(ExpressionInfo exInfo, Expression expr) {
     exInfo.setItemIds(new HashSet<>());
 
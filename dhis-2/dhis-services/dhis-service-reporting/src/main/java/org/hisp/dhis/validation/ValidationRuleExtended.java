@@ -33,6 +33,7 @@ import java.util.HashSet;
 import java.util.Set;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
+import org.hisp.dhis.expression.CompiledExpression;
 
 /**
  * Holds information for each validation rule that is needed during a validation run (either
@@ -55,6 +56,10 @@ public class ValidationRuleExtended {
 
   private boolean rightSlidingWindow;
 
+  private CompiledExpression leftSideExpression;
+
+  private CompiledExpression rightSideExpression;
+
   public ValidationRuleExtended(ValidationRule rule) {
     this.rule = rule;
     this.organisationUnitLevels = new HashSet<>(rule.getOrganisationUnitLevels());
@@ -90,4 +95,20 @@ public class ValidationRuleExtended {
   public boolean getRightSlidingWindow() {
     return rightSlidingWindow;
   }
+
+  public CompiledExpression getLeftSideExpression() {
+    return leftSideExpression;
+  }
+
+  public void setLeftSideExpression(CompiledExpression leftSideExpression) {
+    this.leftSideExpression = leftSideExpression;
+  }
+
+  public CompiledExpression getRightSideExpression() {
+    return rightSideExpression;
+  }
+
+  public void setRightSideExpression(CompiledExpression rightSideExpression) {
+    this.rightSideExpression = rightSideExpression;
+  }
 }
@@ -29,6 +29,8 @@
  */
 package org.hisp.dhis.validation;
 
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.util.Objects.requireNonNull;
 
 import java.util.ArrayList;
@@ -39,6 +41,7 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -65,8 +68,23 @@ import org.hisp.dhis.period.Period;
 public class ValidationRunContext {
   public static final int ORG_UNITS_PER_TASK = 500;
 
+  /**
+   * Smallest number of organisation units per task. Below this the data queries made by each task
+   * outweigh the gain from spreading the work more evenly.
+   */
+  public static final int MIN_ORG_UNITS_PER_TASK = 50;
+
+  /** Number of tasks per thread, so that threads finishing early can take over remaining work. */
+  public static final int TASKS_PER_THREAD = 4;
+
   private final Queue<ValidationResult> validationResults = new ConcurrentLinkedQueue<>();
 
+  /**
+   * Number of results in {@link #validationResults}, as the size of a concurrent queue is not a
+   * constant time operation and is checked for every rule that is evaluated.
+   */
+  private final AtomicInteger validationResultCount = new AtomicInteger();
+
   private final List<OrganisationUnit> orgUnits;
 
   private final List<PeriodTypeExtended> periodTypeXs;
@@ -181,12 +199,38 @@ public class ValidationRunContext {
     return false;
   }
 
-  public int getNumberOfTasks() {
-    return (orgUnits.size() + ORG_UNITS_PER_TASK - 1) / ORG_UNITS_PER_TASK;
+  /**
+   * Returns the number of organisation units to evaluate per task. Aims at {@link
+   * #TASKS_PER_THREAD} tasks for each thread so that the load evens out between threads, within
+   * the bounds of {@link #MIN_ORG_UNITS_PER_TASK} and {@link #ORG_UNITS_PER_TASK}.
+   *
+   * @param threads the number of threads available to the validation run
+   * @return the number of organisation units per task
+   */
+  public int getOrgUnitsPerTask(int threads) {
+    int tasks = max(1, threads * TASKS_PER_THREAD);
+    int orgUnitsPerTask = (orgUnits.size() + tasks - 1) / tasks;
+
+    return min(ORG_UNITS_PER_TASK, max(MIN_ORG_UNITS_PER_TASK, orgUnitsPerTask));
+  }
+
+  public int getNumberOfTasks(int orgUnitsPerTask) {
+    return (orgUnits.size() + orgUnitsPerTask - 1) / orgUnitsPerTask;
   }
 
   public boolean isAnalysisComplete() {
-    return validationResults.size() >= maxResults;
+    return validationResultCount.get() >= maxResults;
+  }
+
+  /**
+   * Adds results found by one of the tasks of the validation run. Safe to call from concurrent
+   * tasks.
+   *
+   * @param results the validation results to add
+   */
+  public void addValidationResults(Collection<ValidationResult> results) {
+    validationResults.addAll(results);
+    validationResultCount.addAndGet(results.size());
   }
 
   public boolean processExpressionDetails() {
@@ -194,7 +238,7 @@ public class ValidationRunContext {
   }
 
   public ValidationRunContext addInitialResults(Collection<ValidationResult> results) {
-    validationResults.addAll(results);
+    addValidationResults(results);
 
     results.forEach(
         validationResult -> {
@@ -61,13 +61,13 @@ public class Validator {
    */
   public static List<ValidationResult> validate(
       ValidationRunContext context, DataValidationRunner runner, JobProgress progress) {
-    int threadPoolSize = getThreadPoolSize(context);
+    int chunkSize = context.getOrgUnitsPerTask(getAvailableThreads());
+    int threadPoolSize = getThreadPoolSize(context, chunkSize);
 
     if (threadPoolSize == 0 || context.getPeriodTypeXs().isEmpty()) {
       return new ArrayList<>(context.getValidationResults());
     }
 
-    int chunkSize = ValidationRunContext.ORG_UNITS_PER_TASK;
     List<ValidationChunk> orgUnitLists = splitIntoChunks(context, chunkSize);
 
     progress.startingStage(
@@ -102,10 +102,16 @@ public class Validator {
    * Determines how many threads we should use for testing validation rules.
    *
    * @param context validation run context
+   * @param chunkSize number of organisation units per task
    * @return number of threads we should use for testing validation rules
    */
-  private static int getThreadPoolSize(ValidationRunContext context) {
-    return min(max(2, SystemUtils.getCpuCores() - 1), context.getNumberOfTasks());
+  private static int getThreadPoolSize(ValidationRunContext context, int chunkSize) {
+    return min(getAvailableThreads(), context.getNumberOfTasks(chunkSize));
+  }
+
+  /** Returns the number of threads available for testing validation rules. */
+  private static int getAvailableThreads() {
+    return max(2, SystemUtils.getCpuCores() - 1);
   }
 
   /** Reload attribute category option combos into this Hibernate context. */
@@ -31,7 +31,6 @@ package org.hisp.dhis.validation;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hisp.dhis.expression.ParseType.SIMPLE_TEST;
 import static org.hisp.dhis.expression.ParseType.VALIDATION_RULE_EXPRESSION;
 import static org.hisp.dhis.test.TestBase.createCategoryOptionCombo;
 import static org.hisp.dhis.test.TestBase.createDataElement;
@@ -40,6 +39,8 @@ import static org.hisp.dhis.test.TestBase.createExpression2;
 import static org.hisp.dhis.test.TestBase.createOrganisationUnit;
 import static org.hisp.dhis.test.TestBase.createPeriod;
 import static org.hisp.dhis.test.TestBase.createValidationRule;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
@@ -173,10 +174,6 @@ class DataValidationRunnerTest {
     mockExpressionService(leftExpression, vals, 8.4);
     mockExpressionService(rightExpression, vals, -10.0);
 
-    when(expressionService.getExpressionValue(
-            ExpressionParams.builder().expression("8.4!=-10.0").parseType(SIMPLE_TEST).build()))
-        .thenReturn(true);
-
     subject.run(organisationUnits, ctx);
 
     assertThat(ctx.getValidationResults().size(), is(0));
@@ -216,6 +213,80 @@ class DataValidationRunnerTest {
     assertThat(ctx.getValidationResults().size(), is(0));
   }
 
+  @Test
+  void verifyNegativeZeroEqualsZero() {
+    assertFalse(DataValidationRunner.isViolation(Operator.equal_to, -0.0, 0.0));
+    assertTrue(DataValidationRunner.isViolation(Operator.not_equal_to, -0.0, 0.0));
+    assertTrue(DataValidationRunner.isViolation(Operator.greater_than, -0.0, 0.0));
+    assertFalse(DataValidationRunner.isViolation(Operator.greater_than_or_equal_to, -0.0, 0.0));
+    assertTrue(DataValidationRunner.isViolation(Operator.less_than, -0.0, 0.0));
+    assertFalse(DataValidationRunner.isViolation(Operator.less_than_or_equal_to, -0.0, 0.0));
+  }
+
+  @Test
+  void verifyNoComparisonWithNaNHolds() {
+    for (double other : new double[] {Double.NaN, 0.0, 1.0, -1.0}) {
+      assertTrue(DataValidationRunner.isViolation(Operator.equal_to, Double.NaN, other));
+      assertFalse(DataValidationRunner.isViolation(Operator.not_equal_to, Double.NaN, other));
+      assertTrue(DataValidationRunner.isViolation(Operator.greater_than, Double.NaN, other));
+      assertTrue(DataValidationRunner.isViolation(Operator.greater_than, other, Double.NaN));
+      assertTrue(
+          DataValidationRunner.isViolation(Operator.greater_than_or_equal_to, Double.NaN, other));
+      assertTrue(DataValidationRunner.isViolation(Operator.less_than, Double.NaN, other));
+      assertTrue(DataValidationRunner.isViolation(Operator.less_than, other, Double.NaN));
+      assertTrue(
+          DataValidationRunner.isViolation(Operator.less_than_or_equal_to, Double.NaN, other));
+    }
+  }
+
+  /** Verify that a negated zero on the left side satisfies an equal to zero rule */
+  @Test
+  void verifySimpleValidation_negativeZero_noErrors() {
+    Expression leftExpression = createExpression2('A', "-#{FUrCpcvMAmC.OrDRjJL9bTS}");
+    Expression rightExpression = createExpression2('B', "0");
+
+    ValidationRuleExtended vre =
+        createValidationRuleExtended(leftExpression, rightExpression, Operator.equal_to);
+
+    List<PeriodTypeExtended> periodTypes = new ArrayList<>();
+    PeriodTypeExtended periodType = createPeriodTypeExtended(vre);
+    periodType.addDataElement(deA);
+    periodTypes.add(periodType);
+
+    CategoryOptionCombo categoryOptionCombo = createCategoryOptionCombo('A', 'B');
+
+    ValidationRunContext ctx =
+        ValidationRunContext.newBuilder()
+            .withOrgUnits(organisationUnits)
+            .withItemMap(new HashMap<>())
+            .withBaseExParams(ExpressionParams.builder().build())
+            .withDefaultAttributeCombo(categoryOptionCombo)
+            .withPeriodTypeXs(periodTypes)
+            .withMaxResults(500)
+            .build();
+
+    List<DeflatedDataValue> deflatedDataValues = new ArrayList<>();
+
+    DataValue dv =
+        createDataValue(deA, createPeriod("201901"), ouA, "0", createCategoryOptionCombo('B', 'C'));
+
+    DeflatedDataValue ddv = new DeflatedDataValue(dv);
+    deflatedDataValues.add(ddv);
+
+    when(dataValueService.getDeflatedDataValues(any(DeflatedDataValueParams.class)))
+        .thenReturn(deflatedDataValues);
+
+    Map<DimensionalItemObject, Object> vals = new HashMap<>();
+    vals.put(deA, 0.0);
+
+    mockExpressionService(leftExpression, vals, -0.0);
+    mockExpressionService(rightExpression, vals, 0.0);
+
+    subject.run(organisationUnits, ctx);
+
+    assertThat(ctx.getValidationResults().size(), is(0));
+  }
+
   private void mockExpressionService(
       Expression expression, Map<DimensionalItemObject, Object> vals, Double val) {
     ExpressionParams params =
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.validation;
+
+import static org.hisp.dhis.test.TestBase.createOrganisationUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.junit.jupiter.api.Test;
+
+class ValidationRunContextTest {
+  @Test
+  void testGetOrgUnitsPerTask() {
+    assertEquals(500, withOrgUnits(30_000).getOrgUnitsPerTask(8));
+    assertEquals(235, withOrgUnits(30_000).getOrgUnitsPerTask(32));
+    assertEquals(50, withOrgUnits(100).getOrgUnitsPerTask(32));
+    assertEquals(50, withOrgUnits(0).getOrgUnitsPerTask(32));
+  }
+
+  @Test
+  void testGetNumberOfTasks() {
+    ValidationRunContext context = withOrgUnits(30_000);
+
+    assertEquals(128, context.getNumberOfTasks(context.getOrgUnitsPerTask(32)));
+    assertEquals(0, withOrgUnits(0).getNumberOfTasks(50));
+  }
+
+  @Test
+  void testIsAnalysisComplete() {
+    ValidationRunContext context =
+        ValidationRunContext.newBuilder().withOrgUnits(List.of()).withMaxResults(2).build();
+
+    assertFalse(context.isAnalysisComplete());
+
+    context.addValidationResults(List.of(new ValidationResult()));
+    assertFalse(context.isAnalysisComplete());
+
+    context.addValidationResults(List.of(new ValidationResult()));
+    assertTrue(context.isAnalysisComplete());
+    assertEquals(2, context.getValidationResults().size());
+  }
+
+  private static ValidationRunContext withOrgUnits(int count) {
+    List<OrganisationUnit> orgUnits = new ArrayList<>(count);
+
+    for (int i = 0; i < count; i++) {
+      orgUnits.add(createOrganisationUnit('A'));
+    }
+
+    return ValidationRunContext.newBuilder().withOrgUnits(orgUnits).build();
+  }
+}
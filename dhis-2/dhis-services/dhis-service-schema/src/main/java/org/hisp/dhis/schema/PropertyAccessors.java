@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.schema;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.system.util.ReflectionUtils;
+
+/**
+ * Reads and writes {@link Property} values through accessors generated with {@link
+ * LambdaMetafactory} instead of reflective {@link Method#invoke} calls.
+ *
+ * <p>An accessor is generated once per getter or setter method and cached, so walking all
+ * properties of a large number of objects, as done by the metadata preheat and import, costs
+ * about as much as calling the getters and setters directly. Methods an accessor can not be
+ * generated for are invoked through {@link ReflectionUtils#invokeMethod}, and objects which are
+ * not instances of the class declaring the method are handed to {@link
+ * DefaultSchemaService#safeInvoke} so the behaviour matches the reflective access.
+ *
+ * <p>Exceptions thrown by a getter or setter are wrapped in a {@link RuntimeException} with the
+ * original exception as cause, as done by {@link DefaultSchemaService#safeInvoke} and {@link
+ * ReflectionUtils#invokeMethod}, so callers see the same exception types as before.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PropertyAccessors {
+  private static final Function<Object, Object> NO_GETTER = object -> null;
+
+  private static final BiConsumer<Object, Object> NO_SETTER = (object, value) -> {};
+
+  private static final Map<Method, Function<Object, Object>> GETTERS = new ConcurrentHashMap<>();
+
+  private static final Map<Method, BiConsumer<Object, Object>> SETTERS =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Gets the value of the given property of the given object.
+   *
+   * @param object the object, can be null.
+   * @param property the property.
+   * @return the property value, or null if the object is null or the property has no getter.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T get(Object object, Property property) {
+    Method getter = property.getGetterMethod();
+
+    if (object == null || getter == null) {
+      return null;
+    }
+
+    if (!getter.getDeclaringClass().isInstance(object)) {
+      return DefaultSchemaService.safeInvoke(object, getter);
+    }
+
+    return (T) GETTERS.computeIfAbsent(getter, PropertyAccessors::createGetter).apply(object);
+  }
+
+  /**
+   * Sets the value of the given property of the given object.
+   *
+   * @param object the object, can be null.
+   * @param property the property.
+   * @param value the value to set.
+   */
+  public static void set(Object object, Property property, Object value) {
+    Method setter = property.getSetterMethod();
+
+    if (object == null || setter == null) {
+      return;
+    }
+
+    if (!setter.getDeclaringClass().isInstance(object)) {
+      ReflectionUtils.invokeMethod(object, setter, value);
+      return;
+    }
+
+    SETTERS.computeIfAbsent(setter, PropertyAccessors::createSetter).accept(object, value);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> createGetter(Method getter) {
+    if (!Modifier.isPublic(getter.getModifiers())) {
+      return NO_GETTER;
+    }
+
+    try {
+      MethodHandles.Lookup lookup = getLookup(getter);
+      MethodHandle handle = lookup.unreflect(getter);
+      CallSite site =
+          LambdaMetafactory.metafactory(
+              lookup,
+              "apply",
+              MethodType.methodType(Function.class),
+              MethodType.methodType(Object.class, Object.class),
+              handle,
+              handle.type().wrap());
+
+      Function<Object, Object> accessor =
+          (Function<Object, Object>) site.getTarget().invokeExact();
+
+      return object -> {
+        try {
+          return accessor.apply(object);
+        } catch (Exception ex) {
+          throw new RuntimeException("Failed to invoke method " + getter.getName(), ex);
+        }
+      };
+    } catch (Throwable ex) {
+      log.debug("Falling back to reflection for getter: " + getter, ex);
+      return object -> ReflectionUtils.invokeMethod(object, getter);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static BiConsumer<Object, Object> createSetter(Method setter) {
+    if (!Modifier.isPublic(setter.getModifiers())) {
+      return NO_SETTER;
+    }
+
+    try {
+      MethodHandles.Lookup lookup = getLookup(setter);
+      MethodHandle handle = lookup.unreflect(setter);
+      CallSite site =
+          LambdaMetafactory.metafactory(
+              lookup,
+              "accept",
+              MethodType.methodType(BiConsumer.class),
+              MethodType.methodType(void.class, Object.class, Object.class),
+              handle,
+              handle.type().wrap().changeReturnType(void.class));
+
+      BiConsumer<Object, Object> accessor =
+          (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+
+      return (object, value) -> {
+        try {
+          accessor.accept(object, value);
+        } catch (Exception ex) {
+          throw new RuntimeException("Failed to invoke method " + setter.getName(), ex);
+        }
+      };
+    } catch (Throwable ex) {
+      log.debug("Falling back to reflection for setter: " + setter, ex);
+      return (object, value) -> ReflectionUtils.invokeMethod(object, setter, value);
+    }
+  }
+
+  /**
+   * The generated accessor is defined as a nestmate of the class declaring the method, so it is
+   * visible to the same class loader as the method it calls.
+   */
+  private static MethodHandles.Lookup getLookup(Method method) throws IllegalAccessException {
+    return MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+  }
+}
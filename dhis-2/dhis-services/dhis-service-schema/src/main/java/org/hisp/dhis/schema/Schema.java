@@ -215,6 +215,9 @@ public final class Schema implements Ordered, Klass {
   /** Map of all analytical object properties, cached on first request. */
   private final Map<String, Property> analyticalObjectProperties = new TreeMap<>();
 
+  /** List of persisted reference properties owned by this schema, cached on first request. */
+  private List<Property> ownedReferenceProperties;
+
   /** Map containing cached authorities by their type. */
   @JsonIgnore
   private final ConcurrentMap<AuthorityType, List<String>> cachedAuthoritiesByType =
@@ -549,6 +552,7 @@ public final class Schema implements Ordered, Klass {
     persistedProperties.clear();
     nonPersistedProperties.clear();
     references = null;
+    ownedReferenceProperties = null;
   }
 
   public boolean hasAttributeValues() {
@@ -601,6 +605,27 @@ public final class Schema implements Ordered, Klass {
         .collect(toList());
   }
 
+  /**
+   * Gets a list of persisted properties owned by this schema which reference other objects, either
+   * directly or as items of a collection.
+   *
+   * @return a List of {@see Property}
+   */
+  public List<Property> getOwnedReferenceProperties() {
+    if (ownedReferenceProperties == null) {
+      ownedReferenceProperties =
+          this.getProperties().stream()
+              .filter(
+                  p ->
+                      p.isPersisted()
+                          && p.isOwner()
+                          && (PropertyType.REFERENCE == p.getPropertyType()
+                              || PropertyType.REFERENCE == p.getItemPropertyType()))
+              .toList();
+    }
+    return ownedReferenceProperties;
+  }
+
   public Map<String, Property> getFieldNameMapProperties() {
     return this.getPersistedProperties().entrySet().stream()
         .collect(toMap(p -> p.getValue().getFieldName(), Entry::getValue));
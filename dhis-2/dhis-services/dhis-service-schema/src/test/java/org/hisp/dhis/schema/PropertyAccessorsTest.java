@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hisp.dhis.common.BaseDimensionalObject;
+import org.hisp.dhis.common.BaseNameableObject;
+import org.hisp.dhis.common.DimensionalObject;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dataset.DataSet;
+import org.hisp.dhis.legend.Legend;
+import org.hisp.dhis.period.MonthlyPeriodType;
+import org.hisp.dhis.period.PeriodType;
+import org.junit.jupiter.api.Test;
+
+class PropertyAccessorsTest {
+
+  @Test
+  void testGetAndSetReference() throws Exception {
+    Property property =
+        new Property(
+            PeriodType.class,
+            DataSet.class.getMethod("getPeriodType"),
+            DataSet.class.getMethod("setPeriodType", PeriodType.class));
+    DataSet dataSet = new DataSet();
+    PeriodType periodType = new MonthlyPeriodType();
+
+    PropertyAccessors.set(dataSet, property, periodType);
+
+    assertSame(periodType, dataSet.getPeriodType());
+    assertSame(periodType, PropertyAccessors.get(dataSet, property));
+
+    PropertyAccessors.set(dataSet, property, null);
+
+    assertNull(PropertyAccessors.get(dataSet, property));
+  }
+
+  @Test
+  void testGetAndSetPrimitive() throws Exception {
+    Property property =
+        new Property(
+            boolean.class,
+            DataElement.class.getMethod("isZeroIsSignificant"),
+            DataElement.class.getMethod("setZeroIsSignificant", boolean.class));
+    DataElement dataElement = new DataElement();
+
+    assertFalse((Boolean) PropertyAccessors.get(dataElement, property));
+
+    PropertyAccessors.set(dataElement, property, true);
+
+    assertTrue(dataElement.isZeroIsSignificant());
+  }
+
+  @Test
+  void testGetFromInterfaceType() throws Exception {
+    Property property =
+        new Property(String.class, BaseNameableObject.class.getMethod("getDisplayName"), null);
+    DimensionalObject dimensionalObject = new BaseDimensionalObject();
+    dimensionalObject.setName("Test Dimensional Object");
+
+    assertEquals("Test Dimensional Object", PropertyAccessors.get(dimensionalObject, property));
+  }
+
+  @Test
+  void testGetFromObjectWithoutProperty() throws Exception {
+    Property property =
+        new Property(
+            String.class, BaseNameableObject.class.getMethod("getDisplayShortName"), null);
+
+    assertThrows(RuntimeException.class, () -> PropertyAccessors.get(new Legend(), property));
+  }
+
+  @Test
+  void testGetAndSetWithoutMethods() {
+    Property property = new Property(String.class);
+    DataElement dataElement = new DataElement("Test Element");
+
+    PropertyAccessors.set(dataElement, property, "Other Element");
+
+    assertNull(PropertyAccessors.get(dataElement, property));
+    assertNull(PropertyAccessors.get(null, property));
+    assertEquals("Test Element", dataElement.getName());
+  }
+
+  @Test
+  void testGetAndSetWrapsAccessorExceptions() throws Exception {
+    Property property =
+        new Property(
+            String.class,
+            FailingObject.class.getMethod("getValue"),
+            FailingObject.class.getMethod("setValue", String.class));
+    FailingObject object = new FailingObject();
+
+    RuntimeException getException =
+        assertThrows(RuntimeException.class, () -> PropertyAccessors.get(object, property));
+    assertInstanceOf(IllegalStateException.class, getException.getCause());
+
+    RuntimeException setException =
+        assertThrows(
+            RuntimeException.class, () -> PropertyAccessors.set(object, property, "value"));
+    assertInstanceOf(IllegalStateException.class, setException.getCause());
+  }
+
+  public static class FailingObject {
+    public String getValue() {
+      throw new IllegalStateException("Failing getter");
+    }
+
+    public void setValue(String value) {
+      throw new IllegalStateException("Failing setter");
+    }
+  }
+}
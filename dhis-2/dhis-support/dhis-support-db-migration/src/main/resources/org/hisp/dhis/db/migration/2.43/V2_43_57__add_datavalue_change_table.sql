@@ -0,0 +1,23 @@
+-- Keys of aggregate data values changed since the last analytics table update,
+-- used for incremental analytics table updates (see analytics.table.incremental)
+
+create table if not exists datavaluechange (
+    dataelementid bigint not null,
+    periodid bigint not null,
+    sourceid bigint not null,
+    categoryoptioncomboid bigint not null,
+    attributeoptioncomboid bigint not null,
+    changed timestamp not null default now()
+);
+
+create index if not exists in_datavaluechange_changed on datavaluechange(changed);
+
+-- Changes claimed by a running analytics table update, removed once applied
+
+create table if not exists datavaluechangeclaim (
+    dataelementid bigint not null,
+    periodid bigint not null,
+    sourceid bigint not null,
+    categoryoptioncomboid bigint not null,
+    attributeoptioncomboid bigint not null
+);
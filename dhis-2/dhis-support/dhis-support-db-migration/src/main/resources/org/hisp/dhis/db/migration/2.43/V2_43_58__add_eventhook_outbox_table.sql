@@ -0,0 +1,19 @@
+-- Events of event hooks waiting to be delivered to the targets of the event hook,
+-- used when event hooks are delivered through the outbox (see event_hooks.outbox.enabled)
+
+create table if not exists eventhookoutbox (
+    eventhookoutboxid bigserial primary key,
+    eventhookuid character varying(11) not null,
+    targetid character varying(64) not null,
+    payload text not null,
+    created timestamp not null default now(),
+    attempts integer not null default 0,
+    nextattempt timestamp not null default now(),
+    lasterror text,
+    leaseid character varying(11)
+);
+
+create index if not exists in_eventhookoutbox_target
+    on eventhookoutbox(eventhookuid, targetid, eventhookoutboxid);
+create index if not exists in_eventhookoutbox_nextattempt on eventhookoutbox(nextattempt);
+create index if not exists in_eventhookoutbox_leaseid on eventhookoutbox(leaseid);
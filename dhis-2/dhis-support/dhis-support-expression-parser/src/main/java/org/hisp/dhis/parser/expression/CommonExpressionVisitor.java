@@ -120,6 +120,12 @@ public class CommonExpressionVisitor extends AntlrExpressionVisitor {
    */
   private Map<String, String> itemDescriptions;
 
+  /**
+   * Compiled form of the expression, if it is being compiled or has been compiled for repeated
+   * evaluation.
+   */
+  private CompiledParseTree compiledTree;
+
   // -------------------------------------------------------------------------
   // Custom constructor
   // -------------------------------------------------------------------------
@@ -170,6 +176,14 @@ public class CommonExpressionVisitor extends AntlrExpressionVisitor {
 
   @Override
   public Object visitExpr(ExprContext ctx) {
+    if (compiledTree != null) {
+      CompiledItem compiledItem = compiledTree.getCompiledItem(ctx);
+
+      if (compiledItem != null) {
+        return compiledItem.evaluate(this);
+      }
+    }
+
     if (ctx.it != null) {
       ExpressionItem item = itemMap.get(ctx.it.getType());
 
@@ -186,7 +200,13 @@ public class CommonExpressionVisitor extends AntlrExpressionVisitor {
       return visit(ctx.expr(0));
     }
 
-    return visit(ctx.getChild(0)); // All others: visit first child.
+    Object value = visit(ctx.getChild(0)); // All others: visit first child.
+
+    if (compiledTree != null && !compiledTree.isCompiled()) {
+      compiledTree.addLiteral(ctx, value);
+    }
+
+    return value;
   }
 
   /**
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.parser.expression;
+
+import static org.hisp.dhis.parser.expression.ParserUtils.COMMON_EXPRESSION_ITEMS;
+import static org.hisp.dhis.parser.expression.antlr.ExpressionParser.ExprContext;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import lombok.Getter;
+import org.hisp.dhis.expression.CompiledExpression;
+
+/**
+ * The parse tree of an expression together with compiled forms of its literals and data items.
+ *
+ * <p>The tree is built by visiting the expression once with {@link ExpressionItem#ITEM_COMPILE}.
+ * Literals are folded to their values, and items are compiled with {@link ExpressionItem#compile}
+ * as long as they are reached only through common operators and functions, which do not change the
+ * query modifiers, sample periods or subexpression state that an item depends on. Anything else is
+ * evaluated by the visitor as usual.
+ *
+ * <p>After compilation the tree is read-only, so it can be evaluated concurrently by any number of
+ * visitors.
+ */
+public class CompiledParseTree implements CompiledExpression {
+  @Getter private final String expression;
+
+  /** The root of the parse tree, or null if the expression could not be parsed. */
+  @Getter private ExprContext root;
+
+  private final Map<ExprContext, CompiledItem> compiledItems = new IdentityHashMap<>();
+
+  /** True when compilation has finished, and the compiled items may be used. */
+  @Getter private boolean compiled;
+
+  /** Depth of items being compiled whose subtrees cannot be compiled. */
+  private int opaqueDepth;
+
+  public CompiledParseTree(String expression) {
+    this.expression = expression;
+  }
+
+  /**
+   * Gets the compiled form of a parse tree node, if any.
+   *
+   * @param ctx the parse tree node
+   * @return the compiled item, or null if the node must be visited
+   */
+  public CompiledItem getCompiledItem(ExprContext ctx) {
+    return compiled ? compiledItems.get(ctx) : null;
+  }
+
+  /** Marks the compilation as finished. */
+  public void setCompiled() {
+    this.compiled = true;
+  }
+
+  /**
+   * Compiles an expression item while visiting the tree, and visits all paths below it.
+   *
+   * @param item the expression item
+   * @param ctx the expression context of the item
+   * @param visitor the compiling visitor
+   * @return a dummy value for the item
+   */
+  Object compileItem(ExpressionItem item, ExprContext ctx, CommonExpressionVisitor visitor) {
+    setRoot(ctx);
+
+    if (opaqueDepth == 0) {
+      CompiledItem compiledItem = item.compile(ctx, visitor);
+
+      if (compiledItem != null) {
+        compiledItems.put(ctx, compiledItem);
+      }
+    }
+
+    boolean opaque = !COMMON_EXPRESSION_ITEMS.containsKey(ctx.it.getType());
+
+    if (opaque) {
+      opaqueDepth++;
+    }
+
+    try {
+      return item.getExpressionInfo(ctx, visitor);
+    } finally {
+      if (opaque) {
+        opaqueDepth--;
+      }
+    }
+  }
+
+  /**
+   * Folds a literal to its value, which does not depend on the data being evaluated.
+   *
+   * @param ctx the expression context of the literal
+   * @param value the value of the literal
+   */
+  void addLiteral(ExprContext ctx, Object value) {
+    setRoot(ctx);
+
+    compiledItems.put(ctx, visitor -> value);
+  }
+
+  // -------------------------------------------------------------------------
+  // Supportive methods
+  // -------------------------------------------------------------------------
+
+  /** Finds the root of the tree from the first node visited. */
+  private void setRoot(ExprContext ctx) {
+    if (root != null) {
+      return;
+    }
+
+    ExprContext node = ctx;
+
+    while (node.getParent() instanceof ExprContext parent) {
+      node = parent;
+    }
+
+    root = node;
+  }
+}
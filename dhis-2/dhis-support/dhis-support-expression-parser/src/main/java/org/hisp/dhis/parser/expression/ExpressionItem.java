@@ -50,6 +50,9 @@ public interface ExpressionItem extends AntlrExprItem {
 
   ExpressionItemMethod ITEM_GET_SQL = ExpressionItem::getSql;
 
+  ExpressionItemMethod ITEM_COMPILE =
+      (item, ctx, visitor) -> visitor.getCompiledTree().compileItem(item, ctx, visitor);
+
   /**
    * Collects the description of an individual data item, to use later in constructing a description
    * of the expression as a whole.
@@ -156,4 +159,19 @@ public interface ExpressionItem extends AntlrExprItem {
   default Object getSql(ExprContext ctx, CommonExpressionVisitor visitor) {
     throw new ParserExceptionWithoutContext("Not valid in this context: " + ctx.getText());
   }
+
+  /**
+   * Compiles an expression item for repeated evaluation, resolving once anything that does not
+   * depend on the data being evaluated.
+   *
+   * <p>This method only needs to be overridden for items that can be resolved in advance, such as
+   * data items. For other items, null is returned and the item is evaluated each time.
+   *
+   * @param ctx the expression context
+   * @param visitor the tree visitor
+   * @return the compiled item, or null if the item is not compiled
+   */
+  default CompiledItem compile(ExprContext ctx, CommonExpressionVisitor visitor) {
+    return null;
+  }
 }
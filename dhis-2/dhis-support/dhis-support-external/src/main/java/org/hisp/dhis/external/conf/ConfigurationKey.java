@@ -454,6 +454,26 @@ public enum ConfigurationKey {
 
   PROGRAM_TEMPORARY_OWNERSHIP_TIMEOUT("tracker.temporary.ownership.timeout", "3", false),
 
+  /**
+   * Number of threads used to run independent tracker import preheat suppliers concurrently. A
+   * value of 1 runs the suppliers one after another on the request thread. (default: 1).
+   */
+  TRACKER_IMPORT_PREHEAT_THREADS("tracker.import.preheat.threads", "1", false),
+
+  /**
+   * Maximum number of threads fetching tracked entities, their attributes, enrollments and owners
+   * concurrently during tracker exports. Capped at half of {@link #CONNECTION_POOL_MAX_SIZE} as
+   * every thread holds a database connection. (default: 20).
+   */
+  TRACKER_EXPORT_AGGREGATE_THREADS("tracker.export.aggregate.threads", "20", false),
+
+  /**
+   * Number of tracker export fetches waiting for a thread. Fetches exceeding it run on the
+   * requesting thread, which slows down new exports instead of using more connections. (default:
+   * 100).
+   */
+  TRACKER_EXPORT_AGGREGATE_QUEUE_SIZE("tracker.export.aggregate.queue_size", "100", false),
+
   /** Use unlogged tables during analytics export. (default: ON) */
   ANALYTICS_TABLE_UNLOGGED("analytics.table.unlogged", Constants.ON),
 
@@ -469,6 +489,12 @@ public enum ConfigurationKey {
    */
   ANALYTICS_TABLE_SKIP_COLUMN("analytics.table.skip_column", "", false),
 
+  /**
+   * Record changes to aggregate data values and apply them incrementally to the existing analytics
+   * table partitions during "latest" analytics table updates. (default: off)
+   */
+  ANALYTICS_TABLE_INCREMENTAL("analytics.table.incremental", Constants.OFF, false),
+
   /**
    * Artemis support mode, 2 modes supported: EMBEDDED (starts up an embedded Artemis which lives in
    * the same process as your DHIS2 instance), NATIVE (connects to an external Artemis instance,
@@ -584,6 +610,18 @@ public enum ConfigurationKey {
   /** CPU monitoring. (default: off) */
   MONITORING_CPU_ENABLED("monitoring.cpu.enabled", Constants.OFF, false),
 
+  /** Analytics table update monitoring. (default: off) */
+  MONITORING_ANALYTICS_TABLE_ENABLED("monitoring.analytics.table.enabled", Constants.OFF, false),
+
+  /** Tracker program rule evaluation monitoring. (default: off) */
+  MONITORING_PROGRAM_RULE_ENABLED("monitoring.programrule.enabled", Constants.OFF, false),
+
+  /** Event hook outbox delivery monitoring. (default: off) */
+  MONITORING_EVENT_HOOKS_ENABLED("monitoring.eventhooks.enabled", Constants.OFF, false),
+
+  /** Tracker export thread pool monitoring. (default: off) */
+  MONITORING_TRACKER_EXPORT_ENABLED("monitoring.tracker.export.enabled", Constants.OFF, false),
+
   /** AppHub base URL. (default: https://apps.dhis2.org). */
   APPHUB_BASE_URL("apphub.base.url", "https://apps.dhis2.org", false),
 
@@ -731,6 +769,21 @@ public enum ConfigurationKey {
   /** Event hooks for system events. Enable or disable the feature. */
   EVENT_HOOKS_ENABLED("event_hooks.enabled", Constants.OFF, false),
 
+  /**
+   * Event hook delivery through a database outbox which is written in the same transaction as the
+   * change, and delivered in batches with retries. (default: off)
+   */
+  EVENT_HOOKS_OUTBOX_ENABLED("event_hooks.outbox.enabled", Constants.OFF, false),
+
+  /** Maximum number of outbox events delivered to a target at a time. (default: 100) */
+  EVENT_HOOKS_OUTBOX_BATCH_SIZE("event_hooks.outbox.batch_size", "100", false),
+
+  /** Maximum number of targets outbox events are delivered to concurrently. (default: 5) */
+  EVENT_HOOKS_OUTBOX_THREADS("event_hooks.outbox.threads", "5", false),
+
+  /** Delivery attempts after which an outbox event is discarded. (default: 10) */
+  EVENT_HOOKS_OUTBOX_MAX_ATTEMPTS("event_hooks.outbox.max_attempts", "10", false),
+
   /** Linked accounts via OpenID mapping. Enable or disable the feature. */
   LINKED_ACCOUNTS_ENABLED("linked_accounts.enabled", Constants.OFF, false),
 
@@ -767,6 +820,12 @@ public enum ConfigurationKey {
    */
   METADATA_CATEGORIES_MAX_COMBINATIONS("metadata.categories.max_combinations", "500", false),
 
+  /** The number of objects committed per batch by metadata imports using the BATCH flush mode. */
+  METADATA_IMPORT_BATCH_SIZE("metadata.import.batch_size", "1000", false),
+
+  /** The number of objects loaded per page by streamed metadata exports. */
+  METADATA_EXPORT_PAGE_SIZE("metadata.export.page_size", "1000", false),
+
   /** Enable email-based 2FA authentication. (default: false) */
   EMAIL_2FA_ENABLED("login.security.email_2fa.enabled", Constants.OFF, false),
 
@@ -346,6 +346,7 @@ public class HibernateDbmsManager implements DbmsManager {
     emptyTable("sequentialnumbercounter");
 
     emptyTable("audit");
+    emptyTable("eventhookoutbox");
     emptyTable("eventhook");
     emptyTable("dataentryform");
 
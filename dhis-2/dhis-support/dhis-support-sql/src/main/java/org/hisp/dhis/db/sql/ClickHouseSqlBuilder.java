@@ -425,6 +425,18 @@ public class ClickHouseSqlBuilder extends AbstractSqlBuilder {
         singleQuote(name));
   }
 
+  @Override
+  public String tableStatistics(String name) {
+    return String.format(
+        """
+        select sum(p.rows) as row_count, sum(p.bytes_on_disk) as table_size \
+        from system.parts p \
+        where p.database = 'default' \
+        and p.table = %s \
+        and p.active;""",
+        singleQuote(name));
+  }
+
   @Override
   public String createIndex(Index index) {
     return notSupported();
@@ -499,6 +499,17 @@ public class DorisSqlBuilder extends AbstractSqlBuilder {
         singleQuote(name));
   }
 
+  @Override
+  public String tableStatistics(String name) {
+    return String.format(
+        """
+        select t.table_rows as row_count, t.data_length as table_size \
+        from information_schema.tables t \
+        where t.table_schema = 'public' \
+        and t.table_name = %s;""",
+        singleQuote(name));
+  }
+
   /**
    * Doris supports indexes but relies on concurrency and compression for query performance instead
    * of indexes on arbitrary columns. Read more at {@link https://t.ly/AHhJ1}.
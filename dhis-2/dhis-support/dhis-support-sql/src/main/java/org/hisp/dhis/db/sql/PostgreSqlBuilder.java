@@ -471,6 +471,17 @@ public class PostgreSqlBuilder extends AbstractSqlBuilder {
         singleQuote(name));
   }
 
+  @Override
+  public String tableStatistics(String name) {
+    return String.format(
+        """
+        select greatest(c.reltuples, 0)::bigint as row_count, \
+        pg_total_relation_size(c.oid) as table_size from pg_class c \
+        inner join pg_namespace n on c.relnamespace = n.oid \
+        where n.nspname = 'public' and c.relname = %s;""",
+        singleQuote(name));
+  }
+
   @Override
   public String createIndex(Index index) {
     String unique = index.getUnique() == Unique.UNIQUE ? "unique " : "";
@@ -544,6 +544,15 @@ public interface SqlBuilder {
    */
   String countRows(Table table);
 
+  /**
+   * @param name the table name.
+   * @return a statement which will return a single row with a {@code row_count} column with the
+   *     number of rows as estimated from database statistics, and a {@code table_size} column with
+   *     the total size of the table in bytes. The statement returns no rows or zero values if the
+   *     table does not exist.
+   */
+  String tableStatistics(String name);
+
   /**
    * @param index the {@link Index}.
    * @return a create index statement.
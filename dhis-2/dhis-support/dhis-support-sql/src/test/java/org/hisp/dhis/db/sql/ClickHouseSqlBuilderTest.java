@@ -464,6 +464,19 @@ class ClickHouseSqlBuilderTest {
     assertEquals(expected, sqlBuilder.countRows(getTableA()));
   }
 
+  @Test
+  void testTableStatistics() {
+    String expected =
+        """
+        select sum(p.rows) as row_count, sum(p.bytes_on_disk) as table_size \
+        from system.parts p \
+        where p.database = 'default' \
+        and p.table = 'immunization' \
+        and p.active;""";
+
+    assertEquals(expected, sqlBuilder.tableStatistics("immunization"));
+  }
+
   @Test
   void testInsertIntoSelectFrom() {
     String expected =
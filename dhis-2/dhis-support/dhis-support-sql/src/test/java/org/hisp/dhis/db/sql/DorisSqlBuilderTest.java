@@ -289,6 +289,18 @@ class DorisSqlBuilderTest {
     assertEquals(expected, sqlBuilder.countRows(getTableA()));
   }
 
+  @Test
+  void testTableStatistics() {
+    String expected =
+        """
+        select t.table_rows as row_count, t.data_length as table_size \
+        from information_schema.tables t \
+        where t.table_schema = 'public' \
+        and t.table_name = 'immunization';""";
+
+    assertEquals(expected, sqlBuilder.tableStatistics("immunization"));
+  }
+
   @Test
   void testInsertIntoSelectFrom() {
     String expected =
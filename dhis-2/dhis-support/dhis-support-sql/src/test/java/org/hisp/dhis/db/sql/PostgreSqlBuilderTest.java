@@ -511,6 +511,18 @@ class PostgreSqlBuilderTest {
     assertEquals(expected, sqlBuilder.countRows(getTableA()));
   }
 
+  @Test
+  void testTableStatistics() {
+    String expected =
+        """
+        select greatest(c.reltuples, 0)::bigint as row_count, \
+        pg_total_relation_size(c.oid) as table_size from pg_class c \
+        inner join pg_namespace n on c.relnamespace = n.oid \
+        where n.nspname = 'public' and c.relname = 'immunization';""";
+
+    assertEquals(expected, sqlBuilder.tableStatistics("immunization"));
+  }
+
   @Test
   void testCreateIndexA() {
     List<Index> indexes = getIndexesA();
@@ -63,6 +63,8 @@ public class DefaultCacheProvider implements CacheProvider {
 
   private static final long SIZE_10K = 10_000;
 
+  private static final long SIZE_100K = 100_000;
+
   private final double cacheFactor;
 
   private final CacheBuilderProvider cacheBuilderProvider;
@@ -130,6 +132,15 @@ public class DefaultCacheProvider implements CacheProvider {
             .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_10K))));
   }
 
+  @Override
+  public <V> Cache<V> createAnalyticsFragmentCache() {
+    return registerCache(
+        this.<V>newBuilder()
+            .forRegion(Region.analyticsFragment.name())
+            .expireAfterWrite(12, TimeUnit.HOURS)
+            .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_100K))));
+  }
+
   @Override
   public <V> Cache<V> createOutliersCache() {
     return registerCache(
@@ -456,4 +467,19 @@ public class DefaultCacheProvider implements CacheProvider {
             .forceInMemory()
             .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_1))));
   }
+
+  /**
+   * Cache for the program rules and variables of a program mapped for the rule engine. Entries are
+   * invalidated when program rule metadata changes.
+   */
+  @Override
+  public <V> Cache<V> createProgramRuleContextCache() {
+    return registerCache(
+        this.<V>newBuilder()
+            .forRegion(Region.programRuleContextCache.name())
+            .expireAfterWrite(1, HOURS)
+            .withInitialCapacity((int) getActualSize(SIZE_100))
+            .forceInMemory()
+            .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_1K))));
+  }
 }
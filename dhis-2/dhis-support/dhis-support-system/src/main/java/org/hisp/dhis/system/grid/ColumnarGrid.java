@@ -0,0 +1,669 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.collect.Iterables;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+import org.apache.commons.lang3.Validate;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
+import org.hisp.dhis.common.OpenApi;
+import org.hisp.dhis.common.adapter.JacksonRowDataSerializer;
+
+/**
+ * {@link Grid} implementation which stores values in typed column vectors instead of a list of
+ * rows. Columns of {@link Double} values are kept as {@code double[]}, and columns of {@link
+ * String} values are dictionary encoded as {@code int[]}, so that large grids with few distinct
+ * dimension items need a fraction of the memory of a {@link ListGrid}. Columns with values of
+ * other or mixed types fall back to {@code Object[]}. Headers, meta data and all operations which
+ * do not depend on the storage are shared with {@link ListGrid} through {@link AbstractGrid}.
+ *
+ * <p>Rows returned by {@link #getRow(int)}, {@link #getRows()} and {@link #getVisibleRows()} are
+ * views on the columns. Values can be replaced through {@link List#set(int, Object)}, but the rows
+ * do not support structural modification, which must be done through the methods of the grid.
+ */
+public class ColumnarGrid extends AbstractGrid {
+  private static final int INITIAL_CAPACITY = 16;
+
+  /** The columns of the grid. */
+  private List<Column> columns;
+
+  /** The number of rows of the grid. */
+  private int height;
+
+  /** Indicating the current row in the grid for writing data. */
+  private int currentRowWriteIndex = -1;
+
+  /** Indicating the current column of the current row for writing data. */
+  private int currentColumnWriteIndex;
+
+  /** Default constructor. */
+  public ColumnarGrid() {
+    super();
+    this.columns = new ArrayList<>();
+  }
+
+  // ---------------------------------------------------------------------
+  // Public methods
+  // ---------------------------------------------------------------------
+
+  @Override
+  @JsonProperty
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  @JsonProperty
+  public int getWidth() {
+    return height > 0 ? columns.size() : 0;
+  }
+
+  @Override
+  public int getVisibleWidth() {
+    return height > 0 ? getVisibleColumnIndexes().length : 0;
+  }
+
+  @Override
+  public Grid addRow() {
+    height++;
+
+    currentRowWriteIndex = height - 1;
+    currentColumnWriteIndex = 0;
+
+    return this;
+  }
+
+  @Override
+  public Grid addRows(Grid grid) {
+    for (List<Object> row : grid.getRows()) {
+      addRow();
+      addValuesAsList(row);
+    }
+
+    return this;
+  }
+
+  @Override
+  public Grid addValue(Object value) {
+    setValue(currentRowWriteIndex, currentColumnWriteIndex++, value);
+
+    return this;
+  }
+
+  @Override
+  public Grid addValues(Object[] values) {
+    for (Object value : values) {
+      addValue(value);
+    }
+
+    return this;
+  }
+
+  @Override
+  public List<Object> getRow(int rowIndex) {
+    Objects.checkIndex(rowIndex, height);
+
+    return new Row(rowIndex, null);
+  }
+
+  @Override
+  @JsonProperty
+  @JsonSerialize(using = JacksonRowDataSerializer.class)
+  @OpenApi.Property(String[][].class)
+  public List<List<Object>> getRows() {
+    return new Rows(null);
+  }
+
+  @Override
+  public List<List<Object>> getVisibleRows() {
+    if (getHeaders() == null || getHeaders().isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    return new Rows(getVisibleColumnIndexes());
+  }
+
+  @Override
+  public List<Object> getColumn(int columnIndex) {
+    Column column = columns.get(columnIndex);
+    List<Object> values = new ArrayList<>(height);
+
+    for (int i = 0; i < height; i++) {
+      values.add(column.get(i));
+    }
+
+    return values;
+  }
+
+  @Override
+  public Object getValue(int rowIndex, int columnIndex) {
+    if (rowIndex >= height || columnIndex >= columns.size()) {
+      throw new IllegalArgumentException("Grid does not contain the requested row / column");
+    }
+
+    return columns.get(columnIndex).get(rowIndex);
+  }
+
+  @Override
+  public Grid addColumn(List<Object> columnValues) {
+    return addColumn(columns.size(), columnValues);
+  }
+
+  @Override
+  public Grid addColumn(int columnIndex, List<Object> columnValues) {
+    if (height != columnValues.size()) {
+      throw new IllegalStateException(
+          String.format(
+              "Number of column values (%d) is not equal to number of rows (%d)",
+              columnValues.size(), height));
+    }
+
+    Column column = new StringColumn();
+
+    for (int i = 0; i < height; i++) {
+      column = set(column, i, columnValues.get(i));
+    }
+
+    columns.add(columnIndex, column);
+
+    return this;
+  }
+
+  @Override
+  public Grid addAndPopulateColumnsBefore(
+      int referenceColumnIndex, Map<Object, List<?>> valueMap, int newColumns) {
+    Validate.inclusiveBetween(0, getWidth() - 1L, referenceColumnIndex);
+    Objects.requireNonNull(valueMap);
+
+    Column referenceColumn = columns.get(referenceColumnIndex);
+    List<Column> populatedColumns = new ArrayList<>();
+
+    for (int i = 0; i < newColumns; i++) {
+      populatedColumns.add(new StringColumn());
+    }
+
+    for (int row = 0; row < height; row++) {
+      List<?> list = valueMap.get(referenceColumn.get(row));
+
+      for (int i = 0; i < newColumns; i++) {
+        Object value = list == null ? null : Iterables.get(list, i, null);
+        populatedColumns.set(i, set(populatedColumns.get(i), row, value));
+      }
+    }
+
+    columns.addAll(referenceColumnIndex, populatedColumns);
+
+    return this;
+  }
+
+  @Override
+  public boolean columnIsEmpty(int columnIndex) {
+    Column column = columns.get(columnIndex);
+
+    for (int i = 0; i < height; i++) {
+      if (column.get(i) != null) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  @Override
+  public Grid removeCurrentWriteRow() {
+    columns.forEach(c -> c.truncate(currentRowWriteIndex));
+
+    height--;
+    currentRowWriteIndex--;
+
+    return this;
+  }
+
+  @Override
+  public Grid limitGrid(int limit) {
+    if (limit < 0) {
+      throw new IllegalStateException("Illegal limit: " + limit);
+    }
+
+    if (limit > 0 && limit <= getHeight()) {
+      columns.forEach(c -> c.truncate(limit));
+
+      height = limit;
+      currentRowWriteIndex = height - 1;
+    }
+
+    return this;
+  }
+
+  @Override
+  public Grid limitGrid(int startPos, int endPos) {
+    if (startPos < 0 || endPos < startPos || endPos > getHeight()) {
+      throw new IllegalStateException(
+          "Illegal start or end pos: " + startPos + ", " + endPos + ", " + getHeight());
+    }
+
+    selectRows(IntStream.range(startPos, endPos).toArray());
+
+    return this;
+  }
+
+  @Override
+  public Grid sortGrid(int columnIndex, int order) {
+    if (order == 0) {
+      return this; // No sorting
+    }
+
+    columnIndex--;
+
+    if (columnIndex < 0 || columnIndex >= getWidth()) {
+      throw new IllegalArgumentException("Column index out of bounds: " + columnIndex);
+    }
+
+    ListGrid.GridRowComparator comparator = new ListGrid.GridRowComparator(columnIndex, order);
+
+    int[] rowOrder =
+        IntStream.range(0, height)
+            .boxed()
+            .sorted((a, b) -> comparator.compare(getRow(a), getRow(b)))
+            .mapToInt(Integer::intValue)
+            .toArray();
+
+    selectRows(rowOrder);
+
+    return this;
+  }
+
+  @Override
+  public Grid substituteMetaData(
+      int sourceColumnIndex, int targetColumnIndex, Map<?, ?> metaDataMap) {
+    if (metaDataMap == null) {
+      return this;
+    }
+
+    Column sourceColumn = columns.get(sourceColumnIndex);
+
+    for (int rowIndex = 0; rowIndex < height; rowIndex++) {
+      Object sourceValue = sourceColumn.get(rowIndex);
+
+      if (sourceValue != null) {
+        Object metaValue = metaDataMap.get(sourceValue);
+
+        if (metaValue != null) {
+          setValue(rowIndex, targetColumnIndex, metaValue);
+        }
+      }
+    }
+
+    return this;
+  }
+
+  // -------------------------------------------------------------------------
+  // Supportive methods
+  // -------------------------------------------------------------------------
+
+  @Override
+  protected void removeColumnValues(int columnIndex) {
+    if (columnIndex < columns.size()) {
+      columns.remove(columnIndex);
+    }
+  }
+
+  @Override
+  protected void repositionColumnValues(List<Integer> columnIndexes) {
+    List<Column> orderedColumns = new ArrayList<>();
+
+    for (int i = 0; i < columns.size(); i++) {
+      orderedColumns.add(columns.get(columnIndexes.get(i)));
+    }
+
+    columns = orderedColumns;
+  }
+
+  /**
+   * Sets the value of the given cell. Columns are added as needed, and a column is converted to a
+   * more general column type if it does not support the type of the given value.
+   */
+  private void setValue(int rowIndex, int columnIndex, Object value) {
+    while (columns.size() <= columnIndex) {
+      columns.add(new StringColumn());
+    }
+
+    columns.set(columnIndex, set(columns.get(columnIndex), rowIndex, value));
+  }
+
+  /**
+   * Sets the given value in the given column, and returns the column holding the value, which is a
+   * new, converted column if the given column does not support the type of the value.
+   */
+  private static Column set(Column column, int rowIndex, Object value) {
+    if (column.set(rowIndex, value)) {
+      return column;
+    }
+
+    Column converted = column.isEmpty() ? newColumn(value) : new ObjectColumn();
+
+    for (int i = 0; i < column.size(); i++) {
+      converted.set(i, column.get(i));
+    }
+
+    converted.set(rowIndex, value);
+
+    return converted;
+  }
+
+  private static Column newColumn(Object value) {
+    if (value instanceof Double) {
+      return new DoubleColumn();
+    }
+
+    return value instanceof String ? new StringColumn() : new ObjectColumn();
+  }
+
+  /** Replaces the rows of the grid with the rows at the given indexes, in the given order. */
+  private void selectRows(int[] rowIndexes) {
+    columns.replaceAll(c -> c.select(rowIndexes));
+
+    height = rowIndexes.length;
+    currentRowWriteIndex = height - 1;
+  }
+
+  private int[] getVisibleColumnIndexes() {
+    List<GridHeader> headers = getHeaders();
+
+    return IntStream.range(0, columns.size())
+        .filter(i -> i < headers.size() && !headers.get(i).isHidden())
+        .toArray();
+  }
+
+  // -------------------------------------------------------------------------
+  // Row views
+  // -------------------------------------------------------------------------
+
+  /** View of the rows of the grid, optionally restricted to the given column indexes. */
+  private class Rows extends AbstractList<List<Object>> implements RandomAccess {
+    private final int[] columnIndexes;
+
+    private Rows(int[] columnIndexes) {
+      this.columnIndexes = columnIndexes;
+    }
+
+    @Override
+    public List<Object> get(int index) {
+      Objects.checkIndex(index, height);
+
+      return new Row(index, columnIndexes);
+    }
+
+    @Override
+    public int size() {
+      return height;
+    }
+  }
+
+  /** View of a single row of the grid, optionally restricted to the given column indexes. */
+  private class Row extends AbstractList<Object> implements RandomAccess {
+    private final int rowIndex;
+
+    private final int[] columnIndexes;
+
+    private Row(int rowIndex, int[] columnIndexes) {
+      this.rowIndex = rowIndex;
+      this.columnIndexes = columnIndexes;
+    }
+
+    @Override
+    public Object get(int index) {
+      return columns.get(getColumnIndex(index)).get(rowIndex);
+    }
+
+    @Override
+    public Object set(int index, Object value) {
+      Object previous = get(index);
+
+      setValue(rowIndex, getColumnIndex(index), value);
+
+      return previous;
+    }
+
+    @Override
+    public int size() {
+      return columnIndexes != null ? columnIndexes.length : columns.size();
+    }
+
+    private int getColumnIndex(int index) {
+      Objects.checkIndex(index, size());
+
+      return columnIndexes != null ? columnIndexes[index] : index;
+    }
+  }
+
+  // -------------------------------------------------------------------------
+  // Columns
+  // -------------------------------------------------------------------------
+
+  /** Column vector. Cells beyond the size of the column are null. */
+  private abstract static class Column implements Serializable {
+    protected int size;
+
+    int size() {
+      return size;
+    }
+
+    /** Returns the value of the given row, or null if the row is beyond the column size. */
+    abstract Object get(int rowIndex);
+
+    /**
+     * Sets the value of the given row. Returns false if the column does not support the type of
+     * the value, in which case the column is not modified.
+     */
+    abstract boolean set(int rowIndex, Object value);
+
+    /** Returns a new, empty column of the same type. */
+    abstract Column newInstance();
+
+    /** Removes all rows from the given row index. */
+    void truncate(int rowIndex) {
+      size = Math.min(size, rowIndex);
+    }
+
+    /** Returns a new column with the values of the given rows, in the given order. */
+    Column select(int[] rowIndexes) {
+      Column column = newInstance();
+
+      for (int i = 0; i < rowIndexes.length; i++) {
+        column.set(i, get(rowIndexes[i]));
+      }
+
+      return column;
+    }
+
+    boolean isEmpty() {
+      for (int i = 0; i < size; i++) {
+        if (get(i) != null) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    static int capacity(int current, int required) {
+      return Math.max(required, current + (current >> 1));
+    }
+  }
+
+  /** Column of {@link Double} values, stored as primitives with a bit set marking nulls. */
+  private static class DoubleColumn extends Column {
+    private double[] values = new double[INITIAL_CAPACITY];
+
+    private final BitSet nulls = new BitSet();
+
+    @Override
+    Object get(int rowIndex) {
+      return rowIndex < size && !nulls.get(rowIndex) ? values[rowIndex] : null;
+    }
+
+    @Override
+    boolean set(int rowIndex, Object value) {
+      if (value != null && !(value instanceof Double)) {
+        return false;
+      }
+
+      if (rowIndex >= values.length) {
+        values = Arrays.copyOf(values, capacity(values.length, rowIndex + 1));
+      }
+
+      if (rowIndex > size) {
+        nulls.set(size, rowIndex);
+      }
+
+      if (value == null) {
+        nulls.set(rowIndex);
+      } else {
+        values[rowIndex] = (Double) value;
+        nulls.clear(rowIndex);
+      }
+
+      size = Math.max(size, rowIndex + 1);
+
+      return true;
+    }
+
+    @Override
+    Column newInstance() {
+      return new DoubleColumn();
+    }
+  }
+
+  /**
+   * Column of {@link String} values, stored as codes referring to a dictionary of the distinct
+   * values of the column. A code of -1 represents null.
+   */
+  private static class StringColumn extends Column {
+    private int[] codes = new int[INITIAL_CAPACITY];
+
+    private final List<String> dictionary = new ArrayList<>();
+
+    private transient Map<String, Integer> dictionaryIndex;
+
+    @Override
+    Object get(int rowIndex) {
+      int code = rowIndex < size ? codes[rowIndex] : -1;
+
+      return code != -1 ? dictionary.get(code) : null;
+    }
+
+    @Override
+    boolean set(int rowIndex, Object value) {
+      if (value != null && !(value instanceof String)) {
+        return false;
+      }
+
+      if (rowIndex >= codes.length) {
+        codes = Arrays.copyOf(codes, capacity(codes.length, rowIndex + 1));
+      }
+
+      if (rowIndex > size) {
+        Arrays.fill(codes, size, rowIndex, -1);
+      }
+
+      codes[rowIndex] = value != null ? encode((String) value) : -1;
+      size = Math.max(size, rowIndex + 1);
+
+      return true;
+    }
+
+    @Override
+    Column newInstance() {
+      return new StringColumn();
+    }
+
+    private int encode(String value) {
+      if (dictionaryIndex == null) {
+        dictionaryIndex = new HashMap<>();
+
+        for (int i = 0; i < dictionary.size(); i++) {
+          dictionaryIndex.put(dictionary.get(i), i);
+        }
+      }
+
+      return dictionaryIndex.computeIfAbsent(
+          value,
+          v -> {
+            dictionary.add(v);
+            return dictionary.size() - 1;
+          });
+    }
+  }
+
+  /** Column of values of any type. */
+  private static class ObjectColumn extends Column {
+    private Object[] values = new Object[INITIAL_CAPACITY];
+
+    @Override
+    Object get(int rowIndex) {
+      return rowIndex < size ? values[rowIndex] : null;
+    }
+
+    @Override
+    boolean set(int rowIndex, Object value) {
+      if (rowIndex >= values.length) {
+        values = Arrays.copyOf(values, capacity(values.length, rowIndex + 1));
+      }
+
+      if (rowIndex > size) {
+        Arrays.fill(values, size, rowIndex, null);
+      }
+
+      values[rowIndex] = value;
+      size = Math.max(size, rowIndex + 1);
+
+      return true;
+    }
+
+    @Override
+    Column newInstance() {
+      return new ObjectColumn();
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import com.csvreader.CsvWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import org.hisp.dhis.common.Grid;
+
+/**
+ * Writes a CSV representation of a grid whose rows are produced one at a time, so that the rows do
+ * not have to be held in a complete {@link Grid}. The format is the same as for {@link
+ * GridUtils#toCsv(Grid, Writer)}.
+ */
+public class CsvGridWriter {
+  private final CsvWriter csvWriter;
+
+  public CsvGridWriter(Writer writer) {
+    this.csvWriter = GridUtils.toCsvWriter(writer);
+  }
+
+  /**
+   * Writes the headers of the given grid.
+   *
+   * @param grid the {@link Grid} holding the headers.
+   */
+  public void writeHeaders(Grid grid) {
+    try {
+      GridUtils.toCsvHeaders(grid, csvWriter);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Writes the given row.
+   *
+   * @param row the row values.
+   */
+  public void writeRow(List<Object> row) {
+    try {
+      GridUtils.toCsvRow(row, csvWriter);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
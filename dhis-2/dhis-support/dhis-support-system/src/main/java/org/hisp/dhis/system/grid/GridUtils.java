@@ -54,7 +54,6 @@ import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -449,25 +448,41 @@ public class GridUtils {
       return;
     }
 
-    CsvWriter csvWriter = new CsvWriter(writer, CSV_DELIMITER);
+    CsvWriter csvWriter = toCsvWriter(writer);
 
-    Iterator<GridHeader> headers = grid.getHeaders().iterator();
+    toCsvHeaders(grid, csvWriter);
 
+    for (List<Object> row : grid.getRows()) {
+      toCsvRow(row, csvWriter);
+    }
+  }
+
+  /**
+   * Returns a {@link CsvWriter} for the given Writer. Used together with {@link #toCsvHeaders} and
+   * {@link #toCsvRow} to write grid rows as they are produced, instead of from a complete grid.
+   */
+  static CsvWriter toCsvWriter(Writer writer) {
+    return new CsvWriter(writer, CSV_DELIMITER);
+  }
+
+  /** Writes a CSV representation of the headers of the given Grid to the given CsvWriter. */
+  static void toCsvHeaders(Grid grid, CsvWriter csvWriter) throws IOException {
     if (!grid.getHeaders().isEmpty()) {
-      while (headers.hasNext()) {
-        csvWriter.write(headers.next().getDisplayColumn());
+      for (GridHeader header : grid.getHeaders()) {
+        csvWriter.write(header.getDisplayColumn());
       }
 
       csvWriter.endRecord();
     }
+  }
 
-    for (List<Object> row : grid.getRows()) {
-      for (Object value : row) {
-        csvWriter.write(value != null ? String.valueOf(maybeFormat(value)) : StringUtils.EMPTY);
-      }
-
-      csvWriter.endRecord();
+  /** Writes a CSV representation of the given grid row to the given CsvWriter. */
+  static void toCsvRow(List<Object> row, CsvWriter csvWriter) throws IOException {
+    for (Object value : row) {
+      csvWriter.write(value != null ? String.valueOf(maybeFormat(value)) : StringUtils.EMPTY);
     }
+
+    csvWriter.endRecord();
   }
 
   /** Writes a Jasper Reports representation of the given Grid to the given OutputStream. */
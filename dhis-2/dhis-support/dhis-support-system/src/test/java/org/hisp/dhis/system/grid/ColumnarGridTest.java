@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import static org.hisp.dhis.common.ValueType.NUMBER;
+import static org.hisp.dhis.common.ValueType.TEXT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.SerializationUtils;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link ColumnarGrid}. */
+class ColumnarGridTest {
+  private Grid grid;
+
+  @BeforeEach
+  void setUp() {
+    grid =
+        new ColumnarGrid()
+            .addHeader(new GridHeader("dx", "Data", TEXT, false, true))
+            .addHeader(new GridHeader("ou", "Org unit", TEXT, false, true))
+            .addHeader(new GridHeader("value", "Value", NUMBER, false, false))
+            .addRow()
+            .addValuesVar("deA", "ouA", 3d)
+            .addRow()
+            .addValuesVar("deB", "ouA", 1d)
+            .addRow()
+            .addValuesVar("deA", "ouB", 2d);
+  }
+
+  @Test
+  void testGetValues() {
+    assertEquals(3, grid.getHeight());
+    assertEquals(3, grid.getWidth());
+    assertEquals("deB", grid.getValue(1, 0));
+    assertEquals(2d, grid.getValue(2, 2));
+    assertEquals(List.of("deA", "ouB", 2d), grid.getRow(2));
+    assertEquals(List.of("ouA", "ouA", "ouB"), grid.getColumn(1));
+    assertEquals(List.of(List.of("deA", "ouA", 3d)), grid.getRows().subList(0, 1));
+  }
+
+  @Test
+  void testMixedValueTypes() {
+    grid.addRow().addValuesVar(null, 5, "n/a");
+
+    assertNull(grid.getValue(3, 0));
+    assertEquals(5, grid.getValue(3, 1));
+    assertEquals("n/a", grid.getValue(3, 2));
+    assertEquals(List.of("deA", "ouA", 3d), grid.getRow(0));
+  }
+
+  @Test
+  void testSetRowValue() {
+    grid.getRow(1).set(0, "deC");
+    grid.getRows().get(1).set(2, 4d);
+
+    assertEquals(List.of("deC", "ouA", 4d), grid.getRow(1));
+  }
+
+  @Test
+  void testSortAndLimitGrid() {
+    grid.sortGrid(3, -1);
+
+    assertEquals(List.of(1d, 2d, 3d), grid.getColumn(2));
+    assertEquals(List.of("deB", "deA", "deA"), grid.getColumn(0));
+
+    grid.limitGrid(1, 3);
+
+    assertEquals(2, grid.getHeight());
+    assertEquals(List.of(2d, 3d), grid.getColumn(2));
+  }
+
+  @Test
+  void testRemoveCurrentWriteRow() {
+    grid.addRow().addValuesVar("deC", "ouC", 9d);
+    grid.removeCurrentWriteRow();
+
+    assertEquals(3, grid.getHeight());
+
+    grid.addRow().addValuesVar("deD");
+
+    assertEquals(Arrays.asList("deD", null, null), grid.getRow(3));
+  }
+
+  @Test
+  void testAddAndRemoveColumn() {
+    grid.addColumn(1, List.of("peA", "peB", "peC"));
+
+    assertEquals(4, grid.getWidth());
+    assertEquals(List.of("deA", "peA", "ouA", 3d), grid.getRow(0));
+
+    grid.addHeader(1, new GridHeader("pe"));
+    grid.removeColumn(1);
+
+    assertEquals(3, grid.getWidth());
+    assertEquals(List.of("deA", "ouA", 3d), grid.getRow(0));
+    assertThrows(IllegalStateException.class, () -> grid.addColumn(List.of("x")));
+  }
+
+  @Test
+  void testSubstituteMetaData() {
+    grid.substituteMetaData(Map.of("deA", "Data element A", "ouB", "Org unit B"));
+
+    assertEquals(List.of("Data element A", "ouA", 3d), grid.getRow(0));
+    assertEquals(List.of("Data element A", "Org unit B", 2d), grid.getRow(2));
+  }
+
+  @Test
+  void testGetVisibleRows() {
+    grid.replaceHeaders(
+        List.of(
+            new GridHeader("dx", "Data", TEXT, false, true),
+            new GridHeader("ou", "Org unit", TEXT, true, true),
+            new GridHeader("value", "Value", NUMBER, false, false)));
+
+    assertEquals(2, grid.getVisibleWidth());
+    assertEquals(List.of("deB", 1d), grid.getVisibleRows().get(1));
+  }
+
+  @Test
+  void testSerialization() {
+    Grid copy = SerializationUtils.clone(grid);
+
+    assertEquals(grid.getRows(), copy.getRows());
+
+    copy.addRow().addValuesVar("deE", "ouE", 7d);
+
+    assertEquals(List.of("deE", "ouE", 7d), copy.getRow(3));
+    assertTrue(grid.getHeight() < copy.getHeight());
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
+import org.junit.jupiter.api.Test;
+
+class CsvGridWriterTest {
+
+  @Test
+  void testWriteHeadersAndRows() {
+    StringWriter writer = new StringWriter();
+    CsvGridWriter csvWriter = new CsvGridWriter(writer);
+
+    csvWriter.writeHeaders(createHeaderGrid());
+    csvWriter.writeRow(Arrays.asList("de1", "ou1", 3.0));
+    csvWriter.writeRow(Arrays.asList("de2", null, 5.5));
+
+    assertEquals("dx,ou,value\nde1,ou1,3.0\nde2,,5.5\n", writer.toString());
+  }
+
+  @Test
+  void testWriteQuotedValues() {
+    StringWriter writer = new StringWriter();
+    CsvGridWriter csvWriter = new CsvGridWriter(writer);
+
+    csvWriter.writeHeaders(createHeaderGrid());
+    csvWriter.writeRow(Arrays.asList("Ward, North", "ou1", 1.0));
+
+    assertEquals("dx,ou,value\n\"Ward, North\",ou1,1.0\n", writer.toString());
+  }
+
+  @Test
+  void testWriteNoHeaders() {
+    StringWriter writer = new StringWriter();
+    CsvGridWriter csvWriter = new CsvGridWriter(writer);
+
+    csvWriter.writeHeaders(new ListGrid());
+    csvWriter.writeRow(Arrays.asList("de1", "ou1", 3.0));
+
+    assertEquals("de1,ou1,3.0\n", writer.toString());
+  }
+
+  @Test
+  void testSameOutputAsGridUtils() throws Exception {
+    Grid grid = createHeaderGrid();
+    List<List<Object>> rows =
+        List.of(
+            Arrays.asList("de1", "ou1", 3.0),
+            Arrays.asList("de2", null, 7.25),
+            Arrays.asList("de3", "Ward, North", 12));
+
+    StringWriter streamed = new StringWriter();
+    CsvGridWriter csvWriter = new CsvGridWriter(streamed);
+    csvWriter.writeHeaders(grid);
+    rows.forEach(csvWriter::writeRow);
+
+    rows.forEach(row -> grid.addRow().addValuesAsList(row));
+    StringWriter complete = new StringWriter();
+    GridUtils.toCsv(grid, complete);
+
+    assertEquals(complete.toString(), streamed.toString());
+  }
+
+  private Grid createHeaderGrid() {
+    Grid grid = new ListGrid();
+    grid.addHeader(new GridHeader("dx"));
+    grid.addHeader(new GridHeader("ou"));
+    grid.addHeader(new GridHeader("value"));
+    return grid;
+  }
+}
@@ -32,6 +32,7 @@ package org.hisp.dhis.analytics;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import org.apache.commons.lang3.NotImplementedException;
 import org.hisp.dhis.common.AnalyticalObject;
 import org.hisp.dhis.common.DimensionType;
@@ -82,6 +83,12 @@ public class MockAnalyticsService implements AnalyticsService {
     throw new NotImplementedException("");
   }
 
+  @Override
+  public void streamRawDataValues(
+      DataQueryParams params, Consumer<Grid> headerConsumer, Consumer<List<Object>> rowConsumer) {
+    throw new NotImplementedException("");
+  }
+
   @Override
   public Grid getAggregatedDataValuesGrid(DataQueryParams params) {
     throw new NotImplementedException("");
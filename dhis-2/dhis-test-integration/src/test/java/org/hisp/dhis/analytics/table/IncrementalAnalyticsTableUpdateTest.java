@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.table;
+
+import static org.hisp.dhis.util.DateUtils.parseDate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import org.hisp.dhis.analytics.AggregationType;
+import org.hisp.dhis.analytics.AnalyticsTableGenerator;
+import org.hisp.dhis.analytics.AnalyticsTableManager;
+import org.hisp.dhis.analytics.AnalyticsTableService;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
+import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
+import org.hisp.dhis.category.CategoryOptionCombo;
+import org.hisp.dhis.category.CategoryService;
+import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dataelement.DataElementService;
+import org.hisp.dhis.datavalue.DataDumpService;
+import org.hisp.dhis.datavalue.DataValue;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.organisationunit.OrganisationUnitService;
+import org.hisp.dhis.period.Period;
+import org.hisp.dhis.period.PeriodService;
+import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.test.config.PostgresDhisConfigurationProvider;
+import org.hisp.dhis.test.integration.PostgresIntegrationTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * Tests incremental updates of the data value analytics tables from recorded data value changes.
+ */
+@ContextConfiguration(classes = {IncrementalAnalyticsTableUpdateTest.DhisConfig.class})
+class IncrementalAnalyticsTableUpdateTest extends PostgresIntegrationTestBase {
+
+  static class DhisConfig {
+    @Bean
+    public DhisConfigurationProvider dhisConfigurationProvider() {
+      Properties override = new Properties();
+      override.put("analytics.table.incremental", "on");
+      PostgresDhisConfigurationProvider postgresDhisConfigurationProvider =
+          new PostgresDhisConfigurationProvider(null);
+      postgresDhisConfigurationProvider.addProperties(override);
+      return postgresDhisConfigurationProvider;
+    }
+  }
+
+  @Autowired private List<AnalyticsTableService> analyticsTableServices;
+
+  @Autowired private AnalyticsTableGenerator analyticsTableGenerator;
+
+  @Autowired
+  @Qualifier("org.hisp.dhis.analytics.AnalyticsTableManager")
+  private AnalyticsTableManager tableManager;
+
+  @Autowired private DataElementService dataElementService;
+
+  @Autowired private CategoryService categoryService;
+
+  @Autowired private OrganisationUnitService organisationUnitService;
+
+  @Autowired private PeriodService periodService;
+
+  @Autowired private DataDumpService dataDumpService;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private DataElement deA;
+
+  private Period jan;
+
+  private Period feb;
+
+  private OrganisationUnit ouA;
+
+  private CategoryOptionCombo coc;
+
+  @BeforeEach
+  void setUp() {
+    createPeriodTypes();
+
+    jan = createPeriod("2022-01");
+    feb = createPeriod("2022-02");
+    periodService.addPeriod(jan);
+    periodService.addPeriod(feb);
+    jan = periodService.reloadPeriod(jan);
+    feb = periodService.reloadPeriod(feb);
+
+    ouA = createOrganisationUnit('A');
+    organisationUnitService.addOrganisationUnit(ouA);
+
+    deA = createDataElement('A', ValueType.INTEGER, AggregationType.SUM);
+    dataElementService.addDataElement(deA);
+
+    coc = categoryService.getDefaultCategoryOptionCombo();
+
+    addDataValues(newDataValue(jan, "1"), newDataValue(feb, "2"));
+
+    // Make sure that the table generation start time is after the data value changes
+    Date oneSecondFromNow =
+        Date.from(LocalDateTime.now().plusSeconds(1).atZone(ZoneId.systemDefault()).toInstant());
+
+    analyticsTableGenerator.generateAnalyticsTables(
+        AnalyticsTableUpdateParams.newBuilder().startTime(oneSecondFromNow).build(),
+        JobProgress.noop());
+  }
+
+  @AfterEach
+  void tearDown() {
+    for (AnalyticsTableService service : analyticsTableServices) {
+      service.dropTables();
+    }
+  }
+
+  @Test
+  void testFullUpdateRemovesChanges() {
+    assertEquals(List.of(1.0, 2.0), getValues());
+    assertEquals(0, countChanges("datavaluechange"));
+    assertEquals(0, countChanges("datavaluechangeclaim"));
+  }
+
+  @Test
+  void testIncrementalUpdate() {
+    DataValue deleted = newDataValue(feb, "2");
+    deleted.setDeleted(true);
+    addDataValues(newDataValue(jan, "5"), deleted);
+
+    assertEquals(2, countChanges("datavaluechange"));
+
+    getDataValueTableService().create(getLatestUpdateParams(), JobProgress.noop());
+
+    assertEquals(List.of(5.0), getValues());
+    assertEquals(0, countChanges("datavaluechange"));
+    assertEquals(0, countChanges("datavaluechangeclaim"));
+  }
+
+  @Test
+  void testChangesAfterClaimAreKept() {
+    addDataValues(newDataValue(jan, "5"));
+
+    AnalyticsTableUpdateParams params = getLatestUpdateParams();
+    assertTrue(tableManager.supportsIncrementalUpdate(params));
+    List<AnalyticsTablePartition> partitions = tableManager.createIncrementalTables(params);
+
+    // Committed after the delta tables were populated, must not be removed by the merge
+    addDataValues(newDataValue(feb, "7"));
+
+    tableManager.mergeIncrementalTables(params, partitions);
+
+    assertEquals(List.of(5.0, 2.0), getValues());
+    assertEquals(1, countChanges("datavaluechange"));
+    assertEquals(0, countChanges("datavaluechangeclaim"));
+
+    getDataValueTableService().create(getLatestUpdateParams(), JobProgress.noop());
+
+    assertEquals(List.of(5.0, 7.0), getValues());
+    assertEquals(0, countChanges("datavaluechange"));
+  }
+
+  @Test
+  void testClaimedChangesOfFailedUpdateAreApplied() {
+    addDataValues(newDataValue(jan, "5"));
+
+    // Claims the changes, but fails before merging the delta tables
+    List<AnalyticsTablePartition> partitions =
+        tableManager.createIncrementalTables(getLatestUpdateParams());
+    partitions.forEach(tableManager::dropTable);
+
+    assertEquals(0, countChanges("datavaluechange"));
+    assertEquals(1, countChanges("datavaluechangeclaim"));
+
+    getDataValueTableService().create(getLatestUpdateParams(), JobProgress.noop());
+
+    assertEquals(List.of(5.0, 2.0), getValues());
+    assertEquals(0, countChanges("datavaluechangeclaim"));
+  }
+
+  private AnalyticsTableService getDataValueTableService() {
+    return analyticsTableServices.stream()
+        .filter(service -> service.getAnalyticsTableType() == AnalyticsTableType.DATA_VALUE)
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private AnalyticsTableUpdateParams getLatestUpdateParams() {
+    return AnalyticsTableUpdateParams.newBuilder()
+        .startTime(new Date())
+        .build()
+        .withLatestPartition();
+  }
+
+  /** Returns the analytics values of data element A, ordered by period. */
+  private List<Double> getValues() {
+    return jdbcTemplate.queryForList(
+        "select value from analytics where dx = ? order by pe", Double.class, deA.getUid());
+  }
+
+  private int countChanges(String table) {
+    Integer count = jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+    return count == null ? 0 : count;
+  }
+
+  private DataValue newDataValue(Period pe, String value) {
+    return new DataValue(deA, pe, ouA, coc, coc, value, null, parseDate("2022-01-01"), null);
+  }
+
+  private void addDataValues(DataValue... values) {
+    if (dataDumpService.upsertValues(values) < values.length) fail("Failed to upsert test data");
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datavalue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.hisp.dhis.common.UID;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dataelement.DataElementService;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.organisationunit.OrganisationUnitService;
+import org.hisp.dhis.period.Period;
+import org.hisp.dhis.period.PeriodService;
+import org.hisp.dhis.test.integration.PostgresIntegrationTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Tests that {@link DataEntryStore#upsertValuesBulk(List)} results in the same data values and
+ * audits as {@link DataEntryStore#upsertValues(List)}. Each test applies the same sequence of
+ * upserts to data element A using the regular upsert and to data element B using the bulk upsert.
+ */
+@Transactional
+class DataEntryStoreBulkUpsertTest extends PostgresIntegrationTestBase {
+
+  @Autowired private DataEntryStore store;
+
+  @Autowired private DataElementService dataElementService;
+
+  @Autowired private OrganisationUnitService organisationUnitService;
+
+  @Autowired private PeriodService periodService;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private DataElement deA;
+
+  private DataElement deB;
+
+  private OrganisationUnit ouA;
+
+  private Period jan;
+
+  private Period feb;
+
+  private Period mar;
+
+  @BeforeEach
+  void setUp() {
+    createPeriodTypes();
+
+    jan = createPeriod("2022-01");
+    feb = createPeriod("2022-02");
+    mar = createPeriod("2022-03");
+    periodService.addPeriod(jan);
+    periodService.addPeriod(feb);
+    periodService.addPeriod(mar);
+
+    ouA = createOrganisationUnit('A');
+    organisationUnitService.addOrganisationUnit(ouA);
+
+    deA = createDataElement('A');
+    deB = createDataElement('B');
+    dataElementService.addDataElement(deA);
+    dataElementService.addDataElement(deB);
+  }
+
+  @Test
+  void testInsert() {
+    upsert(
+        de -> List.of(value(de, jan, "1", null, null), value(de, feb, "2", "Comment", true)));
+
+    assertSameDataValues(2);
+    assertSameAudits(2);
+  }
+
+  @Test
+  void testUpdate() {
+    upsert(de -> List.of(value(de, jan, "1", null, null), value(de, feb, "2", null, null)));
+    upsert(
+        de ->
+            List.of(
+                value(de, jan, "10", null, null),
+                value(de, feb, "2", "Comment", false),
+                value(de, mar, "3", null, null)));
+
+    assertSameDataValues(3);
+    // the comment only update on feb is not audited
+    assertSameAudits(4);
+  }
+
+  @Test
+  void testDeleteAndRestore() {
+    upsert(de -> List.of(value(de, jan, "1", null, null), value(de, feb, "2", null, null)));
+    upsert(de -> List.of(value(de, jan, "1", null, null).toDeleted()));
+
+    assertSameDataValues(2);
+    assertSameAudits(3);
+
+    upsert(de -> List.of(value(de, jan, "11", null, null)));
+
+    assertSameDataValues(2);
+    assertSameAudits(4);
+    assertEquals(Boolean.FALSE, getDataValues(deB).get(0).get("deleted"));
+  }
+
+  @Test
+  void testDuplicateKeysLastWins() {
+    int bulk =
+        store.upsertValuesBulk(
+            List.of(value(deB, jan, "1", null, null), value(deB, jan, "2", null, null)));
+
+    assertEquals(1, bulk);
+    assertEquals("2", getDataValues(deB).get(0).get("value"));
+  }
+
+  /**
+   * Applies the given values to data element A with the regular upsert and to data element B with
+   * the bulk upsert, and asserts that both report the same number of upserted values.
+   */
+  private void upsert(Function<DataElement, List<DataEntryValue>> values) {
+    int regular = store.upsertValues(values.apply(deA));
+    int bulk = store.upsertValuesBulk(values.apply(deB));
+
+    assertEquals(regular, bulk);
+  }
+
+  private void assertSameDataValues(int expected) {
+    List<Map<String, Object>> regular = getDataValues(deA);
+
+    assertEquals(expected, regular.size());
+    assertEquals(regular, getDataValues(deB));
+  }
+
+  private void assertSameAudits(int expected) {
+    List<Map<String, Object>> regular = getAudits(deA);
+
+    assertEquals(expected, regular.size());
+    assertEquals(regular, getAudits(deB));
+  }
+
+  private List<Map<String, Object>> getDataValues(DataElement de) {
+    return jdbcTemplate.queryForList(
+        """
+        select pe.iso, dv.sourceid, dv.value, dv.comment, dv.followup, dv.deleted, dv.storedby
+        from datavalue dv
+        join period pe on dv.periodid = pe.periodid
+        where dv.dataelementid = ?
+        order by pe.iso""",
+        de.getId());
+  }
+
+  private List<Map<String, Object>> getAudits(DataElement de) {
+    return jdbcTemplate.queryForList(
+        """
+        select pe.iso, dva.value, dva.audittype, dva.modifiedby
+        from datavalueaudit dva
+        join period pe on dva.periodid = pe.periodid
+        where dva.dataelementid = ?
+        order by pe.iso, dva.datavalueauditid""",
+        de.getId());
+  }
+
+  private DataEntryValue value(
+      DataElement de, Period pe, String value, String comment, Boolean followUp) {
+    return new DataEntryValue(
+        0, UID.of(de), UID.of(ouA), null, null, pe, value, comment, followUp, null);
+  }
+}
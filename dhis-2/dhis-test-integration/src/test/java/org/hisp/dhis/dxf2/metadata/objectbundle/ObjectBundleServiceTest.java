@@ -43,6 +43,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.category.Category;
@@ -59,6 +60,7 @@ import org.hisp.dhis.dataset.DataSet;
 import org.hisp.dhis.dataset.DataSetElement;
 import org.hisp.dhis.dataset.Section;
 import org.hisp.dhis.dxf2.metadata.AtomicMode;
+import org.hisp.dhis.dxf2.metadata.FlushMode;
 import org.hisp.dhis.dxf2.metadata.objectbundle.feedback.ObjectBundleValidationReport;
 import org.hisp.dhis.feedback.ErrorCode;
 import org.hisp.dhis.importexport.ImportStrategy;
@@ -81,6 +83,8 @@ import org.hisp.dhis.validation.ValidationRule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.transaction.annotation.Transactional;
@@ -609,6 +613,42 @@ class ObjectBundleServiceTest extends PostgresIntegrationTestBase {
     assertNotNull(section2.getDataSet());
   }
 
+  @ParameterizedTest
+  @EnumSource(value = FlushMode.class, names = {"AUTO", "BATCH"})
+  void testCreateDataSetWithSectionsInFlushMode(FlushMode flushMode) throws IOException {
+    Map<Class<? extends IdentifiableObject>, List<IdentifiableObject>> metadata =
+        renderService.fromMetadata(
+            new ClassPathResource("dxf2/dataset_with_sections.json").getInputStream(),
+            RenderFormat.JSON);
+    ObjectBundleParams params = new ObjectBundleParams();
+    params.setObjectBundleMode(ObjectBundleMode.COMMIT);
+    params.setImportStrategy(ImportStrategy.CREATE);
+    params.setFlushMode(flushMode);
+    params.setObjects(metadata);
+    ObjectBundle bundle = objectBundleService.create(params);
+    ObjectBundleValidationReport validate = objectBundleValidationService.validate(bundle);
+    assertFalse(validate.hasErrorReports());
+    objectBundleService.commit(bundle);
+    List<DataSet> dataSets = manager.getAll(DataSet.class);
+    List<Section> sections = manager.getAll(Section.class);
+    assertEquals(1, dataSets.size());
+    assertEquals(2, sections.size());
+    DataSet dataSet = dataSets.get(0);
+    // version 4 of the payload is increased once for each created section
+    assertEquals(6, dataSet.getVersion());
+    assertEquals(2, dataSet.getSections().size());
+    assertEquals(
+        Set.of("C50M0WxaI7y", "JwcV2ZifEQf"),
+        sections.stream().map(Section::getUid).collect(Collectors.toSet()));
+    for (Section section : sections) {
+      assertEquals(1, section.getDataElements().size());
+      assertEquals(dataSet.getUid(), section.getDataSet().getUid());
+    }
+    assertEquals(2, dataSet.getDataSetElements().size());
+    assertFalse(manager.getAll(OrganisationUnit.class).isEmpty());
+    assertFalse(manager.getAll(User.class).isEmpty());
+  }
+
   @Test
   void testCreateDataSetWithSectionsAndGreyedFields() throws IOException {
     Map<Class<? extends IdentifiableObject>, List<IdentifiableObject>> metadata =
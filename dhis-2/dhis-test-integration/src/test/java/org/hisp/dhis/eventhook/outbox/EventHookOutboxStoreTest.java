@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.eventhook.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.hisp.dhis.test.integration.PostgresIntegrationTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Not transactional, so that claims of concurrent transactions can be tested. */
+class EventHookOutboxStoreTest extends PostgresIntegrationTestBase {
+  private static final String EVENT_HOOK = "EventHookA1";
+
+  private static final OutboxTarget TARGET_A = new OutboxTarget(EVENT_HOOK, "targetA");
+
+  private static final OutboxTarget TARGET_B = new OutboxTarget(EVENT_HOOK, "targetB");
+
+  private static final Duration LEASE = Duration.ofMinutes(5);
+
+  @Autowired private EventHookOutboxStore outboxStore;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @BeforeEach
+  void setUp() {
+    for (String payload : List.of("e1", "e2", "e3", "e4")) {
+      outboxStore.add(EVENT_HOOK, List.of("targetA", "targetB"), payload);
+    }
+  }
+
+  @Test
+  void shouldClaimOldestDueEventsOfTarget() {
+    assertEquals(Set.of(TARGET_A, TARGET_B), Set.copyOf(outboxStore.getDueTargets()));
+
+    assertEquals(List.of("e1", "e2"), payloads(outboxStore.claim(TARGET_A, 2, LEASE, "lease1")));
+    assertEquals(List.of("e3", "e4"), payloads(outboxStore.claim(TARGET_A, 10, LEASE, "lease2")));
+    assertTrue(outboxStore.claim(TARGET_A, 10, LEASE, "lease3").isEmpty());
+    assertEquals(List.of(TARGET_B), outboxStore.getDueTargets());
+  }
+
+  @Test
+  void shouldSkipEventsLockedByConcurrentClaim() throws Exception {
+    CountDownLatch claimed = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+    CompletableFuture<List<OutboxEvent>> concurrentClaim =
+        CompletableFuture.supplyAsync(
+            () ->
+                transactionTemplate.execute(
+                    status -> {
+                      List<OutboxEvent> events = outboxStore.claim(TARGET_A, 2, LEASE, "lease1");
+                      claimed.countDown();
+                      await(release);
+                      return events;
+                    }));
+
+    try {
+      await(claimed);
+      assertEquals(
+          List.of("e3", "e4"), payloads(outboxStore.claim(TARGET_A, 10, LEASE, "lease2")));
+    } finally {
+      release.countDown();
+    }
+    assertEquals(List.of("e1", "e2"), payloads(concurrentClaim.get(10, TimeUnit.SECONDS)));
+  }
+
+  @Test
+  void shouldPostponeFailedEventAndLaterEventsOfTarget() {
+    List<OutboxEvent> events = outboxStore.claim(TARGET_A, 10, Duration.ZERO, "lease1");
+
+    outboxStore.postpone(TARGET_A, events.get(2), Duration.ofHours(1), "Target unavailable");
+
+    assertEquals(List.of("e1", "e2"), payloads(outboxStore.claim(TARGET_A, 10, LEASE, "lease2")));
+    assertEquals(
+        1,
+        jdbcTemplate.queryForObject(
+            "select attempts from eventhookoutbox where eventhookoutboxid = ?",
+            Integer.class,
+            events.get(2).id()));
+    assertEquals(4, outboxStore.claim(TARGET_B, 10, LEASE, "lease3").size());
+  }
+
+  @Test
+  void shouldOnlyRenewEventsStillHeldByLease() {
+    outboxStore.claim(TARGET_A, 2, LEASE, "lease1");
+    assertEquals(2, outboxStore.renew("lease1", LEASE));
+
+    // an expired lease is claimed by another instance
+    outboxStore.claim(TARGET_B, 2, Duration.ZERO, "lease2");
+    outboxStore.claim(TARGET_B, 1, LEASE, "lease3");
+
+    assertEquals(1, outboxStore.renew("lease2", LEASE));
+  }
+
+  @Test
+  void shouldRemoveEvents() {
+    List<OutboxEvent> events = outboxStore.claim(TARGET_A, 2, Duration.ZERO, "lease1");
+
+    outboxStore.remove(events.stream().map(OutboxEvent::id).toList());
+    outboxStore.remove(TARGET_B);
+
+    assertEquals(List.of(TARGET_A), outboxStore.getDueTargets());
+    assertEquals(List.of("e3", "e4"), payloads(outboxStore.claim(TARGET_A, 10, LEASE, "lease2")));
+  }
+
+  private static List<String> payloads(List<OutboxEvent> events) {
+    return events.stream().map(OutboxEvent::payload).toList();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(ex);
+    }
+  }
+}
@@ -279,6 +279,19 @@ class InMemoryQueryEngineTest extends PostgresIntegrationTestBase {
     assertTrue(collectionContainsUid(objects, "deabcdefghF"));
   }
 
+  @Test
+  void getInQueryEnum() {
+    Query<DataElement> query = Query.of(DataElement.class);
+    query.setObjects(dataElements);
+    query.add(Filters.in("valueType", Lists.newArrayList("NUMBER", "INTEGER")));
+    List<? extends IdentifiableObject> objects = queryEngine.query(query);
+    assertEquals(4, objects.size());
+    assertTrue(collectionContainsUid(objects, "deabcdefghA"));
+    assertTrue(collectionContainsUid(objects, "deabcdefghC"));
+    assertTrue(collectionContainsUid(objects, "deabcdefghD"));
+    assertTrue(collectionContainsUid(objects, "deabcdefghF"));
+  }
+
   @Test
   void testDateRange() {
     Query<DataElement> query = Query.of(DataElement.class);
@@ -346,6 +359,33 @@ class InMemoryQueryEngineTest extends PostgresIntegrationTestBase {
     assertEquals("deabcdefghF", objects.get(5).getUid());
   }
 
+  @Test
+  void sortNameDescPaged() {
+    Query<DataElement> query = Query.of(DataElement.class);
+    query.setObjects(dataElements);
+    query.addOrder(new Order("name", Direction.DESCENDING));
+    query.setFirstResult(2);
+    query.setMaxResults(2);
+    List<? extends IdentifiableObject> objects = queryEngine.query(query);
+    assertEquals(2, objects.size());
+    assertEquals("deabcdefghD", objects.get(0).getUid());
+    assertEquals("deabcdefghC", objects.get(1).getUid());
+  }
+
+  @Test
+  void sortValueTypeKeepsOrderOfTiesWhenPaged() {
+    Query<DataElement> query = Query.of(DataElement.class);
+    query.setObjects(dataElements);
+    query.addOrder(new Order("valueType", Direction.ASCENDING));
+    query.setFirstResult(0);
+    query.setMaxResults(3);
+    List<? extends IdentifiableObject> objects = queryEngine.query(query);
+    assertEquals(3, objects.size());
+    assertEquals("deabcdefghB", objects.get(0).getUid());
+    assertEquals("deabcdefghE", objects.get(1).getUid());
+    assertEquals("deabcdefghC", objects.get(2).getUid());
+  }
+
   @Test
   void sortCreatedDesc() {
     Query<DataElement> query = Query.of(DataElement.class);
@@ -143,6 +143,32 @@ class AclServiceTest extends PostgresIntegrationTestBase {
     assertFalse(aclService.canUpdate(user, dataElement));
   }
 
+  @Test
+  void testFilterReadable() {
+    User user = createAndAddRandomUser();
+    DataElement publicDataElement = createDataElement('A');
+    publicDataElement.setPublicAccess(AccessStringHelper.READ);
+    DataElement privateDataElement = createDataElement('B');
+    privateDataElement.setPublicAccess(AccessStringHelper.DEFAULT);
+    privateDataElement.getSharing().setOwner("otherUserId");
+    DataElement sharedDataElement = createDataElement('C');
+    sharedDataElement.setPublicAccess(AccessStringHelper.DEFAULT);
+    sharedDataElement.getSharing().setOwner("otherUserId");
+    sharedDataElement
+        .getSharing()
+        .addUserAccess(new UserAccess(AccessStringHelper.READ, user.getUid()));
+    List<DataElement> dataElements =
+        List.of(publicDataElement, privateDataElement, sharedDataElement);
+
+    List<DataElement> readable =
+        aclService.filterReadable(UserDetails.fromUser(user), dataElements);
+
+    assertEquals(List.of(publicDataElement, sharedDataElement), readable);
+    for (DataElement dataElement : dataElements) {
+      assertEquals(readable.contains(dataElement), aclService.canRead(user, dataElement));
+    }
+  }
+
   @Test
   void testCanCreatePrivatePublicDashboard() {
     User user = createAndAddRandomUser("F_DATAELEMENT_PRIVATE_ADD");
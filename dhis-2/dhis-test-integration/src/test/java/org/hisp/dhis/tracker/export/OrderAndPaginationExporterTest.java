@@ -34,8 +34,10 @@ import static org.hisp.dhis.common.OrganisationUnitSelectionMode.SELECTED;
 import static org.hisp.dhis.test.utils.Assertions.assertContainsOnly;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
@@ -82,6 +84,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 
 /** Tests ordering and pagination of tracker exporters via the service layer. */
@@ -102,6 +105,8 @@ class OrderAndPaginationExporterTest extends PostgresIntegrationTestBase {
 
   @Autowired private SingleEventService singleEventService;
 
+  @Autowired private JdbcTemplate jdbcTemplate;
+
   private OrganisationUnit orgUnit;
 
   private OrganisationUnit singleEventOrgUnit;
@@ -190,6 +195,24 @@ class OrderAndPaginationExporterTest extends PostgresIntegrationTestBase {
     assertEquals(new Page<>(List.of(), 3, 3, null, 2, null), thirdPage, "past the last page");
   }
 
+  @Test
+  void shouldReturnAllTrackedEntitiesWhenPagingUsingPageToken()
+      throws ForbiddenException, BadRequestException, NotFoundException {
+    TrackedEntityOperationParams params =
+        TrackedEntityOperationParams.builder()
+            .organisationUnits(orgUnit)
+            .orgUnitMode(DESCENDANTS)
+            .trackedEntityType(trackedEntityType)
+            .build();
+    List<String> expected = getTrackedEntities(params);
+    assertEquals(6, expected.size());
+
+    for (int pageSize = 1; pageSize <= expected.size() + 1; pageSize++) {
+      assertEquals(
+          expected, getTrackedEntitiesUsingPageToken(params, pageSize), "page size " + pageSize);
+    }
+  }
+
   @Test
   void shouldReturnPaginatedTrackedEntitiesOrderedByEnrolledAtAsc()
       throws ForbiddenException, BadRequestException, NotFoundException {
@@ -795,6 +818,22 @@ class OrderAndPaginationExporterTest extends PostgresIntegrationTestBase {
     assertEquals(new Page<>(List.of(), 5, 1, 4L, 4, null), fifthPage, "past the last page");
   }
 
+  @Test
+  void shouldReturnAllEnrollmentsWhenPagingUsingPageToken()
+      throws ForbiddenException, BadRequestException {
+    EnrollmentOperationParams operationParams =
+        EnrollmentOperationParams.builder().orgUnits(orgUnit).orgUnitMode(SELECTED).build();
+    List<String> expected = getEnrollments(operationParams);
+    assertEquals(4, expected.size());
+
+    for (int pageSize = 1; pageSize <= expected.size() + 1; pageSize++) {
+      assertEquals(
+          expected,
+          getEnrollmentsUsingPageToken(operationParams, pageSize),
+          "page size " + pageSize);
+    }
+  }
+
   @Test
   void shouldOrderEnrollmentsByPrimaryKeyDescByDefault()
       throws ForbiddenException, BadRequestException {
@@ -895,6 +934,34 @@ class OrderAndPaginationExporterTest extends PostgresIntegrationTestBase {
     assertEquals(new Page<>(List.of(), 3, 1, null, 2, null), thirdPage, "past the last page");
   }
 
+  @ParameterizedTest
+  @MethodSource("orderByFieldsSupportingPageToken")
+  void shouldReturnAllTrackerEventsWhenPagingUsingPageTokenGivenTiesInOrderField(
+      String field, SortDirection direction) throws ForbiddenException, BadRequestException {
+    // all events share the same timestamps, so that only the tie-breaker orders them. Paging
+    // through pages of a single event fails if the seek predicate does not include the tie-breaker
+    jdbcTemplate.update(
+        """
+        update trackerevent set created = timestamp '2024-01-01 10:00:00.123456', \
+        lastupdated = timestamp '2024-01-01 10:00:00.123456' \
+        where uid in ('D9PbzJY8bJM', 'pTzf9KYMk72')""");
+    TrackerEventOperationParams.TrackerEventOperationParamsBuilder builder =
+        trackerEventOperationParamsBuilder.orgUnit(orgUnit);
+    if (field != null) {
+      builder.orderBy(field, direction);
+    }
+    TrackerEventOperationParams operationParams = builder.build();
+    List<String> expected = getTrackerEvents(operationParams);
+    assertContainsOnly(List.of("D9PbzJY8bJM", "pTzf9KYMk72"), expected);
+
+    for (int pageSize = 1; pageSize <= expected.size() + 1; pageSize++) {
+      assertEquals(
+          expected,
+          getTrackerEventsUsingPageToken(operationParams, pageSize),
+          "page size " + pageSize);
+    }
+  }
+
   @Test
   void shouldOrderTrackerEventsByPrimaryKeyDescByDefault()
       throws ForbiddenException, BadRequestException {
@@ -1529,6 +1596,17 @@ class OrderAndPaginationExporterTest extends PostgresIntegrationTestBase {
     assertEquals(List.of("OTmjvJDn0Fu", "kWjSezkXHVp"), events);
   }
 
+  private static Stream<Arguments> orderByFieldsSupportingPageToken() {
+    return Stream.of(
+        Arguments.of(null, null),
+        Arguments.of("created", SortDirection.ASC),
+        Arguments.of("created", SortDirection.DESC),
+        Arguments.of("lastUpdated", SortDirection.ASC),
+        Arguments.of("lastUpdated", SortDirection.DESC),
+        Arguments.of("uid", SortDirection.ASC),
+        Arguments.of("uid", SortDirection.DESC));
+  }
+
   private static Stream<Arguments> orderByFieldInDescendingOrderWhenModeSelected() {
     return Stream.of(
         Arguments.of("enrollment.uid", "pTzf9KYMk72", "D9PbzJY8bJM"),
@@ -1839,6 +1917,63 @@ class OrderAndPaginationExporterTest extends PostgresIntegrationTestBase {
     return uids(trackerEventService.findEvents(params));
   }
 
+  /**
+   * Fetches all pages following the next page token of each page, starting with an empty page token
+   * for the first page.
+   */
+  private List<String> getTrackedEntitiesUsingPageToken(
+      TrackedEntityOperationParams params, int pageSize)
+      throws ForbiddenException, BadRequestException, NotFoundException {
+    List<String> trackedEntities = new ArrayList<>();
+    String pageToken = "";
+    for (int pages = 0; pageToken != null; pages++) {
+      assertTrue(pages <= trackedEntities.size(), "pagination using pageToken does not terminate");
+      Page<TrackedEntity> page =
+          trackedEntityService.findTrackedEntities(
+              params, PageParams.of(null, pageSize, false, pageToken));
+      trackedEntities.addAll(uids(page.getItems()));
+      pageToken = page.getNextPageToken();
+    }
+    return trackedEntities;
+  }
+
+  /**
+   * Fetches all pages following the next page token of each page, starting with an empty page token
+   * for the first page.
+   */
+  private List<String> getEnrollmentsUsingPageToken(EnrollmentOperationParams params, int pageSize)
+      throws ForbiddenException, BadRequestException {
+    List<String> enrollments = new ArrayList<>();
+    String pageToken = "";
+    for (int pages = 0; pageToken != null; pages++) {
+      assertTrue(pages <= enrollments.size(), "pagination using pageToken does not terminate");
+      Page<Enrollment> page =
+          enrollmentService.findEnrollments(params, PageParams.of(null, pageSize, false, pageToken));
+      enrollments.addAll(uids(page.getItems()));
+      pageToken = page.getNextPageToken();
+    }
+    return enrollments;
+  }
+
+  /**
+   * Fetches all pages following the next page token of each page, starting with an empty page token
+   * for the first page.
+   */
+  private List<String> getTrackerEventsUsingPageToken(
+      TrackerEventOperationParams params, int pageSize)
+      throws ForbiddenException, BadRequestException {
+    List<String> events = new ArrayList<>();
+    String pageToken = "";
+    for (int pages = 0; pageToken != null; pages++) {
+      assertTrue(pages <= events.size(), "pagination using pageToken does not terminate");
+      Page<TrackerEvent> page =
+          trackerEventService.findEvents(params, PageParams.of(null, pageSize, false, pageToken));
+      events.addAll(uids(page.getItems()));
+      pageToken = page.getNextPageToken();
+    }
+    return events;
+  }
+
   private List<String> getSingleEvents(SingleEventOperationParams params)
       throws ForbiddenException, BadRequestException {
     return uids(singleEventService.findEvents(params));
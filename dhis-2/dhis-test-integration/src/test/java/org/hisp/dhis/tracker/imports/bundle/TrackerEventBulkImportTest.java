@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.bundle;
+
+import static org.hisp.dhis.tracker.Assertions.assertNoErrors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.common.UID;
+import org.hisp.dhis.test.integration.PostgresIntegrationTestBase;
+import org.hisp.dhis.tracker.TestSetup;
+import org.hisp.dhis.tracker.imports.AtomicMode;
+import org.hisp.dhis.tracker.imports.FlushMode;
+import org.hisp.dhis.tracker.imports.TrackerImportParams;
+import org.hisp.dhis.tracker.imports.TrackerImportService;
+import org.hisp.dhis.tracker.imports.domain.Note;
+import org.hisp.dhis.tracker.imports.domain.TrackerObjects;
+import org.hisp.dhis.tracker.imports.report.ImportReport;
+import org.hisp.dhis.tracker.model.Enrollment;
+import org.hisp.dhis.tracker.model.TrackerEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Tests imports with {@link FlushMode#BULK} where some events are inserted in bulk and others are
+ * persisted by Hibernate. Not transactional, so a failed import rolls back its own transaction.
+ */
+class TrackerEventBulkImportTest extends PostgresIntegrationTestBase {
+  private static final String EVENT_WITH_NOTE = "D9PbzJY8bJO";
+
+  private static final String FAILING_EVENT = "vQaFEJwd8yW";
+
+  @Autowired private TestSetup testSetup;
+
+  @Autowired private IdentifiableObjectManager manager;
+
+  @Autowired private TrackerImportService trackerImportService;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private final TrackerImportParams params =
+      TrackerImportParams.builder().atomicMode(AtomicMode.ALL).flushMode(FlushMode.BULK).build();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    testSetup.importMetadata("tracker/event_metadata.json");
+
+    injectSecurityContextUser(userService.getUser("tTgjgobT1oS"));
+  }
+
+  @Test
+  void shouldPersistEventsInsertedInBulkAndByHibernate() throws IOException {
+    TrackerObjects trackerObjects = fromJsonWithNote();
+
+    ImportReport importReport = trackerImportService.importTracker(params, trackerObjects);
+
+    assertNoErrors(importReport);
+    Map<String, TrackerEvent> events =
+        manager.getAll(TrackerEvent.class).stream()
+            .collect(Collectors.toMap(TrackerEvent::getUid, Function.identity()));
+    assertEquals(trackerObjects.getEvents().size(), events.size());
+    assertEquals(1, events.get(EVENT_WITH_NOTE).getNotes().size());
+    trackerObjects
+        .getEvents()
+        .forEach(
+            e ->
+                assertEquals(
+                    e.getDataValues().stream().filter(dv -> dv.getValue() != null).count(),
+                    events.get(e.getUID().getValue()).getEventDataValues().size()));
+  }
+
+  @Test
+  void shouldRollbackAllEntitiesWhenBulkInsertFails() throws IOException {
+    TrackerObjects trackerObjects = fromJsonWithNote();
+    jdbcTemplate.execute(
+        "alter table trackerevent add constraint test_bulk_insert check (uid <> '"
+            + FAILING_EVENT
+            + "')");
+
+    try {
+      assertThrows(
+          RuntimeException.class,
+          () -> trackerImportService.importTracker(params, trackerObjects));
+    } finally {
+      jdbcTemplate.execute("alter table trackerevent drop constraint test_bulk_insert");
+    }
+
+    assertTrue(manager.getAll(TrackerEvent.class).isEmpty());
+    assertTrue(manager.getAll(Enrollment.class).isEmpty());
+  }
+
+  private TrackerObjects fromJsonWithNote() throws IOException {
+    TrackerObjects trackerObjects = testSetup.fromJson("tracker/event_events_and_enrollment.json");
+    trackerObjects.getEvents().stream()
+        .filter(e -> EVENT_WITH_NOTE.equals(e.getUID().getValue()))
+        .forEach(
+            e ->
+                e.setNotes(
+                    List.of(Note.builder().note(UID.generate()).value("imported note").build())));
+    return trackerObjects;
+  }
+}
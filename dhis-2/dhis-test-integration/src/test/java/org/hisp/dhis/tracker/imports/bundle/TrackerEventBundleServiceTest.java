@@ -34,9 +34,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.test.integration.PostgresIntegrationTestBase;
 import org.hisp.dhis.tracker.TestSetup;
+import org.hisp.dhis.tracker.imports.FlushMode;
 import org.hisp.dhis.tracker.imports.TrackerImportParams;
 import org.hisp.dhis.tracker.imports.TrackerImportService;
 import org.hisp.dhis.tracker.imports.TrackerImportStrategy;
@@ -85,6 +89,27 @@ class TrackerEventBundleServiceTest extends PostgresIntegrationTestBase {
     assertEquals(8, events.size());
   }
 
+  @Test
+  void testCreateSingleEventDataInBulk() throws IOException {
+    TrackerImportParams params = TrackerImportParams.builder().flushMode(FlushMode.BULK).build();
+    TrackerObjects trackerObjects = testSetup.fromJson("tracker/event_events_and_enrollment.json");
+
+    ImportReport importReport = trackerImportService.importTracker(params, trackerObjects);
+
+    assertNoErrors(importReport);
+    Map<String, TrackerEvent> events =
+        manager.getAll(TrackerEvent.class).stream()
+            .collect(Collectors.toMap(TrackerEvent::getUid, Function.identity()));
+    assertEquals(8, events.size());
+    trackerObjects
+        .getEvents()
+        .forEach(
+            e ->
+                assertEquals(
+                    e.getDataValues().stream().filter(dv -> dv.getValue() != null).count(),
+                    events.get(e.getUID().getValue()).getEventDataValues().size()));
+  }
+
   @Test
   void testUpdateSingleEventData() throws IOException {
     TrackerImportParams params =
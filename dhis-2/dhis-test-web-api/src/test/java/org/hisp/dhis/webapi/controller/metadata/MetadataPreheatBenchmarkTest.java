@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.controller.metadata;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dataelement.DataElementGroup;
+import org.hisp.dhis.preheat.Preheat;
+import org.hisp.dhis.preheat.PreheatIdentifier;
+import org.hisp.dhis.preheat.PreheatParams;
+import org.hisp.dhis.preheat.PreheatService;
+import org.hisp.dhis.schema.DefaultSchemaService;
+import org.hisp.dhis.schema.Property;
+import org.hisp.dhis.schema.PropertyAccessors;
+import org.hisp.dhis.schema.Schema;
+import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.test.webapi.H2ControllerIntegrationTestBase;
+import org.hisp.dhis.user.CurrentUserUtil;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.Timeout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * JMH benchmark of the metadata preheat for a package of data element groups which each reference
+ * all persisted data elements, so that collecting and connecting references dominates.
+ *
+ * <p>Like {@code FieldFilterSerializationBenchmarkTest} this runs with {@code @Fork(0)} in the JVM
+ * of the test runner so the Spring services can be used. The data elements are committed in their
+ * own transaction as the benchmark threads do not share the transaction of the test.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class MetadataPreheatBenchmarkTest extends H2ControllerIntegrationTestBase {
+  private static final int DATA_ELEMENT_COUNT = 200;
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkState {
+    @Param({"100", "1000"})
+    public int groupCount;
+
+    public List<IdentifiableObject> groups;
+
+    public Schema schema;
+
+    // Spring services are injected from test instance
+    public static PreheatService preheatService;
+    public static SchemaService schemaService;
+    public static List<String> dataElementUids;
+    public static Authentication savedAuth;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      groups = createGroups(groupCount);
+      schema = schemaService.getSchema(DataElementGroup.class);
+
+      // JMH runs in separate threads, need to propagate SecurityContext
+      if (savedAuth != null) {
+        SecurityContextHolder.getContext().setAuthentication(savedAuth);
+      }
+    }
+
+    static List<IdentifiableObject> createGroups(int count) {
+      List<IdentifiableObject> groups = new ArrayList<>(count);
+
+      for (int i = 0; i < count; i++) {
+        DataElementGroup group = createDataElementGroup('A');
+        group.setUid(CodeGenerator.generateUid());
+        group.setName("DataElementGroup" + i);
+        group.setShortName("DataElementGroup" + i);
+        group.setCode("DataElementGroupCode" + i);
+
+        for (String uid : dataElementUids) {
+          DataElement reference = new DataElement();
+          reference.setUid(uid);
+          group.addDataElement(reference);
+        }
+
+        groups.add(group);
+      }
+
+      return groups;
+    }
+  }
+
+  /**
+   * Groups for {@code preheatAndConnectReferences}, rebuilt before every invocation as {@code
+   * connectReferences} replaces the stub data elements of a group with the persisted ones, so
+   * reusing the groups would measure connecting already connected references.
+   */
+  @State(Scope.Thread)
+  public static class ConnectState {
+    public List<IdentifiableObject> groups;
+
+    @Setup(Level.Invocation)
+    public void setup(BenchmarkState state) {
+      groups = BenchmarkState.createGroups(state.groupCount);
+
+      if (BenchmarkState.savedAuth != null) {
+        SecurityContextHolder.getContext().setAuthentication(BenchmarkState.savedAuth);
+      }
+    }
+
+    public PreheatParams getParams() {
+      Map<Class<? extends IdentifiableObject>, List<IdentifiableObject>> objects = new HashMap<>();
+      objects.put(DataElementGroup.class, new ArrayList<>(groups));
+
+      PreheatParams params = new PreheatParams();
+      params.setUserDetails(CurrentUserUtil.getCurrentUserDetails());
+      params.setObjects(objects);
+      return params;
+    }
+  }
+
+  public static class PreheatBenchmarks {
+    @Benchmark
+    public void getReferencesWithReflection(BenchmarkState state, Blackhole bh) {
+      for (IdentifiableObject group : state.groups) {
+        for (Property property : state.schema.getOwnedReferenceProperties()) {
+          bh.consume(DefaultSchemaService.safeInvoke(group, property.getGetterMethod()));
+        }
+      }
+    }
+
+    @Benchmark
+    public void getReferencesWithAccessors(BenchmarkState state, Blackhole bh) {
+      for (IdentifiableObject group : state.groups) {
+        for (Property property : state.schema.getOwnedReferenceProperties()) {
+          bh.consume(PropertyAccessors.get(group, property));
+        }
+      }
+    }
+
+    @Benchmark
+    public void preheatAndConnectReferences(ConnectState state, Blackhole bh) {
+      Preheat preheat = BenchmarkState.preheatService.preheat(state.getParams());
+
+      for (IdentifiableObject group : state.groups) {
+        BenchmarkState.preheatService.connectReferences(group, preheat, PreheatIdentifier.UID);
+      }
+
+      bh.consume(preheat);
+    }
+  }
+
+  @Autowired private PreheatService preheatService;
+
+  @Autowired private SchemaService schemaService;
+
+  @Test
+  @Timeout(unit = TimeUnit.MINUTES, value = 60)
+  void executeJmhRunner() throws Exception {
+    List<String> dataElementUids = new ArrayList<>(DATA_ELEMENT_COUNT);
+    doInTransaction(
+        () -> {
+          for (int i = 0; i < DATA_ELEMENT_COUNT; i++) {
+            DataElement dataElement = createDataElement('A');
+            dataElement.setUid(CodeGenerator.generateUid());
+            dataElement.setName("DataElement" + i);
+            dataElement.setShortName("DataElementShort" + i);
+            dataElement.setCode("DataElementCode" + i);
+            manager.save(dataElement);
+            dataElementUids.add(dataElement.getUid());
+          }
+        });
+
+    // Inject Spring services into static benchmark state
+    BenchmarkState.preheatService = this.preheatService;
+    BenchmarkState.schemaService = this.schemaService;
+    BenchmarkState.dataElementUids = dataElementUids;
+    // Capture current authentication for propagation to benchmark threads
+    BenchmarkState.savedAuth = SecurityContextHolder.getContext().getAuthentication();
+
+    Options opt =
+        new OptionsBuilder()
+            .include(
+                "org.hisp.dhis.webapi.controller.metadata.MetadataPreheatBenchmarkTest.PreheatBenchmarks.*")
+            .shouldFailOnError(true)
+            .forks(0) // Run in same JVM to preserve Spring context
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.SECONDS)
+            .warmupIterations(3)
+            .warmupTime(TimeValue.seconds(5))
+            .measurementIterations(5)
+            .measurementTime(TimeValue.seconds(5))
+            .resultFormat(ResultFormatType.CSV)
+            .result("jmh-preheat-result.csv")
+            .build();
+
+    new Runner(opt).run();
+  }
+}
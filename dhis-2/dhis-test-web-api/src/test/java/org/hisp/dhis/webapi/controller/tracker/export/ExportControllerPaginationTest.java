@@ -29,13 +29,16 @@
  */
 package org.hisp.dhis.webapi.controller.tracker.export;
 
+import static org.hisp.dhis.http.HttpClientAdapter.Accept;
 import static org.hisp.dhis.test.utils.Assertions.assertContainsOnly;
 import static org.hisp.dhis.test.utils.Assertions.assertHasSize;
 import static org.hisp.dhis.test.utils.Assertions.assertIsEmpty;
+import static org.hisp.dhis.test.utils.Assertions.assertStartsWith;
 import static org.hisp.dhis.test.webapi.Assertions.assertNoDiff;
 import static org.hisp.dhis.webapi.controller.tracker.JsonAssertions.assertHasNoMember;
 import static org.hisp.dhis.webapi.controller.tracker.JsonAssertions.assertPagerLink;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.util.List;
@@ -44,6 +47,7 @@ import org.hisp.dhis.common.UID;
 import org.hisp.dhis.dxf2.metadata.objectbundle.ObjectBundle;
 import org.hisp.dhis.http.HttpStatus;
 import org.hisp.dhis.jsontree.JsonList;
+import org.hisp.dhis.jsontree.JsonMixed;
 import org.hisp.dhis.preheat.PreheatIdentifier;
 import org.hisp.dhis.program.Program;
 import org.hisp.dhis.test.webapi.PostgresControllerIntegrationTestBase;
@@ -65,11 +69,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Tests how {@link org.hisp.dhis.webapi.controller.tracker.export} controllers serialize {@link
- * Page} to JSON. The logic and actual items returned in the pages is tested in the {@code
+ * Page} to JSON, and how they stream all pages as NDJSON. The logic and actual items returned in
+ * the pages is tested in the {@code
  * OrderAndPaginationExporterTest}. Each controller has at least one or two tests. A couple more
  * combinations are tested via the relationships controller which are also testing logic used by
  * other controllers.
@@ -424,6 +430,87 @@ class ExportControllerPaginationTest extends PostgresControllerIntegrationTestBa
     assertHasNoMember(page, "pager");
   }
 
+  @Test
+  void shouldGetAllTrackedEntitiesAsNdJsonInChunks() {
+    HttpResponse response =
+        GET(
+            "/tracker/trackedEntities.ndjson?trackedEntities={uid},{uid}&pageSize=1",
+            trackedEntity1.getUID(),
+            trackedEntity2.getUID());
+
+    assertEquals(HttpStatus.OK, response.status());
+    assertEquals(
+        GET(
+                "/tracker/trackedEntities?trackedEntities={uid},{uid}",
+                trackedEntity1.getUID(),
+                trackedEntity2.getUID())
+            .content(HttpStatus.OK)
+            .asA(JsonPage.class)
+            .getList("trackedEntities", JsonTrackedEntity.class)
+            .toList(JsonTrackedEntity::getTrackedEntity),
+        getNdJsonMembers(response, "trackedEntity"));
+  }
+
+  @Test
+  void shouldGetAllEnrollmentsAsNdJsonInChunks() {
+    HttpResponse response =
+        GET(
+            "/tracker/enrollments?program={uid}&pageSize=1",
+            program,
+            Accept(MediaType.APPLICATION_NDJSON_VALUE));
+
+    assertEquals(HttpStatus.OK, response.status());
+    List<String> enrollments = getNdJsonMembers(response, "enrollment");
+    assertHasSize(4, enrollments);
+    assertEquals(
+        GET("/tracker/enrollments?program={uid}", program)
+            .content(HttpStatus.OK)
+            .asA(JsonPage.class)
+            .getList("enrollments", JsonEnrollment.class)
+            .toList(JsonEnrollment::getEnrollment),
+        enrollments);
+  }
+
+  @Test
+  void shouldGetAllEventsAsNdJsonInChunks() {
+    HttpResponse response =
+        GET("/tracker/events.ndjson?program={programUid}&pageSize=1&fields=event", program);
+
+    assertEquals(HttpStatus.OK, response.status());
+    List<String> events = getNdJsonMembers(response, "event");
+    assertContainsOnly(List.of(event1.getUID().getValue(), event2.getUID().getValue()), events);
+    assertEquals(
+        GET("/tracker/events?program={programUid}", program)
+            .content(HttpStatus.OK)
+            .asA(JsonPage.class)
+            .getList("events", JsonEvent.class)
+            .toList(JsonEvent::getEvent),
+        events);
+  }
+
+  @Test
+  void shouldGetEventsAsJsonByDefault() {
+    HttpResponse response = GET("/tracker/events?program={programUid}", program);
+
+    assertEquals(HttpStatus.OK, response.status());
+    assertStartsWith(MediaType.APPLICATION_JSON_VALUE, response.header("content-type"));
+  }
+
+  @Test
+  void shouldNotGetSingleEventAsNdJson() {
+    assertEquals(
+        HttpStatus.NOT_ACCEPTABLE,
+        GET("/tracker/events/{uid}", event1.getUID(), Accept(MediaType.APPLICATION_NDJSON_VALUE))
+            .status());
+  }
+
+  /** Returns the given member of each line, asserting that every line is a JSON object. */
+  private static List<String> getNdJsonMembers(HttpResponse response, String member) {
+    String content = response.content(MediaType.APPLICATION_NDJSON_VALUE);
+    assertTrue(content.isEmpty() || content.endsWith("\n"), "each item should end with a newline");
+    return content.lines().map(line -> JsonMixed.of(line).getString(member).string()).toList();
+  }
+
   private org.hisp.dhis.tracker.imports.domain.TrackedEntity getTrackedEntity(UID trackedEntity) {
     return trackerObjects.getTrackedEntities().stream()
         .filter(ev -> ev.getTrackedEntity().equals(trackedEntity))
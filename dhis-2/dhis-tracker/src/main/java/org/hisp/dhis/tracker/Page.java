@@ -55,10 +55,26 @@ public class Page<T> {
   private final Integer prevPage;
   private final Integer nextPage;
 
+  /**
+   * The token to fetch the next page with in cursor-based pagination, see {@link
+   * PageParams#isCursor()}.
+   */
+  private final String nextPageToken;
+
   public static <T> Page<T> empty() {
     return new Page<>(List.of(), 0, 0, 0L, null, null);
   }
 
+  public Page(
+      @Nonnull List<T> items,
+      int page,
+      int pageSize,
+      Long total,
+      Integer prevPage,
+      Integer nextPage) {
+    this(items, page, pageSize, total, prevPage, nextPage, null);
+  }
+
   /** Create a page without a total count of items. */
   public Page(@Nonnull List<T> items, @Nonnull PageParams pageParams) {
     this(items, pageParams, null);
@@ -72,6 +88,22 @@ public class Page<T> {
    */
   public Page(
       @Nonnull List<T> items, @Nonnull PageParams pageParams, @CheckForNull LongSupplier total) {
+    this(items, pageParams, total, null);
+  }
+
+  /**
+   * Create a page like {@link #Page(List, PageParams, LongSupplier)} which supports cursor-based
+   * pagination. In cursor-based pagination there are no page numbers, instead the {@link
+   * #nextPageToken} is created from the last item of the page if there is a next page.
+   *
+   * @param pageToken creates the {@link PageToken} of an item, or null if the order of the items
+   *     does not support cursor-based pagination
+   */
+  public Page(
+      @Nonnull List<T> items,
+      @Nonnull PageParams pageParams,
+      @CheckForNull LongSupplier total,
+      @CheckForNull Function<T, PageToken> pageToken) {
     this.page = pageParams.getPage();
     this.pageSize = pageParams.getPageSize();
 
@@ -81,13 +113,20 @@ public class Page<T> {
       this.total = null;
     }
 
-    this.prevPage = pageParams.getPage() > 1 ? pageParams.getPage() - 1 : null;
-    if (items.size() > pageParams.getPageSize()) {
-      this.items = items.subList(0, pageParams.getPageSize());
-      this.nextPage = pageParams.getPage() + 1;
-    } else {
-      this.items = items;
+    boolean hasNextPage = items.size() > pageParams.getPageSize();
+    this.items = hasNextPage ? items.subList(0, pageParams.getPageSize()) : items;
+
+    if (pageParams.isCursor()) {
+      this.prevPage = null;
       this.nextPage = null;
+      this.nextPageToken =
+          hasNextPage && pageToken != null
+              ? pageToken.apply(this.items.get(this.items.size() - 1)).encode()
+              : null;
+    } else {
+      this.prevPage = pageParams.getPage() > 1 ? pageParams.getPage() - 1 : null;
+      this.nextPage = hasNextPage ? pageParams.getPage() + 1 : null;
+      this.nextPageToken = null;
     }
   }
 
@@ -102,7 +141,14 @@ public class Page<T> {
    */
   @Deprecated(forRemoval = true)
   public <U> Page<U> withFilteredItems(List<U> items) {
-    return new Page<>(items, this.page, this.pageSize, this.total, this.prevPage, this.nextPage);
+    return new Page<>(
+        items,
+        this.page,
+        this.pageSize,
+        this.total,
+        this.prevPage,
+        this.nextPage,
+        this.nextPageToken);
   }
 
   /** Create a new page based on this existing page mapping the individual items. */
@@ -113,6 +159,7 @@ public class Page<T> {
         this.pageSize,
         this.total,
         this.prevPage,
-        this.nextPage);
+        this.nextPage,
+        this.nextPageToken);
   }
 }
@@ -30,6 +30,7 @@
 package org.hisp.dhis.tracker;
 
 import java.util.Objects;
+import javax.annotation.CheckForNull;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -58,11 +59,25 @@ public class PageParams {
   /** Indicates whether to fetch the total number of items. */
   final boolean pageTotal;
 
-  private PageParams(Integer page, Integer pageSize, boolean pageTotal) throws BadRequestException {
+  /**
+   * Indicates whether to use cursor-based pagination. Pages are then sought using {@link
+   * #pageToken} instead of an offset, so that every page costs the same no matter how deep.
+   */
+  final boolean cursor;
+
+  /** The position after which the page starts, or null for the first page. */
+  @CheckForNull final PageToken pageToken;
+
+  private PageParams(Integer page, Integer pageSize, boolean pageTotal, String pageToken)
+      throws BadRequestException {
     if (page != null && page < 1) {
       throw new BadRequestException("page must be greater than or equal to 1 if specified");
     }
 
+    if (pageToken != null && page != null && page > 1) {
+      throw new BadRequestException("page cannot be specified together with pageToken");
+    }
+
     if (pageSize != null && pageSize < 1) {
       throw new BadRequestException("pageSize must be greater than or equal to 1 if specified");
     }
@@ -70,20 +85,35 @@ public class PageParams {
     this.page = Objects.requireNonNullElse(page, DEFAULT_PAGE);
     this.pageSize = Objects.requireNonNullElse(pageSize, DEFAULT_PAGE_SIZE);
     this.pageTotal = pageTotal;
+    this.cursor = pageToken != null;
+    this.pageToken =
+        pageToken == null || pageToken.isEmpty() ? null : PageToken.decode(pageToken);
   }
 
   public static PageParams of(Integer page, Integer pageSize, boolean pageTotal)
       throws BadRequestException {
-    return new PageParams(page, pageSize, pageTotal);
+    return new PageParams(page, pageSize, pageTotal, null);
+  }
+
+  /**
+   * Create page parameters for cursor-based pagination.
+   *
+   * @param pageToken the {@link Page#getNextPageToken()} of the previous page, an empty string for
+   *     the first page or null for offset-based pagination
+   */
+  public static PageParams of(
+      Integer page, Integer pageSize, boolean pageTotal, @CheckForNull String pageToken)
+      throws BadRequestException {
+    return new PageParams(page, pageSize, pageTotal, pageToken);
   }
 
   /** Create page parameters for the first page of a single item with no totals. */
   public static PageParams single() {
-    return new PageParams(1, 1, false);
+    return new PageParams(1, 1, false, false, null);
   }
 
   /** Zero-based offset to be used in a SQL offset clause. */
   public int getOffset() {
-    return (page - 1) * pageSize;
+    return cursor ? 0 : (page - 1) * pageSize;
   }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Date;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.hisp.dhis.feedback.BadRequestException;
+
+/**
+ * Position of the last item of a page in cursor-based pagination. Stores seek to the items after
+ * this position instead of skipping the items of all previous pages using an offset.
+ *
+ * <p>Clients receive the token as an opaque string via {@link Page#getNextPageToken()}.
+ *
+ * @param order key of the order the token was created for, as tokens are only valid for the same
+ *     order
+ * @param value value of the order field of the last item, or null if items are ordered by their
+ *     primary key
+ * @param id primary key of the last item
+ */
+public record PageToken(@Nonnull String order, @CheckForNull Object value, long id) {
+  private static final char SEPARATOR = '\n';
+
+  private static final char TIMESTAMP = 't';
+
+  private static final char STRING = 's';
+
+  public PageToken {
+    if (value != null && !(value instanceof Date) && !(value instanceof String)) {
+      throw new IllegalArgumentException(
+          "Page token value must be a date or a string, got " + value.getClass().getSimpleName());
+    }
+  }
+
+  /** Encodes this token into an opaque URL-safe string. */
+  public String encode() {
+    StringBuilder token = new StringBuilder(order).append(SEPARATOR).append(id).append(SEPARATOR);
+    if (value instanceof Date date) {
+      // a java.sql.Timestamp keeps its sub-millisecond precision
+      token.append(TIMESTAMP).append(date.toInstant());
+    } else if (value instanceof String string) {
+      token.append(STRING).append(string);
+    }
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a token created by {@link #encode()}. Timestamps are decoded into {@link Timestamp}
+   * keeping their full precision, so that they can be compared to database columns.
+   */
+  public static PageToken decode(@Nonnull String token) throws BadRequestException {
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      String[] parts = decoded.split(String.valueOf(SEPARATOR), 3);
+      if (parts.length != 3) {
+        throw new BadRequestException("pageToken is invalid");
+      }
+
+      Object value = null;
+      if (!parts[2].isEmpty()) {
+        String raw = parts[2].substring(1);
+        value =
+            switch (parts[2].charAt(0)) {
+              case TIMESTAMP -> Timestamp.from(Instant.parse(raw));
+              case STRING -> raw;
+              default -> throw new BadRequestException("pageToken is invalid");
+            };
+      }
+      return new PageToken(parts[0], value, Long.parseLong(parts[1]));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new BadRequestException("pageToken is invalid");
+    }
+  }
+}
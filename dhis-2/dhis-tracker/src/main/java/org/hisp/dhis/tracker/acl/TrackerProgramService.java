@@ -147,9 +147,9 @@ public class TrackerProgramService {
       @Nonnull List<Program> program) {
     UserDetails user = getCurrentUserDetails();
 
-    return program.stream()
-        .flatMap(p -> p.getProgramStages().stream())
-        .filter(ps -> aclService.canRead(user, ps) && aclService.canDataRead(user, ps))
-        .toList();
+    List<ProgramStage> programStages =
+        program.stream().flatMap(p -> p.getProgramStages().stream()).toList();
+
+    return aclService.filterDataReadable(user, aclService.filterReadable(user, programStages));
   }
 }
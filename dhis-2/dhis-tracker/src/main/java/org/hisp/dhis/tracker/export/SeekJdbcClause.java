@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.export;
+
+import java.util.List;
+import java.util.Map;
+import javax.annotation.CheckForNull;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.hisp.dhis.tracker.PageToken;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+/**
+ * Builds the seek predicate of cursor-based pagination. Instead of skipping the items of previous
+ * pages using an offset, the predicate selects the items after the last item of the previous page
+ * as given by a {@link PageToken}. PG can then use an index on the order column and the tie-breaker
+ * so that every page costs the same.
+ *
+ * <p>Seeking is supported for the default order, which must order by the tie-breaker descending,
+ * and for an order by a single non-nullable column. The tie-breaker is appended to the order with
+ * the same direction as done by {@link OrderJdbcClause}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SeekJdbcClause {
+  private static final String DEFAULT_ORDER_KEY = "default";
+
+  /**
+   * Returns the key of the given order which is stored in a {@link PageToken}, so that a token is
+   * only used with the order it was created for.
+   *
+   * @param orders the requested orders
+   * @param columns the fields supporting cursor-based pagination mapped to their SQL columns
+   * @return the key of the order or null if the order does not support cursor-based pagination
+   */
+  @CheckForNull
+  public static String getOrderKey(@CheckForNull List<Order> orders, Map<String, String> columns) {
+    if (orders == null || orders.isEmpty()) {
+      return DEFAULT_ORDER_KEY;
+    }
+
+    if (orders.size() == 1
+        && orders.get(0).getField() instanceof String field
+        && columns.containsKey(field)) {
+      return field + ":" + orders.get(0).getDirection();
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns the predicate selecting the items after the item of the given page token.
+   *
+   * @param pageToken the position of the last item of the previous page
+   * @param orders the requested orders
+   * @param columns the fields supporting cursor-based pagination mapped to their SQL columns
+   * @param tieBreaker unique column without direction (e.g. {@code "ev.eventid"})
+   * @param sqlParams parameters the token values are added to
+   * @throws IllegalArgumentException if the order does not support cursor-based pagination or the
+   *     token was created for a different order
+   */
+  public static String of(
+      PageToken pageToken,
+      @CheckForNull List<Order> orders,
+      Map<String, String> columns,
+      String tieBreaker,
+      MapSqlParameterSource sqlParams) {
+    String orderKey = getOrderKey(orders, columns);
+    if (orderKey == null) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Paging with a pageToken is only supported for the default order or ordering by one"
+                  + " of the fields '%s'.",
+              String.join(", ", columns.keySet().stream().sorted().toList())));
+    }
+    if (!orderKey.equals(pageToken.order())) {
+      throw new IllegalArgumentException(
+          "pageToken was issued for a different order than the requested one.");
+    }
+
+    sqlParams.addValue("pageTokenId", pageToken.id());
+    if (orders == null || orders.isEmpty()) {
+      return " " + tieBreaker + " < :pageTokenId ";
+    }
+
+    Order order = orders.get(0);
+    sqlParams.addValue("pageTokenValue", pageToken.value());
+    return " ("
+        + columns.get((String) order.getField())
+        + ", "
+        + tieBreaker
+        + ") "
+        + (order.getDirection().isAscending() ? ">" : "<")
+        + " (:pageTokenValue, :pageTokenId) ";
+  }
+}
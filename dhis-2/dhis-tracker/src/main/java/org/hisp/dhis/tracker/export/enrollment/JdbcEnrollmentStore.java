@@ -46,6 +46,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import javax.annotation.Nullable;
 import lombok.Getter;
@@ -70,9 +71,11 @@ import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.trackedentity.TrackedEntityType;
 import org.hisp.dhis.tracker.Page;
 import org.hisp.dhis.tracker.PageParams;
+import org.hisp.dhis.tracker.PageToken;
 import org.hisp.dhis.tracker.export.Geometries;
 import org.hisp.dhis.tracker.export.Order;
 import org.hisp.dhis.tracker.export.OrderJdbcClause;
+import org.hisp.dhis.tracker.export.SeekJdbcClause;
 import org.hisp.dhis.tracker.export.UserInfoSnapshots;
 import org.hisp.dhis.tracker.model.Enrollment;
 import org.hisp.dhis.tracker.model.TrackedEntity;
@@ -102,6 +105,13 @@ class JdbcEnrollmentStore {
           "lastUpdated",
           "lastUpdatedAtClient");
 
+  /**
+   * Fields enrollments can be ordered by in cursor-based pagination. Only the default order is
+   * supported as the row mapper truncates timestamps to milliseconds, which cannot be used to seek
+   * on timestamp columns.
+   */
+  private static final Map<String, String> SEEKABLE_FIELDS = Map.of();
+
   private final NamedParameterJdbcTemplate jdbcTemplate;
 
   public List<Enrollment> getEnrollments(EnrollmentQueryParams enrollmentParams) {
@@ -114,7 +124,7 @@ class JdbcEnrollmentStore {
     }
 
     MapSqlParameterSource sqlParams = new MapSqlParameterSource();
-    String sql = getQuery(enrollmentParams, sqlParams);
+    String sql = getQuery(enrollmentParams, null, sqlParams);
     return jdbcTemplate.query(
         sql,
         sqlParams,
@@ -142,7 +152,10 @@ class JdbcEnrollmentStore {
    * order by ...
    * </pre>
    */
-  private String getQuery(EnrollmentQueryParams enrollmentParams, MapSqlParameterSource sqlParams) {
+  private String getQuery(
+      EnrollmentQueryParams enrollmentParams,
+      PageParams pageParams,
+      MapSqlParameterSource sqlParams) {
     StringBuilder sql = new StringBuilder();
     addSelect(sql, enrollmentParams);
     sql.append(" from enrollment e ");
@@ -157,7 +170,7 @@ class JdbcEnrollmentStore {
     addJoinOnCategoryOptionCombo(sql);
     addLeftJoinOnNotes(sql);
     addLeftJoinOnAttributes(sql, enrollmentParams);
-    addWhereConditions(sql, sqlParams, enrollmentParams);
+    addWhereConditions(sql, sqlParams, enrollmentParams, pageParams);
     addOrderBy(sql, enrollmentParams);
 
     return sql.toString();
@@ -204,7 +217,10 @@ class JdbcEnrollmentStore {
   }
 
   private void addWhereConditions(
-      StringBuilder sql, MapSqlParameterSource sqlParams, EnrollmentQueryParams params) {
+      StringBuilder sql,
+      MapSqlParameterSource sqlParams,
+      EnrollmentQueryParams params,
+      PageParams pageParams) {
     SqlHelper hlp = new SqlHelper(true);
     addLastUpdatedConditions(sql, sqlParams, params, hlp);
     addOrgUnitConditions(sql, sqlParams, params, hlp);
@@ -212,6 +228,25 @@ class JdbcEnrollmentStore {
     addEnrollmentConditions(sql, sqlParams, params, hlp);
     addTrackedEntityConditions(sql, sqlParams, params, hlp);
     addAttributeOptionComboConditions(sql, sqlParams, params, hlp);
+    addPageTokenConditions(sql, sqlParams, params, pageParams, hlp);
+  }
+
+  private void addPageTokenConditions(
+      StringBuilder sql,
+      MapSqlParameterSource sqlParams,
+      EnrollmentQueryParams params,
+      PageParams pageParams,
+      SqlHelper hlp) {
+    if (pageParams != null && pageParams.getPageToken() != null) {
+      sql.append(hlp.whereAnd())
+          .append(
+              SeekJdbcClause.of(
+                  pageParams.getPageToken(),
+                  params.getOrder(),
+                  SEEKABLE_FIELDS,
+                  PK_COLUMN,
+                  sqlParams));
+    }
   }
 
   private void addJoinOnProgram(StringBuilder sql) {
@@ -470,7 +505,7 @@ class JdbcEnrollmentStore {
     }
 
     MapSqlParameterSource sqlParams = new MapSqlParameterSource();
-    String sql = getQuery(enrollmentParams, sqlParams);
+    String sql = getQuery(enrollmentParams, pageParams, sqlParams);
     sql +=
         String.format(" LIMIT %d OFFSET %d", pageParams.getPageSize() + 1, pageParams.getOffset());
 
@@ -481,7 +516,12 @@ class JdbcEnrollmentStore {
             new EnrollmentRowMapper(
                 enrollmentParams.isIncludeAttributes(),
                 enrollmentParams.getEnrolledInTrackerProgram()));
-    return new Page<>(enrollments, pageParams, () -> countEnrollments(enrollmentParams));
+    String orderKey = SeekJdbcClause.getOrderKey(enrollmentParams.getOrder(), SEEKABLE_FIELDS);
+    return new Page<>(
+        enrollments,
+        pageParams,
+        () -> countEnrollments(enrollmentParams),
+        orderKey == null ? null : e -> new PageToken(orderKey, null, e.getId()));
   }
 
   private long countEnrollments(EnrollmentQueryParams params) {
@@ -53,8 +53,10 @@ import org.hisp.dhis.setting.SystemSettingsProvider;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.tracker.Page;
 import org.hisp.dhis.tracker.PageParams;
+import org.hisp.dhis.tracker.PageToken;
 import org.hisp.dhis.tracker.export.Order;
 import org.hisp.dhis.tracker.export.OrderJdbcClause;
+import org.hisp.dhis.tracker.export.SeekJdbcClause;
 import org.hisp.dhis.tracker.model.TrackedEntity;
 import org.hisp.dhis.util.DateUtils;
 import org.springframework.jdbc.core.SqlParameterValue;
@@ -100,6 +102,12 @@ class JdbcTrackedEntityStore {
           entry(ENROLLMENT_DATE_KEY, ENROLLMENT_DATE_ALIAS),
           entry("inactive", "inactive"));
 
+  /**
+   * Fields tracked entities can be ordered by in cursor-based pagination. Only the default order is
+   * supported, as the other orders are applied in the outer query or need DISTINCT ON.
+   */
+  private static final Map<String, String> SEEKABLE_FIELDS = Map.of();
+
   private final SystemSettingsProvider settingsProvider;
 
   private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
@@ -147,7 +155,12 @@ class JdbcTrackedEntityStore {
           new TrackedEntityIdentifiers(rowSet.getLong("trackedentityid"), rowSet.getString("uid")));
     }
 
-    return new Page<>(ids, pageParams, () -> getTrackedEntityCount(params));
+    String orderKey = SeekJdbcClause.getOrderKey(params.getOrder(), SEEKABLE_FIELDS);
+    return new Page<>(
+        ids,
+        pageParams,
+        () -> getTrackedEntityCount(params),
+        orderKey == null ? null : te -> new PageToken(orderKey, null, te.id()));
   }
 
   private void validateMaxTeLimit(TrackedEntityQueryParams params) {
@@ -236,7 +249,7 @@ class JdbcTrackedEntityStore {
     StringBuilder sql = new StringBuilder();
     addOuterSelect(sql, params);
     sql.append(" from (");
-    addSubqueryBody(sql, sqlParameters, params);
+    addSubqueryBody(sql, sqlParameters, params, pageParams);
     sql.append(" ");
     if (needsDistinctOnForEnrolledAt(params)) {
       addDistinctOnOrderBy(sql, params);
@@ -261,7 +274,7 @@ class JdbcTrackedEntityStore {
     StringBuilder sql = new StringBuilder("select count(trackedentityid) from (");
     addOuterSelect(sql, params);
     sql.append(" from (");
-    addSubqueryBody(sql, sqlParameters, params);
+    addSubqueryBody(sql, sqlParameters, params, null);
     sql.append(") ").append(MAIN_QUERY_ALIAS).append(" ");
     sql.append(") tecount");
     return sql.toString();
@@ -273,7 +286,7 @@ class JdbcTrackedEntityStore {
     StringBuilder sql = new StringBuilder("select count(trackedentityid) from (");
     addOuterSelect(sql, params);
     sql.append(" from (");
-    addSubqueryBody(sql, sqlParameters, params);
+    addSubqueryBody(sql, sqlParameters, params, null);
     sql.append(") ").append(MAIN_QUERY_ALIAS).append(" ");
     sql.append("limit ").append(getMaxTeLimit(params) + 1);
     sql.append(" ) tecount");
@@ -287,13 +300,19 @@ class JdbcTrackedEntityStore {
     }
   }
 
-  /** Builds the subquery SELECT, FROM, JOINs and WHERE. No ORDER BY or LIMIT. */
+  /**
+   * Builds the subquery SELECT, FROM, JOINs and WHERE. No ORDER BY or LIMIT. The WHERE seeks to the
+   * page after the page token if given.
+   */
   private void addSubqueryBody(
-      StringBuilder sql, MapSqlParameterSource sqlParameters, TrackedEntityQueryParams params) {
+      StringBuilder sql,
+      MapSqlParameterSource sqlParameters,
+      TrackedEntityQueryParams params,
+      PageParams pageParams) {
     addSubquerySelect(sql, params);
     sql.append(" from trackedentity ").append(MAIN_QUERY_ALIAS).append(" ");
     addSubqueryJoins(sql, sqlParameters, params);
-    addSubqueryWhere(sql, sqlParameters, params);
+    addSubqueryWhere(sql, sqlParameters, params, pageParams);
   }
 
   private void addSubqueryJoins(
@@ -311,11 +330,33 @@ class JdbcTrackedEntityStore {
   }
 
   private void addSubqueryWhere(
-      StringBuilder sql, MapSqlParameterSource sqlParameters, TrackedEntityQueryParams params) {
+      StringBuilder sql,
+      MapSqlParameterSource sqlParameters,
+      TrackedEntityQueryParams params,
+      PageParams pageParams) {
     SqlHelper sqlHelper = new SqlHelper(true);
     addAttributeFilterConditions(sql, sqlParameters, params, sqlHelper);
     addTrackedEntityConditions(sql, sqlParameters, params, sqlHelper);
     addEnrollmentAndEventExistsCondition(sql, sqlParameters, params, sqlHelper);
+    addPageTokenCondition(sql, sqlParameters, params, pageParams, sqlHelper);
+  }
+
+  private void addPageTokenCondition(
+      StringBuilder sql,
+      MapSqlParameterSource sqlParameters,
+      TrackedEntityQueryParams params,
+      PageParams pageParams,
+      SqlHelper sqlHelper) {
+    if (pageParams != null && pageParams.getPageToken() != null) {
+      sql.append(sqlHelper.whereAnd())
+          .append(
+              SeekJdbcClause.of(
+                  pageParams.getPageToken(),
+                  params.getOrder(),
+                  SEEKABLE_FIELDS,
+                  PK_COLUMN,
+                  sqlParameters));
+    }
   }
 
   /**
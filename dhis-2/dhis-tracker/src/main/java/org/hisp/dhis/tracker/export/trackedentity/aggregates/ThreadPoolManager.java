@@ -29,31 +29,129 @@
  */
 package org.hisp.dhis.tracker.export.trackedentity.aggregates;
 
+import static org.hisp.dhis.external.conf.ConfigurationKey.CONNECTION_POOL_MAX_SIZE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_TRACKER_EXPORT_ENABLED;
+import static org.hisp.dhis.external.conf.ConfigurationKey.TRACKER_EXPORT_AGGREGATE_QUEUE_SIZE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.TRACKER_EXPORT_AGGREGATE_THREADS;
+
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.stereotype.Component;
 
 /**
- * Exposes a static method to fetch an Executor for the Aggregates operations
+ * Provides the Executor for the Aggregates operations.
+ *
+ * <p>Every fetch holds a database connection while it runs. The pool is therefore bounded by
+ * {@link org.hisp.dhis.external.conf.ConfigurationKey#TRACKER_EXPORT_AGGREGATE_THREADS} and by half
+ * of the connection pool, so that concurrent exports cannot exhaust the connection pool. Fetches
+ * that find both the threads busy and the queue full run on the requesting thread. This throttles
+ * new exports, as a request cannot submit more fetches until its own fetch is done.
+ *
+ * <p>Once the pool is shut down, fetches are rejected with a {@link RejectedExecutionException}
+ * instead of being dropped, so that exports fail rather than wait for a fetch that never runs.
  *
  * @author Luciano Fiandesio
  */
+@Component
 class ThreadPoolManager {
-  // Thread factory that sets a user-defined thread name (useful for debugging
-  // purposes)
-  private ThreadPoolManager() {
-    throw new IllegalStateException("only used for its static fields");
+  static final String METRIC_QUEUE_SIZE = "tracker.export.aggregate.queue.size";
+
+  static final String METRIC_ACTIVE = "tracker.export.aggregate.active";
+
+  static final String METRIC_WAIT = "tracker.export.aggregate.wait";
+
+  static final String METRIC_CALLER_RUNS = "tracker.export.aggregate.caller.runs";
+
+  private final ThreadPoolExecutor pool;
+
+  private final Executor executor;
+
+  ThreadPoolManager(DhisConfigurationProvider config, MeterRegistry meterRegistry) {
+    int threads = getThreads(config);
+    int queueSize = config.getIntProperty(TRACKER_EXPORT_AGGREGATE_QUEUE_SIZE);
+    boolean metricsEnabled = config.isEnabled(MONITORING_TRACKER_EXPORT_ENABLED);
+
+    BlockingQueue<Runnable> queue =
+        queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) : new SynchronousQueue<>();
+    Counter callerRuns =
+        metricsEnabled
+            ? Counter.builder(METRIC_CALLER_RUNS)
+                .description("Tracker export fetches run on the requesting thread")
+                .register(meterRegistry)
+            : null;
+
+    this.pool =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            queue,
+            // Thread factory that sets a user-defined thread name (useful for debugging purposes)
+            new ThreadFactoryBuilder().setNameFormat("TRACKER-TE-FETCH-%d").setDaemon(true).build(),
+            (task, executor) -> {
+              // a dropped task would leave its future incomplete and the export waiting forever
+              if (executor.isShutdown()) {
+                throw new RejectedExecutionException(
+                    "Tracker export fetch rejected as the pool has been shut down");
+              }
+              if (callerRuns != null) {
+                callerRuns.increment();
+              }
+              task.run();
+            });
+    this.pool.allowCoreThreadTimeOut(true);
+
+    if (metricsEnabled) {
+      Gauge.builder(METRIC_QUEUE_SIZE, pool, p -> p.getQueue().size())
+          .description("Tracker export fetches waiting for a thread")
+          .register(meterRegistry);
+      Gauge.builder(METRIC_ACTIVE, pool, ThreadPoolExecutor::getActiveCount)
+          .description("Tracker export fetches running on the pool")
+          .register(meterRegistry);
+      Timer wait =
+          Timer.builder(METRIC_WAIT)
+              .description("Time tracker export fetches waited for a thread")
+              .register(meterRegistry);
+      this.executor =
+          task -> {
+            long submitted = System.nanoTime();
+            pool.execute(
+                () -> {
+                  wait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                  task.run();
+                });
+          };
+    } else {
+      this.executor = pool;
+    }
   }
 
-  private static final ThreadFactory threadFactory =
-      new ThreadFactoryBuilder().setNameFormat("TRACKER-TE-FETCH-%d").setDaemon(true).build();
+  /** Returns the configured number of threads capped at half of the connection pool. */
+  static int getThreads(DhisConfigurationProvider config) {
+    int threads = config.getIntProperty(TRACKER_EXPORT_AGGREGATE_THREADS);
+    int connections = config.getIntProperty(CONNECTION_POOL_MAX_SIZE);
+    return Math.max(1, Math.min(threads, connections / 2));
+  }
 
-  /** Cached thread pool: not bound to a size, but can reuse existing threads. */
-  private static final Executor AGGREGATE_THREAD_POOL =
-      Executors.newCachedThreadPool(threadFactory);
+  Executor getPool() {
+    return executor;
+  }
 
-  static Executor getPool() {
-    return AGGREGATE_THREAD_POOL;
+  @PreDestroy
+  void shutdown() {
+    pool.shutdownNow();
   }
 }
@@ -31,7 +31,6 @@ package org.hisp.dhis.tracker.export.trackedentity.aggregates;
 
 import static java.util.concurrent.CompletableFuture.allOf;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
-import static org.hisp.dhis.tracker.export.trackedentity.aggregates.ThreadPoolManager.getPool;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
@@ -69,6 +68,8 @@ public class TrackedEntityAggregate {
   @Nonnull
   private final EnrollmentAggregate enrollmentAggregate;
 
+  @Nonnull private final ThreadPoolManager threadPoolManager;
+
   /**
    * Fetches a List of {@see TrackedEntity} based on the list of primary keys and search parameters
    */
@@ -88,25 +89,26 @@ public class TrackedEntityAggregate {
 
     List<Long> ids = identifiers.stream().map(TrackedEntityIdentifiers::id).toList();
     Map<String, String> mdc = MDC.getCopyOfContextMap();
+    Executor pool = threadPoolManager.getPool();
     final CompletableFuture<Multimap<String, Enrollment>> enrollmentsAsync =
         conditionalAsyncFetch(
             fields.isIncludesEnrollments(),
             () -> enrollmentAggregate.findByTrackedEntityIds(identifiers, ctx),
-            getPool(),
+            pool,
             mdc);
     final CompletableFuture<Multimap<String, TrackedEntityProgramOwner>> programOwnersAsync =
         conditionalAsyncFetch(
             fields.isIncludesProgramOwners(),
             () -> trackedEntityStore.getProgramOwners(ids),
-            getPool(),
+            pool,
             mdc);
     final CompletableFuture<Map<String, TrackedEntity>> trackedEntitiesAsync =
-        supplyAsync(withMdc(mdc, () -> trackedEntityStore.getTrackedEntities(ids)), getPool());
+        supplyAsync(withMdc(mdc, () -> trackedEntityStore.getTrackedEntities(ids)), pool);
     final CompletableFuture<Multimap<String, TrackedEntityAttributeValue>> attributesAsync =
         conditionalAsyncFetch(
             fields.isIncludesAttributes(),
             () -> trackedEntityStore.getAttributes(ids, programId),
-            getPool(),
+            pool,
             mdc);
 
     allOf(trackedEntitiesAsync, attributesAsync, enrollmentsAsync, programOwnersAsync).join();
@@ -135,7 +137,7 @@ public class TrackedEntityAggregate {
       Map<String, String> mdc) {
     return condition
         ? supplyAsync(withMdc(mdc, supplier), executor)
-        : supplyAsync(ArrayListMultimap::create, executor);
+        : CompletableFuture.completedFuture(ArrayListMultimap.create());
   }
 
   /** Wraps a supplier so that the given MDC context is set on the async thread. */
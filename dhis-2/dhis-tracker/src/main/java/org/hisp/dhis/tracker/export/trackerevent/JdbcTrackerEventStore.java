@@ -49,6 +49,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -78,11 +79,13 @@ import org.hisp.dhis.system.util.SqlUtils;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.tracker.Page;
 import org.hisp.dhis.tracker.PageParams;
+import org.hisp.dhis.tracker.PageToken;
 import org.hisp.dhis.tracker.TrackerIdScheme;
 import org.hisp.dhis.tracker.TrackerIdSchemeParam;
 import org.hisp.dhis.tracker.export.Geometries;
 import org.hisp.dhis.tracker.export.Order;
 import org.hisp.dhis.tracker.export.OrderJdbcClause;
+import org.hisp.dhis.tracker.export.SeekJdbcClause;
 import org.hisp.dhis.tracker.export.UserInfoSnapshots;
 import org.hisp.dhis.tracker.model.Enrollment;
 import org.hisp.dhis.tracker.model.TrackedEntity;
@@ -157,6 +160,13 @@ class JdbcTrackerEventStore {
           entry("assignedUser", "user_assigned_username"),
           entry("assignedUser.displayName", "user_assigned_name"));
 
+  /**
+   * Fields events can be ordered by in cursor-based pagination. Maps fields to non-nullable DB
+   * columns of the inner event query.
+   */
+  private static final Map<String, String> SEEKABLE_FIELDS =
+      Map.of("uid", "ev.uid", "created", "ev.created", "lastUpdated", "ev.lastupdated");
+
   // Cannot use DefaultRenderService mapper. Does not work properly -
   // DHIS2-6102
   private static final ObjectReader eventDataValueJsonReader =
@@ -170,7 +180,26 @@ class JdbcTrackerEventStore {
 
   public Page<TrackerEvent> getEvents(TrackerEventQueryParams queryParams, PageParams pageParams) {
     List<TrackerEvent> events = fetchEvents(queryParams, pageParams);
-    return new Page<>(events, pageParams, () -> getEventCount(queryParams));
+    return new Page<>(
+        events, pageParams, () -> getEventCount(queryParams), getPageToken(queryParams));
+  }
+
+  /** Returns the function creating the page token of an event, if the order supports it. */
+  private Function<TrackerEvent, PageToken> getPageToken(TrackerEventQueryParams queryParams) {
+    String orderKey = SeekJdbcClause.getOrderKey(queryParams.getOrder(), SEEKABLE_FIELDS);
+    if (orderKey == null) {
+      return null;
+    }
+
+    if (queryParams.getOrder().isEmpty()) {
+      return event -> new PageToken(orderKey, null, event.getId());
+    }
+
+    return switch ((String) queryParams.getOrder().get(0).getField()) {
+      case "uid" -> event -> new PageToken(orderKey, event.getUid(), event.getId());
+      case "created" -> event -> new PageToken(orderKey, event.getCreated(), event.getId());
+      default -> event -> new PageToken(orderKey, event.getLastUpdated(), event.getId());
+    };
   }
 
   private List<TrackerEvent> fetchEvents(
@@ -213,6 +242,7 @@ class JdbcTrackerEventStore {
               event = eventsByUid.get(eventUid);
             } else {
               event = new TrackerEvent();
+              event.setId(resultSet.getLong("ev_id"));
               event.setUid(eventUid);
               eventsByUid.put(eventUid, event);
               dataElementUids.put(eventUid, new HashSet<>());
@@ -470,7 +500,7 @@ class JdbcTrackerEventStore {
     }
     sqlBuilder.append(" from (");
 
-    sqlBuilder.append(getQuery(queryParams, mapSqlParameterSource, user));
+    sqlBuilder.append(getQuery(queryParams, pageParams, mapSqlParameterSource, user));
 
     sqlBuilder.append(getOrderQuery(queryParams));
 
@@ -521,7 +551,10 @@ left join dataelement de on de.uid = eventdatavalue.dataelement_uid
    * </pre>
    */
   private String getQuery(
-      TrackerEventQueryParams params, MapSqlParameterSource sqlParams, UserDetails user) {
+      TrackerEventQueryParams params,
+      PageParams pageParams,
+      MapSqlParameterSource sqlParams,
+      UserDetails user) {
     StringBuilder sql = new StringBuilder();
     addSelect(sql, params);
     sql.append(" from trackerevent ev ");
@@ -540,7 +573,7 @@ left join dataelement de on de.uid = eventdatavalue.dataelement_uid
     addLeftJoinOnAssignedUser(sql);
     addJoinOnAttributes(sql, params);
     addJoinOnCategoryOptionCombo(sql, user);
-    addWhereConditions(sql, sqlParams, params);
+    addWhereConditions(sql, sqlParams, params, pageParams);
     return sql.toString();
   }
 
@@ -889,7 +922,10 @@ left join dataelement de on de.uid = eventdatavalue.dataelement_uid
   }
 
   private void addWhereConditions(
-      StringBuilder sql, MapSqlParameterSource sqlParams, TrackerEventQueryParams params) {
+      StringBuilder sql,
+      MapSqlParameterSource sqlParams,
+      TrackerEventQueryParams params,
+      PageParams pageParams) {
     SqlHelper hlp = new SqlHelper(true);
     addDataElementConditions(sql, sqlParams, params);
     addAttributeFilterConditions(sql, sqlParams, params, hlp);
@@ -906,6 +942,7 @@ left join dataelement de on de.uid = eventdatavalue.dataelement_uid
     addAssignedUserConditions(sql, sqlParams, params, hlp);
     addDeletedCondition(sql, params, hlp);
     addEnrollmentUidConditions(sql, sqlParams, params, hlp);
+    addPageTokenConditions(sql, sqlParams, params, pageParams, hlp);
   }
 
   private void addDataElementConditions(
@@ -1198,6 +1235,24 @@ left join dataelement de on de.uid = eventdatavalue.dataelement_uid
     }
   }
 
+  private void addPageTokenConditions(
+      StringBuilder sql,
+      MapSqlParameterSource sqlParams,
+      TrackerEventQueryParams params,
+      PageParams pageParams,
+      SqlHelper hlp) {
+    if (pageParams != null && pageParams.getPageToken() != null) {
+      sql.append(hlp.whereAnd())
+          .append(
+              SeekJdbcClause.of(
+                  pageParams.getPageToken(),
+                  params.getOrder(),
+                  SEEKABLE_FIELDS,
+                  "ev.eventid",
+                  sqlParams));
+    }
+  }
+
   private String getLimitAndOffsetClause(final PageParams pageParams) {
     // get extra event to determine if there is a nextPage
     return " limit " + (pageParams.getPageSize() + 1) + " offset " + pageParams.getOffset() + " ";
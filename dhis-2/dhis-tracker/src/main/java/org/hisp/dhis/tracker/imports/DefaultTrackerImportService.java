@@ -29,7 +29,11 @@
  */
 package org.hisp.dhis.tracker.imports;
 
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
 import lombok.RequiredArgsConstructor;
@@ -40,6 +44,10 @@ import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.tracker.TrackerType;
 import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
 import org.hisp.dhis.tracker.imports.bundle.TrackerBundleService;
+import org.hisp.dhis.tracker.imports.domain.Enrollment;
+import org.hisp.dhis.tracker.imports.domain.Relationship;
+import org.hisp.dhis.tracker.imports.domain.TrackedEntity;
+import org.hisp.dhis.tracker.imports.domain.TrackerEvent;
 import org.hisp.dhis.tracker.imports.domain.TrackerObjects;
 import org.hisp.dhis.tracker.imports.preprocess.Preprocessor;
 import org.hisp.dhis.tracker.imports.report.Error;
@@ -79,6 +87,74 @@ public class DefaultTrackerImportService implements TrackerImportService {
       @Nonnull TrackerImportParams params,
       @Nonnull TrackerObjects trackerObjects,
       @Nonnull JobProgress jobProgress) {
+    if (params.getAtomicMode() == AtomicMode.OBJECT
+        && params.getChunkSize() > 0
+        && size(trackerObjects) > params.getChunkSize()) {
+      return importChunks(params, trackerObjects, jobProgress);
+    }
+
+    return importBundle(params, trackerObjects, jobProgress);
+  }
+
+  /**
+   * Imports the payload in chunks of at most {@link TrackerImportParams#getChunkSize()} objects.
+   * Each chunk is preheated, validated and committed in its own transactions before the next chunk
+   * is imported, so objects of a chunk can reference the objects committed by previous chunks.
+   */
+  private ImportReport importChunks(
+      TrackerImportParams params, TrackerObjects trackerObjects, JobProgress jobProgress) {
+    List<TrackerObjects> chunks =
+        splitIntoChunks(trackerObjects, params.getChunkSize(), params.getImportStrategy());
+
+    List<ImportReport> reports = new ArrayList<>(chunks.size());
+    for (int i = 0; i < chunks.size(); i++) {
+      TrackerObjects chunk = chunks.get(i);
+      jobProgress.startingStage("Importing chunk %d of %d".formatted(i + 1, chunks.size()));
+      reports.add(
+          jobProgress.nonNullStagePostCondition(
+              jobProgress.runStage(() -> importBundle(params, chunk, JobProgress.noop()))));
+    }
+
+    return ImportReport.merge(reports);
+  }
+
+  /**
+   * Splits the payload into chunks that only contain objects of one type. Chunks are ordered so
+   * that parents are imported before their children (tracked entities, enrollments, events,
+   * relationships), or after them when deleting.
+   */
+  static List<TrackerObjects> splitIntoChunks(
+      TrackerObjects trackerObjects, int chunkSize, TrackerImportStrategy importStrategy) {
+    List<TrackerObjects> chunks = new ArrayList<>();
+    for (List<TrackedEntity> part :
+        Lists.partition(trackerObjects.getTrackedEntities(), chunkSize)) {
+      chunks.add(TrackerObjects.builder().trackedEntities(new ArrayList<>(part)).build());
+    }
+    for (List<Enrollment> part : Lists.partition(trackerObjects.getEnrollments(), chunkSize)) {
+      chunks.add(TrackerObjects.builder().enrollments(new ArrayList<>(part)).build());
+    }
+    for (List<TrackerEvent> part : Lists.partition(trackerObjects.getEvents(), chunkSize)) {
+      chunks.add(TrackerObjects.builder().events(new ArrayList<>(part)).build());
+    }
+    for (List<Relationship> part : Lists.partition(trackerObjects.getRelationships(), chunkSize)) {
+      chunks.add(TrackerObjects.builder().relationships(new ArrayList<>(part)).build());
+    }
+
+    if (importStrategy.isDelete()) {
+      Collections.reverse(chunks);
+    }
+    return chunks;
+  }
+
+  private static int size(TrackerObjects trackerObjects) {
+    return trackerObjects.getTrackedEntities().size()
+        + trackerObjects.getEnrollments().size()
+        + trackerObjects.getEvents().size()
+        + trackerObjects.getRelationships().size();
+  }
+
+  private ImportReport importBundle(
+      TrackerImportParams params, TrackerObjects trackerObjects, JobProgress jobProgress) {
     UserDetails currentUser = CurrentUserUtil.getCurrentUserDetails();
     jobProgress.startingStage("Running PreHeat");
     TrackerBundle trackerBundle =
@@ -41,4 +41,11 @@ public enum FlushMode {
 
   /** Let the importer decide the flushing. */
   AUTO,
+
+  /**
+   * Write new events with multi-row JDBC inserts once all events of a type have been processed.
+   * Only applies to imports using {@link AtomicMode#ALL}; everything else is flushed as in {@link
+   * #AUTO}.
+   */
+  BULK,
 }
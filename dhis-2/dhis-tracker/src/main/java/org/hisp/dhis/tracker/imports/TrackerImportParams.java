@@ -67,6 +67,13 @@ public class TrackerImportParams implements JobParameters {
   /** Validation mode to use, defaults to fully validated objects. */
   @JsonProperty @Builder.Default private final ValidationMode validationMode = ValidationMode.FULL;
 
+  /**
+   * Maximum number of objects imported per chunk when the import is not atomic ({@link
+   * AtomicMode#OBJECT}). Each chunk is preheated, validated and committed on its own. A value of 0
+   * imports all objects in one bundle.
+   */
+  @JsonProperty @Builder.Default private final int chunkSize = 0;
+
   /** Should text pattern validation be skipped or not, default is not. */
   @JsonProperty @Builder.Default private final boolean skipPatternValidation = false;
 
@@ -107,6 +107,13 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends I
     //
     List<T> dtos = getByType(bundle);
 
+    //
+    // New entities written with multi-row inserts after all DTOs have been processed
+    //
+    Optional<BulkInserter<V>> bulkInserter =
+        isBulkInsert(bundle) ? getBulkInserter() : Optional.empty();
+    List<V> bulkEntities = new ArrayList<>();
+
     for (T trackerDto : dtos) {
 
       Entity objectReport = new Entity(getType(), trackerDto.getUID());
@@ -134,7 +141,11 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends I
         // Save or update the entity
         //
         if (isNew(bundle, trackerDto)) {
-          entityManager.persist(convertedDto);
+          if (bulkInserter.isPresent() && bulkInserter.get().canInsert(convertedDto)) {
+            bulkEntities.add(convertedDto);
+          } else {
+            entityManager.persist(convertedDto);
+          }
           updateDataValues(
               entityManager,
               bundle.getPreheat(),
@@ -205,9 +216,29 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends I
       }
     }
 
+    if (!bulkEntities.isEmpty()) {
+      try {
+        // entities referenced by the new rows must be in the database before they are inserted
+        entityManager.flush();
+        bulkInserter.get().insert(bulkEntities);
+      } catch (Exception e) {
+        throw new PersistenceException(
+            bulkEntities.size()
+                + " Tracker Entities of type '"
+                + getType().getName()
+                + "' failed to persist.",
+            e);
+      }
+    }
+
     return new PersistResult(typeReport, notificationDataBundles);
   }
 
+  private boolean isBulkInsert(TrackerBundle bundle) {
+    return FlushMode.BULK == bundle.getFlushMode()
+        && AtomicMode.ALL == bundle.getAtomicMode();
+  }
+
   // // // // // // // //
   // // // // // // // //
   // TEMPLATE METHODS //
@@ -271,6 +302,15 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends I
     return List.of();
   }
 
+  /**
+   * Returns the {@link BulkInserter} used for new entities when the import uses {@link
+   * FlushMode#BULK}. Returns empty by default, so all entities are persisted by the {@link
+   * EntityManager}.
+   */
+  protected Optional<BulkInserter<V>> getBulkInserter() {
+    return Optional.empty();
+  }
+
   /** Get the Tracker Type for which the current Persister is responsible for. */
   protected abstract TrackerType getType();
 
@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.bundle.persister;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.collect.Lists;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.hisp.dhis.artemis.audit.configuration.AuditMatrix;
+import org.hisp.dhis.audit.AuditScope;
+import org.hisp.dhis.audit.AuditType;
+import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.eventdatavalue.EventDataValue;
+import org.hisp.dhis.hibernate.jsonb.type.JsonBinaryType;
+import org.hisp.dhis.program.ProgramStage;
+import org.hisp.dhis.program.UserInfoSnapshot;
+import org.hisp.dhis.tracker.model.SingleEvent;
+import org.hisp.dhis.tracker.model.TrackerEvent;
+import org.locationtech.jts.geom.Geometry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inserts new tracker and single events using multi-row insert statements. Used by the event
+ * persisters when importing with {@link org.hisp.dhis.tracker.imports.FlushMode#BULK}.
+ *
+ * <p>Rows are written with the same values Hibernate would write for the mappings in {@code
+ * TrackerEvent.hbm.xml} and {@code SingleEvent.hbm.xml}. Notes are not supported, as they are
+ * stored in a separate table.
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcEventBulkInserter {
+  /** Keeps the number of parameters of a statement well below the PostgreSQL limit. */
+  private static final int ROWS_PER_STATEMENT = 500;
+
+  private static final ObjectWriter DATA_VALUES_WRITER =
+      JsonBinaryType.MAPPER.writerFor(new TypeReference<Map<String, EventDataValue>>() {});
+
+  private static final ObjectWriter USER_INFO_WRITER =
+      JsonBinaryType.MAPPER
+          .copy()
+          .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+          .writerFor(UserInfoSnapshot.class);
+
+  private static final List<String> TRACKER_EVENT_COLUMNS =
+      List.of(
+          "eventid",
+          "uid",
+          "created",
+          "createdbyuserinfo",
+          "lastupdated",
+          "lastupdatedbyuserinfo",
+          "createdatclient",
+          "lastupdatedatclient",
+          "lastsynchronized",
+          "programstageid",
+          "attributeoptioncomboid",
+          "deleted",
+          "storedby",
+          "occurreddate",
+          "organisationunitid",
+          "status",
+          "completedby",
+          "completeddate",
+          "geometry",
+          "assigneduserid",
+          "eventdatavalues",
+          "enrollmentid",
+          "scheduleddate");
+
+  /** Single events have neither an enrollment nor a scheduled date. */
+  private static final List<String> SINGLE_EVENT_COLUMNS =
+      TRACKER_EVENT_COLUMNS.subList(0, TRACKER_EVENT_COLUMNS.size() - 2);
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final AuditMatrix auditMatrix;
+
+  /** Returns the {@link BulkInserter} for new tracker events. */
+  public BulkInserter<TrackerEvent> trackerEvents() {
+    return new BulkInserter<>() {
+      @Override
+      public boolean canInsert(TrackerEvent event) {
+        return isBulkInsertable(event.getNotes().isEmpty(), event.getProgramStage());
+      }
+
+      @Override
+      public void insert(List<TrackerEvent> events) {
+        insertTrackerEvents(events);
+      }
+    };
+  }
+
+  /** Returns the {@link BulkInserter} for new single events. */
+  public BulkInserter<SingleEvent> singleEvents() {
+    return new BulkInserter<>() {
+      @Override
+      public boolean canInsert(SingleEvent event) {
+        return isBulkInsertable(event.getNotes().isEmpty(), event.getProgramStage());
+      }
+
+      @Override
+      public void insert(List<SingleEvent> events) {
+        insertSingleEvents(events);
+      }
+    };
+  }
+
+  /**
+   * Returns true if a new event can be inserted without Hibernate. Notes are cascaded to a join
+   * table, and change logs and audits are written by Hibernate listeners, so such events have to go
+   * through Hibernate.
+   */
+  private boolean isBulkInsertable(boolean withoutNotes, ProgramStage programStage) {
+    return withoutNotes
+        && !programStage.getProgram().isEnableChangeLog()
+        && !auditMatrix.isEnabled(AuditScope.TRACKER, AuditType.CREATE);
+  }
+
+  private void insertTrackerEvents(List<TrackerEvent> events) {
+    insertRows(
+        "trackerevent",
+        "trackerevent_sequence",
+        TRACKER_EVENT_COLUMNS,
+        events,
+        (ps, index, event) -> {
+          int next = setEventValues(ps, index, EventRow.of(event));
+          ps.setLong(next++, event.getEnrollment().getId());
+          ps.setTimestamp(next++, toTimestamp(event.getScheduledDate()));
+          return next;
+        });
+  }
+
+  private void insertSingleEvents(List<SingleEvent> events) {
+    insertRows(
+        "singleevent",
+        "programstageinstance_sequence",
+        SINGLE_EVENT_COLUMNS,
+        events,
+        (ps, index, event) -> setEventValues(ps, index, EventRow.of(event)));
+  }
+
+  private <T extends IdentifiableObject> void insertRows(
+      String table,
+      String sequence,
+      List<String> columns,
+      List<T> entities,
+      RowSetter<T> rowSetter) {
+    assignIds(sequence, entities);
+
+    String row =
+        columns.stream()
+            .map(JdbcEventBulkInserter::toPlaceholder)
+            .collect(Collectors.joining(", ", "(", ")"));
+    String insert = "insert into " + table + " (" + String.join(", ", columns) + ") values ";
+
+    for (List<T> chunk : Lists.partition(entities, ROWS_PER_STATEMENT)) {
+      String sql = insert + String.join(", ", Collections.nCopies(chunk.size(), row));
+
+      jdbcTemplate.update(
+          sql,
+          ps -> {
+            int index = 1;
+            for (T entity : chunk) {
+              index = rowSetter.setValues(ps, index, entity);
+            }
+          });
+    }
+  }
+
+  private <T extends IdentifiableObject> void assignIds(String sequence, List<T> entities) {
+    List<Long> ids =
+        jdbcTemplate.queryForList(
+            "select nextval('" + sequence + "') from generate_series(1, ?)",
+            Long.class,
+            entities.size());
+
+    for (int i = 0; i < entities.size(); i++) {
+      entities.get(i).setId(ids.get(i));
+    }
+  }
+
+  private static String toPlaceholder(String column) {
+    return switch (column) {
+      case "createdbyuserinfo", "lastupdatedbyuserinfo", "eventdatavalues" -> "cast(? as jsonb)";
+      case "geometry" -> "ST_GeomFromText(?, ?)";
+      default -> "?";
+    };
+  }
+
+  private static int setEventValues(PreparedStatement ps, int index, EventRow row)
+      throws SQLException {
+    ps.setLong(index++, row.event().getId());
+    ps.setString(index++, row.event().getUid());
+    ps.setTimestamp(index++, toTimestamp(row.event().getCreated()));
+    ps.setString(index++, toJson(USER_INFO_WRITER, row.createdByUserInfo()));
+    ps.setTimestamp(index++, toTimestamp(row.event().getLastUpdated()));
+    ps.setString(index++, toJson(USER_INFO_WRITER, row.lastUpdatedByUserInfo()));
+    ps.setTimestamp(index++, toTimestamp(row.createdAtClient()));
+    ps.setTimestamp(index++, toTimestamp(row.lastUpdatedAtClient()));
+    ps.setTimestamp(index++, toTimestamp(row.lastSynchronized()));
+    ps.setLong(index++, row.programStage().getId());
+    ps.setLong(index++, row.attributeOptionCombo().getId());
+    ps.setBoolean(index++, false);
+    ps.setString(index++, row.storedBy());
+    ps.setTimestamp(index++, toTimestamp(row.occurredDate()));
+    ps.setLong(index++, row.organisationUnit().getId());
+    ps.setString(index++, row.status());
+    ps.setString(index++, row.completedBy());
+    ps.setTimestamp(index++, toTimestamp(row.completedDate()));
+    Geometry geometry = row.geometry();
+    ps.setString(index++, geometry == null ? null : geometry.toText());
+    ps.setInt(index++, geometry == null ? 0 : geometry.getSRID());
+    setNullableId(ps, index++, row.assignedUser());
+    ps.setString(index++, toJson(DATA_VALUES_WRITER, toDataValueMap(row.eventDataValues())));
+    return index;
+  }
+
+  private static Map<String, EventDataValue> toDataValueMap(Set<EventDataValue> dataValues) {
+    return dataValues.stream()
+        .collect(Collectors.toMap(EventDataValue::getDataElement, Function.identity()));
+  }
+
+  private static void setNullableId(PreparedStatement ps, int index, IdentifiableObject object)
+      throws SQLException {
+    if (object == null) {
+      ps.setNull(index, Types.BIGINT);
+    } else {
+      ps.setLong(index, object.getId());
+    }
+  }
+
+  private static Timestamp toTimestamp(Date date) {
+    return date == null ? null : new Timestamp(date.getTime());
+  }
+
+  private static String toJson(ObjectWriter writer, Object value) {
+    if (value == null) {
+      return null;
+    }
+
+    try {
+      return writer.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+
+  @FunctionalInterface
+  private interface RowSetter<T> {
+    int setValues(PreparedStatement ps, int index, T entity) throws SQLException;
+  }
+
+  /** The columns tracker and single events have in common. */
+  private record EventRow(
+      IdentifiableObject event,
+      UserInfoSnapshot createdByUserInfo,
+      UserInfoSnapshot lastUpdatedByUserInfo,
+      Date createdAtClient,
+      Date lastUpdatedAtClient,
+      Date lastSynchronized,
+      IdentifiableObject programStage,
+      IdentifiableObject attributeOptionCombo,
+      String storedBy,
+      Date occurredDate,
+      IdentifiableObject organisationUnit,
+      String status,
+      String completedBy,
+      Date completedDate,
+      Geometry geometry,
+      IdentifiableObject assignedUser,
+      Set<EventDataValue> eventDataValues) {
+    static EventRow of(TrackerEvent event) {
+      return new EventRow(
+          event,
+          event.getCreatedByUserInfo(),
+          event.getLastUpdatedByUserInfo(),
+          event.getCreatedAtClient(),
+          event.getLastUpdatedAtClient(),
+          event.getLastSynchronized(),
+          event.getProgramStage(),
+          event.getAttributeOptionCombo(),
+          event.getStoredBy(),
+          event.getOccurredDate(),
+          event.getOrganisationUnit(),
+          event.getStatus().name(),
+          event.getCompletedBy(),
+          event.getCompletedDate(),
+          event.getGeometry(),
+          event.getAssignedUser(),
+          event.getEventDataValues());
+    }
+
+    static EventRow of(SingleEvent event) {
+      return new EventRow(
+          event,
+          event.getCreatedByUserInfo(),
+          event.getLastUpdatedByUserInfo(),
+          event.getCreatedAtClient(),
+          event.getLastUpdatedAtClient(),
+          event.getLastSynchronized(),
+          event.getProgramStage(),
+          event.getAttributeOptionCombo(),
+          event.getStoredBy(),
+          event.getOccurredDate(),
+          event.getOrganisationUnit(),
+          event.getStatus().name(),
+          event.getCompletedBy(),
+          event.getCompletedDate(),
+          event.getGeometry(),
+          event.getAssignedUser(),
+          event.getEventDataValues());
+    }
+  }
+}
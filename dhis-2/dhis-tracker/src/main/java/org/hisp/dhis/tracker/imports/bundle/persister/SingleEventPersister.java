@@ -39,6 +39,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -74,12 +75,16 @@ public class SingleEventPersister
         org.hisp.dhis.tracker.imports.domain.SingleEvent, SingleEvent> {
   private final SingleEventChangeLogService singleEventChangeLogService;
 
+  private final JdbcEventBulkInserter bulkInserter;
+
   public SingleEventPersister(
       ReservedValueService reservedValueService,
       TrackedEntityChangeLogService trackedEntityChangeLogService,
-      SingleEventChangeLogService eventChangeLogService) {
+      SingleEventChangeLogService eventChangeLogService,
+      JdbcEventBulkInserter bulkInserter) {
     super(reservedValueService, trackedEntityChangeLogService);
     this.singleEventChangeLogService = eventChangeLogService;
+    this.bulkInserter = bulkInserter;
   }
 
   @Override
@@ -154,6 +159,11 @@ public class SingleEventPersister
     return clonedEvent;
   }
 
+  @Override
+  protected Optional<BulkInserter<SingleEvent>> getBulkInserter() {
+    return Optional.of(bulkInserter.singleEvents());
+  }
+
   @Override
   protected TrackerType getType() {
     return TrackerType.EVENT;
@@ -39,6 +39,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -75,12 +76,16 @@ public class TrackerEventPersister
         org.hisp.dhis.tracker.imports.domain.TrackerEvent, TrackerEvent> {
   private final TrackerEventChangeLogService eventChangeLogService;
 
+  private final JdbcEventBulkInserter bulkInserter;
+
   public TrackerEventPersister(
       ReservedValueService reservedValueService,
       TrackedEntityChangeLogService trackedEntityChangeLogService,
-      TrackerEventChangeLogService eventChangeLogService) {
+      TrackerEventChangeLogService eventChangeLogService,
+      JdbcEventBulkInserter bulkInserter) {
     super(reservedValueService, trackedEntityChangeLogService);
     this.eventChangeLogService = eventChangeLogService;
+    this.bulkInserter = bulkInserter;
   }
 
   @Override
@@ -156,6 +161,11 @@ public class TrackerEventPersister
     return clonedEvent;
   }
 
+  @Override
+  protected Optional<BulkInserter<TrackerEvent>> getBulkInserter() {
+    return Optional.of(bulkInserter.trackerEvents());
+  }
+
   @Override
   protected TrackerType getType() {
     return TrackerType.EVENT;
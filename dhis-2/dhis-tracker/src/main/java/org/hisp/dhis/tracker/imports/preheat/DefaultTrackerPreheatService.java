@@ -29,26 +29,46 @@
  */
 package org.hisp.dhis.tracker.imports.preheat;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.beans.Introspector;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.annotation.Nonnull;
-import lombok.RequiredArgsConstructor;
+import javax.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.preheat.PreheatException;
 import org.hisp.dhis.tracker.TrackerIdSchemeParams;
 import org.hisp.dhis.tracker.imports.domain.TrackerObjects;
 import org.hisp.dhis.tracker.imports.preheat.supplier.PreheatSupplier;
+import org.hisp.dhis.user.CurrentUserUtil;
+import org.hisp.dhis.user.UserDetails;
+import org.slf4j.MDC;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
+ * Runs the configured {@link PreheatSupplier}s. By default the suppliers run one after another on
+ * the calling thread. If {@link ConfigurationKey#TRACKER_IMPORT_PREHEAT_THREADS} is greater than 1,
+ * each supplier runs on a bounded pool as soon as the suppliers it depends on (see {@link
+ * PreheatSupplier#getDependencies()}) have completed. Each supplier then runs in its own read-only
+ * transaction.
+ *
  * @author Morten Olav Hansen <mortenoh@gmail.com>
  */
-@RequiredArgsConstructor
 @Slf4j
 @Service
 public class DefaultTrackerPreheatService
@@ -60,12 +80,43 @@ public class DefaultTrackerPreheatService
     this.ctx = applicationContext;
   }
 
-  @Qualifier("preheatOrder")
   private final List<String> preheatSuppliers;
 
+  private final TransactionTemplate readOnlyTransactionTemplate;
+
+  /** Pool running the suppliers, null if the suppliers run on the calling thread. */
+  private final ExecutorService executor;
+
   // TODO this flag should be configurable
   private static final boolean FAIL_FAST_ON_PREHEAT_ERROR = false;
 
+  public DefaultTrackerPreheatService(
+      @Qualifier("preheatOrder") List<String> preheatSuppliers,
+      PlatformTransactionManager transactionManager,
+      DhisConfigurationProvider config) {
+    this.preheatSuppliers = preheatSuppliers;
+    this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTransactionTemplate.setReadOnly(true);
+
+    int threads = config.getIntProperty(ConfigurationKey.TRACKER_IMPORT_PREHEAT_THREADS);
+    this.executor =
+        threads > 1
+            ? Executors.newFixedThreadPool(
+                threads,
+                new ThreadFactoryBuilder()
+                    .setNameFormat("TRACKER-PREHEAT-%d")
+                    .setDaemon(true)
+                    .build())
+            : null;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
   @Nonnull
   @Override
   @Transactional(readOnly = true)
@@ -74,28 +125,104 @@ public class DefaultTrackerPreheatService
     TrackerPreheat preheat = new TrackerPreheat();
     preheat.setIdSchemes(idSchemeParams);
 
-    for (String supplier : preheatSuppliers) {
-      final String beanName = Introspector.decapitalize(supplier);
-      try {
-        ctx.getBean(beanName, PreheatSupplier.class).add(trackerObjects, preheat);
-      } catch (BeansException beanException) {
-        processException(
-            "Unable to find a preheat supplier with name "
-                + beanName
-                + " in the Spring context. Skipping supplier.",
-            beanException,
-            supplier);
-      } catch (Exception e) {
-        processException(
-            "An error occurred while executing a preheat supplier with name " + supplier,
-            e,
-            supplier);
+    if (executor == null) {
+      for (String supplier : preheatSuppliers) {
+        runSupplier(supplier, trackerObjects, preheat);
       }
+    } else {
+      preheatConcurrently(trackerObjects, preheat);
     }
 
     return preheat;
   }
 
+  /**
+   * Schedules every supplier to run once all the suppliers it depends on have completed.
+   * Dependencies must be listed before the supplier in the preheat order, dependencies that are not
+   * are ignored.
+   */
+  private void preheatConcurrently(TrackerObjects trackerObjects, TrackerPreheat preheat) {
+    UserDetails user =
+        CurrentUserUtil.hasCurrentUser() ? CurrentUserUtil.getCurrentUserDetails() : null;
+    Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+    Map<String, CompletableFuture<Void>> scheduled = new HashMap<>();
+
+    for (String supplier : preheatSuppliers) {
+      CompletableFuture<?>[] dependencies =
+          getDependencies(supplier).stream()
+              .map(dependency -> scheduled.get(dependency.getSimpleName()))
+              .filter(Objects::nonNull)
+              .toArray(CompletableFuture[]::new);
+
+      scheduled.put(
+          supplier,
+          CompletableFuture.allOf(dependencies)
+              .thenRunAsync(
+                  () -> runSupplierInTransaction(supplier, trackerObjects, preheat, user, mdc),
+                  executor));
+    }
+
+    try {
+      CompletableFuture.allOf(scheduled.values().toArray(CompletableFuture[]::new)).join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+  }
+
+  private List<Class<? extends PreheatSupplier>> getDependencies(String supplier) {
+    try {
+      return getSupplier(supplier).getDependencies();
+    } catch (BeansException e) {
+      // reported when the supplier runs
+      return List.of();
+    }
+  }
+
+  private void runSupplierInTransaction(
+      String supplier,
+      TrackerObjects trackerObjects,
+      TrackerPreheat preheat,
+      UserDetails user,
+      Map<String, String> mdc) {
+    if (user != null) {
+      CurrentUserUtil.injectUserInSecurityContext(user);
+    }
+    if (mdc != null) {
+      MDC.setContextMap(mdc);
+    }
+    try {
+      readOnlyTransactionTemplate.executeWithoutResult(
+          status -> runSupplier(supplier, trackerObjects, preheat));
+    } finally {
+      MDC.clear();
+      CurrentUserUtil.clearSecurityContext();
+    }
+  }
+
+  private void runSupplier(String supplier, TrackerObjects trackerObjects, TrackerPreheat preheat) {
+    final String beanName = Introspector.decapitalize(supplier);
+    try {
+      getSupplier(supplier).add(trackerObjects, preheat);
+    } catch (BeansException beanException) {
+      processException(
+          "Unable to find a preheat supplier with name "
+              + beanName
+              + " in the Spring context. Skipping supplier.",
+          beanException,
+          supplier);
+    } catch (Exception e) {
+      processException(
+          "An error occurred while executing a preheat supplier with name " + supplier,
+          e,
+          supplier);
+    }
+  }
+
+  private PreheatSupplier getSupplier(String supplier) {
+    return ctx.getBean(Introspector.decapitalize(supplier), PreheatSupplier.class);
+  }
+
   private void processException(String message, Exception e, String supplier) {
     if (FAIL_FAST_ON_PREHEAT_ERROR) {
       throw new PreheatException(
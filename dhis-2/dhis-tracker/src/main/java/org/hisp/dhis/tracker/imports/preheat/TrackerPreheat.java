@@ -33,9 +33,9 @@ import static org.hisp.dhis.tracker.imports.util.RelationshipKeySupport.getRelat
 import static org.hisp.dhis.tracker.imports.util.RelationshipKeySupport.hasRelationshipKey;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -44,6 +44,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -80,6 +81,11 @@ import org.hisp.dhis.tracker.model.TrackerEvent;
 import org.hisp.dhis.user.User;
 
 /**
+ * Holds the data loaded by the {@link
+ * org.hisp.dhis.tracker.imports.preheat.supplier.PreheatSupplier}s. Suppliers without dependencies
+ * between them can write into the preheat concurrently, so the internal collections are
+ * thread-safe.
+ *
  * @author Morten Olav Hansen <mortenoh@gmail.com>
  */
 public class TrackerPreheat {
@@ -88,11 +94,11 @@ public class TrackerPreheat {
    * either the metadata object's uid, code, name or attribute value
    */
   private final Map<Class<? extends IdentifiableObject>, Map<String, IdentifiableObject>> map =
-      new HashMap<>();
+      new ConcurrentHashMap<>();
 
   /** Internal map of all default object (like category option combo, etc). */
   private final Map<Class<? extends IdentifiableObject>, IdentifiableObject> defaults =
-      new HashMap<>();
+      new ConcurrentHashMap<>();
 
   /**
    * Internal map of category combo + category options (key) to category option combo (value).
@@ -100,7 +106,7 @@ public class TrackerPreheat {
    * <p>Category option combo value will be in the idScheme defined by the user on import.
    */
   private final Map<Pair<String, Set<MetadataIdentifier>>, MetadataIdentifier> cosToCOC =
-      new HashMap<>();
+      Collections.synchronizedMap(new HashMap<>());
 
   /**
    * Store mapping of category combo + category options identifiers(key) to category option combo
@@ -193,31 +199,41 @@ public class TrackerPreheat {
    * Internal map of all preheated tracked entities, mainly used for confirming existence for
    * updates, and used for object merging.
    */
-  @Getter private final Map<UID, TrackedEntity> trackedEntities = new HashMap<>();
+  @Getter
+  private final Map<UID, TrackedEntity> trackedEntities =
+      Collections.synchronizedMap(new HashMap<>());
 
   /**
    * Internal map of all preheated enrollments, mainly used for confirming existence for updates,
    * and used for object merging.
    */
-  @Getter private final Map<UID, Enrollment> enrollments = new HashMap<>();
+  @Getter
+  private final Map<UID, Enrollment> enrollments =
+      Collections.synchronizedMap(new HashMap<>());
 
   /**
    * Internal map of all preheated events, mainly used for confirming existence for updates, and
    * used for object merging.
    */
-  @Getter private final Map<UID, TrackerEvent> trackerEvents = new HashMap<>();
+  @Getter
+  private final Map<UID, TrackerEvent> trackerEvents =
+      Collections.synchronizedMap(new HashMap<>());
 
   /**
    * Internal map of all preheated single events, mainly used for confirming existence for updates,
    * and used for object merging.
    */
-  @Getter private final Map<UID, SingleEvent> singleEvents = new HashMap<>();
+  @Getter
+  private final Map<UID, SingleEvent> singleEvents =
+      Collections.synchronizedMap(new HashMap<>());
 
   /**
    * Internal map of all preheated relationships, mainly used for confirming existence for updates,
    * and used for object merging.
    */
-  @Getter private final Map<UID, Relationship> relationships = new HashMap<>();
+  @Getter
+  private final Map<UID, Relationship> relationships =
+      Collections.synchronizedMap(new HashMap<>());
 
   /**
    * Internal set of all relationship keys and inverted keys already present in the DB. This is used
@@ -226,10 +242,10 @@ public class TrackerPreheat {
    * the `to` entity. The inverted key is a string concatenating the relationshipType uid, the uid
    * of the `to` entity and the uid of the `from` entity.
    */
-  private final Set<String> existingRelationships = new HashSet<>();
+  private final Set<String> existingRelationships = Collections.synchronizedSet(new HashSet<>());
 
   /** Internal set of all preheated notes uids (events and enrollments) */
-  private final Set<UID> notes = new HashSet<>();
+  private final Set<UID> notes = Collections.synchronizedSet(new HashSet<>());
 
   /**
    * Internal map of all existing TrackedEntityProgramOwner. Used for ownership validations and
@@ -239,7 +255,7 @@ public class TrackerPreheat {
    */
   @Getter
   private final Map<UID, Map<String, TrackedEntityProgramOwnerOrgUnit>> programOwner =
-      new HashMap<>();
+      Collections.synchronizedMap(new HashMap<>());
 
   /** A Map of trackedEntity uid connected to Enrollments */
   @Getter @Setter private Map<UID, List<Enrollment>> trackedEntityToEnrollmentMap = new HashMap<>();
@@ -250,7 +266,7 @@ public class TrackerPreheat {
    * the ValueType.USERNAME of tracked entity attributes and assignedUser fields in events used in
    * validation and persistence.
    */
-  private final Map<String, User> users = Maps.newHashMap();
+  private final Map<String, User> users = Collections.synchronizedMap(new HashMap<>());
 
   /**
    * A list of all unique attribute values that are both present in the payload and in the database.
@@ -263,7 +279,8 @@ public class TrackerPreheat {
   @Getter @Setter private List<UID> enrollmentsWithOneOrMoreNonDeletedEvent = Lists.newArrayList();
 
   /** A list of Program Stage UID having 1 or more Events */
-  private final List<Pair<String, String>> programStageWithTrackerEvents = Lists.newArrayList();
+  private final List<Pair<String, String>> programStageWithTrackerEvents =
+      Collections.synchronizedList(new ArrayList<>());
 
   /** idScheme map */
   @Getter @Setter private TrackerIdSchemeParams idSchemes = new TrackerIdSchemeParams();
@@ -336,7 +353,10 @@ public class TrackerPreheat {
   @SuppressWarnings("unchecked")
   public <T extends IdentifiableObject> T get(
       Class<? extends IdentifiableObject> klass, String key) {
-    return (T) map.getOrDefault(klass, new HashMap<>()).get(key);
+    if (key == null) {
+      return null;
+    }
+    return (T) map.getOrDefault(klass, Map.of()).get(key);
   }
 
   public DataElement getDataElement(MetadataIdentifier id) {
@@ -372,7 +392,7 @@ public class TrackerPreheat {
   @SuppressWarnings("unchecked")
   public <T extends IdentifiableObject> List<T> getAll(Class<T> klass) {
     return new ArrayList<>(
-        (Collection<? extends T>) map.getOrDefault(klass, new HashMap<>()).values());
+        (Collection<? extends T>) map.getOrDefault(klass, Map.of()).values());
   }
 
   public boolean isEmpty() {
@@ -388,16 +408,16 @@ public class TrackerPreheat {
 
     Class<? extends IdentifiableObject> klass = HibernateProxyUtils.getRealClass(object);
 
-    map.computeIfAbsent(klass, k -> new HashMap<>());
+    map.computeIfAbsent(klass, k -> new ConcurrentHashMap<>());
 
     if (User.class.isAssignableFrom(klass)) {
       User userObject = (User) object;
 
-      Map<String, IdentifiableObject> identifierMap = map.get(User.class);
+      Map<String, IdentifiableObject> identifierMap =
+          map.computeIfAbsent(User.class, k -> new ConcurrentHashMap<>());
 
-      if (!StringUtils.isEmpty(idSchemeParam.getIdentifier(userObject))
-          && !identifierMap.containsKey(idSchemeParam.getIdentifier(userObject))) {
-        identifierMap.put(idSchemeParam.getIdentifier(userObject), userObject);
+      if (!StringUtils.isEmpty(idSchemeParam.getIdentifier(userObject))) {
+        identifierMap.putIfAbsent(idSchemeParam.getIdentifier(userObject), userObject);
       }
     }
 
@@ -568,7 +588,9 @@ public class TrackerPreheat {
   }
 
   public Optional<User> getUserByUid(String uid) {
-    return this.users.values().stream().filter(u -> Objects.equals(uid, u.getUid())).findAny();
+    synchronized (users) {
+      return users.values().stream().filter(u -> Objects.equals(uid, u.getUid())).findAny();
+    }
   }
 
   public OrganisationUnit getOrganisationUnit(MetadataIdentifier id) {
@@ -48,6 +48,11 @@ import org.springframework.stereotype.Component;
 public class DuplicateRelationshipSupplier extends AbstractPreheatSupplier {
   @Nonnull private final RelationshipService relationshipService;
 
+  @Override
+  public List<Class<? extends PreheatSupplier>> getDependencies() {
+    return List.of(ClassBasedSupplier.class);
+  }
+
   @Override
   public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
     List<org.hisp.dhis.tracker.model.Relationship> relationships =
@@ -63,6 +63,11 @@ public class EnrollmentsWithAtLeastOneEventSupplier extends JdbcAbstractPreheatS
     super(jdbcTemplate);
   }
 
+  @Override
+  public List<Class<? extends PreheatSupplier>> getDependencies() {
+    return List.of(ClassBasedSupplier.class);
+  }
+
   @Override
   public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
     List<Long> enrollmentIds =
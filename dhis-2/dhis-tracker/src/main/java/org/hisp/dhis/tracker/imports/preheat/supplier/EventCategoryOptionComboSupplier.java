@@ -63,6 +63,11 @@ import org.springframework.stereotype.Component;
 public class EventCategoryOptionComboSupplier extends AbstractPreheatSupplier {
   @Nonnull private final CategoryService categoryService;
 
+  @Override
+  public List<Class<? extends PreheatSupplier>> getDependencies() {
+    return List.of(ClassBasedSupplier.class);
+  }
+
   @Override
   public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
 
@@ -55,6 +55,11 @@ import org.springframework.stereotype.Component;
 public class FileResourceSupplier extends AbstractPreheatSupplier {
   @Nonnull private final FileResourceService fileResourceService;
 
+  @Override
+  public List<Class<? extends PreheatSupplier>> getDependencies() {
+    return List.of(ClassBasedSupplier.class);
+  }
+
   @Override
   public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
     TrackerIdSchemeParams idSchemes = preheat.getIdSchemes();
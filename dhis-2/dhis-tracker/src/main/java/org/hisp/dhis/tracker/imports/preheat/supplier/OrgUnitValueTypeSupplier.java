@@ -57,6 +57,11 @@ import org.springframework.stereotype.Component;
 public class OrgUnitValueTypeSupplier extends AbstractPreheatSupplier {
   @Nonnull private final IdentifiableObjectManager manager;
 
+  @Override
+  public List<Class<? extends PreheatSupplier>> getDependencies() {
+    return List.of(ClassBasedSupplier.class);
+  }
+
   @Override
   public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
     TrackerIdSchemeParams idSchemes = preheat.getIdSchemes();
@@ -29,6 +29,7 @@
  */
 package org.hisp.dhis.tracker.imports.preheat.supplier;
 
+import java.util.List;
 import org.hisp.dhis.tracker.imports.TrackerImportParams;
 import org.hisp.dhis.tracker.imports.domain.TrackerObjects;
 import org.hisp.dhis.tracker.imports.preheat.TrackerPreheat;
@@ -46,4 +47,15 @@ public interface PreheatSupplier {
    * @param preheat {@link TrackerPreheat}
    */
   void add(TrackerObjects trackerObjects, TrackerPreheat preheat);
+
+  /**
+   * Returns the suppliers that need to run before this supplier, because this supplier reads the
+   * data they add to the {@link TrackerPreheat}. Suppliers that do not depend on each other can
+   * run concurrently.
+   *
+   * @return the suppliers this supplier depends on
+   */
+  default List<Class<? extends PreheatSupplier>> getDependencies() {
+    return List.of();
+  }
 }
@@ -58,6 +58,11 @@ public class ProgramOrgUnitsSupplier extends JdbcAbstractPreheatSupplier {
     super(jdbcTemplate);
   }
 
+  @Override
+  public List<Class<? extends PreheatSupplier>> getDependencies() {
+    return List.of(ClassBasedSupplier.class);
+  }
+
   @Override
   public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
     // fetch all existing Org Units from payload
@@ -54,6 +54,11 @@ import org.springframework.stereotype.Component;
 public class ProgramOwnerSupplier extends AbstractPreheatSupplier {
   @Nonnull private final TrackedEntityProgramOwnerStore trackedEntityProgramOwnerStore;
 
+  @Override
+  public List<Class<? extends PreheatSupplier>> getDependencies() {
+    return List.of(ClassBasedSupplier.class);
+  }
+
   @Override
   public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
     final Map<UID, TrackedEntity> preheatedTrackedEntities = preheat.getTrackedEntities();
@@ -98,6 +98,11 @@ public class TrackedEntityEnrollmentSupplier extends JdbcAbstractPreheatSupplier
     super(jdbcTemplate);
   }
 
+  @Override
+  public List<Class<? extends PreheatSupplier>> getDependencies() {
+    return List.of(ClassBasedSupplier.class);
+  }
+
   @Override
   public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
     List<UID> trackedEntityList =
@@ -74,6 +74,11 @@ public class TrackerEventProgramStageMapSupplier extends JdbcAbstractPreheatSupp
     super(jdbcTemplate);
   }
 
+  @Override
+  public List<Class<? extends PreheatSupplier>> getDependencies() {
+    return List.of(ClassBasedSupplier.class);
+  }
+
   @Override
   public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
     if (trackerObjects.getEvents().isEmpty()) {
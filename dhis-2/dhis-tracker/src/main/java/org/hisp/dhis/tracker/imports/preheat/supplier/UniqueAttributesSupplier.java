@@ -76,6 +76,11 @@ public class UniqueAttributesSupplier extends AbstractPreheatSupplier {
 
   @Nonnull private final TrackedEntityAttributeValueService trackedEntityAttributeValueService;
 
+  @Override
+  public List<Class<? extends PreheatSupplier>> getDependencies() {
+    return List.of(ClassBasedSupplier.class);
+  }
+
   @Override
   public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
     List<TrackedEntityAttribute> uniqueTrackedEntityAttributes =
@@ -56,6 +56,11 @@ public class UsernameValueTypeSupplier extends AbstractPreheatSupplier {
 
   @Nonnull private final UserService userService;
 
+  @Override
+  public List<Class<? extends PreheatSupplier>> getDependencies() {
+    return List.of(ClassBasedSupplier.class);
+  }
+
   @Override
   public void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat) {
     List<TrackedEntityAttribute> attributes = preheat.getAll(TrackedEntityAttribute.class);
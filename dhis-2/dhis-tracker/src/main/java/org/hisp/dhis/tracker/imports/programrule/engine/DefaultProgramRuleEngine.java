@@ -29,17 +29,23 @@
  */
 package org.hisp.dhis.tracker.imports.programrule.engine;
 
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_PROGRAM_RULE_ENABLED;
 import static org.hisp.dhis.programrule.ProgramRuleActionType.SERVER_SUPPORTED_TYPES;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.common.UID;
 import org.hisp.dhis.constant.ConstantService;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.feedback.BadRequestException;
 import org.hisp.dhis.program.Program;
 import org.hisp.dhis.program.ProgramService;
@@ -63,6 +69,17 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @Component
 public class DefaultProgramRuleEngine implements ProgramRuleEngine {
+  /** Duration of rule engine evaluations, tagged by program and type of evaluation. */
+  static final String METRIC_EVALUATION_DURATION = "tracker.programrule.evaluation.duration";
+
+  private static final String TAG_PROGRAM = "program";
+
+  private static final String TAG_TYPE = "type";
+
+  private static final String TYPE_ENROLLMENT = "enrollment";
+
+  private static final String TYPE_SINGLE_EVENT = "singleEvent";
+
   private final ProgramRuleEntityMapperService programRuleEntityMapperService;
 
   private final ProgramRuleVariableService programRuleVariableService;
@@ -75,6 +92,12 @@ public class DefaultProgramRuleEngine implements ProgramRuleEngine {
 
   private final ProgramService programService;
 
+  private final ProgramRuleContextCache programRuleContextCache;
+
+  private final MeterRegistry meterRegistry;
+
+  private final boolean metricsEnabled;
+
   private final RuleEngine ruleEngine;
 
   public DefaultProgramRuleEngine(
@@ -83,13 +106,19 @@ public class DefaultProgramRuleEngine implements ProgramRuleEngine {
       ConstantService constantService,
       ProgramRuleService programRuleService,
       SupplementaryDataProvider supplementaryDataProvider,
-      ProgramService programService) {
+      ProgramService programService,
+      ProgramRuleContextCache programRuleContextCache,
+      MeterRegistry meterRegistry,
+      DhisConfigurationProvider config) {
     this.programRuleEntityMapperService = programRuleEntityMapperService;
     this.programRuleVariableService = programRuleVariableService;
     this.constantService = constantService;
     this.programRuleService = programRuleService;
     this.supplementaryDataProvider = supplementaryDataProvider;
     this.programService = programService;
+    this.programRuleContextCache = programRuleContextCache;
+    this.meterRegistry = meterRegistry;
+    this.metricsEnabled = config.isEnabled(MONITORING_PROGRAM_RULE_ENABLED);
     this.ruleEngine = RuleEngine.getInstance();
   }
 
@@ -131,13 +160,13 @@ public class DefaultProgramRuleEngine implements ProgramRuleEngine {
     if (enrollmentsWithEvents.isEmpty()) {
       return RuleEngineEffects.of(Collections.emptyList());
     }
-    List<ProgramRule> rules =
-        programRuleService.getProgramRulesByActionTypes(program, SERVER_SUPPORTED_TYPES);
-    if (rules.isEmpty()) {
+    ProgramRuleContext programRuleContext = getProgramRuleContext(program);
+    if (programRuleContext.rules().isEmpty()) {
       return RuleEngineEffects.of(Collections.emptyList());
     }
-    RuleEngineContext context = getRuleEngineContext(program, rules, user);
+    RuleEngineContext context = getRuleEngineContext(programRuleContext, user);
     List<RuleEffects> allEffects = new ArrayList<>();
+    long start = System.nanoTime();
     for (Map.Entry<RuleEnrollment, List<RuleEvent>> entry : enrollmentsWithEvents.entrySet()) {
       try {
         allEffects.addAll(ruleEngine.evaluateAll(entry.getKey(), entry.getValue(), context));
@@ -145,32 +174,43 @@ public class DefaultProgramRuleEngine implements ProgramRuleEngine {
         log.error("Call to rule-engine failed", e);
       }
     }
+    recordEvaluation(program, TYPE_ENROLLMENT, start);
     return RuleEngineEffects.of(allEffects);
   }
 
   @Override
   public RuleEngineEffects evaluateSingleEvents(
       @Nonnull List<RuleEvent> events, @Nonnull Program program, @Nonnull UserDetails user) {
-    List<ProgramRule> rules =
-        programRuleService.getProgramRulesByActionTypes(program, SERVER_SUPPORTED_TYPES);
+    ProgramRuleContext programRuleContext = getProgramRuleContext(program);
 
-    if (rules.isEmpty()) {
+    if (programRuleContext.rules().isEmpty()) {
       return RuleEngineEffects.of(Collections.emptyList());
     }
 
-    RuleEngineContext ruleEngineContext = getRuleEngineContext(program, rules, user);
+    RuleEngineContext ruleEngineContext = getRuleEngineContext(programRuleContext, user);
+    long start = System.nanoTime();
     try {
       return RuleEngineEffects.of(ruleEngine.evaluateAll(null, events, ruleEngineContext));
     } catch (Exception e) {
       log.error("Call to rule-engine failed", e);
       return RuleEngineEffects.of(List.of());
+    } finally {
+      recordEvaluation(program, TYPE_SINGLE_EVENT, start);
     }
   }
 
-  private RuleEngineContext getRuleEngineContext(
-      @Nonnull Program program,
-      @Nonnull List<ProgramRule> programRules,
-      @Nonnull UserDetails user) {
+  private ProgramRuleContext getProgramRuleContext(@Nonnull Program program) {
+    return programRuleContextCache.get(program, () -> loadProgramRuleContext(program));
+  }
+
+  private ProgramRuleContext loadProgramRuleContext(@Nonnull Program program) {
+    List<ProgramRule> programRules =
+        programRuleService.getProgramRulesByActionTypes(program, SERVER_SUPPORTED_TYPES);
+
+    if (programRules.isEmpty()) {
+      return ProgramRuleContext.EMPTY;
+    }
+
     List<ProgramRuleVariable> programRuleVariables =
         programRuleVariableService.getProgramRuleVariable(program);
 
@@ -179,13 +219,39 @@ public class DefaultProgramRuleEngine implements ProgramRuleEngine {
             .collect(
                 Collectors.toMap(Map.Entry::getKey, v -> Double.toString(v.getValue().getValue())));
 
+    return new ProgramRuleContext(
+        programRuleEntityMapperService.toRules(programRules),
+        programRuleEntityMapperService.toRuleVariables(programRuleVariables),
+        constantMap,
+        supplementaryDataProvider.getOrgUnitGroups(programRules));
+  }
+
+  /**
+   * Creates the rule engine context from the cached program context. Supplementary data is not
+   * cached as it depends on the user and on org unit group memberships.
+   */
+  private RuleEngineContext getRuleEngineContext(
+      @Nonnull ProgramRuleContext programRuleContext, @Nonnull UserDetails user) {
     RuleSupplementaryData supplementaryData =
-        supplementaryDataProvider.getSupplementaryData(programRules, user);
+        supplementaryDataProvider.getSupplementaryDataOfOrgUnitGroups(
+            programRuleContext.orgUnitGroups(), user);
 
     return new RuleEngineContext(
-        programRuleEntityMapperService.toRules(programRules),
-        programRuleEntityMapperService.toRuleVariables(programRuleVariables),
+        programRuleContext.rules(),
+        programRuleContext.ruleVariables(),
         supplementaryData,
-        constantMap);
+        programRuleContext.constants());
+  }
+
+  private void recordEvaluation(Program program, String type, long start) {
+    if (!metricsEnabled) {
+      return;
+    }
+
+    Timer.builder(METRIC_EVALUATION_DURATION)
+        .description("Duration of program rule evaluations during tracker imports")
+        .tags(Tags.of(TAG_PROGRAM, program.getUid(), TAG_TYPE, type))
+        .register(meterRegistry)
+        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
   }
 }
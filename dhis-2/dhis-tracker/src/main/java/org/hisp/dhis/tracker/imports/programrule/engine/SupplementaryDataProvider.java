@@ -60,8 +60,21 @@ public class SupplementaryDataProvider {
 
   public RuleSupplementaryData getSupplementaryData(
       List<ProgramRule> programRules, UserDetails user) {
+    return getSupplementaryDataOfOrgUnitGroups(getOrgUnitGroups(programRules), user);
+  }
+
+  /**
+   * Gets the supplementary data for the given org unit groups, as referenced by program rule
+   * conditions, and user.
+   *
+   * @param orgUnitGroups the org unit group identifiers.
+   * @param user the user.
+   * @return the {@link RuleSupplementaryData}.
+   */
+  public RuleSupplementaryData getSupplementaryDataOfOrgUnitGroups(
+      List<String> orgUnitGroups, UserDetails user) {
 
-    Map<String, List<String>> orgUnitGroupData = extractOrgUnitGroups(programRules);
+    Map<String, List<String>> orgUnitGroupData = getOrgUnitGroupMembers(orgUnitGroups);
 
     return new RuleSupplementaryData(
         user.getUserGroupIds().stream().toList(),
@@ -69,7 +82,14 @@ public class SupplementaryDataProvider {
         orgUnitGroupData);
   }
 
-  private Map<String, List<String>> extractOrgUnitGroups(List<ProgramRule> programRules) {
+  /**
+   * Extracts the org unit groups referenced by {@code d2:inOrgUnitGroup} in the conditions of the
+   * given program rules.
+   *
+   * @param programRules the program rules.
+   * @return the distinct org unit group identifiers.
+   */
+  public List<String> getOrgUnitGroups(List<ProgramRule> programRules) {
     List<String> orgUnitGroups = new ArrayList<>();
     for (ProgramRule programRule : programRules) {
       Matcher matcher =
@@ -79,7 +99,10 @@ public class SupplementaryDataProvider {
         orgUnitGroups.add(StringUtils.replace(matcher.group(1), "'", ""));
       }
     }
+    return orgUnitGroups.stream().distinct().toList();
+  }
 
+  private Map<String, List<String>> getOrgUnitGroupMembers(List<String> orgUnitGroups) {
     if (orgUnitGroups.isEmpty()) {
       return Collections.emptyMap();
     }
@@ -30,6 +30,8 @@
 package org.hisp.dhis.tracker.imports.report;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -156,6 +158,51 @@ public class ImportReport {
         .build();
   }
 
+  /**
+   * Merges the reports of imports of disjoint parts of a payload (like the chunks of a chunked
+   * import) into one report. The status of the merged report is the most severe status of the
+   * given reports.
+   *
+   * @param reports the reports to merge
+   * @return a report containing the validation results, stats and persistence results of all given
+   *     reports
+   */
+  public static ImportReport merge(List<ImportReport> reports) {
+    List<Error> errors = new ArrayList<>();
+    List<Warning> warnings = new ArrayList<>();
+    List<PersistenceReport> persistenceReports = new ArrayList<>();
+    Stats stats = Stats.builder().build();
+    Status status = Status.OK;
+    String message = null;
+
+    for (ImportReport report : reports) {
+      if (report.getValidationReport() != null) {
+        errors.addAll(report.getValidationReport().getErrors());
+        warnings.addAll(report.getValidationReport().getWarnings());
+      }
+      if (report.getPersistenceReport() != null) {
+        persistenceReports.add(report.getPersistenceReport());
+      }
+      if (report.getStats() != null) {
+        stats.merge(report.getStats());
+      }
+      if (report.getStatus() != null && report.getStatus().compareTo(status) > 0) {
+        status = report.getStatus();
+      }
+      if (message == null) {
+        message = report.getMessage();
+      }
+    }
+
+    return builder()
+        .status(status)
+        .validationReport(new ValidationReport(errors, warnings))
+        .persistenceReport(PersistenceReport.merge(persistenceReports))
+        .stats(stats)
+        .message(message)
+        .build();
+  }
+
   /**
    * Calculates the 'ignored' value for each type of entity in the {@link PersistenceReport}.
    *
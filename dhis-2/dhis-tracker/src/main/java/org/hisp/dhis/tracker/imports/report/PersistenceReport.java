@@ -32,6 +32,7 @@ package org.hisp.dhis.tracker.imports.report;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -71,6 +72,28 @@ public class PersistenceReport {
   @JsonProperty
   private Map<TrackerType, TrackerTypeReport> typeReportMap = new EnumMap<>(TrackerType.class);
 
+  /**
+   * Merges the reports of imports of disjoint parts of a payload into one report.
+   *
+   * @param reports the reports to merge
+   * @return a report containing the stats and object reports of all given reports
+   */
+  public static PersistenceReport merge(List<PersistenceReport> reports) {
+    PersistenceReport merged = new PersistenceReport();
+    for (PersistenceReport report : reports) {
+      report
+          .getTypeReportMap()
+          .forEach(
+              (type, typeReport) -> {
+                TrackerTypeReport mergedTypeReport =
+                    merged.typeReportMap.computeIfAbsent(type, TrackerTypeReport::new);
+                mergedTypeReport.getStats().merge(typeReport.getStats());
+                mergedTypeReport.getEntityReport().addAll(typeReport.getEntityReport());
+              });
+    }
+    return merged;
+  }
+
   @JsonIgnore
   public Stats getStats() {
     Stats stats = new Stats();
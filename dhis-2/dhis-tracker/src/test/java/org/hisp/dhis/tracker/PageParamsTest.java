@@ -31,8 +31,14 @@ package org.hisp.dhis.tracker;
 
 import static org.hisp.dhis.test.utils.Assertions.assertStartsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
 import org.hisp.dhis.feedback.BadRequestException;
 import org.junit.jupiter.api.Test;
 
@@ -57,4 +63,71 @@ class PageParamsTest {
         assertThrows(BadRequestException.class, () -> PageParams.of(1, 0, false));
     assertStartsWith("pageSize must be greater", exception.getMessage());
   }
+
+  @Test
+  void shouldUseCursorForFirstPageGivenEmptyPageToken() throws BadRequestException {
+    PageParams pageParams = PageParams.of(null, 10, false, "");
+
+    assertTrue(pageParams.isCursor());
+    assertNull(pageParams.getPageToken());
+    assertEquals(0, pageParams.getOffset());
+  }
+
+  @Test
+  void shouldNotUseCursorGivenNoPageToken() throws BadRequestException {
+    PageParams pageParams = PageParams.of(2, 10, false, null);
+
+    assertFalse(pageParams.isCursor());
+    assertEquals(10, pageParams.getOffset());
+  }
+
+  @Test
+  void shouldDecodePageTokenKeepingTimestampPrecision() throws BadRequestException {
+    Timestamp created = Timestamp.from(Instant.parse("2025-03-01T10:15:30.123456Z"));
+    String token = new PageToken("created:ASC", created, 42L).encode();
+
+    PageParams pageParams = PageParams.of(null, 10, false, token);
+
+    assertEquals(new PageToken("created:ASC", created, 42L), pageParams.getPageToken());
+    assertEquals(0, pageParams.getOffset());
+  }
+
+  @Test
+  void shouldFailWhenPageTokenIsInvalid() {
+    BadRequestException exception =
+        assertThrows(BadRequestException.class, () -> PageParams.of(null, 10, false, "invalid"));
+    assertEquals("pageToken is invalid", exception.getMessage());
+  }
+
+  @Test
+  void shouldFailWhenPageIsGivenWithPageToken() {
+    String token = new PageToken("default", null, 42L).encode();
+
+    BadRequestException exception =
+        assertThrows(BadRequestException.class, () -> PageParams.of(2, 10, false, token));
+    assertStartsWith("page cannot be specified together", exception.getMessage());
+  }
+
+  @Test
+  void shouldCreateNextPageTokenFromLastItemOfCursorPage() throws BadRequestException {
+    PageParams pageParams = PageParams.of(null, 2, false, "");
+
+    Page<String> page =
+        new Page<>(
+            List.of("a", "b", "c"), pageParams, null, item -> new PageToken("uid:ASC", item, 1L));
+
+    assertEquals(List.of("a", "b"), page.getItems());
+    assertNull(page.getNextPage());
+    assertEquals(new PageToken("uid:ASC", "b", 1L).encode(), page.getNextPageToken());
+  }
+
+  @Test
+  void shouldNotCreateNextPageTokenOnLastCursorPage() throws BadRequestException {
+    PageParams pageParams = PageParams.of(null, 2, false, "");
+
+    Page<String> page =
+        new Page<>(List.of("a", "b"), pageParams, null, item -> new PageToken("uid:ASC", item, 1L));
+
+    assertNull(page.getNextPageToken());
+  }
 }
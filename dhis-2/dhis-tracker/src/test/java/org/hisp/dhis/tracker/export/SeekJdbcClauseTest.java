@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.export;
+
+import static org.hisp.dhis.test.utils.Assertions.assertStartsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+import org.hisp.dhis.common.SortDirection;
+import org.hisp.dhis.tracker.PageToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+class SeekJdbcClauseTest {
+  private static final Map<String, String> COLUMNS = Map.of("created", "ev.created");
+
+  @Test
+  void shouldSeekOnTieBreakerGivenDefaultOrder() {
+    MapSqlParameterSource sqlParams = new MapSqlParameterSource();
+
+    String clause =
+        SeekJdbcClause.of(
+            new PageToken("default", null, 42L), List.of(), COLUMNS, "ev.eventid", sqlParams);
+
+    assertEquals(" ev.eventid < :pageTokenId ", clause);
+    assertEquals(42L, sqlParams.getValue("pageTokenId"));
+  }
+
+  @Test
+  void shouldSeekOnOrderColumnAndTieBreakerGivenAscendingOrder() {
+    MapSqlParameterSource sqlParams = new MapSqlParameterSource();
+    List<Order> orders = List.of(new Order("created", SortDirection.ASC));
+
+    String clause =
+        SeekJdbcClause.of(
+            new PageToken("created:ASC", "value", 42L), orders, COLUMNS, "ev.eventid", sqlParams);
+
+    assertEquals(" (ev.created, ev.eventid) > (:pageTokenValue, :pageTokenId) ", clause);
+    assertEquals("value", sqlParams.getValue("pageTokenValue"));
+    assertEquals(42L, sqlParams.getValue("pageTokenId"));
+  }
+
+  @Test
+  void shouldSeekBackwardsGivenDescendingOrder() {
+    List<Order> orders = List.of(new Order("created", SortDirection.DESC));
+
+    String clause =
+        SeekJdbcClause.of(
+            new PageToken("created:DESC", "value", 42L),
+            orders,
+            COLUMNS,
+            "ev.eventid",
+            new MapSqlParameterSource());
+
+    assertEquals(" (ev.created, ev.eventid) < (:pageTokenValue, :pageTokenId) ", clause);
+  }
+
+  @Test
+  void shouldNotSupportOrderByMultipleFields() {
+    List<Order> orders =
+        List.of(
+            new Order("created", SortDirection.ASC), new Order("created", SortDirection.DESC));
+
+    assertNull(SeekJdbcClause.getOrderKey(orders, COLUMNS));
+  }
+
+  @Test
+  void shouldFailWhenPageTokenWasIssuedForDifferentOrder() {
+    List<Order> orders = List.of(new Order("created", SortDirection.DESC));
+    PageToken pageToken = new PageToken("created:ASC", "value", 42L);
+    MapSqlParameterSource sqlParams = new MapSqlParameterSource();
+
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> SeekJdbcClause.of(pageToken, orders, COLUMNS, "ev.eventid", sqlParams));
+    assertStartsWith("pageToken was issued for a different order", exception.getMessage());
+  }
+}
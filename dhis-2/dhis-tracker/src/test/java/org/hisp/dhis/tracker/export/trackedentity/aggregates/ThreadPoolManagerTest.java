@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.export.trackedentity.aggregates;
+
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static org.hisp.dhis.external.conf.ConfigurationKey.CONNECTION_POOL_MAX_SIZE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_TRACKER_EXPORT_ENABLED;
+import static org.hisp.dhis.external.conf.ConfigurationKey.TRACKER_EXPORT_AGGREGATE_QUEUE_SIZE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.TRACKER_EXPORT_AGGREGATE_THREADS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Tests the sizing of the {@link ThreadPoolManager} pool and how it handles fetches it cannot run on
+ * a pool thread.
+ */
+@ExtendWith(MockitoExtension.class)
+class ThreadPoolManagerTest {
+  @Mock private DhisConfigurationProvider config;
+
+  @Test
+  void shouldCapThreadsAtHalfOfConnectionPool() {
+    when(config.getIntProperty(TRACKER_EXPORT_AGGREGATE_THREADS)).thenReturn(20);
+    when(config.getIntProperty(CONNECTION_POOL_MAX_SIZE)).thenReturn(10);
+
+    assertEquals(5, ThreadPoolManager.getThreads(config));
+  }
+
+  @Test
+  void shouldUseConfiguredThreadsIfConnectionPoolIsLargeEnough() {
+    when(config.getIntProperty(TRACKER_EXPORT_AGGREGATE_THREADS)).thenReturn(20);
+    when(config.getIntProperty(CONNECTION_POOL_MAX_SIZE)).thenReturn(80);
+
+    assertEquals(20, ThreadPoolManager.getThreads(config));
+  }
+
+  @Test
+  void shouldUseAtLeastOneThread() {
+    when(config.getIntProperty(TRACKER_EXPORT_AGGREGATE_THREADS)).thenReturn(20);
+    when(config.getIntProperty(CONNECTION_POOL_MAX_SIZE)).thenReturn(1);
+
+    assertEquals(1, ThreadPoolManager.getThreads(config));
+  }
+
+  @Test
+  void shouldRunFetchOnRequestingThreadIfPoolIsSaturated() throws InterruptedException {
+    when(config.getIntProperty(TRACKER_EXPORT_AGGREGATE_THREADS)).thenReturn(1);
+    when(config.getIntProperty(CONNECTION_POOL_MAX_SIZE)).thenReturn(80);
+    when(config.getIntProperty(TRACKER_EXPORT_AGGREGATE_QUEUE_SIZE)).thenReturn(0);
+    when(config.isEnabled(MONITORING_TRACKER_EXPORT_ENABLED)).thenReturn(true);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ThreadPoolManager threadPoolManager = new ThreadPoolManager(config, meterRegistry);
+
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicReference<Thread> first = new AtomicReference<>();
+    AtomicReference<Thread> second = new AtomicReference<>();
+    try {
+      threadPoolManager
+          .getPool()
+          .execute(
+              () -> {
+                first.set(Thread.currentThread());
+                started.countDown();
+                awaitQuietly(release);
+              });
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+
+      threadPoolManager.getPool().execute(() -> second.set(Thread.currentThread()));
+    } finally {
+      release.countDown();
+      threadPoolManager.shutdown();
+    }
+
+    assertNotEquals(Thread.currentThread(), first.get());
+    assertEquals(Thread.currentThread(), second.get());
+    assertEquals(1.0, meterRegistry.get(ThreadPoolManager.METRIC_CALLER_RUNS).counter().count());
+  }
+
+  @Test
+  void shouldRejectFetchIfPoolIsShutDown() {
+    when(config.getIntProperty(TRACKER_EXPORT_AGGREGATE_THREADS)).thenReturn(1);
+    when(config.getIntProperty(CONNECTION_POOL_MAX_SIZE)).thenReturn(80);
+    when(config.getIntProperty(TRACKER_EXPORT_AGGREGATE_QUEUE_SIZE)).thenReturn(0);
+    ThreadPoolManager threadPoolManager = new ThreadPoolManager(config, new SimpleMeterRegistry());
+    threadPoolManager.shutdown();
+
+    Executor pool = threadPoolManager.getPool();
+
+    assertThrows(RejectedExecutionException.class, () -> supplyAsync(() -> 1, pool));
+  }
+
+  @Test
+  void shouldRejectFetchIfPoolIsShutDownWithMonitoringEnabled() {
+    when(config.getIntProperty(TRACKER_EXPORT_AGGREGATE_THREADS)).thenReturn(1);
+    when(config.getIntProperty(CONNECTION_POOL_MAX_SIZE)).thenReturn(80);
+    when(config.getIntProperty(TRACKER_EXPORT_AGGREGATE_QUEUE_SIZE)).thenReturn(0);
+    when(config.isEnabled(MONITORING_TRACKER_EXPORT_ENABLED)).thenReturn(true);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ThreadPoolManager threadPoolManager = new ThreadPoolManager(config, meterRegistry);
+    threadPoolManager.shutdown();
+
+    Executor pool = threadPoolManager.getPool();
+
+    assertThrows(RejectedExecutionException.class, () -> supplyAsync(() -> 1, pool));
+    assertEquals(0.0, meterRegistry.get(ThreadPoolManager.METRIC_CALLER_RUNS).counter().count());
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.stream.Stream;
+import org.hisp.dhis.common.UID;
+import org.hisp.dhis.tracker.imports.domain.Enrollment;
+import org.hisp.dhis.tracker.imports.domain.Relationship;
+import org.hisp.dhis.tracker.imports.domain.TrackedEntity;
+import org.hisp.dhis.tracker.imports.domain.TrackerEvent;
+import org.hisp.dhis.tracker.imports.domain.TrackerObjects;
+import org.junit.jupiter.api.Test;
+
+class DefaultTrackerImportServiceTest {
+  private final TrackerObjects trackerObjects =
+      TrackerObjects.builder()
+          .trackedEntities(
+              Stream.generate(
+                      () -> TrackedEntity.builder().trackedEntity(UID.generate()).build())
+                  .limit(5)
+                  .toList())
+          .enrollments(List.of(Enrollment.builder().enrollment(UID.generate()).build()))
+          .events(
+              Stream.generate(() -> TrackerEvent.builder().event(UID.generate()).build())
+                  .limit(3)
+                  .toList())
+          .relationships(List.of(Relationship.builder().relationship(UID.generate()).build()))
+          .build();
+
+  @Test
+  void shouldSplitPayloadIntoChunksOfOneTypeOrderedByDependency() {
+    List<TrackerObjects> chunks =
+        DefaultTrackerImportService.splitIntoChunks(
+            trackerObjects, 2, TrackerImportStrategy.CREATE_AND_UPDATE);
+
+    assertEquals(
+        List.of("TE:2", "TE:2", "TE:1", "EN:1", "EV:2", "EV:1", "REL:1"),
+        chunks.stream().map(DefaultTrackerImportServiceTest::describe).toList());
+  }
+
+  @Test
+  void shouldImportChildrenBeforeParentsWhenDeleting() {
+    List<TrackerObjects> chunks =
+        DefaultTrackerImportService.splitIntoChunks(
+            trackerObjects, 2, TrackerImportStrategy.DELETE);
+
+    assertEquals(
+        List.of("REL:1", "EV:1", "EV:2", "EN:1", "TE:1", "TE:2", "TE:2"),
+        chunks.stream().map(DefaultTrackerImportServiceTest::describe).toList());
+  }
+
+  private static String describe(TrackerObjects chunk) {
+    if (!chunk.getTrackedEntities().isEmpty()) {
+      return "TE:" + chunk.getTrackedEntities().size();
+    }
+    if (!chunk.getEnrollments().isEmpty()) {
+      return "EN:" + chunk.getEnrollments().size();
+    }
+    if (!chunk.getEvents().isEmpty()) {
+      return "EV:" + chunk.getEvents().size();
+    }
+    return "REL:" + chunk.getRelationships().size();
+  }
+}
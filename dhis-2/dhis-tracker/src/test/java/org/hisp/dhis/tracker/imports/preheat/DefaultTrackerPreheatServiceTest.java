@@ -29,8 +29,11 @@
  */
 package org.hisp.dhis.tracker.imports.preheat;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -38,11 +41,19 @@ import static org.mockito.Mockito.when;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.tracker.TrackerIdSchemeParams;
 import org.hisp.dhis.tracker.imports.domain.TrackedEntity;
 import org.hisp.dhis.tracker.imports.domain.TrackerObjects;
 import org.hisp.dhis.tracker.imports.preheat.supplier.ClassBasedSupplier;
 import org.hisp.dhis.tracker.imports.preheat.supplier.PreheatSupplier;
+import org.hisp.dhis.tracker.imports.preheat.supplier.ProgramOwnerSupplier;
+import org.hisp.dhis.tracker.imports.preheat.supplier.UserSupplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -54,6 +65,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
 
 /**
  * @author Cambi Luca
@@ -63,8 +75,16 @@ import org.springframework.context.ApplicationContext;
 class DefaultTrackerPreheatServiceTest {
   @Mock private ClassBasedSupplier classBasedSupplier;
 
+  @Mock private ProgramOwnerSupplier programOwnerSupplier;
+
+  @Mock private UserSupplier userSupplier;
+
   @Mock private ApplicationContext applicationContext;
 
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @Mock private DhisConfigurationProvider config;
+
   @Captor private ArgumentCaptor<Class<PreheatSupplier>> preheatSupplierClassCaptor;
 
   @Captor private ArgumentCaptor<String> bean;
@@ -81,7 +101,8 @@ class DefaultTrackerPreheatServiceTest {
   @BeforeEach
   public void setUp() {
     preheatService =
-        new DefaultTrackerPreheatService(List.of(ClassBasedSupplier.class.getSimpleName()));
+        new DefaultTrackerPreheatService(
+            List.of(ClassBasedSupplier.class.getSimpleName()), transactionManager, config);
 
     preheatService.setApplicationContext(applicationContext);
   }
@@ -123,4 +144,75 @@ class DefaultTrackerPreheatServiceTest {
     verify(applicationContext).getBean(bean.getValue(), preheatSupplierClassCaptor.getValue());
     verify(classBasedSupplier).add(any(), any());
   }
+
+  @Test
+  void shouldRunSupplierAfterItsDependenciesWhenRunningConcurrently() {
+    when(config.getIntProperty(ConfigurationKey.TRACKER_IMPORT_PREHEAT_THREADS)).thenReturn(3);
+    preheatService =
+        new DefaultTrackerPreheatService(
+            List.of(
+                ClassBasedSupplier.class.getSimpleName(),
+                ProgramOwnerSupplier.class.getSimpleName(),
+                UserSupplier.class.getSimpleName()),
+            transactionManager,
+            config);
+    preheatService.setApplicationContext(applicationContext);
+    when(applicationContext.getBean("classBasedSupplier", PreheatSupplier.class))
+        .thenReturn(classBasedSupplier);
+    when(applicationContext.getBean("programOwnerSupplier", PreheatSupplier.class))
+        .thenReturn(programOwnerSupplier);
+    when(applicationContext.getBean("userSupplier", PreheatSupplier.class))
+        .thenReturn(userSupplier);
+    when(programOwnerSupplier.getDependencies()).thenReturn(List.of(ClassBasedSupplier.class));
+    CountDownLatch independentSupplierRunning = new CountDownLatch(1);
+    AtomicBoolean dependencyCompleted = new AtomicBoolean();
+    AtomicBoolean dependencyCompletedBeforeDependent = new AtomicBoolean();
+    doAnswer(
+            invocation -> {
+              // only returns if the supplier without dependencies runs at the same time
+              assertTrue(independentSupplierRunning.await(10, TimeUnit.SECONDS));
+              dependencyCompleted.set(true);
+              return null;
+            })
+        .when(classBasedSupplier)
+        .add(any(), any());
+    doAnswer(
+            invocation -> {
+              dependencyCompletedBeforeDependent.set(dependencyCompleted.get());
+              return null;
+            })
+        .when(programOwnerSupplier)
+        .add(any(), any());
+    doAnswer(
+            invocation -> {
+              independentSupplierRunning.countDown();
+              return null;
+            })
+        .when(userSupplier)
+        .add(any(), any());
+
+    preheatService.preheat(preheatParams, idSchemeParams);
+
+    verify(classBasedSupplier).add(any(), any());
+    verify(programOwnerSupplier).add(any(), any());
+    verify(userSupplier).add(any(), any());
+    assertTrue(dependencyCompletedBeforeDependent.get());
+  }
+
+  @Test
+  void shouldRejectPreheatAfterShutdownWhenRunningConcurrently() {
+    when(config.getIntProperty(ConfigurationKey.TRACKER_IMPORT_PREHEAT_THREADS)).thenReturn(2);
+    preheatService =
+        new DefaultTrackerPreheatService(
+            List.of(ClassBasedSupplier.class.getSimpleName()), transactionManager, config);
+    preheatService.setApplicationContext(applicationContext);
+    when(applicationContext.getBean("classBasedSupplier", PreheatSupplier.class))
+        .thenReturn(classBasedSupplier);
+
+    preheatService.shutdown();
+
+    assertThrows(
+        RejectedExecutionException.class,
+        () -> preheatService.preheat(preheatParams, idSchemeParams));
+  }
 }
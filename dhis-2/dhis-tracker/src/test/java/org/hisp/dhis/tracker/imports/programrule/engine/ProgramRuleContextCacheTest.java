@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.programrule.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.program.Program;
+import org.hisp.dhis.program.ProgramTrackedEntityAttribute;
+import org.hisp.dhis.test.cache.TestCache;
+import org.hisp.dhis.tracker.test.TrackerTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Uses a cache with entries, as the cache is disabled in test runs. */
+@ExtendWith(MockitoExtension.class)
+class ProgramRuleContextCacheTest extends TrackerTestBase {
+
+  @Mock private CacheProvider cacheProvider;
+
+  private ProgramRuleContextCache cache;
+
+  private Program program;
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() {
+    when(cacheProvider.<ProgramRuleContext>createProgramRuleContextCache())
+        .thenReturn(new TestCache<>());
+    cache = new ProgramRuleContextCache(cacheProvider);
+
+    program = createProgram('A');
+  }
+
+  @Test
+  void shouldLoadContextOnce() {
+    ProgramRuleContext context = cache.get(program, this::load);
+
+    assertSame(context, cache.get(program, this::load));
+    assertLoads(1);
+  }
+
+  @Test
+  void shouldReloadContextAfterProgramMetadataIsCommitted() {
+    OrganisationUnit orgUnit = createOrganisationUnit('A');
+    List<Object> entities =
+        List.of(
+            program,
+            createProgramStage('A', program),
+            new ProgramTrackedEntityAttribute(),
+            createDataElement('A'));
+
+    cache.get(program, this::load);
+    for (Object entity : entities) {
+      cache.onPostUpdate(postUpdateEvent(entity));
+      cache.get(program, this::load);
+    }
+    cache.onPostUpdate(postUpdateEvent(orgUnit));
+    cache.get(program, this::load);
+
+    assertLoads(1 + entities.size());
+  }
+
+  @Test
+  void shouldNotCacheContextLoadedWhileMetadataIsCommitted() {
+    cache.get(
+        program,
+        () -> {
+          ProgramRuleContext context = load();
+          cache.onPostUpdate(postUpdateEvent(program));
+          return context;
+        });
+
+    cache.get(program, this::load);
+    cache.get(program, this::load);
+
+    assertLoads(2);
+  }
+
+  @Test
+  void shouldReloadContextAfterInvalidateAll() {
+    cache.get(program, this::load);
+
+    cache.invalidateAll();
+    cache.get(program, this::load);
+
+    assertLoads(2);
+  }
+
+  private ProgramRuleContext load() {
+    loads.incrementAndGet();
+    return new ProgramRuleContext(List.of(), List.of(), Map.of(), List.of());
+  }
+
+  private void assertLoads(int expected) {
+    assertEquals(expected, loads.get());
+  }
+
+  private static PostUpdateEvent postUpdateEvent(Object entity) {
+    PostUpdateEvent event = mock(PostUpdateEvent.class);
+    when(event.getEntity()).thenReturn(entity);
+    return event;
+  }
+}
@@ -133,6 +133,20 @@ class SupplementaryDataProviderTest extends TrackerTestBase {
     assertTrue(supplementaryData.getUserGroups().contains(userGroupA.getUid()));
   }
 
+  @Test
+  void shouldReturnDistinctOrgUnitGroupsOfProgramRules() {
+    List<ProgramRule> programRules =
+        Lists.newArrayList(
+            getProgramRule('E', "d2:inOrgUnitGroup('OrgUnitGroupId')").get(0),
+            getProgramRule(
+                    'F',
+                    "d2:inOrgUnitGroup('OrgUnitGroupId') || d2:inOrgUnitGroup('OtherGroupId')")
+                .get(0));
+
+    assertEquals(
+        List.of(ORG_UNIT_GROUP_UID, "OtherGroupId"), providerToTest.getOrgUnitGroups(programRules));
+  }
+
   private List<ProgramRule> getProgramRule(char ch, String condition) {
     ProgramRule programRule = createProgramRule(ch, null);
     programRule.setCondition(condition);
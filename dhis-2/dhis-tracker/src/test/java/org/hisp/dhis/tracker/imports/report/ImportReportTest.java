@@ -34,6 +34,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.hisp.dhis.test.random.BeanRandomizer;
 import org.hisp.dhis.tracker.TrackerType;
@@ -81,6 +82,61 @@ class ImportReportTest {
     assertThat(getBundleReportStats(rep, TrackerType.ENROLLMENT).getIgnored(), is(2));
   }
 
+  @Test
+  void testMergeCombinesReportsOfChunks() {
+    ValidationReport validationReport = ValidationReport.emptyReport();
+    validationReport.addErrors(rnd.objects(Error.class, 2).toList());
+    ImportReport trackedEntities =
+        ImportReport.withImportCompleted(
+            Status.OK,
+            new PersistenceReport(
+                createTypeReport(TrackerType.TRACKED_ENTITY, 4, 1, 0),
+                createTypeReport(TrackerType.ENROLLMENT, 0, 0, 0),
+                createTypeReport(TrackerType.EVENT, 0, 0, 0),
+                createTypeReport(TrackerType.EVENT, 0, 0, 0),
+                createTypeReport(TrackerType.RELATIONSHIP, 0, 0, 0)),
+            validationReport,
+            Map.of(TrackerType.TRACKED_ENTITY, 7));
+    ImportReport enrollments =
+        ImportReport.withImportCompleted(
+            Status.OK,
+            new PersistenceReport(
+                createTypeReport(TrackerType.TRACKED_ENTITY, 0, 0, 0),
+                createTypeReport(TrackerType.ENROLLMENT, 3, 0, 0),
+                createTypeReport(TrackerType.EVENT, 0, 0, 0),
+                createTypeReport(TrackerType.EVENT, 0, 0, 0),
+                createTypeReport(TrackerType.RELATIONSHIP, 0, 0, 0)),
+            ValidationReport.emptyReport(),
+            Map.of(TrackerType.ENROLLMENT, 3));
+
+    ImportReport rep = ImportReport.merge(List.of(trackedEntities, enrollments));
+
+    assertThat(rep.getStatus(), is(Status.OK));
+    assertThat(rep.getStats().getCreated(), is(7));
+    assertThat(rep.getStats().getUpdated(), is(1));
+    assertThat(rep.getStats().getIgnored(), is(2));
+    assertThat(rep.getValidationReport().getErrors().size(), is(2));
+    assertThat(getBundleReportStats(rep, TrackerType.TRACKED_ENTITY).getCreated(), is(4));
+    assertThat(getBundleReportStats(rep, TrackerType.TRACKED_ENTITY).getIgnored(), is(2));
+    assertThat(getBundleReportStats(rep, TrackerType.ENROLLMENT).getCreated(), is(3));
+  }
+
+  @Test
+  void testMergeUsesMostSevereStatus() {
+    ImportReport ok =
+        ImportReport.withImportCompleted(
+            Status.OK,
+            PersistenceReport.emptyReport(),
+            ValidationReport.emptyReport(),
+            Map.of());
+    ImportReport error = ImportReport.withError("failed", ValidationReport.emptyReport());
+
+    ImportReport rep = ImportReport.merge(List.of(ok, error, ok));
+
+    assertThat(rep.getStatus(), is(Status.ERROR));
+    assertThat(rep.getMessage(), is("failed"));
+  }
+
   private Stats getBundleReportStats(ImportReport importReport, TrackerType type) {
     return importReport.getPersistenceReport().getTypeReportMap().get(type).getStats();
   }
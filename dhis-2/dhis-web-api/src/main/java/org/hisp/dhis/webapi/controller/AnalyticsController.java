@@ -59,6 +59,7 @@ import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.dxf2.datavalueset.DataValueSet;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.security.RequiresAuthority;
+import org.hisp.dhis.system.grid.CsvGridWriter;
 import org.hisp.dhis.system.grid.GridUtils;
 import org.hisp.dhis.webapi.utils.ContextUtils;
 import org.springframework.stereotype.Controller;
@@ -264,9 +265,9 @@ public class AnalyticsController {
         false,
         params.getLatestEndDate());
 
-    Grid grid = analyticsService.getRawDataValues(params);
+    CsvGridWriter csvWriter = new CsvGridWriter(response.getWriter());
 
-    GridUtils.toCsv(grid, response.getWriter());
+    analyticsService.streamRawDataValues(params, csvWriter::writeHeaders, csvWriter::writeRow);
   }
 
   // -------------------------------------------------------------------------
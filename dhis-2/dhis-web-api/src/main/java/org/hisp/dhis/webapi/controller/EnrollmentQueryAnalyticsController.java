@@ -35,7 +35,6 @@ import static org.hisp.dhis.common.cache.CacheStrategy.RESPECT_SYSTEM_SETTING;
 import static org.hisp.dhis.period.PeriodDataProvider.PeriodSource.DATABASE;
 import static org.hisp.dhis.period.PeriodDataProvider.PeriodSource.SYSTEM_DEFINED;
 import static org.hisp.dhis.security.Authorities.F_PERFORM_ANALYTICS_EXPLAIN;
-import static org.hisp.dhis.system.grid.GridUtils.toCsv;
 import static org.hisp.dhis.system.grid.GridUtils.toHtml;
 import static org.hisp.dhis.system.grid.GridUtils.toHtmlCss;
 import static org.hisp.dhis.system.grid.GridUtils.toXls;
@@ -70,6 +69,7 @@ import org.hisp.dhis.common.OpenApi;
 import org.hisp.dhis.period.PeriodDataProvider;
 import org.hisp.dhis.security.RequiresAuthority;
 import org.hisp.dhis.setting.SystemSettingsProvider;
+import org.hisp.dhis.system.grid.CsvGridWriter;
 import org.hisp.dhis.tracker.model.Enrollment;
 import org.hisp.dhis.webapi.dimension.DimensionFilteringAndPagingService;
 import org.hisp.dhis.webapi.dimension.DimensionMapperService;
@@ -196,8 +196,10 @@ public class EnrollmentQueryAnalyticsController {
 
     contextUtils.configureResponse(
         response, CONTENT_TYPE_CSV, RESPECT_SYSTEM_SETTING, "enrollments.csv", true);
-    Grid grid = enrollmentQueryService.getEnrollments(params);
-    toCsv(grid, response.getWriter());
+
+    CsvGridWriter csvWriter = new CsvGridWriter(response.getWriter());
+
+    enrollmentQueryService.streamEnrollments(params, csvWriter::writeHeaders, csvWriter::writeRow);
   }
 
   @SneakyThrows
@@ -36,7 +36,6 @@ import static org.hisp.dhis.common.RequestTypeAware.EndpointItem.EVENT;
 import static org.hisp.dhis.common.cache.CacheStrategy.RESPECT_SYSTEM_SETTING;
 import static org.hisp.dhis.feedback.ErrorCode.E7235;
 import static org.hisp.dhis.security.Authorities.F_PERFORM_ANALYTICS_EXPLAIN;
-import static org.hisp.dhis.system.grid.GridUtils.toCsv;
 import static org.hisp.dhis.system.grid.GridUtils.toHtml;
 import static org.hisp.dhis.system.grid.GridUtils.toHtmlCss;
 import static org.hisp.dhis.system.grid.GridUtils.toXls;
@@ -71,6 +70,7 @@ import org.hisp.dhis.common.RequestTypeAware.EndpointAction;
 import org.hisp.dhis.feedback.ErrorMessage;
 import org.hisp.dhis.security.RequiresAuthority;
 import org.hisp.dhis.setting.SystemSettingsProvider;
+import org.hisp.dhis.system.grid.CsvGridWriter;
 import org.hisp.dhis.tracker.model.TrackerEvent;
 import org.hisp.dhis.util.PeriodCriteriaUtils;
 import org.hisp.dhis.webapi.dimension.DimensionFilteringAndPagingService;
@@ -225,10 +225,14 @@ public class EventQueryAnalyticsController {
       EventsAnalyticsQueryCriteria criteria,
       HttpServletResponse response)
       throws Exception {
-    toCsv(
-        getListGridWithAttachment(
-            criteria, program, CONTENT_TYPE_CSV, "events.csv", true, response),
-        response.getWriter());
+    EventQueryParams params = getEventQueryParams(program, criteria, false, QUERY);
+
+    contextUtils.configureResponse(
+        response, CONTENT_TYPE_CSV, RESPECT_SYSTEM_SETTING, "events.csv", true);
+
+    CsvGridWriter csvWriter = new CsvGridWriter(response.getWriter());
+
+    eventQueryService.streamEvents(params, csvWriter::writeHeaders, csvWriter::writeRow);
   }
 
   @GetMapping(value = "/query/{program}.html")
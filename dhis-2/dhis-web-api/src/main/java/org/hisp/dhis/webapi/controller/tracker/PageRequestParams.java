@@ -61,4 +61,13 @@ public interface PageRequestParams {
    * paging=true}.
    */
   boolean isPaging();
+
+  /**
+   * Returns the token of the page to be returned in cursor-based pagination, an empty string for
+   * the first page or null for offset-based pagination. Override this if the endpoint supports
+   * cursor-based pagination.
+   */
+  default String getPageToken() {
+    return null;
+  }
 }
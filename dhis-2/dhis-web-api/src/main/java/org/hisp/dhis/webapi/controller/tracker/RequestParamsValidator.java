@@ -380,10 +380,11 @@ public class RequestParamsValidator {
       throws BadRequestException {
     if (!params.isPaging()
         && (ObjectUtils.firstNonNull(params.getPage(), params.getPageSize()) != null
-            || params.isTotalPages())) {
+            || params.isTotalPages()
+            || params.getPageToken() != null)) {
       throw new BadRequestException(
           "Paging cannot be disabled with paging=false while also requesting a paginated"
-              + " response with page, pageSize and/or totalPages=true");
+              + " response with page, pageSize, pageToken and/or totalPages=true");
     }
   }
 
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.controller.tracker.export;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.hisp.dhis.dxf2.webmessage.WebMessageException;
+import org.hisp.dhis.feedback.BadRequestException;
+import org.hisp.dhis.feedback.ForbiddenException;
+import org.hisp.dhis.feedback.NotFoundException;
+import org.hisp.dhis.tracker.Page;
+import org.hisp.dhis.tracker.PageParams;
+
+/**
+ * Iterates over all items matching a request in chunks, fetching one page at a time. Pages are
+ * fetched lazily so that only one chunk of items is held in memory.
+ *
+ * <p>Pages are fetched using cursor-based pagination if supported by the exporter and the order of
+ * the items, so that every chunk costs the same. Otherwise pages are fetched by page number.
+ *
+ * @param <T> the type of items
+ */
+public class PageChunks<T> implements Iterator<List<T>> {
+  public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+  /** Fetches a page of items. */
+  @FunctionalInterface
+  public interface PageFetcher<T> {
+    Page<T> fetch(PageParams pageParams)
+        throws BadRequestException, ForbiddenException, NotFoundException, WebMessageException;
+  }
+
+  private final PageFetcher<T> fetcher;
+
+  private final int chunkSize;
+
+  private final boolean cursor;
+
+  /** The fetched page whose items have not been returned yet. */
+  @CheckForNull private Page<T> page;
+
+  /** The parameters of the next page to fetch, or null if there are no more pages. */
+  @CheckForNull private PageParams nextPageParams;
+
+  private PageChunks(PageFetcher<T> fetcher, int chunkSize, boolean cursor, Page<T> first)
+      throws BadRequestException {
+    this.fetcher = fetcher;
+    this.chunkSize = chunkSize;
+    // the order of the items does not support cursor-based pagination if a full first page comes
+    // without a token. Cursor and offset-based pagination share the first page so we can continue
+    // with page numbers.
+    this.cursor =
+        cursor && (first.getNextPageToken() != null || first.getItems().size() < chunkSize);
+    this.page = first;
+    this.nextPageParams =
+        cursor && !this.cursor ? PageParams.of(2, chunkSize, false) : getNextPageParams(first);
+  }
+
+  /**
+   * Creates the chunks fetching the first page right away, so that invalid requests fail before
+   * anything has been written to the response.
+   *
+   * @param chunkSize the number of items per chunk, or null for the default
+   * @param cursor true if the exporter supports cursor-based pagination
+   * @param fetcher fetches a page of items
+   */
+  public static <T> PageChunks<T> of(
+      @CheckForNull Integer chunkSize, boolean cursor, @Nonnull PageFetcher<T> fetcher)
+      throws BadRequestException, ForbiddenException, NotFoundException, WebMessageException {
+    int size = Objects.requireNonNullElse(chunkSize, DEFAULT_CHUNK_SIZE);
+    Page<T> first = fetcher.fetch(PageParams.of(1, size, false, cursor ? "" : null));
+    return new PageChunks<>(fetcher, size, cursor, first);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (page == null && nextPageParams != null) {
+      try {
+        page = fetcher.fetch(nextPageParams);
+        nextPageParams = getNextPageParams(page);
+      } catch (BadRequestException
+          | ForbiddenException
+          | NotFoundException
+          | WebMessageException e) {
+        throw new IllegalStateException("Failed to fetch the next chunk of items", e);
+      }
+    }
+    return page != null && !page.getItems().isEmpty();
+  }
+
+  @Override
+  public List<T> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    List<T> items = page.getItems();
+    page = null;
+    return items;
+  }
+
+  private PageParams getNextPageParams(Page<T> current) throws BadRequestException {
+    if (cursor) {
+      return current.getNextPageToken() == null
+          ? null
+          : PageParams.of(null, chunkSize, false, current.getNextPageToken());
+    }
+    return current.getNextPage() == null
+        ? null
+        : PageParams.of(current.getNextPage(), chunkSize, false);
+  }
+}
@@ -93,6 +93,16 @@ will take more time to return.**
 """)
   private boolean paging = true;
 
+  @OpenApi.Description(
+"""
+Get the page after the given `pager.nextPageToken` using cursor-based pagination. Pass an empty
+`pageToken` to get the first page.
+
+Unlike `page`, every page costs the same no matter how many pages precede it. Use this to go
+through all items. Cursor-based pagination only supports the default order.
+""")
+  private String pageToken;
+
   private List<OrderCriteria> order = new ArrayList<>();
 
   @OpenApi.Property({UID[].class, OrganisationUnit.class})
@@ -34,12 +34,14 @@ import static org.hisp.dhis.webapi.controller.tracker.RequestParamsValidator.val
 import static org.hisp.dhis.webapi.controller.tracker.export.FieldFilterRequestHandler.getRequestURL;
 import static org.hisp.dhis.webapi.controller.tracker.export.enrollment.EnrollmentRequestParams.DEFAULT_FIELDS_PARAM;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import org.hisp.dhis.common.OpenApi;
 import org.hisp.dhis.common.OpenApi.Response.Status;
 import org.hisp.dhis.common.UID;
+import org.hisp.dhis.dxf2.webmessage.WebMessageException;
 import org.hisp.dhis.feedback.BadRequestException;
 import org.hisp.dhis.feedback.ForbiddenException;
 import org.hisp.dhis.feedback.NotFoundException;
@@ -49,9 +51,11 @@ import org.hisp.dhis.tracker.export.enrollment.EnrollmentFields;
 import org.hisp.dhis.tracker.export.enrollment.EnrollmentOperationParams;
 import org.hisp.dhis.tracker.export.enrollment.EnrollmentService;
 import org.hisp.dhis.tracker.export.fieldfiltering.Fields;
+import org.hisp.dhis.webapi.controller.tracker.export.PageChunks;
 import org.hisp.dhis.webapi.controller.tracker.view.Enrollment;
 import org.hisp.dhis.webapi.controller.tracker.view.FilteredEntity;
 import org.hisp.dhis.webapi.controller.tracker.view.FilteredPage;
+import org.hisp.dhis.webapi.controller.tracker.view.FilteredStream;
 import org.hisp.dhis.webapi.controller.tracker.view.Page;
 import org.mapstruct.factory.Mappers;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -97,7 +101,10 @@ class EnrollmentsExportController {
     if (requestParams.isPaging()) {
       PageParams pageParams =
           PageParams.of(
-              requestParams.getPage(), requestParams.getPageSize(), requestParams.isTotalPages());
+              requestParams.getPage(),
+              requestParams.getPageSize(),
+              requestParams.isTotalPages(),
+              requestParams.getPageToken());
       org.hisp.dhis.tracker.Page<org.hisp.dhis.tracker.model.Enrollment> enrollmentsPage =
           enrollmentService.findEnrollments(operationParams, pageParams);
 
@@ -117,6 +124,29 @@ class EnrollmentsExportController {
         Page.withoutPager(ENROLLMENTS, enrollments), requestParams.getFields());
   }
 
+  /**
+   * Exports all matching enrollments as newline delimited JSON. Enrollments are fetched in chunks
+   * of {@code pageSize} so that the memory used does not depend on the number of enrollments
+   * exported.
+   */
+  @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+  FilteredStream<Enrollment> getEnrollmentsAsNdJson(EnrollmentRequestParams requestParams)
+      throws BadRequestException, ForbiddenException, NotFoundException, WebMessageException {
+    validatePaginationParameters(requestParams);
+    EnrollmentOperationParams operationParams = EnrollmentRequestParamsMapper.map(requestParams);
+
+    PageChunks<Enrollment> chunks =
+        PageChunks.of(
+            requestParams.getPageSize(),
+            true,
+            pageParams ->
+                enrollmentService
+                    .findEnrollments(operationParams, pageParams)
+                    .withMappedItems(ENROLLMENT_MAPPER::map));
+
+    return new FilteredStream<>(chunks, requestParams.getFields());
+  }
+
   @OpenApi.Response(OpenApi.EntityType.class)
   @GetMapping(value = "/{uid}")
   public FilteredEntity<Enrollment> getEnrollmentByUid(
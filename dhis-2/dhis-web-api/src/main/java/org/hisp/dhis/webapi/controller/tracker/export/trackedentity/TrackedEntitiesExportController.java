@@ -41,6 +41,7 @@ import static org.hisp.dhis.webapi.utils.ContextUtils.CONTENT_TYPE_CSV_GZIP;
 import static org.hisp.dhis.webapi.utils.ContextUtils.CONTENT_TYPE_CSV_ZIP;
 import static org.hisp.dhis.webapi.utils.ContextUtils.CONTENT_TYPE_TEXT_CSV;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -74,9 +75,11 @@ import org.hisp.dhis.webapi.controller.tracker.RequestHandler;
 import org.hisp.dhis.webapi.controller.tracker.export.ChangeLogRequestParams;
 import org.hisp.dhis.webapi.controller.tracker.export.CsvService;
 import org.hisp.dhis.webapi.controller.tracker.export.MappingErrors;
+import org.hisp.dhis.webapi.controller.tracker.export.PageChunks;
 import org.hisp.dhis.webapi.controller.tracker.export.ResponseHeader;
 import org.hisp.dhis.webapi.controller.tracker.view.FilteredEntity;
 import org.hisp.dhis.webapi.controller.tracker.view.FilteredPage;
+import org.hisp.dhis.webapi.controller.tracker.view.FilteredStream;
 import org.hisp.dhis.webapi.controller.tracker.view.Page;
 import org.hisp.dhis.webapi.controller.tracker.view.TrackedEntity;
 import org.mapstruct.factory.Mappers;
@@ -191,6 +194,38 @@ class TrackedEntitiesExportController {
         Page.withoutPager(TRACKED_ENTITIES, trackedEntities), requestParams.getFields());
   }
 
+  /**
+   * Exports all matching tracked entities as newline delimited JSON. Tracked entities are fetched
+   * in chunks of {@code pageSize} so that the memory used does not depend on the number of tracked
+   * entities exported.
+   */
+  @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+  FilteredStream<TrackedEntity> getTrackedEntitiesAsNdJson(
+      TrackedEntityRequestParams requestParams,
+      TrackerIdSchemeParams idSchemeParams,
+      @CurrentUser UserDetails currentUser)
+      throws BadRequestException, ForbiddenException, NotFoundException, WebMessageException {
+    validatePaginationParameters(requestParams);
+    TrackedEntityOperationParams operationParams =
+        TrackedEntityRequestParamsMapper.map(requestParams, currentUser);
+
+    PageChunks<TrackedEntity> chunks =
+        PageChunks.of(
+            requestParams.getPageSize(),
+            true,
+            pageParams -> {
+              MappingErrors errors = new MappingErrors(idSchemeParams);
+              org.hisp.dhis.tracker.Page<TrackedEntity> page =
+                  trackedEntityService
+                      .findTrackedEntities(operationParams, pageParams)
+                      .withMappedItems(te -> TRACKED_ENTITY_MAPPER.map(idSchemeParams, errors, te));
+              ensureNoMappingErrors(errors);
+              return page;
+            });
+
+    return new FilteredStream<>(chunks, requestParams.getFields());
+  }
+
   @GetMapping(produces = {CONTENT_TYPE_CSV, CONTENT_TYPE_TEXT_CSV})
   void getTrackedEntitiesAsCsv(
       TrackedEntityRequestParams requestParams,
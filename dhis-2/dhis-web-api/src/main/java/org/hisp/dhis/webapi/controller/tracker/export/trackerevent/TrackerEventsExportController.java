@@ -42,6 +42,7 @@ import static org.hisp.dhis.webapi.utils.ContextUtils.CONTENT_TYPE_JSON_GZIP;
 import static org.hisp.dhis.webapi.utils.ContextUtils.CONTENT_TYPE_JSON_ZIP;
 import static org.hisp.dhis.webapi.utils.ContextUtils.CONTENT_TYPE_TEXT_CSV;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -72,11 +73,13 @@ import org.hisp.dhis.tracker.model.TrackerEvent;
 import org.hisp.dhis.webapi.controller.tracker.RequestHandler;
 import org.hisp.dhis.webapi.controller.tracker.export.ChangeLogRequestParams;
 import org.hisp.dhis.webapi.controller.tracker.export.MappingErrors;
+import org.hisp.dhis.webapi.controller.tracker.export.PageChunks;
 import org.hisp.dhis.webapi.controller.tracker.export.ResponseHeader;
 import org.hisp.dhis.webapi.controller.tracker.export.event.ChangeLogRequestParamsMapper;
 import org.hisp.dhis.webapi.controller.tracker.export.event.EventChangeLogMapper;
 import org.hisp.dhis.webapi.controller.tracker.view.FilteredEntity;
 import org.hisp.dhis.webapi.controller.tracker.view.FilteredPage;
+import org.hisp.dhis.webapi.controller.tracker.view.FilteredStream;
 import org.hisp.dhis.webapi.controller.tracker.view.Page;
 import org.mapstruct.factory.Mappers;
 import org.springframework.core.io.InputStreamResource;
@@ -144,7 +147,10 @@ class TrackerEventsExportController {
     if (requestParams.isPaging()) {
       PageParams pageParams =
           PageParams.of(
-              requestParams.getPage(), requestParams.getPageSize(), requestParams.isTotalPages());
+              requestParams.getPage(),
+              requestParams.getPageSize(),
+              requestParams.isTotalPages(),
+              requestParams.getPageToken());
       TrackerEventOperationParams trackerEventOperationParams =
           TrackerEventRequestParamsMapper.map(requestParams, idSchemeParams);
       org.hisp.dhis.tracker.Page<TrackerEvent> eventsPage =
@@ -177,6 +183,36 @@ class TrackerEventsExportController {
     return new FilteredPage<>(Page.withoutPager(EVENTS, events), requestParams.getFields());
   }
 
+  /**
+   * Exports all matching events as newline delimited JSON. Events are fetched in chunks of {@code
+   * pageSize} so that the memory used does not depend on the number of events exported.
+   */
+  @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+  FilteredStream<org.hisp.dhis.webapi.controller.tracker.view.TrackerEvent> getEventsAsNdJson(
+      TrackerEventRequestParams requestParams, TrackerIdSchemeParams idSchemeParams)
+      throws BadRequestException, ForbiddenException, NotFoundException, WebMessageException {
+    validatePaginationParameters(requestParams);
+
+    TrackerEventOperationParams trackerEventOperationParams =
+        TrackerEventRequestParamsMapper.map(requestParams, idSchemeParams);
+    PageChunks<org.hisp.dhis.webapi.controller.tracker.view.TrackerEvent> chunks =
+        PageChunks.of(
+            requestParams.getPageSize(),
+            true,
+            pageParams -> {
+              MappingErrors errors = new MappingErrors(idSchemeParams);
+              org.hisp.dhis.tracker.Page<org.hisp.dhis.webapi.controller.tracker.view.TrackerEvent>
+                  page =
+                      trackerEventService
+                          .findEvents(trackerEventOperationParams, pageParams)
+                          .withMappedItems(ev -> EVENTS_MAPPER.map(idSchemeParams, errors, ev));
+              ensureNoMappingErrors(errors);
+              return page;
+            });
+
+    return new FilteredStream<>(chunks, requestParams.getFields());
+  }
+
   @GetMapping(produces = {CONTENT_TYPE_CSV, CONTENT_TYPE_TEXT_CSV})
   void getEventsAsCsv(
       TrackerEventRequestParams requestParams,
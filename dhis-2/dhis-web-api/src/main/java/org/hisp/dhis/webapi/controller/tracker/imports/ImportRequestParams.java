@@ -72,6 +72,12 @@ Tracker data is imported asynchronously by default (as with `async=true`). Async
   /** Validation mode to use, defaults to fully validated objects. */
   @JsonProperty @Builder.Default private ValidationMode validationMode = ValidationMode.FULL;
 
+  /**
+   * Maximum number of objects imported per chunk. Only applies when {@code atomicMode=OBJECT}. A
+   * value of 0 imports all objects at once.
+   */
+  @JsonProperty @Builder.Default private int chunkSize = 0;
+
   @OpenApi.Description(OPENAPI_DESCRIPTION_ASYNC)
   @JsonProperty
   @Builder.Default
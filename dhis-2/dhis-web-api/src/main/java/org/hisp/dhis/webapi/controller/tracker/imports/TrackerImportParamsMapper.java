@@ -78,6 +78,7 @@ public class TrackerImportParamsMapper {
             .importStrategy(request.getImportStrategy())
             .atomicMode(request.getAtomicMode())
             .flushMode(request.getFlushMode())
+            .chunkSize(request.getChunkSize())
             .skipSideEffects(request.isSkipSideEffects())
             .skipRuleEngine(request.isSkipRuleEngine())
             .reportMode(request.getReportMode());
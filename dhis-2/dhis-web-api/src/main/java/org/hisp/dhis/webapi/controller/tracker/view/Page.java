@@ -70,8 +70,9 @@ public class Page<T> {
   /**
    * Returns a page which will serialize the items into {@link #items} under given {@code key}.
    * Previous and next page links will be generated based on the request if {@link
-   * org.hisp.dhis.tracker.Page#getPrevPage()} or next are not null. Total and page count will also
-   * be set if the pager has a non-null total.
+   * org.hisp.dhis.tracker.Page#getPrevPage()} or next are not null. In cursor-based pagination the
+   * next page link is generated based on {@link org.hisp.dhis.tracker.Page#getNextPageToken()}.
+   * Total and page count will also be set if the pager has a non-null total.
    */
   public static <T> Page<T> withPager(
       @Nonnull String key,
@@ -83,11 +84,20 @@ public class Page<T> {
       pageCount = (int) Math.ceil(pager.getTotal() / (double) pager.getPageSize());
     }
     String prevPage = getPageLink(requestURL, pager.getPrevPage());
-    String nextPage = getPageLink(requestURL, pager.getNextPage());
+    String nextPage =
+        pager.getNextPageToken() != null
+            ? getPageTokenLink(requestURL, pager.getNextPageToken())
+            : getPageLink(requestURL, pager.getNextPage());
 
     Pager pagerObj =
         new Pager(
-            pager.getPage(), pager.getPageSize(), pager.getTotal(), pageCount, prevPage, nextPage);
+            pager.getPage(),
+            pager.getPageSize(),
+            pager.getTotal(),
+            pageCount,
+            prevPage,
+            nextPage,
+            pager.getNextPageToken());
 
     return new Page<>(key, pager.getItems(), pagerObj);
   }
@@ -118,6 +128,17 @@ public class Page<T> {
     @JsonProperty private Integer pageCount;
     @JsonProperty private String prevPage;
     @JsonProperty private String nextPage;
+    @JsonProperty private String nextPageToken;
+
+    public Pager(
+        Integer page,
+        Integer pageSize,
+        Long total,
+        Integer pageCount,
+        String prevPage,
+        String nextPage) {
+      this(page, pageSize, total, pageCount, prevPage, nextPage, null);
+    }
   }
 
   private static String getPageLink(String url, Integer page) {
@@ -129,4 +150,10 @@ public class Page<T> {
     urlBuilder.replaceQueryParam("page", page);
     return urlBuilder.build().toUriString();
   }
+
+  private static String getPageTokenLink(String url, String pageToken) {
+    UriComponentsBuilder urlBuilder = UriComponentsBuilder.fromUriString(url);
+    urlBuilder.replaceQueryParam("pageToken", pageToken);
+    return urlBuilder.build().toUriString();
+  }
 }
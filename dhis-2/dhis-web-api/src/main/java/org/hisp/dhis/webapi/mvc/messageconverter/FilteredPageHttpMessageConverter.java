@@ -38,18 +38,23 @@ import static org.hisp.dhis.webapi.utils.ContextUtils.HEADER_CONTENT_TRANSFER_EN
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import org.hisp.dhis.tracker.export.fieldfiltering.Fields;
 import org.hisp.dhis.tracker.export.fieldfiltering.FieldsPropertyFilter;
 import org.hisp.dhis.webapi.controller.tracker.view.FilteredEntity;
 import org.hisp.dhis.webapi.controller.tracker.view.FilteredPage;
+import org.hisp.dhis.webapi.controller.tracker.view.FilteredStream;
 import org.hisp.dhis.webapi.controller.tracker.view.Page;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpInputMessage;
@@ -65,6 +70,9 @@ import org.springframework.stereotype.Component;
  * HttpMessageConverter for trackers {@link FilteredPage} and {@link FilteredEntity} that handles
  * streaming of field filtered JSON pages and entities directly to the HTTP response body's output
  * stream. Supports compression variants (gzip, zip) based on media type for pages.
+ *
+ * <p>A {@link FilteredStream} is written as newline delimited JSON (NDJSON), one item per line. It
+ * is the only type written as NDJSON, and is only written as NDJSON.
  */
 @Component
 public class FilteredPageHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
@@ -91,7 +99,33 @@ public class FilteredPageHttpMessageConverter extends AbstractHttpMessageConvert
   @Override
   protected boolean supports(@Nonnull Class<?> clazz) {
     return FilteredPage.class.isAssignableFrom(clazz)
-        || FilteredEntity.class.isAssignableFrom(clazz);
+        || FilteredEntity.class.isAssignableFrom(clazz)
+        || FilteredStream.class.isAssignableFrom(clazz);
+  }
+
+  @Nonnull
+  @Override
+  public List<MediaType> getSupportedMediaTypes(@Nonnull Class<?> clazz) {
+    if (FilteredStream.class.isAssignableFrom(clazz)) {
+      return List.of(MediaType.APPLICATION_NDJSON);
+    }
+    return super.getSupportedMediaTypes(clazz);
+  }
+
+  @Override
+  public boolean canWrite(@Nonnull Class<?> clazz, @CheckForNull MediaType mediaType) {
+    if (FilteredStream.class.isAssignableFrom(clazz)) {
+      return mediaType == null || mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON);
+    }
+    return super.canWrite(clazz, mediaType);
+  }
+
+  @Override
+  protected MediaType getDefaultContentType(@Nonnull Object filteredObject) throws IOException {
+    if (filteredObject instanceof FilteredStream<?>) {
+      return MediaType.APPLICATION_NDJSON;
+    }
+    return super.getDefaultContentType(filteredObject);
   }
 
   @Nonnull
@@ -184,6 +218,8 @@ public class FilteredPageHttpMessageConverter extends AbstractHttpMessageConvert
         writePageToStream(filteredPage, targetStream);
       } else if (filteredObject instanceof FilteredEntity<?> filteredEntity) {
         writeEntityToStream(filteredEntity, targetStream);
+      } else if (filteredObject instanceof FilteredStream<?> filteredStream) {
+        writeItemsToStream(filteredStream, targetStream);
       } else {
         throw new IllegalArgumentException(
             "Unsupported filtered object type: " + filteredObject.getClass());
@@ -246,4 +282,30 @@ public class FilteredPageHttpMessageConverter extends AbstractHttpMessageConvert
       writer.writeValue(generator, entity);
     }
   }
+
+  /**
+   * Writes one item per line. The output is flushed after every chunk instead of every item, so
+   * that the client receives items while the next chunk is fetched.
+   */
+  private void writeItemsToStream(FilteredStream<?> filteredStream, OutputStream outputStream)
+      throws IOException {
+    ObjectWriter writer =
+        filterMapper
+            .writer()
+            .withAttribute(FieldsPropertyFilter.FIELDS_ATTRIBUTE, filteredStream.fields())
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    try (JsonGenerator generator = writer.getFactory().createGenerator(outputStream)) {
+      // separate items by a newline after each item instead of the default space between them
+      generator.setRootValueSeparator(null);
+      Iterator<? extends List<?>> chunks = filteredStream.chunks();
+      while (chunks.hasNext()) {
+        for (Object item : chunks.next()) {
+          writer.writeValue(generator, item);
+          generator.writeRaw('\n');
+        }
+        generator.flush();
+      }
+    }
+  }
 }
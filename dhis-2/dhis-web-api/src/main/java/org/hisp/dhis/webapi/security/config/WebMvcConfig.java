@@ -269,6 +269,7 @@ public class WebMvcConfig extends DelegatingWebMvcConfiguration {
           .put("json", MediaType.APPLICATION_JSON)
           .put("json.gz", parseMediaType("application/json+gzip"))
           .put("json.zip", parseMediaType("application/json+zip"))
+          .put("ndjson", MediaType.APPLICATION_NDJSON)
           .put("jsonp", parseMediaType("application/javascript"))
           .put("xml", MediaType.APPLICATION_XML)
           .put("xml.gz", parseMediaType("application/xml+gzip"))
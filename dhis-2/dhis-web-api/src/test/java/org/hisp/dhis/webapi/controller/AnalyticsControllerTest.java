@@ -43,6 +43,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.hisp.dhis.analytics.AnalyticsSecurityManager;
@@ -211,6 +212,33 @@ class AnalyticsControllerTest {
         .andExpect(status().isOk());
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void verifyRawDataCsvRequest() throws Exception {
+    Grid grid = buildMockGrid();
+    Mockito.doAnswer(
+            invocation -> {
+              invocation.<Consumer<Grid>>getArgument(1).accept(grid);
+              Consumer<List<Object>> rowConsumer = invocation.getArgument(2);
+              grid.getRows().forEach(rowConsumer);
+              return null;
+            })
+        .when(analyticsService)
+        .streamRawDataValues(
+            Mockito.any(DataQueryParams.class),
+            Mockito.any(Consumer.class),
+            Mockito.any(Consumer.class));
+
+    // Then
+    mockMvc
+        .perform(
+            get(ENDPOINT + "/rawData.csv")
+                .param("dimension", "dx:fbfJHSPpUQD;cYeuwXTCPkU")
+                .param("filter", "pe:2014Q1;2014Q2"))
+        .andExpect(content().string("a,b,c,d\nde1,ou2,pe1,3\n" + "de2,ou3,pe2,5\n"))
+        .andExpect(status().isOk());
+  }
+
   @Test
   void verifyXlsRequest() throws Exception {
     // Then
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2004-2025, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ * may be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.controller.tracker.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import org.hisp.dhis.dxf2.webmessage.WebMessageException;
+import org.hisp.dhis.feedback.BadRequestException;
+import org.hisp.dhis.feedback.ForbiddenException;
+import org.hisp.dhis.feedback.NotFoundException;
+import org.hisp.dhis.tracker.Page;
+import org.hisp.dhis.tracker.PageParams;
+import org.hisp.dhis.tracker.PageToken;
+import org.junit.jupiter.api.Test;
+
+class PageChunksTest {
+  @Test
+  void shouldFetchAllItemsUsingPageTokens()
+      throws BadRequestException, ForbiddenException, NotFoundException, WebMessageException {
+    Store store = new Store(5, i -> new PageToken("default", null, i));
+
+    PageChunks<Integer> chunks = PageChunks.of(2, true, store::fetch);
+
+    assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5)), collect(chunks));
+    assertEquals(List.of("", "token", "token"), store.fetched);
+  }
+
+  @Test
+  void shouldFetchAllItemsUsingPageNumbers()
+      throws BadRequestException, ForbiddenException, NotFoundException, WebMessageException {
+    Store store = new Store(5, null);
+
+    PageChunks<Integer> chunks = PageChunks.of(2, false, store::fetch);
+
+    assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5)), collect(chunks));
+    assertEquals(List.of("1", "2", "3"), store.fetched);
+  }
+
+  @Test
+  void shouldFetchAllItemsUsingPageNumbersIfOrderDoesNotSupportPageTokens()
+      throws BadRequestException, ForbiddenException, NotFoundException, WebMessageException {
+    Store store = new Store(5, null);
+
+    PageChunks<Integer> chunks = PageChunks.of(2, true, store::fetch);
+
+    assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5)), collect(chunks));
+    assertEquals(List.of("", "2", "3"), store.fetched);
+  }
+
+  @Test
+  void shouldFetchPagesLazily()
+      throws BadRequestException, ForbiddenException, NotFoundException, WebMessageException {
+    Store store = new Store(4, i -> new PageToken("default", null, i));
+
+    PageChunks<Integer> chunks = PageChunks.of(2, true, store::fetch);
+
+    assertEquals(1, store.fetched.size());
+    assertEquals(List.of(1, 2), chunks.next());
+    assertEquals(1, store.fetched.size());
+    assertEquals(List.of(3, 4), chunks.next());
+    assertEquals(2, store.fetched.size());
+    assertFalse(chunks.hasNext());
+  }
+
+  @Test
+  void shouldHaveNoChunksIfThereAreNoItems()
+      throws BadRequestException, ForbiddenException, NotFoundException, WebMessageException {
+    PageChunks<Integer> chunks = PageChunks.of(null, true, new Store(0, null)::fetch);
+
+    assertFalse(chunks.hasNext());
+  }
+
+  @Test
+  void shouldFailRightAwayIfFirstPageCannotBeFetched() {
+    assertThrows(
+        BadRequestException.class,
+        () ->
+            PageChunks.of(
+                2,
+                true,
+                pageParams -> {
+                  throw new BadRequestException("invalid");
+                }));
+  }
+
+  private static List<List<Integer>> collect(PageChunks<Integer> chunks) {
+    List<List<Integer>> result = new ArrayList<>();
+    chunks.forEachRemaining(result::add);
+    return result;
+  }
+
+  /** Serves the items 1 to n like a store ordering by primary key. */
+  private static class Store {
+    private final List<Integer> items;
+
+    private final Function<Integer, PageToken> pageToken;
+
+    private final List<String> fetched = new ArrayList<>();
+
+    Store(int n, Function<Integer, PageToken> pageToken) {
+      this.items = IntStream.rangeClosed(1, n).boxed().toList();
+      this.pageToken = pageToken;
+    }
+
+    Page<Integer> fetch(PageParams pageParams) {
+      int from;
+      if (pageParams.getPageToken() != null) {
+        fetched.add("token");
+        from = (int) pageParams.getPageToken().id();
+      } else if (pageParams.isCursor()) {
+        fetched.add("");
+        from = 0;
+      } else {
+        fetched.add(String.valueOf(pageParams.getPage()));
+        from = pageParams.getOffset();
+      }
+
+      int to = Math.min(items.size(), from + pageParams.getPageSize() + 1);
+      return new Page<>(items.subList(from, to), pageParams, null, pageToken);
+    }
+  }
+}